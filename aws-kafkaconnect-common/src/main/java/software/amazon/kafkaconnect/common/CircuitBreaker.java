@@ -0,0 +1,195 @@
+package software.amazon.kafkaconnect.common;
+
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker for the kafkaconnect API of one partition and region, shared by all invocations in a container.
+ * As an interceptor on that endpoint's client it records every call attempt, and counts 5xx responses, throttles and
+ * connection failures as failures. Once the share of failures among the last {@link #WINDOW_SIZE} attempts reaches
+ * the configured rate, the breaker opens: the client stops retrying, and new invocations are turned away without
+ * calling the service. After the open duration, a single invocation is let through as a probe, and the next attempt
+ * recorded closes the breaker again or reopens it.
+ */
+public final class CircuitBreaker implements ExecutionInterceptor {
+    static final int WINDOW_SIZE = 20;
+    static final int DEFAULT_MIN_CALLS = 10;
+    static final Duration DEFAULT_OPEN_DURATION = Duration.ofSeconds(30L);
+    private static final int TOO_MANY_REQUESTS_STATUS = 429;
+    private static final int MIN_SERVER_ERROR_STATUS = 500;
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1L);
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    public enum Admission {
+        /** The breaker is closed, call the service. */
+        CALL,
+        /** The breaker is half-open and this invocation probes the service. */
+        PROBE,
+        /** The breaker is open, or another invocation is probing. */
+        REJECT
+    }
+
+    private final int failureRatePercentage;
+    private final int minCalls;
+    private final long openNanos;
+    private final LongSupplier nanoClock;
+
+    private final boolean[] failures = new boolean[WINDOW_SIZE];
+    private int recordedCount;
+    private int failureCount;
+    private int nextIndex;
+    private State state = State.CLOSED;
+    private long openedAt;
+    private boolean probing;
+
+    /**
+     * @param failureRatePercentage share of failed attempts that opens the breaker, 0 to never open it
+     */
+    public CircuitBreaker(final int failureRatePercentage) {
+        this(failureRatePercentage, DEFAULT_MIN_CALLS, DEFAULT_OPEN_DURATION, System::nanoTime);
+    }
+
+    /**
+     * Constructor used for unit testing
+     *
+     * @param failureRatePercentage
+     * @param minCalls
+     * @param openDuration
+     * @param nanoClock
+     */
+    public CircuitBreaker(
+        final int failureRatePercentage,
+        final int minCalls,
+        final Duration openDuration,
+        final LongSupplier nanoClock) {
+
+        this.failureRatePercentage = failureRatePercentage;
+        this.minCalls = minCalls;
+        this.openNanos = openDuration.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Decides whether an invocation may call the service. A {@link Admission#PROBE} must be followed by
+     * {@link #exitProbe()} once the invocation is done.
+     */
+    public synchronized Admission tryEnter() {
+        switch (refreshState()) {
+            case CLOSED:
+                return Admission.CALL;
+            case HALF_OPEN:
+                if (!probing) {
+                    probing = true;
+                    return Admission.PROBE;
+                }
+                return Admission.REJECT;
+            default:
+                return Admission.REJECT;
+        }
+    }
+
+    public synchronized void exitProbe() {
+        probing = false;
+    }
+
+    /**
+     * @return whether the client may retry a failed attempt; retries only add load while the breaker is open
+     */
+    public synchronized boolean allowsRetry() {
+        return refreshState() != State.OPEN;
+    }
+
+    /**
+     * @return seconds until an invocation turned away should come back, at least 1
+     */
+    public synchronized int getRetryAfterSeconds() {
+        final long remainingNanos = refreshState() == State.OPEN ? openedAt + openNanos - nanoClock.getAsLong() : 0L;
+        final long remainingSeconds = TimeUnit.NANOSECONDS.toSeconds(remainingNanos + NANOS_PER_SECOND - 1L);
+        return (int) Math.max(1L, remainingSeconds);
+    }
+
+    public synchronized State getState() {
+        return refreshState();
+    }
+
+    synchronized void record(final boolean failed) {
+        if (failureRatePercentage <= 0) {
+            return;
+        }
+        switch (refreshState()) {
+            case HALF_OPEN:
+                if (failed) {
+                    open();
+                } else {
+                    close();
+                }
+                return;
+            case OPEN:
+                // attempts started before the breaker opened
+                return;
+            default:
+                break;
+        }
+
+        if (recordedCount == WINDOW_SIZE) {
+            failureCount -= failures[nextIndex] ? 1 : 0;
+        } else {
+            recordedCount++;
+        }
+        failures[nextIndex] = failed;
+        failureCount += failed ? 1 : 0;
+        nextIndex = (nextIndex + 1) % WINDOW_SIZE;
+
+        if (recordedCount >= minCalls && failureCount * 100 >= failureRatePercentage * recordedCount) {
+            open();
+        }
+    }
+
+    @Override
+    public void afterTransmission(final Context.AfterTransmission context, final ExecutionAttributes attributes) {
+        final int status = context.httpResponse().statusCode();
+        record(status == TOO_MANY_REQUESTS_STATUS || status >= MIN_SERVER_ERROR_STATUS);
+    }
+
+    @Override
+    public void onExecutionFailure(final Context.FailedExecution context, final ExecutionAttributes attributes) {
+        // responses were recorded after transmission; this only adds attempts that never got one
+        if (!context.httpResponse().isPresent() && context.exception() instanceof SdkClientException
+            && context.exception().getCause() instanceof IOException) {
+            record(true);
+        }
+    }
+
+    private State refreshState() {
+        if (state == State.OPEN && nanoClock.getAsLong() - openedAt >= openNanos) {
+            state = State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = nanoClock.getAsLong();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        Arrays.fill(failures, false);
+        recordedCount = 0;
+        failureCount = 0;
+        nextIndex = 0;
+    }
+}
@@ -0,0 +1,118 @@
+package software.amazon.kafkaconnect.common;
+
+import java.util.function.Predicate;
+import software.amazon.awssdk.retries.StandardRetryStrategy;
+import software.amazon.awssdk.retries.api.AcquireInitialTokenRequest;
+import software.amazon.awssdk.retries.api.AcquireInitialTokenResponse;
+import software.amazon.awssdk.retries.api.BackoffStrategy;
+import software.amazon.awssdk.retries.api.RecordSuccessRequest;
+import software.amazon.awssdk.retries.api.RecordSuccessResponse;
+import software.amazon.awssdk.retries.api.RefreshRetryTokenRequest;
+import software.amazon.awssdk.retries.api.RefreshRetryTokenResponse;
+import software.amazon.awssdk.retries.api.RetryStrategy;
+import software.amazon.awssdk.retries.api.TokenAcquisitionFailedException;
+
+/**
+ * A standard retry strategy that stops retrying while the circuit breaker in front of the client is open, since
+ * retries then only add load. The conditions of a retry strategy are alternatives, so the breaker can't be one of
+ * them; it is checked before each retry instead.
+ */
+final class CircuitBreakerRetryStrategy implements RetryStrategy {
+    private final StandardRetryStrategy delegate;
+    private final CircuitBreaker circuitBreaker;
+
+    /**
+     * @param delegate strategy deciding whether and when to retry while the breaker lets retries through
+     * @param circuitBreaker breaker in front of the client
+     */
+    CircuitBreakerRetryStrategy(final StandardRetryStrategy delegate, final CircuitBreaker circuitBreaker) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public AcquireInitialTokenResponse acquireInitialToken(final AcquireInitialTokenRequest request) {
+        return delegate.acquireInitialToken(request);
+    }
+
+    @Override
+    public RefreshRetryTokenResponse refreshRetryToken(final RefreshRetryTokenRequest request) {
+        if (!circuitBreaker.allowsRetry()) {
+            throw new TokenAcquisitionFailedException(
+                "Request attempt not retried, the circuit breaker is open", request.token(), request.failure());
+        }
+        return delegate.refreshRetryToken(request);
+    }
+
+    @Override
+    public RecordSuccessResponse recordSuccess(final RecordSuccessRequest request) {
+        return delegate.recordSuccess(request);
+    }
+
+    @Override
+    public int maxAttempts() {
+        return delegate.maxAttempts();
+    }
+
+    /**
+     * The delegate is configured in full, so the client must not rebuild it with its defaults, which would drop the
+     * breaker.
+     */
+    @Override
+    public boolean useClientDefaults() {
+        return false;
+    }
+
+    @Override
+    public Builder toBuilder() {
+        return new Builder(delegate.toBuilder(), circuitBreaker);
+    }
+
+    /**
+     * Builds the delegate and wraps it in front of the same breaker.
+     */
+    static final class Builder implements RetryStrategy.Builder<Builder, CircuitBreakerRetryStrategy> {
+        private final StandardRetryStrategy.Builder delegate;
+        private final CircuitBreaker circuitBreaker;
+
+        Builder(final StandardRetryStrategy.Builder delegate, final CircuitBreaker circuitBreaker) {
+            this.delegate = delegate;
+            this.circuitBreaker = circuitBreaker;
+        }
+
+        @Override
+        public Builder retryOnException(final Predicate<Throwable> shouldRetry) {
+            delegate.retryOnException(shouldRetry);
+            return this;
+        }
+
+        @Override
+        public Builder maxAttempts(final int maxAttempts) {
+            delegate.maxAttempts(maxAttempts);
+            return this;
+        }
+
+        @Override
+        public Builder backoffStrategy(final BackoffStrategy backoffStrategy) {
+            delegate.backoffStrategy(backoffStrategy);
+            return this;
+        }
+
+        @Override
+        public Builder throttlingBackoffStrategy(final BackoffStrategy throttlingBackoffStrategy) {
+            delegate.throttlingBackoffStrategy(throttlingBackoffStrategy);
+            return this;
+        }
+
+        @Override
+        public Builder treatAsThrottling(final Predicate<Throwable> treatAsThrottling) {
+            delegate.treatAsThrottling(treatAsThrottling);
+            return this;
+        }
+
+        @Override
+        public CircuitBreakerRetryStrategy build() {
+            return new CircuitBreakerRetryStrategy(delegate.build(), circuitBreaker);
+        }
+    }
+}
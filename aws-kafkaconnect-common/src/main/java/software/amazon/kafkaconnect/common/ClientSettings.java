@@ -0,0 +1,68 @@
+package software.amazon.kafkaconnect.common;
+
+/**
+ * Settings of the kafkaconnect clients a provider shares, read from the variables its function environment names
+ * with the provider's prefix, e.g. {@code KAFKACONNECT_CONNECTOR_HTTP_TRANSPORT}. Unset, the clients behave as
+ * before: no circuit breaker, and the rpdk wrapper's HTTP client.
+ */
+@lombok.Value
+@lombok.Builder
+public class ClientSettings {
+    public static final String CIRCUIT_BREAKER_FAILURE_RATE_VARIABLE = "CIRCUIT_BREAKER_FAILURE_RATE";
+    public static final String HTTP_TRANSPORT_VARIABLE = "HTTP_TRANSPORT";
+    public static final String HTTP_MAX_CONNECTIONS_VARIABLE = "HTTP_MAX_CONNECTIONS";
+    public static final int DEFAULT_HTTP_MAX_CONNECTIONS = 16;
+    public static final String HTTP_IDLE_TIMEOUT_SECONDS_VARIABLE = "HTTP_IDLE_TIMEOUT_SECONDS";
+    public static final int DEFAULT_HTTP_IDLE_TIMEOUT_SECONDS = 50;
+    public static final String DNS_CACHE_TTL_SECONDS_VARIABLE = "DNS_CACHE_TTL_SECONDS";
+    public static final ClientSettings DEFAULTS = ClientSettings.builder().build();
+
+    /**
+     * Percentage of failed kafkaconnect API attempts per partition and region that opens the {@link CircuitBreaker},
+     * 0 to never open it.
+     */
+    int circuitBreakerFailureRate;
+
+    /**
+     * HTTP client the kafkaconnect clients send their requests through, see {@link HttpTransportFactory}.
+     */
+    @lombok.Builder.Default
+    HttpTransport httpTransport = HttpTransport.LAMBDA;
+
+    /**
+     * Most pooled connections of a transport other than {@link HttpTransport#LAMBDA}.
+     */
+    @lombok.Builder.Default
+    int httpMaxConnections = DEFAULT_HTTP_MAX_CONNECTIONS;
+
+    /**
+     * Seconds a pooled connection may stay idle before it is closed, for transports other than
+     * {@link HttpTransport#LAMBDA}. Kept below the usual 60 second idle timeout of load balancers, so that a
+     * connection isn't reused just as the other end drops it.
+     */
+    @lombok.Builder.Default
+    int httpIdleTimeoutSeconds = DEFAULT_HTTP_IDLE_TIMEOUT_SECONDS;
+
+    /**
+     * Seconds the JVM caches successful DNS lookups, null to keep the JVM's setting.
+     */
+    Integer dnsCacheTtlSeconds;
+
+    /**
+     * @param prefix prefix of the provider's variables, e.g. {@code KAFKACONNECT_CONNECTOR_}
+     * @param settings reader of the function environment
+     * @return the settings
+     */
+    public static ClientSettings fromEnvironment(final String prefix, final EnvironmentSettings settings) {
+        return ClientSettings.builder()
+            .circuitBreakerFailureRate(settings.number(prefix + CIRCUIT_BREAKER_FAILURE_RATE_VARIABLE, 0, 0, 100))
+            .httpTransport(settings.mode(prefix + HTTP_TRANSPORT_VARIABLE, HttpTransport.class, HttpTransport.LAMBDA))
+            .httpMaxConnections(settings.number(prefix + HTTP_MAX_CONNECTIONS_VARIABLE, DEFAULT_HTTP_MAX_CONNECTIONS,
+                1, Integer.MAX_VALUE))
+            .httpIdleTimeoutSeconds(settings.number(prefix + HTTP_IDLE_TIMEOUT_SECONDS_VARIABLE,
+                DEFAULT_HTTP_IDLE_TIMEOUT_SECONDS, 0, Integer.MAX_VALUE))
+            // -1 caches lookups forever, as networkaddress.cache.ttl does
+            .dnsCacheTtlSeconds(settings.number(prefix + DNS_CACHE_TTL_SECONDS_VARIABLE, null, -1, Integer.MAX_VALUE))
+            .build();
+    }
+}
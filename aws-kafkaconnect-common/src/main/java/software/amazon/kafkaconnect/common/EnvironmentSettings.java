@@ -0,0 +1,84 @@
+package software.amazon.kafkaconnect.common;
+
+import software.amazon.cloudformation.proxy.Logger;
+
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads settings from the variables of a function environment. A value that can't be read is logged and replaced by
+ * the setting's default, so that a mistyped variable turns the setting off instead of failing every invocation of
+ * the container.
+ */
+public final class EnvironmentSettings {
+    private final Map<String, String> environment;
+    private final Logger logger;
+    private final String typeName;
+
+    /**
+     * @param environment function environment
+     * @param logger logger of the values ignored
+     * @param typeName resource type the settings are for, named in what is logged
+     */
+    public EnvironmentSettings(final Map<String, String> environment, final Logger logger, final String typeName) {
+        this.environment = environment;
+        this.logger = logger;
+        this.typeName = typeName;
+    }
+
+    public <E extends Enum<E>> E mode(final String variable, final Class<E> type, final E defaultValue) {
+        final String value = value(variable);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (final IllegalArgumentException e) {
+            return ignored(variable, value, "one of " + Arrays.toString(type.getEnumConstants()), defaultValue);
+        }
+    }
+
+    public Integer number(final String variable, final Integer defaultValue, final int min, final int max) {
+        final String value = value(variable);
+        if (value == null) {
+            return defaultValue;
+        }
+        final String range = String.format("a whole number from %d to %d", min, max);
+        try {
+            final int number = Integer.parseInt(value);
+            if (number < min || number > max) {
+                return ignored(variable, value, range, defaultValue);
+            }
+            return number;
+        } catch (final NumberFormatException e) {
+            return ignored(variable, value, range, defaultValue);
+        }
+    }
+
+    public Path path(final String variable) {
+        final String value = value(variable);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Paths.get(value);
+        } catch (final InvalidPathException e) {
+            return ignored(variable, value, "a local path", null);
+        }
+    }
+
+    private String value(final String variable) {
+        final String value = environment.get(variable);
+        return value == null || value.trim().isEmpty() ? null : value.trim();
+    }
+
+    private <T> T ignored(final String variable, final String value, final String expected, final T defaultValue) {
+        logger.log(String.format("%s setting %s=%s ignored, it must be %s; using %s", typeName, variable, value,
+            expected, defaultValue == null ? "none" : defaultValue));
+        return defaultValue;
+    }
+}
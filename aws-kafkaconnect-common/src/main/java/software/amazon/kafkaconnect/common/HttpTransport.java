@@ -0,0 +1,28 @@
+package software.amazon.kafkaconnect.common;
+
+/**
+ * HTTP clients the kafkaconnect clients can send their requests through, see {@link HttpTransportFactory}.
+ */
+public enum HttpTransport {
+    /** The Apache client shared by the rpdk wrapper, with its defaults. */
+    LAMBDA(null),
+    /** A pooled Apache client of its own. */
+    APACHE("software.amazon.awssdk.http.apache.ApacheSdkHttpService"),
+    /** The JDK's HttpURLConnection, the smallest to load. */
+    URL_CONNECTION("software.amazon.awssdk.http.urlconnection.UrlConnectionSdkHttpService"),
+    /** The AWS Common Runtime client; only available in builds with the crt profile. */
+    CRT("software.amazon.awssdk.http.crt.AwsCrtSdkHttpService");
+
+    private final String serviceClassName;
+
+    HttpTransport(final String serviceClassName) {
+        this.serviceClassName = serviceClassName;
+    }
+
+    /**
+     * @return the SdkHttpService the transport's module registers, null for {@link #LAMBDA}
+     */
+    String getServiceClassName() {
+        return serviceClassName;
+    }
+}
@@ -0,0 +1,66 @@
+package software.amazon.kafkaconnect.common;
+
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.SdkHttpConfigurationOption;
+import software.amazon.awssdk.http.SdkHttpService;
+import software.amazon.awssdk.utils.AttributeMap;
+import software.amazon.cloudformation.LambdaWrapper;
+import software.amazon.cloudformation.proxy.Logger;
+
+import java.security.Security;
+import java.time.Duration;
+import java.util.ServiceLoader;
+
+/**
+ * Builds the HTTP client selected by {@link ClientSettings#getHttpTransport()}. Transports are found through the
+ * SdkHttpService each SDK HTTP module registers, so only the modules on the classpath are loaded. A transport left
+ * out of the build is logged when it is selected, and the rpdk wrapper's client is used instead: the factory runs
+ * while the handler class initializes, where a failure would fail every invocation of the container.
+ *
+ * Transports other than {@link HttpTransport#LAMBDA} pool at most {@link ClientSettings#getHttpMaxConnections()}
+ * connections, close them after {@link ClientSettings#getHttpIdleTimeoutSeconds()} idle seconds, and turn on TCP
+ * keep-alive where the transport supports it. The Apache client also disables Nagle's algorithm (TCP_NODELAY) by
+ * default. URLConnection takes its pool size from the JDK's {@code http.maxConnections}, which is set to the same
+ * limit unless already set.
+ */
+public final class HttpTransportFactory {
+    static final String JDK_MAX_CONNECTIONS_PROPERTY = "http.maxConnections";
+    static final String DNS_CACHE_TTL_PROPERTY = "networkaddress.cache.ttl";
+
+    private HttpTransportFactory() {
+    }
+
+    public static SdkHttpClient create(final ClientSettings settings, final Logger logger) {
+        if (settings.getDnsCacheTtlSeconds() != null) {
+            // read by the JVM when it first caches a lookup, so it must be set before any connection is made
+            Security.setProperty(DNS_CACHE_TTL_PROPERTY, String.valueOf(settings.getDnsCacheTtlSeconds()));
+        }
+
+        final HttpTransport transport = settings.getHttpTransport();
+        if (transport == HttpTransport.LAMBDA) {
+            return LambdaWrapper.HTTP_CLIENT;
+        }
+        if (transport == HttpTransport.URL_CONNECTION
+            && System.getProperty(JDK_MAX_CONNECTIONS_PROPERTY) == null) {
+            System.setProperty(JDK_MAX_CONNECTIONS_PROPERTY, String.valueOf(settings.getHttpMaxConnections()));
+        }
+
+        final SdkHttpService service = ServiceLoader.load(SdkHttpService.class).stream()
+            .filter(provider -> provider.type().getName().equals(transport.getServiceClassName()))
+            .map(ServiceLoader.Provider::get)
+            .findFirst()
+            .orElse(null);
+        if (service == null) {
+            logger.log(String.format("HTTP transport %s is not on the classpath, looked for %s; using %s",
+                transport, transport.getServiceClassName(), HttpTransport.LAMBDA));
+            return LambdaWrapper.HTTP_CLIENT;
+        }
+
+        return service.createHttpClientBuilder().buildWithDefaults(AttributeMap.builder()
+            .put(SdkHttpConfigurationOption.MAX_CONNECTIONS, settings.getHttpMaxConnections())
+            .put(SdkHttpConfigurationOption.CONNECTION_MAX_IDLE_TIMEOUT,
+                Duration.ofSeconds(settings.getHttpIdleTimeoutSeconds()))
+            .put(SdkHttpConfigurationOption.TCP_KEEPALIVE, true)
+            .build());
+    }
+}
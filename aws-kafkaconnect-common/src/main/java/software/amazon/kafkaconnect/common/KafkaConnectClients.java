@@ -0,0 +1,125 @@
+package software.amazon.kafkaconnect.common;
+
+import software.amazon.awssdk.awscore.retry.AwsRetryStrategy;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.retries.StandardRetryStrategy;
+import software.amazon.awssdk.retries.api.BackoffStrategy;
+import software.amazon.awssdk.services.kafkaconnect.KafkaConnectClient;
+import software.amazon.cloudformation.proxy.Logger;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The kafkaconnect clients of one provider, and the circuit breakers in front of them, shared by all invocations in
+ * a container. Every client sends its requests through the HTTP client {@link ClientSettings} selects.
+ */
+public final class KafkaConnectClients {
+    /**
+     * System property pointing the clients at a stand-in endpoint (load tests, benchmarks). Unset in Lambda.
+     */
+    public static final String ENDPOINT_OVERRIDE_PROPERTY = "kafkaconnect.endpointOverride";
+
+    private static final String CN_PARTITION = "aws-cn";
+    private static final String CN_SUFFIX = ".cn";
+    private static final String SERVICE_ENDPOINT_TEMPLATE = "https://kafkaconnect.%s.amazonaws.com";
+
+    private static final BackoffStrategy BACKOFF_THROTTLING_STRATEGY =
+        BackoffStrategy.exponentialDelayHalfJitter(Duration.ofMillis(1200), Duration.ofSeconds(45));
+
+    // the SDK's retryable AWS errors, retried up to 10 times
+    private static final StandardRetryStrategy RETRY_STRATEGY = AwsRetryStrategy.standardRetryStrategy()
+        .toBuilder()
+        .maxAttempts(11)
+        .backoffStrategy(BACKOFF_THROTTLING_STRATEGY)
+        .throttlingBackoffStrategy(BACKOFF_THROTTLING_STRATEGY)
+        .build();
+
+    private final ClientSettings settings;
+    // the transport selected by the settings, by default the rpdk wrapper's shared client
+    private final SdkHttpClient httpClient;
+
+    // clients are thread-safe and carry no caller credentials, so one per endpoint and region is shared across
+    // invocations; the region is part of the key, as an endpoint override serves every region and each client signs
+    // for one, and so is the endpoint, so that a client never outlives an override that moved
+    private final Map<String, KafkaConnectClient> clients = new ConcurrentHashMap<>();
+    // keyed the same way, so a breaker only records the attempts of the endpoint it turns invocations away from
+    private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+    /**
+     * @param settings the circuit breaker and HTTP transport settings
+     * @param logger logs a selected transport that is not on the classpath
+     */
+    public KafkaConnectClients(final ClientSettings settings, final Logger logger) {
+        this.settings = settings;
+        this.httpClient = HttpTransportFactory.create(settings, logger);
+    }
+
+    public KafkaConnectClient getClient(final String awsPartition, final String awsRegion) {
+        final URI serviceEndpoint = getServiceEndpoint(awsPartition, awsRegion);
+        return clients.computeIfAbsent(key(serviceEndpoint, awsRegion), ignored -> buildClient(
+            serviceEndpoint, Region.of(awsRegion), getCircuitBreaker(awsPartition, awsRegion)));
+    }
+
+    /**
+     * @return the circuit breaker in front of the kafkaconnect API of the partition and region
+     */
+    public CircuitBreaker getCircuitBreaker(final String awsPartition, final String awsRegion) {
+        return circuitBreakers.computeIfAbsent(key(getServiceEndpoint(awsPartition, awsRegion), awsRegion),
+            ignored -> new CircuitBreaker(settings.getCircuitBreakerFailureRate()));
+    }
+
+    private static String key(final URI serviceEndpoint, final String awsRegion) {
+        return serviceEndpoint + " " + awsRegion;
+    }
+
+    /**
+     * Forgets all cached clients, e.g. after a CRaC/SnapStart restore, so that nothing resolved before the snapshot
+     * is reused: the next getClient builds a new one. The old clients are not closed, since a request that got one
+     * may still be using it; they hold no connections of their own, the shared HTTP client is not owned by them, and
+     * they are collected once unused. Circuit breakers start over closed, since what they saw before the snapshot
+     * says nothing about the service now.
+     */
+    public void invalidate() {
+        circuitBreakers.clear();
+        clients.clear();
+    }
+
+    /**
+     * @param serviceEndpoint endpoint of the kafkaconnect API
+     * @param region region the client signs its requests for
+     * @param circuitBreaker breaker recording the client's attempts, and stopping its retries while open
+     * @return a new client
+     */
+    public KafkaConnectClient buildClient(
+        final URI serviceEndpoint,
+        final Region region,
+        final CircuitBreaker circuitBreaker) {
+
+        return KafkaConnectClient
+            .builder()
+            .httpClient(httpClient)
+            .endpointOverride(serviceEndpoint)
+            .region(region)
+            .overrideConfiguration(ClientOverrideConfiguration.builder()
+                .retryStrategy(new CircuitBreakerRetryStrategy(RETRY_STRATEGY, circuitBreaker))
+                .addExecutionInterceptor(circuitBreaker)
+                .build())
+            .build();
+    }
+
+    static URI getServiceEndpoint(final String partition, final String region) {
+        final String endpointOverride = System.getProperty(ENDPOINT_OVERRIDE_PROPERTY);
+        if (endpointOverride != null && !endpointOverride.isEmpty()) {
+            return URI.create(endpointOverride);
+        }
+
+        final String serviceEndpoint = String.format(SERVICE_ENDPOINT_TEMPLATE, region);
+        return URI.create(
+            partition.equals(CN_PARTITION) ? serviceEndpoint + CN_SUFFIX : serviceEndpoint);
+    }
+}
@@ -0,0 +1,152 @@
+package software.amazon.kafkaconnect.common;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+/**
+ * Coalesces concurrent identical calls in one container: while a call for an (operation, identifier, caller) is in
+ * flight, the same call from other invocations waits for it and shares its result or exception instead of calling
+ * the service again. Nothing outlives the flight, so a call that starts after another has finished always runs.
+ *
+ * <p>The identifier is a resource ARN, which already pins the account and region, and the caller identifies the
+ * credentials the call is signed with, see {@link #caller(ResourceHandlerRequest)}, so a call is never answered
+ * with what other credentials were allowed to read. Results must be immutable, since every waiting invocation
+ * receives the same instance.
+ *
+ * <p>A waiting call gives up after {@link #DEFAULT_FOLLOWER_TIMEOUT} and runs on its own, so a slow or stuck call in
+ * flight delays the others by at most that long.
+ *
+ * @param <V> result of the call
+ */
+public final class SingleFlight<V> {
+    public static final Duration DEFAULT_FOLLOWER_TIMEOUT = Duration.ofSeconds(10);
+
+    private final ConcurrentMap<String, CompletableFuture<V>> flights = new ConcurrentHashMap<>();
+    private final LongAdder executedCount = new LongAdder();
+    private final LongAdder coalescedCount = new LongAdder();
+    private final long followerTimeoutNanos;
+
+    public SingleFlight() {
+        this(DEFAULT_FOLLOWER_TIMEOUT);
+    }
+
+    /**
+     * Constructor used for unit testing
+     *
+     * @param followerTimeout
+     */
+    public SingleFlight(final Duration followerTimeout) {
+        this.followerTimeoutNanos = followerTimeout.toNanos();
+    }
+
+    /**
+     * @param operation name of the call, part of the key
+     * @param identifier resource the call is for, part of the key
+     * @param caller credentials the call is signed with, part of the key
+     * @param call runs the call, on the calling thread, if none for the key is in flight or the one in flight
+     *     doesn't complete in time
+     * @param logger logger of the current request
+     * @return the result of this call or of the one in flight
+     */
+    public V execute(
+        final String operation,
+        final String identifier,
+        final String caller,
+        final Supplier<V> call,
+        final Logger logger) {
+
+        final String key = operation + " " + identifier + " " + caller;
+        final CompletableFuture<V> flight = new CompletableFuture<>();
+        final CompletableFuture<V> inFlight = flights.putIfAbsent(key, flight);
+        if (inFlight != null) {
+            coalescedCount.increment();
+            logger.log(String.format("%s for %s joined the call in flight; %d of %d calls coalesced",
+                operation, identifier, getCoalescedCount(), getCoalescedCount() + getExecutedCount()));
+            try {
+                return await(inFlight);
+            } catch (final TimeoutException e) {
+                logger.log(String.format("%s for %s in flight didn't complete within %d ms, calling again",
+                    operation, identifier, TimeUnit.NANOSECONDS.toMillis(followerTimeoutNanos)));
+                coalescedCount.decrement();
+                executedCount.increment();
+                return call.get();
+            }
+        }
+
+        executedCount.increment();
+        try {
+            final V result = call.get();
+            // leave the map first, so that a call arriving after completion runs rather than reading a stale result
+            flights.remove(key, flight);
+            flight.complete(result);
+            return result;
+        } catch (final RuntimeException | Error e) {
+            flights.remove(key, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Handlers can't see the credentials their proxy signs with, so the caller is the account and stack the request
+     * is for. CloudFormation calls with one role per stack, and concurrent requests without a stack come from one
+     * bulk invocation or one orchestration target, which sign with one set of credentials per account.
+     *
+     * @param request request of the invocation the call is made for
+     * @return the account and stack the request is for, the stack empty if it has none
+     */
+    public static String caller(final ResourceHandlerRequest<?> request) {
+        return request.getAwsAccountId() + " " + Objects.toString(request.getStackId(), "");
+    }
+
+    private V await(final CompletableFuture<V> flight) throws TimeoutException {
+        try {
+            return flight.get(followerTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the call in flight", e);
+        }
+    }
+
+    /**
+     * @return calls that ran against the service
+     */
+    public long getExecutedCount() {
+        return executedCount.sum();
+    }
+
+    /**
+     * @return calls that shared the result of a call in flight
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.sum();
+    }
+
+    /**
+     * @return share of all calls that were coalesced, 0 before the first call
+     */
+    public double getCoalescingRatio() {
+        final long coalesced = getCoalescedCount();
+        final long total = coalesced + getExecutedCount();
+        return total == 0 ? 0 : (double) coalesced / total;
+    }
+}
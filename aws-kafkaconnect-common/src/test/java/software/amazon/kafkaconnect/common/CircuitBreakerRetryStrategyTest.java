@@ -0,0 +1,79 @@
+package software.amazon.kafkaconnect.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.retries.StandardRetryStrategy;
+import software.amazon.awssdk.retries.api.AcquireInitialTokenRequest;
+import software.amazon.awssdk.retries.api.BackoffStrategy;
+import software.amazon.awssdk.retries.api.RecordSuccessRequest;
+import software.amazon.awssdk.retries.api.RefreshRetryTokenRequest;
+import software.amazon.awssdk.retries.api.RetryToken;
+import software.amazon.awssdk.retries.api.TokenAcquisitionFailedException;
+
+public class CircuitBreakerRetryStrategyTest {
+    private static final RuntimeException FAILURE = new IllegalStateException("Service unavailable");
+
+    private long now;
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker(50, 4, Duration.ofSeconds(30L), () -> now);
+    private final CircuitBreakerRetryStrategy retryStrategy = new CircuitBreakerRetryStrategy(
+        StandardRetryStrategy.builder()
+            .maxAttempts(3)
+            .retryOnException(IllegalStateException.class)
+            .backoffStrategy(BackoffStrategy.retryImmediately())
+            .circuitBreakerEnabled(false)
+            .build(),
+        circuitBreaker);
+
+    @Test
+    public void refreshRetryToken_breakerClosed_retriesAsTheDelegate() {
+        final RetryToken token = retryStrategy.acquireInitialToken(AcquireInitialTokenRequest.create("unit-test"))
+            .token();
+
+        final RetryToken retryToken = retryStrategy.refreshRetryToken(refresh(token)).token();
+
+        assertThat(retryStrategy.maxAttempts()).isEqualTo(3);
+        assertThat(retryStrategy.useClientDefaults()).isFalse();
+        assertThat(retryStrategy.recordSuccess(RecordSuccessRequest.create(retryToken)).token()).isNotNull();
+    }
+
+    @Test
+    public void refreshRetryToken_breakerOpen_stopsRetrying() {
+        final RetryToken token = retryStrategy.acquireInitialToken(AcquireInitialTokenRequest.create("unit-test"))
+            .token();
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.record(true);
+        }
+
+        final TokenAcquisitionFailedException exception =
+            assertThrows(TokenAcquisitionFailedException.class, () -> retryStrategy.refreshRetryToken(refresh(token)));
+
+        assertThat(exception).hasCause(FAILURE);
+        assertThat(exception.token()).isSameAs(token);
+    }
+
+    @Test
+    public void toBuilder_rebuildsInFrontOfTheSameBreaker() {
+        final CircuitBreakerRetryStrategy rebuilt = retryStrategy.toBuilder()
+            .maxAttempts(5)
+            .retryOnException(throwable -> false)
+            .treatAsThrottling(throwable -> false)
+            .backoffStrategy(BackoffStrategy.retryImmediately())
+            .throttlingBackoffStrategy(BackoffStrategy.retryImmediately())
+            .build();
+        final RetryToken token = rebuilt.acquireInitialToken(AcquireInitialTokenRequest.create("unit-test")).token();
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.record(true);
+        }
+
+        assertThat(rebuilt.maxAttempts()).isEqualTo(5);
+        assertThrows(TokenAcquisitionFailedException.class, () -> rebuilt.refreshRetryToken(refresh(token)));
+    }
+
+    private static RefreshRetryTokenRequest refresh(final RetryToken token) {
+        return RefreshRetryTokenRequest.builder().token(token).failure(FAILURE).build();
+    }
+}
@@ -0,0 +1,164 @@
+package software.amazon.kafkaconnect.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.SdkResponse;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.InterceptorContext;
+import software.amazon.awssdk.http.SdkHttpRequest;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.services.kafkaconnect.model.DescribeConnectorRequest;
+
+public class CircuitBreakerTest {
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(30L);
+
+    private long now;
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker(50, 4, OPEN_DURATION, () -> now);
+
+    @Test
+    public void record_sustainedFailures_opensAndRejects() {
+        circuitBreaker.record(true);
+        circuitBreaker.record(false);
+        circuitBreaker.record(true);
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.tryEnter()).isEqualTo(CircuitBreaker.Admission.CALL);
+
+        circuitBreaker.record(false);
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryEnter()).isEqualTo(CircuitBreaker.Admission.REJECT);
+        assertThat(circuitBreaker.allowsRetry()).isFalse();
+        assertThat(circuitBreaker.getRetryAfterSeconds()).isEqualTo(30);
+        now += TimeUnit.MILLISECONDS.toNanos(20_500L);
+        assertThat(circuitBreaker.getRetryAfterSeconds()).isEqualTo(10);
+    }
+
+    @Test
+    public void record_occasionalFailures_staysClosed() {
+        for (int i = 0; i < 3 * CircuitBreaker.WINDOW_SIZE; i++) {
+            circuitBreaker.record(i % 4 == 3);
+        }
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.allowsRetry()).isTrue();
+    }
+
+    @Test
+    public void tryEnter_afterOpenDuration_letsOneProbeThrough() {
+        open();
+        now += OPEN_DURATION.toNanos();
+
+        assertThat(circuitBreaker.tryEnter()).isEqualTo(CircuitBreaker.Admission.PROBE);
+        assertThat(circuitBreaker.tryEnter()).isEqualTo(CircuitBreaker.Admission.REJECT);
+        assertThat(circuitBreaker.getRetryAfterSeconds()).isEqualTo(1);
+
+        circuitBreaker.exitProbe();
+        assertThat(circuitBreaker.tryEnter()).isEqualTo(CircuitBreaker.Admission.PROBE);
+    }
+
+    @Test
+    public void record_probeOutcome_closesOrReopens() {
+        open();
+        now += OPEN_DURATION.toNanos();
+        circuitBreaker.tryEnter();
+        circuitBreaker.record(true);
+        circuitBreaker.exitProbe();
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.getRetryAfterSeconds()).isEqualTo(30);
+
+        now += OPEN_DURATION.toNanos();
+        circuitBreaker.tryEnter();
+        circuitBreaker.record(false);
+        circuitBreaker.exitProbe();
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        circuitBreaker.record(true);
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    public void record_disabled_neverOpens() {
+        final CircuitBreaker disabled = new CircuitBreaker(0);
+        for (int i = 0; i < CircuitBreaker.WINDOW_SIZE; i++) {
+            disabled.record(true);
+        }
+
+        assertThat(disabled.tryEnter()).isEqualTo(CircuitBreaker.Admission.CALL);
+    }
+
+    @Test
+    public void interceptor_recordsThrottlesServerErrorsAndConnectionFailures() {
+        final ExecutionAttributes attributes = new ExecutionAttributes();
+        circuitBreaker.afterTransmission(responded(200), attributes);
+        circuitBreaker.afterTransmission(responded(429), attributes);
+        circuitBreaker.afterTransmission(responded(503), attributes);
+        // recorded after transmission already, or not a connection failure
+        circuitBreaker.onExecutionFailure(failed(responded(503), SdkClientException.create("unreadable")), attributes);
+        circuitBreaker.onExecutionFailure(failed(notSent(), SdkClientException.create("unsigned")), attributes);
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        circuitBreaker.onExecutionFailure(failed(notSent(),
+            SdkClientException.create("refused", new ConnectException("Connection refused"))), attributes);
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    private static InterceptorContext notSent() {
+        return InterceptorContext.builder()
+            .request(DescribeConnectorRequest.builder().build())
+            .build();
+    }
+
+    private static InterceptorContext responded(final int status) {
+        return notSent().toBuilder()
+            .httpResponse(SdkHttpResponse.builder().statusCode(status).build())
+            .build();
+    }
+
+    private static Context.FailedExecution failed(final InterceptorContext context, final Exception exception) {
+        return new Context.FailedExecution() {
+            @Override
+            public Throwable exception() {
+                return exception;
+            }
+
+            @Override
+            public SdkRequest request() {
+                return context.request();
+            }
+
+            @Override
+            public Optional<SdkHttpRequest> httpRequest() {
+                return Optional.ofNullable(context.httpRequest());
+            }
+
+            @Override
+            public Optional<SdkHttpResponse> httpResponse() {
+                return Optional.ofNullable(context.httpResponse());
+            }
+
+            @Override
+            public Optional<SdkResponse> response() {
+                return Optional.empty();
+            }
+        };
+    }
+
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.record(true);
+        }
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+}
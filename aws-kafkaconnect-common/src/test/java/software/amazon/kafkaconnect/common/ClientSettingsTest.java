@@ -0,0 +1,114 @@
+package software.amazon.kafkaconnect.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.proxy.Logger;
+
+public class ClientSettingsTest {
+    private static final String PREFIX = "KAFKACONNECT_TEST_";
+    private static final String TYPE_NAME = "AWS::KafkaConnect::Test";
+
+    private final List<String> logged = new ArrayList<>();
+    private final Logger logger = logged::add;
+
+    @Test
+    public void fromEnvironment_unset_defaultsToOff() {
+        final ClientSettings settings = fromEnvironment(Collections.emptyMap());
+
+        assertThat(settings).isEqualTo(ClientSettings.DEFAULTS);
+        assertThat(settings.getCircuitBreakerFailureRate()).isZero();
+        assertThat(settings.getHttpTransport()).isEqualTo(HttpTransport.LAMBDA);
+        assertThat(settings.getHttpMaxConnections()).isEqualTo(ClientSettings.DEFAULT_HTTP_MAX_CONNECTIONS);
+        assertThat(settings.getHttpIdleTimeoutSeconds()).isEqualTo(ClientSettings.DEFAULT_HTTP_IDLE_TIMEOUT_SECONDS);
+        assertThat(settings.getDnsCacheTtlSeconds()).isNull();
+        assertThat(logged).isEmpty();
+    }
+
+    @Test
+    public void fromEnvironment_set_readsPrefixedSettings() {
+        final Map<String, String> environment = new HashMap<>();
+        environment.put(PREFIX + ClientSettings.CIRCUIT_BREAKER_FAILURE_RATE_VARIABLE, " 50 ");
+        environment.put(PREFIX + ClientSettings.HTTP_TRANSPORT_VARIABLE, "url_connection");
+        environment.put(PREFIX + ClientSettings.HTTP_MAX_CONNECTIONS_VARIABLE, "32");
+        environment.put(PREFIX + ClientSettings.HTTP_IDLE_TIMEOUT_SECONDS_VARIABLE, "30");
+        environment.put(PREFIX + ClientSettings.DNS_CACHE_TTL_SECONDS_VARIABLE, " 5 ");
+        // another provider's variables are not read
+        environment.put("KAFKACONNECT_OTHER_" + ClientSettings.HTTP_TRANSPORT_VARIABLE, "apache");
+        final ClientSettings settings = fromEnvironment(environment);
+
+        assertThat(settings.getCircuitBreakerFailureRate()).isEqualTo(50);
+        assertThat(settings.getHttpTransport()).isEqualTo(HttpTransport.URL_CONNECTION);
+        assertThat(settings.getHttpMaxConnections()).isEqualTo(32);
+        assertThat(settings.getHttpIdleTimeoutSeconds()).isEqualTo(30);
+        assertThat(settings.getDnsCacheTtlSeconds()).isEqualTo(5);
+        assertThat(logged).isEmpty();
+    }
+
+    @Test
+    public void fromEnvironment_invalidValues_areLoggedAndDefaulted() {
+        final Map<String, String> environment = new HashMap<>();
+        environment.put(PREFIX + ClientSettings.CIRCUIT_BREAKER_FAILURE_RATE_VARIABLE, "150");
+        environment.put(PREFIX + ClientSettings.HTTP_TRANSPORT_VARIABLE, "netty");
+        environment.put(PREFIX + ClientSettings.HTTP_MAX_CONNECTIONS_VARIABLE, "99999999999");
+        environment.put(PREFIX + ClientSettings.HTTP_IDLE_TIMEOUT_SECONDS_VARIABLE, "-1");
+        environment.put(PREFIX + ClientSettings.DNS_CACHE_TTL_SECONDS_VARIABLE, "5s");
+        final ClientSettings settings = fromEnvironment(environment);
+
+        assertThat(settings).isEqualTo(ClientSettings.DEFAULTS);
+        assertThat(logged).hasSize(5);
+        assertThat(logged).anySatisfy(message -> assertThat(message)
+            .startsWith(TYPE_NAME)
+            .contains(PREFIX + ClientSettings.CIRCUIT_BREAKER_FAILURE_RATE_VARIABLE + "=150")
+            .contains("from 0 to 100")
+            .endsWith("using 0"));
+        assertThat(logged).anySatisfy(message -> assertThat(message)
+            .contains(PREFIX + ClientSettings.HTTP_TRANSPORT_VARIABLE + "=netty")
+            .contains("[LAMBDA, APACHE, URL_CONNECTION, CRT]")
+            .endsWith("using LAMBDA"));
+        assertThat(logged).anySatisfy(message -> assertThat(message)
+            .contains(PREFIX + ClientSettings.DNS_CACHE_TTL_SECONDS_VARIABLE + "=5s")
+            .endsWith("using none"));
+    }
+
+    @Test
+    public void fromEnvironment_dnsCacheForever_isRead() {
+        final ClientSettings settings = fromEnvironment(
+            Collections.singletonMap(PREFIX + ClientSettings.DNS_CACHE_TTL_SECONDS_VARIABLE, "-1"));
+
+        assertThat(settings.getDnsCacheTtlSeconds()).isEqualTo(-1);
+        assertThat(logged).isEmpty();
+    }
+
+    @Test
+    public void path_readsLocalPath() {
+        final EnvironmentSettings settings = new EnvironmentSettings(
+            Collections.singletonMap("ROOT", " /tmp/plugins "), logger, TYPE_NAME);
+
+        assertThat(settings.path("ROOT")).isEqualTo(Paths.get("/tmp/plugins"));
+        assertThat(settings.path("UNSET")).isNull();
+        assertThat(logged).isEmpty();
+    }
+
+    @Test
+    public void path_invalid_isLoggedAndUnset() {
+        final EnvironmentSettings settings = new EnvironmentSettings(
+            Collections.singletonMap("ROOT", "/tmp/\0plugins"), logger, TYPE_NAME);
+
+        assertThat(settings.path("ROOT")).isNull();
+        assertThat(logged).hasSize(1);
+        assertThat(logged.get(0))
+            .contains("a local path")
+            .endsWith("using none");
+    }
+
+    private ClientSettings fromEnvironment(final Map<String, String> environment) {
+        return ClientSettings.fromEnvironment(PREFIX, new EnvironmentSettings(environment, logger, TYPE_NAME));
+    }
+}
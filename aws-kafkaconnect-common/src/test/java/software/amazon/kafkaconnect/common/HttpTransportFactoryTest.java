@@ -0,0 +1,52 @@
+package software.amazon.kafkaconnect.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.cloudformation.LambdaWrapper;
+import software.amazon.cloudformation.proxy.Logger;
+
+public class HttpTransportFactoryTest {
+    private final List<String> logged = new ArrayList<>();
+    private final Logger logger = logged::add;
+
+    @Test
+    public void create_lambda_sharesWrapperClient() {
+        assertThat(HttpTransportFactory.create(ClientSettings.DEFAULTS, logger)).isSameAs(LambdaWrapper.HTTP_CLIENT);
+    }
+
+    @Test
+    public void create_apache_buildsOwnClient() {
+        try (SdkHttpClient client = HttpTransportFactory.create(settings(HttpTransport.APACHE), logger)) {
+            assertThat(client).isNotSameAs(LambdaWrapper.HTTP_CLIENT);
+            assertThat(client.clientName()).isEqualTo("Apache");
+        }
+    }
+
+    @Test
+    public void create_urlConnection_buildsJdkClient() {
+        try (SdkHttpClient client = HttpTransportFactory.create(settings(HttpTransport.URL_CONNECTION), logger)) {
+            assertThat(client.clientName()).isEqualTo("UrlConnection");
+        }
+    }
+
+    @Test
+    public void create_transportNotOnClasspath_logsAndSharesWrapperClient() {
+        // the crt module is only bundled by the providers' crt profile
+        assertThat(HttpTransportFactory.create(settings(HttpTransport.CRT), logger)).isSameAs(LambdaWrapper.HTTP_CLIENT);
+        assertThat(logged).hasSize(1);
+        assertThat(logged.get(0))
+            .contains("HTTP transport CRT is not on the classpath")
+            .endsWith("using LAMBDA");
+    }
+
+    private static ClientSettings settings(final HttpTransport transport) {
+        return ClientSettings.builder()
+            .httpTransport(transport)
+            .build();
+    }
+}
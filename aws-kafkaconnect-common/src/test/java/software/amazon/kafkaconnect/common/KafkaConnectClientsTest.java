@@ -0,0 +1,70 @@
+package software.amazon.kafkaconnect.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.kafkaconnect.KafkaConnectClient;
+
+public class KafkaConnectClientsTest {
+    private final KafkaConnectClients clients = new KafkaConnectClients(ClientSettings.DEFAULTS, message -> { });
+
+    @AfterEach
+    public void tearDown() {
+        System.clearProperty(KafkaConnectClients.ENDPOINT_OVERRIDE_PROPERTY);
+    }
+
+    @Test
+    public void getClient_samePartitionAndRegion_sharesClientAndBreaker() {
+        final KafkaConnectClient client = clients.getClient("aws", "us-east-1");
+
+        assertThat(clients.getClient("aws", "us-east-1")).isSameAs(client);
+        assertThat(clients.getClient("aws", "us-west-2")).isNotSameAs(client);
+        assertThat(clients.getCircuitBreaker("aws", "us-east-1")).isSameAs(clients.getCircuitBreaker("aws", "us-east-1"))
+            .isNotSameAs(clients.getCircuitBreaker("aws", "us-west-2"));
+    }
+
+    @Test
+    public void getClient_endpointOverrideMoved_buildsNewClientAndBreaker() {
+        System.setProperty(KafkaConnectClients.ENDPOINT_OVERRIDE_PROPERTY, "http://localhost:8080");
+        final KafkaConnectClient client = clients.getClient("aws", "us-east-1");
+        final CircuitBreaker circuitBreaker = clients.getCircuitBreaker("aws", "us-east-1");
+
+        System.setProperty(KafkaConnectClients.ENDPOINT_OVERRIDE_PROPERTY, "http://localhost:8081");
+
+        assertThat(clients.getClient("aws", "us-east-1")).isNotSameAs(client);
+        assertThat(clients.getCircuitBreaker("aws", "us-east-1")).isNotSameAs(circuitBreaker);
+        assertThat(clients.getClient("aws", "us-west-2")).isNotSameAs(clients.getClient("aws", "us-east-1"));
+    }
+
+    @Test
+    public void invalidate_forgetsClientsAndBreakers() {
+        final KafkaConnectClient client = clients.getClient("aws", "us-east-1");
+        final CircuitBreaker circuitBreaker = clients.getCircuitBreaker("aws", "us-east-1");
+
+        clients.invalidate();
+
+        assertThat(clients.getClient("aws", "us-east-1")).isNotSameAs(client);
+        assertThat(clients.getCircuitBreaker("aws", "us-east-1")).isNotSameAs(circuitBreaker);
+    }
+
+    @Test
+    public void getServiceEndpoint_byPartition() {
+        assertThat(KafkaConnectClients.getServiceEndpoint("aws", "us-east-1"))
+            .isEqualTo(URI.create("https://kafkaconnect.us-east-1.amazonaws.com"));
+        assertThat(KafkaConnectClients.getServiceEndpoint("aws-cn", "cn-north-1"))
+            .isEqualTo(URI.create("https://kafkaconnect.cn-north-1.amazonaws.com.cn"));
+    }
+
+    @Test
+    public void getServiceEndpoint_override_servesEveryRegion() {
+        System.setProperty(KafkaConnectClients.ENDPOINT_OVERRIDE_PROPERTY, "http://localhost:8080");
+
+        assertThat(KafkaConnectClients.getServiceEndpoint("aws", "us-east-1"))
+            .isEqualTo(URI.create("http://localhost:8080"));
+        assertThat(KafkaConnectClients.getServiceEndpoint("aws-cn", "cn-north-1"))
+            .isEqualTo(URI.create("http://localhost:8080"));
+    }
+}
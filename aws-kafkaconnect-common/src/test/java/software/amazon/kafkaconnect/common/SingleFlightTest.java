@@ -0,0 +1,206 @@
+package software.amazon.kafkaconnect.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+public class SingleFlightTest {
+    private static final String OPERATION = "Describe";
+    private static final String ARN = "arn:aws:kafkaconnect:us-east-1:123456789:resource/unit-test";
+    private static final String CALLER = "accessKey";
+
+    private final Logger logger = message -> { };
+    private final SingleFlight<String> singleFlight = new SingleFlight<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void execute_concurrentSameKey_sharesOneCall() throws Exception {
+        final Future<String> leader = executor.submit(() -> singleFlight.execute(OPERATION, ARN, CALLER, () -> {
+            calls.incrementAndGet();
+            await(release);
+            return "described";
+        }, logger));
+        awaitCalls(1);
+
+        final String[] followerResult = new String[1];
+        final Thread follower = new Thread(() -> followerResult[0] = singleFlight.execute(OPERATION, ARN, CALLER,
+            () -> {
+                calls.incrementAndGet();
+                return "described again";
+            }, logger));
+        follower.start();
+        awaitCoalesced(1);
+        release.countDown();
+        follower.join(TimeUnit.SECONDS.toMillis(5L));
+
+        assertThat(leader.get(5L, TimeUnit.SECONDS)).isEqualTo("described");
+        assertThat(followerResult[0]).isEqualTo("described");
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(singleFlight.getExecutedCount()).isEqualTo(1);
+        assertThat(singleFlight.getCoalescedCount()).isEqualTo(1);
+        assertThat(singleFlight.getCoalescingRatio()).isEqualTo(0.5);
+    }
+
+    @Test
+    public void execute_leaderFails_followerGetsSameException() throws Exception {
+        final IllegalStateException failure = new IllegalStateException("not found");
+        final Future<String> leader = executor.submit(() -> singleFlight.execute(OPERATION, ARN, CALLER, () -> {
+            calls.incrementAndGet();
+            await(release);
+            throw failure;
+        }, logger));
+        awaitCalls(1);
+
+        final RuntimeException[] followerFailure = new RuntimeException[1];
+        final Thread follower = new Thread(() -> {
+            try {
+                singleFlight.execute(OPERATION, ARN, CALLER, () -> "unused", logger);
+            } catch (final RuntimeException e) {
+                followerFailure[0] = e;
+            }
+        });
+        follower.start();
+        awaitCoalesced(1);
+        release.countDown();
+        follower.join(TimeUnit.SECONDS.toMillis(5L));
+
+        final ExecutionException leaderFailure = assertThrows(ExecutionException.class,
+            () -> leader.get(5L, TimeUnit.SECONDS));
+        assertThat(leaderFailure.getCause()).isSameAs(failure);
+        assertThat(followerFailure[0]).isSameAs(failure);
+    }
+
+    @Test
+    public void execute_leaderErrors_followerGetsSameError() throws Exception {
+        final StackOverflowError failure = new StackOverflowError();
+        final Future<String> leader = executor.submit(() -> singleFlight.execute(OPERATION, ARN, CALLER, () -> {
+            calls.incrementAndGet();
+            await(release);
+            throw failure;
+        }, logger));
+        awaitCalls(1);
+
+        final Throwable[] followerFailure = new Throwable[1];
+        final Thread follower = new Thread(() -> {
+            try {
+                singleFlight.execute(OPERATION, ARN, CALLER, () -> "unused", logger);
+            } catch (final StackOverflowError e) {
+                followerFailure[0] = e;
+            }
+        });
+        follower.start();
+        awaitCoalesced(1);
+        release.countDown();
+        follower.join(TimeUnit.SECONDS.toMillis(5L));
+
+        assertThrows(ExecutionException.class, () -> leader.get(5L, TimeUnit.SECONDS));
+        assertThat(followerFailure[0]).isSameAs(failure);
+    }
+
+    @Test
+    public void execute_callInFlightTooSlow_followerCallsOnItsOwn() throws Exception {
+        final SingleFlight<String> impatient = new SingleFlight<>(Duration.ofMillis(50L));
+        final Future<String> leader = executor.submit(() -> impatient.execute(OPERATION, ARN, CALLER, () -> {
+            calls.incrementAndGet();
+            await(release);
+            return "described";
+        }, logger));
+        awaitCalls(1);
+
+        assertThat(impatient.execute(OPERATION, ARN, CALLER, () -> "described again", logger))
+            .isEqualTo("described again");
+        assertThat(impatient.getExecutedCount()).isEqualTo(2);
+        assertThat(impatient.getCoalescedCount()).isZero();
+
+        release.countDown();
+        assertThat(leader.get(5L, TimeUnit.SECONDS)).isEqualTo("described");
+    }
+
+    @Test
+    public void execute_concurrentOtherCaller_callsOnItsOwn() throws Exception {
+        final Future<String> leader = executor.submit(() -> singleFlight.execute(OPERATION, ARN, CALLER, () -> {
+            calls.incrementAndGet();
+            await(release);
+            return "described";
+        }, logger));
+        awaitCalls(1);
+
+        assertThat(singleFlight.execute(OPERATION, ARN, "otherAccessKey", () -> "described for other", logger))
+            .isEqualTo("described for other");
+        assertThat(singleFlight.getCoalescedCount()).isZero();
+
+        release.countDown();
+        assertThat(leader.get(5L, TimeUnit.SECONDS)).isEqualTo("described");
+    }
+
+    @Test
+    public void caller_isAccountAndStackOfTheRequest() {
+        final ResourceHandlerRequest<Object> stackRequest = ResourceHandlerRequest.builder()
+            .awsAccountId("123456789")
+            .stackId("arn:aws:cloudformation:us-east-1:123456789:stack/unit-test/1")
+            .build();
+        final ResourceHandlerRequest<Object> otherStackRequest = ResourceHandlerRequest.builder()
+            .awsAccountId("123456789")
+            .stackId("arn:aws:cloudformation:us-east-1:123456789:stack/unit-test/2")
+            .build();
+        final ResourceHandlerRequest<Object> noStackRequest = ResourceHandlerRequest.builder()
+            .awsAccountId("123456789")
+            .build();
+
+        assertThat(SingleFlight.caller(stackRequest))
+            .isEqualTo("123456789 arn:aws:cloudformation:us-east-1:123456789:stack/unit-test/1");
+        assertThat(SingleFlight.caller(otherStackRequest)).isNotEqualTo(SingleFlight.caller(stackRequest));
+        assertThat(SingleFlight.caller(noStackRequest)).isEqualTo("123456789 ");
+    }
+
+    @Test
+    public void execute_sequentialOrDifferentKeys_neverShares() {
+        assertThat(singleFlight.execute(OPERATION, ARN, CALLER, () -> "first", logger)).isEqualTo("first");
+        assertThat(singleFlight.execute(OPERATION, ARN, CALLER, () -> "second", logger)).isEqualTo("second");
+        assertThat(singleFlight.execute("ListTags", ARN, CALLER, () -> "tags", logger)).isEqualTo("tags");
+
+        assertThat(singleFlight.getExecutedCount()).isEqualTo(3);
+        assertThat(singleFlight.getCoalescingRatio()).isZero();
+    }
+
+    private void awaitCalls(final int expected) throws InterruptedException {
+        while (calls.get() < expected) {
+            Thread.sleep(1L);
+        }
+    }
+
+    private void awaitCoalesced(final long expected) throws InterruptedException {
+        while (singleFlight.getCoalescedCount() < expected) {
+            Thread.sleep(1L);
+        }
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(5L, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package software.amazon.kafkaconnect.connector;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import com.fasterxml.jackson.core.type.TypeReference;
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.cloudformation.Action;
+import software.amazon.cloudformation.exceptions.BaseHandlerException;
+import software.amazon.cloudformation.exceptions.CfnInternalFailureException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.cloudformation.resource.Serializer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Entrypoint running many Read, List or Delete requests in one invocation, for callers such as reconcilers that
+ * would otherwise invoke {@link HandlerWrapper} once per resource. Requests run on the regular handlers, at most
+ * {@link ProviderSettings#getBulkParallelism()} at a time, over the clients {@link ClientBuilder} shares, and every
+ * kafkaconnect API call waits for a permit from a rate limiter shared per partition and region. Each request gets its
+ * own {@link ProgressEvent}, in request order; a request that fails or is still IN_PROGRESS doesn't affect the others,
+ * and can be sent again with the callback context from its event.
+ */
+public class BulkHandler implements RequestStreamHandler {
+    private static final TypeReference<BulkRequest> BULK_REQUEST_TYPE = new TypeReference<BulkRequest>() {
+    };
+
+    private final Map<Action, BaseHandler<CallbackContext>> handlers;
+    private final int parallelism;
+    private final int requestsPerSecond;
+    private final ConcurrentMap<String, RateLimiter> rateLimiters = new ConcurrentHashMap<>();
+    private final Serializer serializer = new Serializer();
+
+    public BulkHandler() {
+        this(defaultHandlers(), HandlerRegistry.SETTINGS.getBulkParallelism(),
+            HandlerRegistry.SETTINGS.getBulkRequestsPerSecond());
+    }
+
+    /**
+     * Constructor used for unit testing
+     *
+     * @param handlers
+     * @param parallelism
+     * @param requestsPerSecond
+     */
+    BulkHandler(
+        final Map<Action, BaseHandler<CallbackContext>> handlers,
+        final int parallelism,
+        final int requestsPerSecond) {
+
+        this.handlers = handlers;
+        this.parallelism = parallelism;
+        this.requestsPerSecond = requestsPerSecond;
+    }
+
+    private static Map<Action, BaseHandler<CallbackContext>> defaultHandlers() {
+        final Map<Action, BaseHandler<CallbackContext>> handlers = new EnumMap<>(Action.class);
+        handlers.put(Action.READ, new ReadHandler());
+        handlers.put(Action.LIST, new ListHandler());
+        handlers.put(Action.DELETE, new DeleteHandler());
+        return Collections.unmodifiableMap(handlers);
+    }
+
+    @Override
+    public void handleRequest(final InputStream input, final OutputStream output, final Context context)
+        throws IOException {
+
+        final BulkRequest bulkRequest =
+            serializer.deserialize(new String(input.readAllBytes(), StandardCharsets.UTF_8), BULK_REQUEST_TYPE);
+        final List<ProgressEvent<ResourceModel, CallbackContext>> events = handleRequests(
+            bulkRequest, () -> (long) context.getRemainingTimeInMillis(), context.getLogger()::log);
+        output.write(serializer.serialize(events).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param bulkRequest action, credentials and requests to run
+     * @param remainingTime milliseconds left in the invocation, decides whether handlers wait in-process
+     * @param logger logger of the invocation, each request's lines are prefixed with its index
+     * @return one event per request, in request order
+     */
+    List<ProgressEvent<ResourceModel, CallbackContext>> handleRequests(
+        final BulkRequest bulkRequest,
+        final Supplier<Long> remainingTime,
+        final Logger logger) {
+
+        final List<ResourceHandlerRequest<ResourceModel>> requests = bulkRequest.getRequests() == null
+            ? Collections.emptyList() : bulkRequest.getRequests();
+        final BaseHandler<CallbackContext> handler = handlers.get(bulkRequest.getAction());
+        if (handler == null) {
+            return rejectAll(requests, String.format("%s is not supported in bulk, only %s",
+                bulkRequest.getAction(), handlers.keySet()));
+        }
+        if (bulkRequest.getCredentials() == null) {
+            return rejectAll(requests, "Credentials are required");
+        }
+        if (requests.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, requests.size()));
+        try {
+            final List<Future<ProgressEvent<ResourceModel, CallbackContext>>> futures = new ArrayList<>();
+            for (int i = 0; i < requests.size(); i++) {
+                final int index = i;
+                final CallbackContext callbackContext = bulkRequest.getCallbackContexts() == null
+                    || index >= bulkRequest.getCallbackContexts().size()
+                    ? null : bulkRequest.getCallbackContexts().get(index);
+                final Logger requestLogger = message -> logger.log(String.format("[%d] %s", index, message));
+                futures.add(executor.submit(() -> invoke(handler, requests.get(index), callbackContext,
+                    bulkRequest.getCredentials(), remainingTime, requestLogger)));
+            }
+
+            final List<ProgressEvent<ResourceModel, CallbackContext>> events = new ArrayList<>();
+            for (int i = 0; i < futures.size(); i++) {
+                events.add(await(futures.get(i), requests.get(i)));
+            }
+            logger.log(String.format("%s ran %d %s requests", getClass().getSimpleName(), requests.size(),
+                bulkRequest.getAction()));
+            return events;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> invoke(
+        final BaseHandler<CallbackContext> handler,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        final Credentials credentials,
+        final Supplier<Long> remainingTime,
+        final Logger logger) {
+
+        final RateLimiter rateLimiter = rateLimiters.computeIfAbsent(
+            request.getAwsPartition() + "/" + request.getRegion(), key -> new RateLimiter(requestsPerSecond));
+        try {
+            return handler.handleRequest(
+                new RateLimitedProxy(credentials, remainingTime, rateLimiter), request, callbackContext, logger);
+        } catch (final BaseHandlerException e) {
+            logger.log(String.format("%s failed: %s", ResourceModel.TYPE_NAME, e.getMessage()));
+            return ProgressEvent.defaultFailureHandler(e, e.getErrorCode());
+        } catch (final AwsServiceException e) {
+            logger.log(String.format("%s failed: %s", ResourceModel.TYPE_NAME, e.getMessage()));
+            return ProgressEvent.defaultFailureHandler(e, HandlerErrorCode.GeneralServiceException);
+        } catch (final RuntimeException e) {
+            logger.log(String.format("%s failed: %s", ResourceModel.TYPE_NAME, e));
+            return ProgressEvent.defaultFailureHandler(e, HandlerErrorCode.InternalFailure);
+        }
+    }
+
+    private static ProgressEvent<ResourceModel, CallbackContext> await(
+        final Future<ProgressEvent<ResourceModel, CallbackContext>> future,
+        final ResourceHandlerRequest<ResourceModel> request) {
+
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ProgressEvent.failed(request.getDesiredResourceState(), null, HandlerErrorCode.InternalFailure,
+                "Interrupted before the request completed");
+        } catch (final ExecutionException e) {
+            return ProgressEvent.defaultFailureHandler(e.getCause(), HandlerErrorCode.InternalFailure);
+        }
+    }
+
+    private static List<ProgressEvent<ResourceModel, CallbackContext>> rejectAll(
+        final List<ResourceHandlerRequest<ResourceModel>> requests,
+        final String message) {
+
+        final List<ProgressEvent<ResourceModel, CallbackContext>> events = new ArrayList<>();
+        for (final ResourceHandlerRequest<ResourceModel> request : requests) {
+            events.add(ProgressEvent.failed(
+                request.getDesiredResourceState(), null, HandlerErrorCode.InvalidRequest, message));
+        }
+        return events;
+    }
+
+    /**
+     * Proxy taking a permit from the rate limiter before each call it makes for a handler.
+     */
+    private static final class RateLimitedProxy extends AmazonWebServicesClientProxy {
+        private final RateLimiter rateLimiter;
+
+        RateLimitedProxy(
+            final Credentials credentials,
+            final Supplier<Long> remainingTime,
+            final RateLimiter rateLimiter) {
+
+            super(new LoggerProxy(), credentials, remainingTime);
+            this.rateLimiter = rateLimiter;
+        }
+
+        @Override
+        public <RequestT extends AwsRequest, ResultT extends AwsResponse> ResultT injectCredentialsAndInvokeV2(
+            final RequestT request,
+            final Function<RequestT, ResultT> requestFunction) {
+
+            try {
+                rateLimiter.acquire();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CfnInternalFailureException(e);
+            }
+            return super.injectCredentialsAndInvokeV2(request, requestFunction);
+        }
+    }
+
+    /**
+     * Payload of a bulk invocation. Callback contexts, when given, pair with requests by position.
+     */
+    @lombok.Data
+    @lombok.Builder
+    @lombok.NoArgsConstructor
+    @lombok.AllArgsConstructor
+    static class BulkRequest {
+        private Action action;
+        private Credentials credentials;
+        private List<ResourceHandlerRequest<ResourceModel>> requests;
+        private List<CallbackContext> callbackContexts;
+    }
+}
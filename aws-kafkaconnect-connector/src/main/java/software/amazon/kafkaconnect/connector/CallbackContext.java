@@ -7,4 +7,13 @@ import software.amazon.cloudformation.proxy.StdCallbackContext;
 @lombok.ToString
 @lombok.EqualsAndHashCode(callSuper = true)
 public class CallbackContext extends StdCallbackContext {
+    /**
+     * ARN of the connector the create made or adopted, set before stabilization.
+     */
+    private String connectorArn;
+
+    /**
+     * Invocations in a row the open circuit breaker turned away, reset once one is let through.
+     */
+    private int circuitOpenCallbacks;
 }
@@ -0,0 +1,176 @@
+package software.amazon.kafkaconnect.connector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Checks a capacity change against the limits UpdateConnector enforces and works out how the worker count can move,
+ * without calling the service. A change these checks reject would otherwise fail the update call, or be reverted by
+ * the service after a full update and stabilization cycle.
+ */
+class CapacityPlanner {
+    static final List<Integer> MCU_COUNTS = Collections.unmodifiableList(Arrays.asList(1, 2, 4, 8));
+    static final int MIN_WORKER_COUNT = 1;
+    static final int MIN_CPU_UTILIZATION_PERCENTAGE = 1;
+    static final int MAX_CPU_UTILIZATION_PERCENTAGE = 100;
+
+    private final int maxWorkerCount;
+
+    /**
+     * @param maxWorkerCount most workers accepted, for provisioned capacity and as the auto scaling maximum
+     */
+    CapacityPlanner(final int maxWorkerCount) {
+        this.maxWorkerCount = maxWorkerCount;
+    }
+
+    /**
+     * @param previous capacity before the update, may be null
+     * @param desired capacity requested
+     * @return the violations of the desired capacity and the change in worker count it allows
+     */
+    Plan plan(final Capacity previous, final Capacity desired) {
+        final List<String> violations = new ArrayList<>();
+        validate(desired, violations);
+
+        final Plan.PlanBuilder plan = Plan.builder()
+            .violations(Collections.unmodifiableList(violations))
+            .previous(describe(previous))
+            .desired(describe(desired));
+        final int[] previousWorkers = workerRange(previous);
+        final int[] desiredWorkers = workerRange(desired);
+        if (violations.isEmpty() && previousWorkers != null) {
+            // the current count is anywhere in the previous range, and may end anywhere in the desired one
+            plan.minWorkerDelta(desiredWorkers[0] - previousWorkers[1])
+                .maxWorkerDelta(desiredWorkers[1] - previousWorkers[0]);
+        }
+        return plan.build();
+    }
+
+    private void validate(final Capacity capacity, final List<String> violations) {
+        if (capacity == null
+            || (capacity.getAutoScaling() == null) == (capacity.getProvisionedCapacity() == null)) {
+            violations.add("exactly one of AutoScaling and ProvisionedCapacity must be set");
+            return;
+        }
+
+        final ProvisionedCapacity provisioned = capacity.getProvisionedCapacity();
+        if (provisioned != null) {
+            // McuCount is optional for provisioned capacity
+            if (provisioned.getMcuCount() != null) {
+                checkMcuCount("ProvisionedCapacity", provisioned.getMcuCount(), violations);
+            }
+            checkWorkerCount("ProvisionedCapacity.WorkerCount", provisioned.getWorkerCount(), violations);
+            return;
+        }
+
+        final AutoScaling autoScaling = capacity.getAutoScaling();
+        checkMcuCount("AutoScaling", autoScaling.getMcuCount(), violations);
+        final boolean minValid =
+            checkWorkerCount("AutoScaling.MinWorkerCount", autoScaling.getMinWorkerCount(), violations);
+        final boolean maxValid =
+            checkWorkerCount("AutoScaling.MaxWorkerCount", autoScaling.getMaxWorkerCount(), violations);
+        if (minValid && maxValid && autoScaling.getMinWorkerCount() > autoScaling.getMaxWorkerCount()) {
+            violations.add(String.format("AutoScaling.MinWorkerCount %d is greater than MaxWorkerCount %d",
+                autoScaling.getMinWorkerCount(), autoScaling.getMaxWorkerCount()));
+        }
+
+        final Integer scaleIn = autoScaling.getScaleInPolicy() == null
+            ? null : autoScaling.getScaleInPolicy().getCpuUtilizationPercentage();
+        final Integer scaleOut = autoScaling.getScaleOutPolicy() == null
+            ? null : autoScaling.getScaleOutPolicy().getCpuUtilizationPercentage();
+        final boolean scaleInValid = checkPercentage("AutoScaling.ScaleInPolicy", scaleIn, violations);
+        final boolean scaleOutValid = checkPercentage("AutoScaling.ScaleOutPolicy", scaleOut, violations);
+        if (scaleInValid && scaleOutValid && scaleIn >= scaleOut) {
+            violations.add(String.format("AutoScaling.ScaleInPolicy CpuUtilizationPercentage %d must be below "
+                + "ScaleOutPolicy CpuUtilizationPercentage %d", scaleIn, scaleOut));
+        }
+    }
+
+    private static void checkMcuCount(final String owner, final Integer mcuCount, final List<String> violations) {
+        if (!MCU_COUNTS.contains(mcuCount)) {
+            violations.add(String.format("%s.McuCount must be one of %s, not %s", owner, MCU_COUNTS, mcuCount));
+        }
+    }
+
+    private boolean checkWorkerCount(final String name, final Integer workerCount, final List<String> violations) {
+        if (workerCount == null || workerCount < MIN_WORKER_COUNT || workerCount > maxWorkerCount) {
+            violations.add(String.format("%s must be between %d and %d, not %s",
+                name, MIN_WORKER_COUNT, maxWorkerCount, workerCount));
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean checkPercentage(final String owner, final Integer percentage,
+        final List<String> violations) {
+
+        if (percentage == null || percentage < MIN_CPU_UTILIZATION_PERCENTAGE
+            || percentage > MAX_CPU_UTILIZATION_PERCENTAGE) {
+            violations.add(String.format("%s CpuUtilizationPercentage must be between %d and %d, not %s",
+                owner, MIN_CPU_UTILIZATION_PERCENTAGE, MAX_CPU_UTILIZATION_PERCENTAGE, percentage));
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return the least and most workers the capacity runs, or null if it has no worker count
+     */
+    private static int[] workerRange(final Capacity capacity) {
+        if (capacity == null) {
+            return null;
+        }
+        if (capacity.getProvisionedCapacity() != null && capacity.getProvisionedCapacity().getWorkerCount() != null) {
+            final int workers = capacity.getProvisionedCapacity().getWorkerCount();
+            return new int[] {workers, workers};
+        }
+        final AutoScaling autoScaling = capacity.getAutoScaling();
+        if (autoScaling != null && autoScaling.getMinWorkerCount() != null
+            && autoScaling.getMaxWorkerCount() != null) {
+            return new int[] {autoScaling.getMinWorkerCount(), autoScaling.getMaxWorkerCount()};
+        }
+        return null;
+    }
+
+    private static String describe(final Capacity capacity) {
+        if (capacity == null) {
+            return "none";
+        }
+        if (capacity.getProvisionedCapacity() != null) {
+            return String.format("provisioned %s workers x %s MCU",
+                capacity.getProvisionedCapacity().getWorkerCount(), capacity.getProvisionedCapacity().getMcuCount());
+        }
+        if (capacity.getAutoScaling() != null) {
+            return String.format("auto scaling %s-%s workers x %s MCU",
+                capacity.getAutoScaling().getMinWorkerCount(), capacity.getAutoScaling().getMaxWorkerCount(),
+                capacity.getAutoScaling().getMcuCount());
+        }
+        return "none";
+    }
+
+    @lombok.Value
+    @lombok.Builder
+    static class Plan {
+        List<String> violations;
+        String previous;
+        String desired;
+
+        /**
+         * Least change in worker count the update can cause, null if it can't be worked out.
+         */
+        Integer minWorkerDelta;
+
+        /**
+         * Most change in worker count the update can cause, null if it can't be worked out.
+         */
+        Integer maxWorkerDelta;
+
+        String summary() {
+            final String change = String.format("%s -> %s", previous, desired);
+            return minWorkerDelta == null ? change
+                : String.format("%s, workers change by %+d to %+d", change, minWorkerDelta, maxWorkerDelta);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package software.amazon.kafkaconnect.connector;
+
+import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
+import software.amazon.cloudformation.proxy.Logger;
+
+/**
+ * Plans a capacity change before UpdateConnector, so that a change the service would reject fails the update at once
+ * instead of after the update call or a reverted update. Runs only when
+ * {@link ProviderSettings#getCapacityValidation()} is not DISABLED.
+ */
+class CapacityPreflight {
+    private final ProviderSettings.CapacityValidation mode;
+    private final CapacityPlanner planner;
+
+    CapacityPreflight(final ProviderSettings settings, final CapacityPlanner planner) {
+        this.mode = settings.getCapacityValidation();
+        this.planner = planner;
+    }
+
+    /**
+     * @param previousModel the connector before the update
+     * @param desiredModel the connector requested
+     * @param logger logger of the current request
+     * @throws CfnInvalidRequestException listing every violation, if there are any and the mode is FAIL
+     */
+    void check(final ResourceModel previousModel, final ResourceModel desiredModel, final Logger logger) {
+        if (mode == ProviderSettings.CapacityValidation.DISABLED) {
+            return;
+        }
+
+        final CapacityPlanner.Plan plan = planner.plan(
+            previousModel == null ? null : previousModel.getCapacity(), desiredModel.getCapacity());
+        final String identifier = desiredModel.getConnectorArn();
+        if (plan.getViolations().isEmpty()) {
+            logger.log(String.format("%s [%s] capacity update planned: %s",
+                ResourceModel.TYPE_NAME, identifier, plan.summary()));
+            return;
+        }
+
+        final String joined = String.join("; ", plan.getViolations());
+        if (mode == ProviderSettings.CapacityValidation.FAIL) {
+            throw new CfnInvalidRequestException(
+                String.format("Capacity of %s is invalid: %s", identifier, joined), null);
+        }
+        logger.log(String.format("%s [%s] capacity %s has problems, updating anyway: %s",
+            ResourceModel.TYPE_NAME, identifier, plan.summary(), joined));
+    }
+}
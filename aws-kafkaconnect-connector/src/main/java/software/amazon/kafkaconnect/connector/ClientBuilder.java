@@ -1,50 +1,53 @@
 package software.amazon.kafkaconnect.connector;
 
-import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
-import software.amazon.awssdk.core.retry.backoff.BackoffStrategy;
-import software.amazon.awssdk.core.retry.backoff.EqualJitterBackoffStrategy;
-import software.amazon.awssdk.core.retry.conditions.RetryCondition;
-import software.amazon.awssdk.core.retry.RetryPolicy;
+import com.amazonaws.services.lambda.runtime.LambdaRuntime;
+import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.kafkaconnect.KafkaConnectClient;
-import software.amazon.cloudformation.LambdaWrapper;
+import software.amazon.kafkaconnect.common.CircuitBreaker;
+import software.amazon.kafkaconnect.common.KafkaConnectClients;
 
 import java.net.URI;
-import java.time.Duration;
 
 public class ClientBuilder {
-    private static final String CN_PARTITION = "aws-cn";
-    private static final String CN_SUFFIX = ".cn";
-    private static final String SERVICE_ENDPOINT_TEMPLATE = "https://kafkaconnect.%s.amazonaws.com";
-
-    private static final BackoffStrategy BACKOFF_THROTTLING_STRATEGY = EqualJitterBackoffStrategy.builder()
-        .baseDelay(Duration.ofMillis(1200))
-        .maxBackoffTime(Duration.ofSeconds(45))
-        .build();
-
-    private static final RetryPolicy RETRY_POLICY = RetryPolicy.builder()
-        .numRetries(10)
-        .retryCondition(RetryCondition.defaultRetryCondition())
-        .backoffStrategy(BACKOFF_THROTTLING_STRATEGY)
-        .throttlingBackoffStrategy(BACKOFF_THROTTLING_STRATEGY)
-        .build();
+    /**
+     * System property pointing the client at a stand-in endpoint (load tests, benchmarks). Unset in Lambda.
+     */
+    static final String ENDPOINT_OVERRIDE_PROPERTY = KafkaConnectClients.ENDPOINT_OVERRIDE_PROPERTY;
+
+    // shared across invocations, through the HTTP transport the provider settings select
+    private static final KafkaConnectClients CLIENTS =
+        new KafkaConnectClients(HandlerRegistry.SETTINGS.getClientSettings(), LambdaRuntime.getLogger()::log);
 
     private ClientBuilder() {
     }
 
     public static KafkaConnectClient getClient(final String awsPartition, final String awsRegion) {
-        return KafkaConnectClient
-            .builder()
-            .httpClient(LambdaWrapper.HTTP_CLIENT)
-            .endpointOverride(getServiceEndpoint(awsPartition, awsRegion))
-            .overrideConfiguration(ClientOverrideConfiguration.builder()
-                .retryPolicy(RETRY_POLICY)
-                .build())
-            .build();
+        return CLIENTS.getClient(awsPartition, awsRegion);
+    }
+
+    /**
+     * @return the circuit breaker in front of the kafkaconnect API of the partition and region
+     */
+    static CircuitBreaker getCircuitBreaker(final String awsPartition, final String awsRegion) {
+        return CLIENTS.getCircuitBreaker(awsPartition, awsRegion);
     }
 
-    private static URI getServiceEndpoint(final String partition, final String region) {
-        final String serviceEndpoint = String.format(SERVICE_ENDPOINT_TEMPLATE, region);
-        return URI.create(
-            partition.equals(CN_PARTITION) ? serviceEndpoint + CN_SUFFIX : serviceEndpoint);
+    /**
+     * Forgets all cached clients and circuit breakers, e.g. after a CRaC/SnapStart restore, see
+     * {@link KafkaConnectClients#invalidate()}.
+     */
+    static void invalidateClients() {
+        CLIENTS.invalidate();
+    }
+
+    /**
+     * @return a new client, see {@link KafkaConnectClients#buildClient(URI, Region, CircuitBreaker)}
+     */
+    static KafkaConnectClient buildClient(
+        final URI serviceEndpoint,
+        final Region region,
+        final CircuitBreaker circuitBreaker) {
+
+        return CLIENTS.buildClient(serviceEndpoint, region, circuitBreaker);
     }
 }
@@ -0,0 +1,44 @@
+package software.amazon.kafkaconnect.connector;
+
+import java.util.List;
+import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
+import software.amazon.cloudformation.proxy.Logger;
+
+/**
+ * Validates ConnectorConfiguration before CreateConnector, so that a configuration the connector would reject fails
+ * the create at once instead of after an hour of polling a connector that ends up FAILED. Runs only when
+ * {@link ProviderSettings#getConfigurationValidation()} is not DISABLED.
+ */
+class ConnectorConfigurationPreflight {
+    private final ProviderSettings.ConfigurationValidation mode;
+    private final ConnectorConfigurationValidator validator;
+
+    ConnectorConfigurationPreflight(final ProviderSettings settings, final ConnectorConfigurationValidator validator) {
+        this.mode = settings.getConfigurationValidation();
+        this.validator = validator;
+    }
+
+    /**
+     * @param model the desired connector
+     * @param logger logger of the current request
+     * @throws CfnInvalidRequestException listing every violation, if there are any and the mode is FAIL
+     */
+    void check(final ResourceModel model, final Logger logger) {
+        if (mode == ProviderSettings.ConfigurationValidation.DISABLED || model.getConnectorArn() != null) {
+            return;
+        }
+
+        final List<String> violations = validator.validate(model);
+        if (violations.isEmpty()) {
+            return;
+        }
+
+        final String joined = String.join("; ", violations);
+        if (mode == ProviderSettings.ConfigurationValidation.FAIL) {
+            throw new CfnInvalidRequestException(
+                String.format("ConnectorConfiguration of %s is invalid: %s", model.getConnectorName(), joined), null);
+        }
+        logger.log(String.format("%s [%s] ConnectorConfiguration has problems, creating anyway: %s",
+            ResourceModel.TYPE_NAME, model.getConnectorName(), joined));
+    }
+}
@@ -0,0 +1,129 @@
+package software.amazon.kafkaconnect.connector;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * A check of ConnectorConfiguration, registered per connector class with {@link ConnectorConfigurationValidator}.
+ * A key counts as unset when it is missing or blank. A value with a {@code ${provider:[path:]key}} reference is only
+ * known once the worker resolves it, so it passes the checks of what the value must be.
+ */
+@FunctionalInterface
+public interface ConnectorConfigurationRule {
+    /**
+     * A Kafka config provider reference, e.g. {@code ${secretsmanager:db:port}}, as Kafka's ConfigTransformer finds it.
+     */
+    Pattern PROVIDER_REFERENCE = Pattern.compile("\\$\\{[^}]*?:[^}]*?}");
+
+    /**
+     * @param configuration the desired connector configuration
+     * @param violations receives a message for each violation found
+     */
+    void check(Map<String, String> configuration, List<String> violations);
+
+    static ConnectorConfigurationRule required(final String key) {
+        return (configuration, violations) -> {
+            if (!isSet(configuration, key)) {
+                violations.add(String.format("%s is required", key));
+            }
+        };
+    }
+
+    static ConnectorConfigurationRule anyOf(final String... keys) {
+        return (configuration, violations) -> {
+            if (Arrays.stream(keys).noneMatch(key -> isSet(configuration, key))) {
+                violations.add(String.format("one of %s is required", String.join(", ", keys)));
+            }
+        };
+    }
+
+    static ConnectorConfigurationRule exactlyOne(final String first, final String second) {
+        return (configuration, violations) -> {
+            if (isSet(configuration, first) == isSet(configuration, second)) {
+                violations.add(String.format("exactly one of %s and %s must be set", first, second));
+            }
+        };
+    }
+
+    static ConnectorConfigurationRule atMostOne(final String first, final String second) {
+        return (configuration, violations) -> {
+            if (isSet(configuration, first) && isSet(configuration, second)) {
+                violations.add(String.format("%s and %s can't both be set", first, second));
+            }
+        };
+    }
+
+    /**
+     * @return a rule that {@code key}, if set to a value without a provider reference, is a positive integer
+     */
+    static ConnectorConfigurationRule positiveInteger(final String key) {
+        return (configuration, violations) -> {
+            if (isSet(configuration, key) && !isProviderReference(configuration.get(key))
+                && parsePositiveInteger(configuration.get(key)) == null) {
+                violations.add(String.format("%s must be a positive integer, not '%s'", key, configuration.get(key)));
+            }
+        };
+    }
+
+    /**
+     * @return a rule that {@code key}, if set to a value without a provider reference, is one of {@code values},
+     *     ignoring case
+     */
+    static ConnectorConfigurationRule oneOf(final String key, final String... values) {
+        return (configuration, violations) -> {
+            if (isSet(configuration, key) && !isProviderReference(configuration.get(key)) && Arrays.stream(values)
+                .noneMatch(value -> value.equalsIgnoreCase(configuration.get(key).trim()))) {
+                violations.add(String.format("%s must be one of %s, not '%s'",
+                    key, String.join(", ", values), configuration.get(key)));
+            }
+        };
+    }
+
+    /**
+     * @return a rule that {@code key} is set whenever {@code conditionKey} is one of {@code conditionValues}
+     */
+    static ConnectorConfigurationRule requiredWhen(
+        final String key,
+        final String conditionKey,
+        final String... conditionValues) {
+
+        final List<String> lowerCaseValues = Arrays.stream(conditionValues)
+            .map(value -> value.toLowerCase(Locale.ROOT))
+            .collect(Collectors.toList());
+        return (configuration, violations) -> {
+            if (isSet(configuration, conditionKey) && !isSet(configuration, key)
+                && lowerCaseValues.contains(configuration.get(conditionKey).trim().toLowerCase(Locale.ROOT))) {
+                violations.add(String.format("%s is required when %s is %s",
+                    key, conditionKey, configuration.get(conditionKey).trim()));
+            }
+        };
+    }
+
+    static boolean isSet(final Map<String, String> configuration, final String key) {
+        final String value = configuration.get(key);
+        return value != null && !value.trim().isEmpty();
+    }
+
+    /**
+     * @return whether the value refers to a config provider, which the worker replaces with the value it resolves to
+     */
+    static boolean isProviderReference(final String value) {
+        return PROVIDER_REFERENCE.matcher(value).find();
+    }
+
+    /**
+     * @return the value as a positive integer, null if it is not one
+     */
+    static Integer parsePositiveInteger(final String value) {
+        try {
+            final int parsed = Integer.parseInt(value.trim());
+            return parsed > 0 ? parsed : null;
+        } catch (final NumberFormatException e) {
+            return null;
+        }
+    }
+}
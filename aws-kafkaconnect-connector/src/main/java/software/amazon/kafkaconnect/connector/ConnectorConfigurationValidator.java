@@ -0,0 +1,158 @@
+package software.amazon.kafkaconnect.connector;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Checks ConnectorConfiguration for mistakes that otherwise surface only when the connector fails, up to an hour
+ * after CreateConnector. Every configuration is checked for its {@code connector.class} and for a {@code tasks.max}
+ * that the capacity can run; a configuration whose class has a rule set is then checked against it. All violations
+ * are reported together. Runs in memory without calling the service.
+ */
+class ConnectorConfigurationValidator {
+    static final String CONNECTOR_CLASS = "connector.class";
+    static final String TASKS_MAX = "tasks.max";
+
+    private static final Pattern CLASS_NAME =
+        Pattern.compile("[\\p{L}_$][\\p{L}\\p{N}_$]*(\\.[\\p{L}_$][\\p{L}\\p{N}_$]*)*");
+    private static final int MAX_SUGGESTION_DISTANCE = 3;
+    private static final int DEFAULT_MCU_COUNT = 1;
+
+    private final Map<String, List<ConnectorConfigurationRule>> ruleSets;
+    private final int maxTasksPerMcu;
+
+    /**
+     * @param ruleSets rules by the {@code connector.class} they apply to
+     * @param maxTasksPerMcu most {@code tasks.max} accepted per MSK Connect Unit the capacity can scale to
+     */
+    ConnectorConfigurationValidator(
+        final Map<String, List<ConnectorConfigurationRule>> ruleSets,
+        final int maxTasksPerMcu) {
+
+        this.ruleSets = ruleSets;
+        this.maxTasksPerMcu = maxTasksPerMcu;
+    }
+
+    /**
+     * @param model the desired connector
+     * @return the violations found, empty if there are none
+     */
+    List<String> validate(final ResourceModel model) {
+        final Map<String, String> configuration = model.getConnectorConfiguration() == null
+            ? Collections.emptyMap() : model.getConnectorConfiguration();
+        final List<String> violations = new ArrayList<>();
+
+        final String connectorClass = configuration.get(CONNECTOR_CLASS);
+        if (!ConnectorConfigurationRule.isSet(configuration, CONNECTOR_CLASS)) {
+            violations.add(String.format("%s is required", CONNECTOR_CLASS));
+        } else if (!connectorClass.equals(connectorClass.trim())) {
+            violations.add(String.format("%s '%s' has leading or trailing whitespace",
+                CONNECTOR_CLASS, connectorClass));
+        } else if (!CLASS_NAME.matcher(connectorClass).matches()) {
+            violations.add(String.format("%s '%s' is not a class name", CONNECTOR_CLASS, connectorClass));
+        } else if (!ruleSets.containsKey(connectorClass)) {
+            final String suggestion = closestKnownClass(connectorClass);
+            if (suggestion != null) {
+                violations.add(String.format("%s '%s' is not a known connector class. Did you mean %s?",
+                    CONNECTOR_CLASS, connectorClass, suggestion));
+            }
+        }
+
+        checkTasksMax(model, configuration, violations);
+
+        if (connectorClass != null) {
+            ruleSets.getOrDefault(connectorClass, Collections.emptyList())
+                .forEach(rule -> rule.check(configuration, violations));
+        }
+        return violations;
+    }
+
+    private void checkTasksMax(
+        final ResourceModel model,
+        final Map<String, String> configuration,
+        final List<String> violations) {
+
+        if (!ConnectorConfigurationRule.isSet(configuration, TASKS_MAX)
+            || ConnectorConfigurationRule.isProviderReference(configuration.get(TASKS_MAX))) {
+            return;
+        }
+
+        final Integer tasksMax = ConnectorConfigurationRule.parsePositiveInteger(configuration.get(TASKS_MAX));
+        if (tasksMax == null) {
+            violations.add(String.format("%s must be a positive integer, not '%s'",
+                TASKS_MAX, configuration.get(TASKS_MAX)));
+            return;
+        }
+
+        final Capacity capacity = model.getCapacity();
+        final Integer workers;
+        final Integer mcuCount;
+        if (capacity == null) {
+            return;
+        } else if (capacity.getAutoScaling() != null) {
+            workers = capacity.getAutoScaling().getMaxWorkerCount();
+            mcuCount = capacity.getAutoScaling().getMcuCount();
+        } else if (capacity.getProvisionedCapacity() != null) {
+            workers = capacity.getProvisionedCapacity().getWorkerCount();
+            mcuCount = capacity.getProvisionedCapacity().getMcuCount();
+        } else {
+            return;
+        }
+        if (workers == null || workers <= 0) {
+            return;
+        }
+
+        final int mcus = workers * (mcuCount == null ? DEFAULT_MCU_COUNT : mcuCount);
+        final long limit = (long) mcus * maxTasksPerMcu;
+        if (tasksMax > limit) {
+            violations.add(String.format("%s %d exceeds %d: the capacity scales to %d MCUs and at most %d tasks per "
+                + "MCU are accepted", TASKS_MAX, tasksMax, limit, mcus, maxTasksPerMcu));
+        }
+    }
+
+    /**
+     * @return the known connector class closest to {@code connectorClass} within a few edits, ignoring case, or null
+     */
+    private String closestKnownClass(final String connectorClass) {
+        String closest = null;
+        int closestDistance = MAX_SUGGESTION_DISTANCE + 1;
+        for (final String known : ruleSets.keySet()) {
+            final int distance = distance(connectorClass.toLowerCase(Locale.ROOT), known.toLowerCase(Locale.ROOT));
+            if (distance < closestDistance) {
+                closest = known;
+                closestDistance = distance;
+            }
+        }
+        return closest;
+    }
+
+    /**
+     * Levenshtein distance, in two rows.
+     */
+    private static int distance(final String first, final String second) {
+        if (Math.abs(first.length() - second.length()) > MAX_SUGGESTION_DISTANCE) {
+            return MAX_SUGGESTION_DISTANCE + 1;
+        }
+
+        int[] previous = new int[second.length() + 1];
+        int[] current = new int[second.length() + 1];
+        for (int j = 0; j <= second.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= first.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= second.length(); j++) {
+                final int substitution = first.charAt(i - 1) == second.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(previous[j - 1] + substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            final int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[second.length()];
+    }
+}
@@ -0,0 +1,79 @@
+package software.amazon.kafkaconnect.connector;
+
+import static software.amazon.kafkaconnect.connector.ConnectorConfigurationRule.anyOf;
+import static software.amazon.kafkaconnect.connector.ConnectorConfigurationRule.atMostOne;
+import static software.amazon.kafkaconnect.connector.ConnectorConfigurationRule.exactlyOne;
+import static software.amazon.kafkaconnect.connector.ConnectorConfigurationRule.oneOf;
+import static software.amazon.kafkaconnect.connector.ConnectorConfigurationRule.positiveInteger;
+import static software.amazon.kafkaconnect.connector.ConnectorConfigurationRule.required;
+import static software.amazon.kafkaconnect.connector.ConnectorConfigurationRule.requiredWhen;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rule sets for connectors commonly run on MSK Connect, by {@code connector.class}. Each set checks only settings the
+ * connector has no default for, or combinations it rejects when it starts, so a configuration these rules accept may
+ * still fail for other reasons, but one they reject would fail the connector.
+ */
+final class ConnectorRuleSets {
+    static final String S3_SINK = "io.confluent.connect.s3.S3SinkConnector";
+    static final String DEBEZIUM_MYSQL = "io.debezium.connector.mysql.MySqlConnector";
+    static final String DEBEZIUM_POSTGRES = "io.debezium.connector.postgresql.PostgresConnector";
+    static final String JDBC_SOURCE = "io.confluent.connect.jdbc.JdbcSourceConnector";
+    static final String JDBC_SINK = "io.confluent.connect.jdbc.JdbcSinkConnector";
+
+    static final Map<String, List<ConnectorConfigurationRule>> DEFAULTS = defaults();
+
+    private ConnectorRuleSets() {
+    }
+
+    private static Map<String, List<ConnectorConfigurationRule>> defaults() {
+        final Map<String, List<ConnectorConfigurationRule>> ruleSets = new HashMap<>();
+        ruleSets.put(S3_SINK, Arrays.asList(
+            exactlyOne("topics", "topics.regex"),
+            required("s3.bucket.name"),
+            required("format.class"),
+            required("storage.class"),
+            required("flush.size"),
+            positiveInteger("flush.size")));
+        ruleSets.put(DEBEZIUM_MYSQL, Arrays.asList(
+            required("database.hostname"),
+            required("database.user"),
+            required("database.server.id"),
+            positiveInteger("database.server.id"),
+            positiveInteger("database.port"),
+            // topic.prefix and schema.history.internal.* since Debezium 2.0, database.server.name and
+            // database.history.* before.
+            anyOf("topic.prefix", "database.server.name"),
+            anyOf("schema.history.internal.kafka.topic", "database.history.kafka.topic"),
+            atMostOne("database.include.list", "database.exclude.list"),
+            atMostOne("table.include.list", "table.exclude.list")));
+        ruleSets.put(DEBEZIUM_POSTGRES, Arrays.asList(
+            required("database.hostname"),
+            required("database.user"),
+            required("database.dbname"),
+            positiveInteger("database.port"),
+            anyOf("topic.prefix", "database.server.name"),
+            atMostOne("schema.include.list", "schema.exclude.list"),
+            atMostOne("table.include.list", "table.exclude.list")));
+        ruleSets.put(JDBC_SOURCE, Arrays.asList(
+            required("connection.url"),
+            required("mode"),
+            oneOf("mode", "bulk", "timestamp", "incrementing", "timestamp+incrementing"),
+            requiredWhen("incrementing.column.name", "mode", "incrementing", "timestamp+incrementing"),
+            requiredWhen("timestamp.column.name", "mode", "timestamp", "timestamp+incrementing"),
+            required("topic.prefix"),
+            atMostOne("table.whitelist", "table.blacklist"),
+            atMostOne("query", "table.whitelist")));
+        ruleSets.put(JDBC_SINK, Arrays.asList(
+            exactlyOne("topics", "topics.regex"),
+            required("connection.url"),
+            oneOf("insert.mode", "insert", "upsert", "update"),
+            oneOf("pk.mode", "none", "kafka", "record_key", "record_value")));
+        return Collections.unmodifiableMap(ruleSets);
+    }
+}
@@ -2,6 +2,7 @@ package software.amazon.kafkaconnect.connector;
 
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
 import software.amazon.awssdk.services.kafkaconnect.KafkaConnectClient;
+import software.amazon.awssdk.services.kafkaconnect.model.ConflictException;
 import software.amazon.awssdk.services.kafkaconnect.model.ConnectorState;
 import software.amazon.awssdk.services.kafkaconnect.model.CreateConnectorRequest;
 import software.amazon.awssdk.services.kafkaconnect.model.CreateConnectorResponse;
@@ -17,6 +18,7 @@ import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 import software.amazon.cloudformation.proxy.delay.Constant;
 
 import java.time.Duration;
+import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
@@ -35,13 +37,15 @@ public class CreateHandler extends BaseHandlerStd {
     private static final String CONNECTOR_STATE_SUCCESS_MESSAGE_PATTERN =
         "Create state of resource %s with ID %s is %s";
 
-    private Logger logger;
     private final ExceptionTranslator exceptionTranslator;
     private final Translator translator;
     private final ReadHandler readHandler;
+    private final ConnectorConfigurationPreflight connectorConfigurationPreflight;
+    private final CreateRecovery createRecovery;
 
     public CreateHandler() {
-        this(new ExceptionTranslator(), new Translator(), new ReadHandler());
+        this(HandlerRegistry.EXCEPTION_TRANSLATOR, HandlerRegistry.TRANSLATOR, HandlerRegistry.READ_HANDLER,
+            HandlerRegistry.CONNECTOR_CONFIGURATION_PREFLIGHT, HandlerRegistry.CREATE_RECOVERY);
     }
 
     /**
@@ -56,9 +60,49 @@ public class CreateHandler extends BaseHandlerStd {
         final Translator translator,
         final ReadHandler readHandler) {
 
+        this(exceptionTranslator, translator, readHandler, new ConnectorConfigurationPreflight(
+            ProviderSettings.DEFAULTS, new ConnectorConfigurationValidator(ConnectorRuleSets.DEFAULTS,
+                ProviderSettings.DEFAULTS.getMaxTasksPerMcu())));
+    }
+
+    /**
+     * Constructor used for unit testing
+     *
+     * @param exceptionTranslator
+     * @param translator
+     * @param readHandler
+     * @param connectorConfigurationPreflight
+     */
+    CreateHandler(
+        final ExceptionTranslator exceptionTranslator,
+        final Translator translator,
+        final ReadHandler readHandler,
+        final ConnectorConfigurationPreflight connectorConfigurationPreflight) {
+
+        this(exceptionTranslator, translator, readHandler, connectorConfigurationPreflight, new CreateRecovery());
+    }
+
+    /**
+     * Constructor used for unit testing
+     *
+     * @param exceptionTranslator
+     * @param translator
+     * @param readHandler
+     * @param connectorConfigurationPreflight
+     * @param createRecovery
+     */
+    CreateHandler(
+        final ExceptionTranslator exceptionTranslator,
+        final Translator translator,
+        final ReadHandler readHandler,
+        final ConnectorConfigurationPreflight connectorConfigurationPreflight,
+        final CreateRecovery createRecovery) {
+
         this.exceptionTranslator = exceptionTranslator;
         this.translator = translator;
         this.readHandler = readHandler;
+        this.connectorConfigurationPreflight = connectorConfigurationPreflight;
+        this.createRecovery = createRecovery;
     }
 
     @Override
@@ -69,15 +113,21 @@ public class CreateHandler extends BaseHandlerStd {
         final ProxyClient<KafkaConnectClient> proxyClient,
         final Logger logger) {
 
-        this.logger = logger;
-
         final ResourceModel model = request.getDesiredResourceState();
+        // an earlier invocation created or adopted the connector, only its stabilization is left
+        final boolean resumed = callbackContext.getConnectorArn() != null;
+        if (resumed) {
+            model.setConnectorArn(callbackContext.getConnectorArn());
+        } else {
+            connectorConfigurationPreflight.check(model, logger);
+        }
 
         return ProgressEvent.progress(model, callbackContext)
+            .then(progress -> resumed ? progress :
+                initiateCreateConnector(proxy, proxyClient, progress, "AWS-KafkaConnect-Connector::Create", request,
+                    logger))
             .then(progress ->
-                initiateCreateConnector(proxy, proxyClient, progress, "AWS-KafkaConnect-Connector::Create", request))
-            .then(progress ->
-                stabilize(proxy, proxyClient, progress, "AWS-KafkaConnect-Connector::PostCreateStabilize"))
+                stabilize(proxy, proxyClient, progress, "AWS-KafkaConnect-Connector::PostCreateStabilize", logger))
             .then(progress -> readHandler.handleRequest(proxy, request, callbackContext, proxyClient, logger));
     }
 
@@ -86,12 +136,14 @@ public class CreateHandler extends BaseHandlerStd {
         final ProxyClient<KafkaConnectClient> proxyClient,
         final ProgressEvent<ResourceModel, CallbackContext> progress,
         final String callGraph,
-        final ResourceHandlerRequest<ResourceModel> request) {
+        final ResourceHandlerRequest<ResourceModel> request,
+        final Logger logger) {
 
         return proxy.initiate(callGraph, proxyClient, progress.getResourceModel(), progress.getCallbackContext())
             .translateToServiceRequest(_resourceModel -> translator.translateToCreateRequest(_resourceModel,
                 TagHelper.generateTagsForCreate(request)))
-            .makeServiceCall(this::runCreateConnector)
+            .makeServiceCall((createConnectorRequest, client) ->
+                runCreateConnector(createConnectorRequest, client, logger))
             .done(this::setConnectorArn);
     }
 
@@ -103,12 +155,14 @@ public class CreateHandler extends BaseHandlerStd {
         final CallbackContext callbackContext) {
 
         resourceModel.setConnectorArn(createConnectorResponse.connectorArn());
+        callbackContext.setConnectorArn(createConnectorResponse.connectorArn());
         return ProgressEvent.progress(resourceModel, callbackContext);
     }
 
     private CreateConnectorResponse runCreateConnector(
         final CreateConnectorRequest createConnectorRequest,
-        final ProxyClient<KafkaConnectClient> proxyClient) {
+        final ProxyClient<KafkaConnectClient> proxyClient,
+        final Logger logger) {
 
         final KafkaConnectClient kafkaConnectClient = proxyClient.client();
         final String identifier = createConnectorRequest.connectorName();
@@ -119,6 +173,15 @@ public class CreateHandler extends BaseHandlerStd {
                 createConnectorRequest,
                 kafkaConnectClient::createConnector
             );
+        } catch (final ConflictException e) {
+            // an earlier attempt of this create, or an SDK retry of this one, may have made the connector and lost
+            // the response; it is adopted if it carries this request's stack and logical ID
+            final Optional<String> connectorArn =
+                createRecovery.findCreated(proxyClient, createConnectorRequest, logger);
+            if (!connectorArn.isPresent()) {
+                throw exceptionTranslator.translateToCfnException(e, identifier);
+            }
+            return adopted(createConnectorRequest, connectorArn.get());
         } catch (final AwsServiceException e) {
             throw exceptionTranslator.translateToCfnException(e, identifier);
         }
@@ -127,24 +190,36 @@ public class CreateHandler extends BaseHandlerStd {
         return createConnectorResponse;
     }
 
+    private static CreateConnectorResponse adopted(
+        final CreateConnectorRequest createConnectorRequest,
+        final String connectorArn) {
+
+        return CreateConnectorResponse.builder()
+            .connectorArn(connectorArn)
+            .connectorName(createConnectorRequest.connectorName())
+            .build();
+    }
+
     private ProgressEvent<ResourceModel, CallbackContext> stabilize(
         final AmazonWebServicesClientProxy proxy,
         final ProxyClient<KafkaConnectClient> proxyClient,
         final ProgressEvent<ResourceModel, CallbackContext> progress,
-        final String callGraph) {
+        final String callGraph,
+        final Logger logger) {
 
         return proxy.initiate(callGraph, proxyClient, progress.getResourceModel(), progress.getCallbackContext())
             .translateToServiceRequest(Function.identity())
             .backoffDelay(BACK_OFF_DELAY)
             .makeServiceCall(EMPTY_CALL)
             .stabilize(
-                (request, response, proxyInvocation, model, callbackContext) -> isStabilized(proxyClient, response))
+                (request, response, proxyInvocation, model, callbackContext) -> isStabilized(proxyClient, response, logger))
             .progress();
     }
 
     private Boolean isStabilized(
         final ProxyClient<KafkaConnectClient> proxyClient,
-        final ResourceModel resourceModel) {
+        final ResourceModel resourceModel,
+        final Logger logger) {
 
         final ConnectorState state = getConnectorState(translator.translateToReadRequest(resourceModel),
             proxyClient, logger, CONNECTOR_STATE_FAILURE_MESSAGE_PATTERN, CONNECTOR_STATE_SUCCESS_MESSAGE_PATTERN);
@@ -181,7 +256,7 @@ public class CreateHandler extends BaseHandlerStd {
         final String successMessagePattern) {
 
         final DescribeConnectorResponse describeConnectorResponse =
-            runDescribeConnector(describeConnectorRequest, proxyClient, failureMessagePattern);
+            runDescribeConnector(describeConnectorRequest, proxyClient, failureMessagePattern, exceptionTranslator);
 
         final ConnectorState connectorState = describeConnectorResponse.connectorState();
 
@@ -0,0 +1,137 @@
+package software.amazon.kafkaconnect.connector;
+
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.services.kafkaconnect.KafkaConnectClient;
+import software.amazon.awssdk.services.kafkaconnect.model.ConnectorState;
+import software.amazon.awssdk.services.kafkaconnect.model.ConnectorSummary;
+import software.amazon.awssdk.services.kafkaconnect.model.CreateConnectorRequest;
+import software.amazon.awssdk.services.kafkaconnect.model.ForbiddenException;
+import software.amazon.awssdk.services.kafkaconnect.model.KafkaClusterDescription;
+import software.amazon.awssdk.services.kafkaconnect.model.ListConnectorsRequest;
+import software.amazon.awssdk.services.kafkaconnect.model.ListConnectorsResponse;
+import software.amazon.awssdk.services.kafkaconnect.model.UnauthorizedException;
+import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Finds the connector an earlier attempt of the same create made, so that a create retried after the
+ * CreateConnector response was lost resumes stabilization instead of failing on the name conflict. Connector names
+ * are unique per account and region, so the connector is looked up with ListConnectors filtered by the name as a
+ * prefix. It is adopted only when it is CREATING or RUNNING and matches the request's Kafka Connect version, service
+ * execution role, bootstrap servers, description and tags. The tags must include the CloudFormation stack and logical
+ * ID, so a connector of the same name that another stack, or a caller outside CloudFormation, made is left alone.
+ */
+class CreateRecovery {
+    static final String STACK_ID_TAG = "aws:cloudformation:stack-id";
+    static final String LOGICAL_ID_TAG = "aws:cloudformation:logical-id";
+
+    private static final int UNAUTHORIZED_STATUS = 401;
+    private static final int FORBIDDEN_STATUS = 403;
+
+    /**
+     * @param proxyClient client for the request's account and region
+     * @param createConnectorRequest the create that failed on the name conflict
+     * @param logger logger of the current request
+     * @return the ARN of the connector to adopt; empty if the create isn't tagged with its stack and logical ID,
+     *     there is none, it doesn't match, or the lookup failed for a reason other than access being denied
+     * @throws CfnAccessDeniedException if the caller may not look the connector up
+     */
+    Optional<String> findCreated(
+        final ProxyClient<KafkaConnectClient> proxyClient,
+        final CreateConnectorRequest createConnectorRequest,
+        final Logger logger) {
+
+        final String name = createConnectorRequest.connectorName();
+        if (!isTaggedWithStack(createConnectorRequest.tags())) {
+            return Optional.empty();
+        }
+
+        try {
+            final Optional<ConnectorSummary> existing = findByName(proxyClient, name);
+            if (!existing.isPresent()) {
+                return Optional.empty();
+            }
+
+            final ConnectorSummary connector = existing.get();
+            final Map<String, String> tags =
+                TagHelper.listTags(connector.connectorArn(), proxyClient.client(), proxyClient).tags();
+            if (!matches(createConnectorRequest, connector, tags)) {
+                logger.log(String.format("%s [%s] exists as %s, %s, but doesn't match this create.",
+                    ResourceModel.TYPE_NAME, name, connector.connectorArn(), connector.connectorState()));
+                return Optional.empty();
+            }
+
+            logger.log(String.format("%s [%s] adopting %s, %s, created by an earlier attempt.",
+                ResourceModel.TYPE_NAME, name, connector.connectorArn(), connector.connectorState()));
+            return Optional.of(connector.connectorArn());
+        } catch (final AwsServiceException e) {
+            if (isAccessDenied(e)) {
+                // a create that can't look for its earlier attempt must not pass a missing permission off as a
+                // name conflict
+                throw new CfnAccessDeniedException(ResourceModel.TYPE_NAME, e);
+            }
+            logger.log(String.format("%s [%s] couldn't look for a connector created by an earlier attempt: %s",
+                ResourceModel.TYPE_NAME, name, e.getMessage()));
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<ConnectorSummary> findByName(
+        final ProxyClient<KafkaConnectClient> proxyClient,
+        final String name) {
+
+        String nextToken = null;
+        do {
+            final ListConnectorsResponse response = proxyClient.injectCredentialsAndInvokeV2(
+                ListConnectorsRequest.builder()
+                    .connectorNamePrefix(name)
+                    .nextToken(nextToken)
+                    .build(),
+                proxyClient.client()::listConnectors);
+            for (final ConnectorSummary connector : response.connectors()) {
+                if (name.equals(connector.connectorName())) {
+                    return Optional.of(connector);
+                }
+            }
+            nextToken = response.nextToken();
+        } while (nextToken != null);
+        return Optional.empty();
+    }
+
+    private static boolean matches(
+        final CreateConnectorRequest createConnectorRequest,
+        final ConnectorSummary connector,
+        final Map<String, String> tags) {
+
+        final String requestedBootstrapServers = createConnectorRequest.kafkaCluster() == null
+            || createConnectorRequest.kafkaCluster().apacheKafkaCluster() == null
+            ? null : createConnectorRequest.kafkaCluster().apacheKafkaCluster().bootstrapServers();
+        final KafkaClusterDescription kafkaCluster = connector.kafkaCluster();
+        final String bootstrapServers = kafkaCluster == null || kafkaCluster.apacheKafkaCluster() == null
+            ? null : kafkaCluster.apacheKafkaCluster().bootstrapServers();
+
+        return (connector.connectorState() == ConnectorState.CREATING
+            || connector.connectorState() == ConnectorState.RUNNING)
+            && Objects.equals(createConnectorRequest.kafkaConnectVersion(), connector.kafkaConnectVersion())
+            && Objects.equals(createConnectorRequest.serviceExecutionRoleArn(), connector.serviceExecutionRoleArn())
+            && Objects.equals(requestedBootstrapServers, bootstrapServers)
+            // the service may leave an empty description out
+            && Objects.toString(createConnectorRequest.connectorDescription(), "")
+                .equals(Objects.toString(connector.connectorDescription(), ""))
+            && tags.entrySet().containsAll(createConnectorRequest.tags().entrySet());
+    }
+
+    private static boolean isTaggedWithStack(final Map<String, String> tags) {
+        return tags.get(STACK_ID_TAG) != null && tags.get(LOGICAL_ID_TAG) != null;
+    }
+
+    private static boolean isAccessDenied(final AwsServiceException e) {
+        return e instanceof UnauthorizedException || e instanceof ForbiddenException
+            || e.statusCode() == UNAUTHORIZED_STATUS || e.statusCode() == FORBIDDEN_STATUS;
+    }
+}
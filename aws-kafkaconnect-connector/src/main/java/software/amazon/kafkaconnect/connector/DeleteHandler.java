@@ -31,14 +31,15 @@ public class DeleteHandler extends BaseHandlerStd {
     private static final BiFunction<ResourceModel,
         ProxyClient<KafkaConnectClient>,
         ResourceModel> EMPTY_CALL = (model, proxyClient) -> model;
-    private Logger logger;
     private final ExceptionTranslator exceptionTranslator;
     private final Translator translator;
     private static final String CONNECTOR_STATE_FAILURE_MESSAGE_PATTERN =
         "Could not initiate deletion of %s. Failed to get state due to: %s";
+    private static final String DELETION_STATUS_FAILURE_MESSAGE_PATTERN =
+        "%s [%s] deletion status couldn't be retrieved: %s";
 
     public DeleteHandler() {
-        this(new ExceptionTranslator(), new Translator());
+        this(HandlerRegistry.EXCEPTION_TRANSLATOR, HandlerRegistry.TRANSLATOR);
     }
 
     /**
@@ -60,13 +61,11 @@ public class DeleteHandler extends BaseHandlerStd {
         final ProxyClient<KafkaConnectClient> proxyClient,
         final Logger logger) {
 
-        this.logger = logger;
-
         return ProgressEvent.progress(request.getDesiredResourceState(), callbackContext)
             .then(progress -> checkForDeletableConnectorState(proxy, proxyClient, progress,
                 "AWS-KafkaConnect-Connector::PreDeleteStateCheck"))
             .then(progress ->
-                initiateDeleteConnector(proxy, proxyClient, progress, "AWS-KafkaConnect-Connector::Delete"));
+                initiateDeleteConnector(proxy, proxyClient, progress, "AWS-KafkaConnect-Connector::Delete", logger));
     }
 
     private ProgressEvent<ResourceModel, CallbackContext> checkForDeletableConnectorState(
@@ -88,12 +87,15 @@ public class DeleteHandler extends BaseHandlerStd {
         final AmazonWebServicesClientProxy proxy,
         final ProxyClient<KafkaConnectClient> proxyClient,
         final ProgressEvent<ResourceModel, CallbackContext> progress,
-        final String callGraph) {
+        final String callGraph,
+        final Logger logger) {
 
         return proxy.initiate(callGraph, proxyClient, progress.getResourceModel(), progress.getCallbackContext())
             .translateToServiceRequest(translator::translateToDeleteRequest)
-            .makeServiceCall(this::runDeleteConnector)
-            .stabilize(this::isDeleteStabilized)
+            .makeServiceCall((deleteConnectorRequest, client) ->
+                runDeleteConnector(deleteConnectorRequest, client, logger))
+            .stabilize((deleteConnectorRequest, deleteConnectorResponse, client, model, context) ->
+                isDeleteStabilized(deleteConnectorResponse, client, model, logger))
             .done(
                 awsResponse ->
                     ProgressEvent.<ResourceModel, CallbackContext>builder()
@@ -103,7 +105,8 @@ public class DeleteHandler extends BaseHandlerStd {
 
     private DeleteConnectorResponse runDeleteConnector(
         final DeleteConnectorRequest deleteConnectorRequest,
-        final ProxyClient<KafkaConnectClient> proxyClient) {
+        final ProxyClient<KafkaConnectClient> proxyClient,
+        final Logger logger) {
 
         DeleteConnectorResponse deleteConnectorResponse;
 
@@ -137,7 +140,7 @@ public class DeleteHandler extends BaseHandlerStd {
 
         final DescribeConnectorRequest describeConnectorRequest = translator.translateToReadRequest(resourceModel);
 
-        final DescribeConnectorResponse describeConnectorResponse = runDescribeConnectorWithNotFoundCatch(
+        final DescribeConnectorResponse describeConnectorResponse = runDescribeConnector(
             describeConnectorRequest, proxyClient, CONNECTOR_STATE_FAILURE_MESSAGE_PATTERN, exceptionTranslator);
 
         if (ConnectorState.CREATING == describeConnectorResponse.connectorState() ||
@@ -150,12 +153,11 @@ public class DeleteHandler extends BaseHandlerStd {
     }
 
     private Boolean isDeleteStabilized(
-        final DeleteConnectorRequest deleteConnectorRequest,
         final DeleteConnectorResponse deleteConnectorResponse,
         final ProxyClient<KafkaConnectClient> proxyClient,
         final ResourceModel resourceModel,
-        final CallbackContext callbackContext
-    ) {
+        final Logger logger) {
+
         final String identifier = deleteConnectorResponse.connectorArn();
         final KafkaConnectClient kafkaConnectClient = proxyClient.client();
         final DescribeConnectorRequest describeConnectorRequest =
@@ -182,12 +184,8 @@ public class DeleteHandler extends BaseHandlerStd {
             );
             return true;
         } catch (final AwsServiceException e) {
-            throw new CfnGeneralServiceException(
-                String.format("%s [%s] deletion status couldn't be retrieved: %s",
-                    ResourceModel.TYPE_NAME,
-                    identifier,
-                    e.getMessage()),
-                e);
+            throw exceptionTranslator.translateToCfnException(
+                e, identifier, DELETION_STATUS_FAILURE_MESSAGE_PATTERN, identifier);
         }
     }
 }
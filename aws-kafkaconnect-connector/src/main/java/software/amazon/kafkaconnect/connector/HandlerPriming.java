@@ -0,0 +1,152 @@
+package software.amazon.kafkaconnect.connector;
+
+import com.amazonaws.services.lambda.runtime.LambdaRuntime;
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+import software.amazon.awssdk.services.kafkaconnect.model.ApacheKafkaClusterDescription;
+import software.amazon.awssdk.services.kafkaconnect.model.CapacityDescription;
+import software.amazon.awssdk.services.kafkaconnect.model.ConnectorState;
+import software.amazon.awssdk.services.kafkaconnect.model.CustomPluginDescription;
+import software.amazon.awssdk.services.kafkaconnect.model.DescribeConnectorResponse;
+import software.amazon.awssdk.services.kafkaconnect.model.KafkaClusterDescription;
+import software.amazon.awssdk.services.kafkaconnect.model.PluginDescription;
+import software.amazon.awssdk.services.kafkaconnect.model.ProvisionedCapacityDescription;
+import software.amazon.awssdk.services.kafkaconnect.model.VpcDescription;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.cloudformation.resource.Serializer;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * CRaC resource priming the handler before a CRaC/SnapStart checkpoint. It runs a synthetic Create/Read translation
+ * round trip, a Jackson round trip of a {@link ResourceHandlerRequest} and builds the client for the function's
+ * region, without calling the service. Priming is best effort and never blocks the checkpoint.
+ */
+final class HandlerPriming implements Resource {
+    private static final String PRIMING_ARN = "arn:aws:kafkaconnect:us-east-1:123456789012:connector/priming";
+    private static final String PRIMING_PLUGIN_ARN =
+        "arn:aws:kafkaconnect:us-east-1:123456789012:custom-plugin/priming";
+    private static final TypeReference<ResourceHandlerRequest<ResourceModel>> REQUEST_TYPE =
+        new TypeReference<ResourceHandlerRequest<ResourceModel>>() {
+        };
+
+    // CRaC holds registered resources weakly
+    private static final HandlerPriming INSTANCE = new HandlerPriming();
+
+    static void register() {
+        Core.getGlobalContext().register(INSTANCE);
+    }
+
+    @Override
+    public void beforeCheckpoint(final Context<? extends Resource> context) {
+        try {
+            prime();
+        } catch (final Exception e) {
+            LambdaRuntime.getLogger().log(String.format("%s handler priming skipped: %s", ResourceModel.TYPE_NAME, e));
+        }
+    }
+
+    @Override
+    public void afterRestore(final Context<? extends Resource> context) {
+        ClientBuilder.invalidateClients();
+    }
+
+    static void prime() throws Exception {
+        final Translator translator = new Translator();
+        final ResourceModel model = primingModel();
+        final Map<String, String> tags = Collections.singletonMap("priming", "true");
+
+        translator.translateToCreateRequest(model, tags);
+        translator.translateToReadRequest(model);
+        translator.translateToUpdateRequest(model);
+        final ResourceModel readModel = translator.translateFromReadResponse(primingDescribeResponse());
+
+        final Serializer serializer = new Serializer();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .awsAccountId("123456789012")
+            .awsPartition("aws")
+            .region("us-east-1")
+            .desiredResourceState(model)
+            .previousResourceState(readModel)
+            .desiredResourceTags(tags)
+            .build();
+        serializer.deserialize(serializer.serialize(request), REQUEST_TYPE);
+        serializer.serialize(ProgressEvent.defaultSuccessHandler(readModel));
+
+        final String region = System.getenv("AWS_REGION");
+        if (region != null) {
+            ClientBuilder.getClient(region.startsWith("cn-") ? "aws-cn" : "aws", region);
+        }
+    }
+
+    private static ResourceModel primingModel() {
+        return ResourceModel.builder()
+            .connectorArn(PRIMING_ARN)
+            .connectorName("priming")
+            .capacity(Capacity.builder()
+                .provisionedCapacity(ProvisionedCapacity.builder()
+                    .mcuCount(1)
+                    .workerCount(1)
+                    .build())
+                .build())
+            .connectorConfiguration(Collections.singletonMap("tasks.max", "1"))
+            .kafkaCluster(KafkaCluster.builder()
+                .apacheKafkaCluster(ApacheKafkaCluster.builder()
+                    .bootstrapServers("b-1.priming:9098")
+                    .vpc(Vpc.builder()
+                        .securityGroups(Collections.singleton("sg-priming"))
+                        .subnets(Collections.singleton("subnet-priming"))
+                        .build())
+                    .build())
+                .build())
+            .kafkaClusterClientAuthentication(KafkaClusterClientAuthentication.builder()
+                .authenticationType("NONE")
+                .build())
+            .kafkaClusterEncryptionInTransit(KafkaClusterEncryptionInTransit.builder()
+                .encryptionType("PLAINTEXT")
+                .build())
+            .kafkaConnectVersion("2.7.1")
+            .plugins(Collections.singleton(Plugin.builder()
+                .customPlugin(CustomPlugin.builder()
+                    .customPluginArn(PRIMING_PLUGIN_ARN)
+                    .revision(1L)
+                    .build())
+                .build()))
+            .serviceExecutionRoleArn("arn:aws:iam::123456789012:role/priming")
+            .build();
+    }
+
+    private static DescribeConnectorResponse primingDescribeResponse() {
+        return DescribeConnectorResponse.builder()
+            .connectorArn(PRIMING_ARN)
+            .connectorName("priming")
+            .connectorState(ConnectorState.RUNNING)
+            .capacity(CapacityDescription.builder()
+                .provisionedCapacity(ProvisionedCapacityDescription.builder()
+                    .mcuCount(1)
+                    .workerCount(1)
+                    .build())
+                .build())
+            .connectorConfiguration(Collections.singletonMap("tasks.max", "1"))
+            .kafkaCluster(KafkaClusterDescription.builder()
+                .apacheKafkaCluster(ApacheKafkaClusterDescription.builder()
+                    .bootstrapServers("b-1.priming:9098")
+                    .vpc(VpcDescription.builder()
+                        .securityGroups("sg-priming")
+                        .subnets("subnet-priming")
+                        .build())
+                    .build())
+                .build())
+            .plugins(PluginDescription.builder()
+                .customPlugin(CustomPluginDescription.builder()
+                    .customPluginArn(PRIMING_PLUGIN_ARN)
+                    .revision(1L)
+                    .build())
+                .build())
+            .build();
+    }
+}
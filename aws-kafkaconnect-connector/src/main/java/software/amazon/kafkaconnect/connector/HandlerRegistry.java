@@ -0,0 +1,25 @@
+package software.amazon.kafkaconnect.connector;
+
+import software.amazon.kafkaconnect.common.SingleFlight;
+
+/**
+ * Handler dependencies, wired once per container. Translators and handlers keep no per-invocation state (the logger
+ * is passed along with each request), so the same instances are shared by all handlers and concurrent invocations.
+ */
+final class HandlerRegistry {
+    static final ExceptionTranslator EXCEPTION_TRANSLATOR = new ExceptionTranslator();
+    static final Translator TRANSLATOR = new Translator();
+    // the read that ends a create or update has its own flights, so it never joins a read started before its change
+    static final ReadHandler READ_HANDLER = new ReadHandler(EXCEPTION_TRANSLATOR, TRANSLATOR);
+    static final SingleFlight<ReadHandler.ReadResult> READ_FLIGHTS = new SingleFlight<>();
+    static final ProviderSettings SETTINGS = ProviderSettings.fromEnvironment();
+    static final ConnectorConfigurationPreflight CONNECTOR_CONFIGURATION_PREFLIGHT =
+        new ConnectorConfigurationPreflight(SETTINGS,
+            new ConnectorConfigurationValidator(ConnectorRuleSets.DEFAULTS, SETTINGS.getMaxTasksPerMcu()));
+    static final CapacityPreflight CAPACITY_PREFLIGHT =
+        new CapacityPreflight(SETTINGS, new CapacityPlanner(SETTINGS.getMaxWorkerCount()));
+    static final CreateRecovery CREATE_RECOVERY = new CreateRecovery();
+
+    private HandlerRegistry() {
+    }
+}
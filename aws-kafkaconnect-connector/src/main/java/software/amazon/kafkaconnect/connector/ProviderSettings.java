@@ -0,0 +1,120 @@
+package software.amazon.kafkaconnect.connector;
+
+import com.amazonaws.services.lambda.runtime.LambdaRuntime;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.kafkaconnect.common.ClientSettings;
+import software.amazon.kafkaconnect.common.EnvironmentSettings;
+
+import java.util.Map;
+
+/**
+ * Opt-in provider behaviour, read from the function environment once per container. Every setting is off unless its
+ * variable is set, so an unconfigured deployment behaves as before.
+ */
+@lombok.Value
+@lombok.Builder
+public class ProviderSettings {
+    static final String CONFIGURATION_VALIDATION_VARIABLE = "KAFKACONNECT_CONNECTOR_CONFIGURATION_VALIDATION";
+    static final String MAX_TASKS_PER_MCU_VARIABLE = "KAFKACONNECT_CONNECTOR_MAX_TASKS_PER_MCU";
+    static final int DEFAULT_MAX_TASKS_PER_MCU = 8;
+    static final String CAPACITY_VALIDATION_VARIABLE = "KAFKACONNECT_CONNECTOR_CAPACITY_VALIDATION";
+    static final String MAX_WORKER_COUNT_VARIABLE = "KAFKACONNECT_CONNECTOR_MAX_WORKER_COUNT";
+    static final int DEFAULT_MAX_WORKER_COUNT = 10;
+    static final String BULK_PARALLELISM_VARIABLE = "KAFKACONNECT_CONNECTOR_BULK_PARALLELISM";
+    static final int DEFAULT_BULK_PARALLELISM = 8;
+    static final String BULK_REQUESTS_PER_SECOND_VARIABLE = "KAFKACONNECT_CONNECTOR_BULK_REQUESTS_PER_SECOND";
+    static final int DEFAULT_BULK_REQUESTS_PER_SECOND = 10;
+    static final String VARIABLE_PREFIX = "KAFKACONNECT_CONNECTOR_";
+    static final ProviderSettings DEFAULTS = ProviderSettings.builder().build();
+
+    /**
+     * What to do when ConnectorConfiguration fails {@link ConnectorConfigurationValidator} before CreateConnector.
+     */
+    @lombok.Builder.Default
+    ConfigurationValidation configurationValidation = ConfigurationValidation.DISABLED;
+
+    /**
+     * Most {@code tasks.max} the validator accepts per MSK Connect Unit the capacity can scale to.
+     */
+    @lombok.Builder.Default
+    int maxTasksPerMcu = DEFAULT_MAX_TASKS_PER_MCU;
+
+    /**
+     * What to do when a capacity change fails {@link CapacityPlanner} before UpdateConnector.
+     */
+    @lombok.Builder.Default
+    CapacityValidation capacityValidation = CapacityValidation.DISABLED;
+
+    /**
+     * Most workers {@link CapacityPlanner} accepts, for provisioned capacity and as the auto scaling maximum.
+     */
+    @lombok.Builder.Default
+    int maxWorkerCount = DEFAULT_MAX_WORKER_COUNT;
+
+    /**
+     * Most requests {@link BulkHandler} runs at the same time in one invocation.
+     */
+    @lombok.Builder.Default
+    int bulkParallelism = DEFAULT_BULK_PARALLELISM;
+
+    /**
+     * Most kafkaconnect API calls per second {@link BulkHandler} makes per partition and region, across invocations.
+     */
+    @lombok.Builder.Default
+    int bulkRequestsPerSecond = DEFAULT_BULK_REQUESTS_PER_SECOND;
+
+    /**
+     * Settings of the kafkaconnect clients, read from the variables prefixed with {@link #VARIABLE_PREFIX}.
+     */
+    @lombok.Builder.Default
+    ClientSettings clientSettings = ClientSettings.DEFAULTS;
+
+    static ProviderSettings fromEnvironment() {
+        return fromEnvironment(System.getenv(), LambdaRuntime.getLogger()::log);
+    }
+
+    /**
+     * A value that can't be read is logged and replaced by the setting's default, so that a mistyped variable turns
+     * the setting off instead of failing every invocation of the container.
+     *
+     * @param environment function environment
+     * @param logger logger of the values ignored
+     * @return the settings
+     */
+    static ProviderSettings fromEnvironment(final Map<String, String> environment, final Logger logger) {
+        final EnvironmentSettings settings = new EnvironmentSettings(environment, logger, ResourceModel.TYPE_NAME);
+        return ProviderSettings.builder()
+            .configurationValidation(settings.mode(CONFIGURATION_VALIDATION_VARIABLE, ConfigurationValidation.class,
+                ConfigurationValidation.DISABLED))
+            .maxTasksPerMcu(settings.number(MAX_TASKS_PER_MCU_VARIABLE, DEFAULT_MAX_TASKS_PER_MCU, 1,
+                Integer.MAX_VALUE))
+            .capacityValidation(settings.mode(CAPACITY_VALIDATION_VARIABLE, CapacityValidation.class,
+                CapacityValidation.DISABLED))
+            .maxWorkerCount(settings.number(MAX_WORKER_COUNT_VARIABLE, DEFAULT_MAX_WORKER_COUNT, 1,
+                Integer.MAX_VALUE))
+            .bulkParallelism(settings.number(BULK_PARALLELISM_VARIABLE, DEFAULT_BULK_PARALLELISM, 1,
+                Integer.MAX_VALUE))
+            .bulkRequestsPerSecond(settings.number(BULK_REQUESTS_PER_SECOND_VARIABLE,
+                DEFAULT_BULK_REQUESTS_PER_SECOND, 1, Integer.MAX_VALUE))
+            .clientSettings(ClientSettings.fromEnvironment(VARIABLE_PREFIX, settings))
+            .build();
+    }
+
+    public enum ConfigurationValidation {
+        /** Pass ConnectorConfiguration to the service unchecked. */
+        DISABLED,
+        /** Log the violations found, then create the connector anyway. */
+        WARN,
+        /** Fail the create with InvalidRequest listing the violations found. */
+        FAIL
+    }
+
+    public enum CapacityValidation {
+        /** Send capacity changes to the service unchecked. */
+        DISABLED,
+        /** Log the planned change and any violations, then update anyway. */
+        WARN,
+        /** Fail the update with InvalidRequest listing the violations found. */
+        FAIL
+    }
+}
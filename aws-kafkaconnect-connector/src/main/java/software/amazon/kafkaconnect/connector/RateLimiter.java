@@ -0,0 +1,69 @@
+package software.amazon.kafkaconnect.connector;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket spacing calls to the service. Permits refill at a fixed rate up to one second's worth, so an idle
+ * limiter lets a short burst through. Callers that find the bucket empty reserve a later permit and wait for it,
+ * which keeps them in arrival order. Public so that the orchestration module spaces its calls with the same limiter.
+ */
+public final class RateLimiter {
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1L);
+
+    private final double permitsPerNano;
+    private final double maxPermits;
+    private final LongSupplier nanoClock;
+
+    private double availablePermits;
+    private long refilledAt;
+
+    /**
+     * @param permitsPerSecond permits added per second, also the most that can be stored
+     */
+    public RateLimiter(final int permitsPerSecond) {
+        this(permitsPerSecond, System::nanoTime);
+    }
+
+    /**
+     * Constructor used for unit testing
+     *
+     * @param permitsPerSecond
+     * @param nanoClock
+     */
+    RateLimiter(final int permitsPerSecond, final LongSupplier nanoClock) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive, not " + permitsPerSecond);
+        }
+        this.permitsPerNano = (double) permitsPerSecond / NANOS_PER_SECOND;
+        this.maxPermits = permitsPerSecond;
+        this.nanoClock = nanoClock;
+        this.availablePermits = maxPermits;
+        this.refilledAt = nanoClock.getAsLong();
+    }
+
+    /**
+     * Takes a permit, waiting until it is due.
+     *
+     * @throws InterruptedException if interrupted while waiting; the permit stays taken
+     */
+    public void acquire() throws InterruptedException {
+        final long waitNanos = reserve();
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * Takes a permit without waiting for it.
+     *
+     * @return nanoseconds until the permit is due, 0 if it is available now
+     */
+    synchronized long reserve() {
+        final long now = nanoClock.getAsLong();
+        availablePermits = Math.min(maxPermits, availablePermits + (now - refilledAt) * permitsPerNano);
+        refilledAt = now;
+        availablePermits -= 1;
+        return availablePermits >= 0 ? 0 : (long) Math.ceil(-availablePermits / permitsPerNano);
+    }
+}
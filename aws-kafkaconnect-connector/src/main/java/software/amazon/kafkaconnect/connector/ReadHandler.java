@@ -6,20 +6,24 @@ import software.amazon.awssdk.services.kafkaconnect.model.DescribeConnectorReque
 import software.amazon.awssdk.services.kafkaconnect.model.DescribeConnectorResponse;
 import software.amazon.awssdk.services.kafkaconnect.model.ListTagsForResourceResponse;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.kafkaconnect.common.SingleFlight;
 
 import java.util.Map;
 
 public class ReadHandler extends BaseHandlerStd {
-    private Logger logger;
+    private static final String READ_OPERATION = "DescribeConnectorWithTags";
+
     private final ExceptionTranslator exceptionTranslator;
     private final Translator translator;
+    private final SingleFlight<ReadResult> readFlights;
 
     public ReadHandler() {
-        this(new ExceptionTranslator(), new Translator());
+        this(HandlerRegistry.EXCEPTION_TRANSLATOR, HandlerRegistry.TRANSLATOR, HandlerRegistry.READ_FLIGHTS);
     }
 
     /**
@@ -29,8 +33,24 @@ public class ReadHandler extends BaseHandlerStd {
      * @param translator
      */
     ReadHandler(final ExceptionTranslator exceptionTranslator, final Translator translator) {
+        this(exceptionTranslator, translator, new SingleFlight<>());
+    }
+
+    /**
+     * Constructor used for unit testing
+     *
+     * @param exceptionTranslator
+     * @param translator
+     * @param readFlights
+     */
+    ReadHandler(
+        final ExceptionTranslator exceptionTranslator,
+        final Translator translator,
+        final SingleFlight<ReadResult> readFlights) {
+
         this.exceptionTranslator = exceptionTranslator;
         this.translator = translator;
+        this.readFlights = readFlights;
     }
 
     @Override
@@ -41,19 +61,61 @@ public class ReadHandler extends BaseHandlerStd {
         final ProxyClient<KafkaConnectClient> proxyClient,
         final Logger logger) {
 
-        this.logger = logger;
-
         return proxy.initiate(
             "AWS-KafkaConnect-Connector::Read",
             proxyClient,
             request.getDesiredResourceState(),
             callbackContext)
             .translateToServiceRequest(translator::translateToReadRequest)
-            .makeServiceCall(this::describeConnectorWithTags)
+            .makeServiceCall((describeConnectorRequest, client) ->
+                describeConnectorWithTags(
+                    describeConnectorRequest, client, SingleFlight.caller(request), logger))
             .done(responseModel -> ProgressEvent.defaultSuccessHandler(responseModel));
     }
 
+    /**
+     * Read can't return IN_PROGRESS, so it fails with Throttling, which CloudFormation retries.
+     */
+    @Override
+    protected ProgressEvent<ResourceModel, CallbackContext> handleCircuitOpen(
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        final int retryAfterSeconds) {
+
+        return ProgressEvent.failed(request.getDesiredResourceState(), callbackContext, HandlerErrorCode.Throttling,
+            String.format(CIRCUIT_OPEN_MESSAGE_PATTERN, request.getAwsPartition(), request.getRegion(),
+                retryAfterSeconds));
+    }
+
     private ResourceModel describeConnectorWithTags(
+        final DescribeConnectorRequest describeConnectorRequest,
+        final ProxyClient<KafkaConnectClient> proxyClient,
+        final String caller,
+        final Logger logger) {
+
+        final String identifier = describeConnectorRequest.connectorArn();
+        // concurrent reads of the same connector in this container share one Describe and ListTags, as long as
+        // they are for the same account and stack, and so signed with the same credentials
+        final ReadResult readResult = readFlights.execute(READ_OPERATION, identifier,
+            caller,
+            () -> describeConnectorAndTags(describeConnectorRequest, proxyClient), logger);
+
+        logger.log(
+            String.format(
+                "%s [%s] has successfully been read.",
+                ResourceModel.TYPE_NAME,
+                identifier
+            )
+        );
+
+        final ResourceModel readResponse =
+            translator.translateFromReadResponse(readResult.getDescribeConnectorResponse());
+        readResponse.setTags(TagHelper.convertToSet(readResult.getTags()));
+
+        return readResponse;
+    }
+
+    private ReadResult describeConnectorAndTags(
         final DescribeConnectorRequest describeConnectorRequest,
         final ProxyClient<KafkaConnectClient> proxyClient) {
 
@@ -77,17 +139,15 @@ public class ReadHandler extends BaseHandlerStd {
             throw exceptionTranslator.translateToCfnException(e, identifier);
         }
 
-        logger.log(
-            String.format(
-                "%s [%s] has successfully been read.",
-                ResourceModel.TYPE_NAME,
-                identifier
-            )
-        );
-
-        final ResourceModel readResponse = translator.translateFromReadResponse(describeConnectorResponse);
-        readResponse.setTags(TagHelper.convertToSet(connectorTags));
+        return new ReadResult(describeConnectorResponse, connectorTags);
+    }
 
-        return readResponse;
+    /**
+     * What a read fetched from the service, shared by coalesced reads. Each read translates it into its own model.
+     */
+    @lombok.Value
+    static class ReadResult {
+        DescribeConnectorResponse describeConnectorResponse;
+        Map<String, String> tags;
     }
 }
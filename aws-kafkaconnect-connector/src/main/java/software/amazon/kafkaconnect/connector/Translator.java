@@ -36,6 +36,7 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -180,8 +181,27 @@ public class Translator {
      * @return updateConnectorRequest the kafkaconnect request to modify a resource
      */
     public UpdateConnectorRequest translateToUpdateRequest(final ResourceModel model) {
+        return translateToUpdateRequest(model, null);
+    }
+
+    /**
+     * Request to update the properties that differ from the previous resource state. Capacity is always sent when
+     * there is no previous state; the connector configuration only when it changed.
+     * @param model resource model
+     * @param previousModel resource model before the update, may be null
+     * @return updateConnectorRequest the kafkaconnect request to modify a resource
+     */
+    public UpdateConnectorRequest translateToUpdateRequest(final ResourceModel model,
+        final ResourceModel previousModel) {
+
+        final boolean isCapacityChanged = previousModel == null
+            || !Objects.equals(model.getCapacity(), previousModel.getCapacity());
+        final boolean isConfigurationChanged = previousModel != null
+            && !Objects.equals(model.getConnectorConfiguration(), previousModel.getConnectorConfiguration());
+
         return UpdateConnectorRequest.builder()
-            .capacity(resourceCapacityToSdkCapacityUpdate(model.getCapacity()))
+            .capacity(isCapacityChanged ? resourceCapacityToSdkCapacityUpdate(model.getCapacity()) : null)
+            .connectorConfiguration(isConfigurationChanged ? model.getConnectorConfiguration() : null)
             .connectorArn(model.getConnectorArn())
             .build();
     }
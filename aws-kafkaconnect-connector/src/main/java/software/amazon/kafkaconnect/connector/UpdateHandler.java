@@ -46,13 +46,14 @@ public class UpdateHandler extends BaseHandlerStd {
     private static final String DESCRIBE_FAILURE_MESSAGE_PATTERN =
         "%s update request accepted but failed to read due to: %s";
 
-    private Logger logger;
     private final ExceptionTranslator exceptionTranslator;
     private final Translator translator;
     private final ReadHandler readHandler;
+    private final CapacityPreflight capacityPreflight;
 
     public UpdateHandler() {
-        this(new ExceptionTranslator(), new Translator(), new ReadHandler());
+        this(HandlerRegistry.EXCEPTION_TRANSLATOR, HandlerRegistry.TRANSLATOR, HandlerRegistry.READ_HANDLER,
+            HandlerRegistry.CAPACITY_PREFLIGHT);
     }
 
     /**
@@ -65,9 +66,25 @@ public class UpdateHandler extends BaseHandlerStd {
     UpdateHandler(final ExceptionTranslator exceptionTranslator, final Translator translator,
         final ReadHandler readHandler) {
 
+        this(exceptionTranslator, translator, readHandler, new CapacityPreflight(ProviderSettings.DEFAULTS,
+            new CapacityPlanner(ProviderSettings.DEFAULTS.getMaxWorkerCount())));
+    }
+
+    /**
+     * Constructor used for unit testing
+     *
+     * @param exceptionTranslator
+     * @param translator
+     * @param readHandler
+     * @param capacityPreflight
+     */
+    UpdateHandler(final ExceptionTranslator exceptionTranslator, final Translator translator,
+        final ReadHandler readHandler, final CapacityPreflight capacityPreflight) {
+
         this.exceptionTranslator = exceptionTranslator;
         this.translator = translator;
         this.readHandler = readHandler;
+        this.capacityPreflight = capacityPreflight;
     }
 
     @Override
@@ -78,17 +95,22 @@ public class UpdateHandler extends BaseHandlerStd {
         final ProxyClient<KafkaConnectClient> proxyClient,
         final Logger logger) {
 
-        this.logger = logger;
+        final ResourceModel previousModel = request.getPreviousResourceState();
+        if (previousModel != null
+            && !Objects.equals(request.getDesiredResourceState().getCapacity(), previousModel.getCapacity())) {
+            capacityPreflight.check(previousModel, request.getDesiredResourceState(), logger);
+        }
 
         return ProgressEvent.progress(request.getDesiredResourceState(), callbackContext)
             .then(progress ->
-                verifyUpdatable(proxy, proxyClient, progress, "AWS-KafkaConnect-Connector::PreUpdateCheck"))
-            .then(progress -> updateTags(proxyClient, progress, request))
-            .then(progress -> verifyNonCreateOnlyFieldsHaveToBeUpdated(proxy, proxyClient, progress, request, callbackContext))
+                verifyUpdatable(proxy, proxyClient, progress, "AWS-KafkaConnect-Connector::PreUpdateCheck", logger))
+            .then(progress -> updateTags(proxyClient, progress, request, logger))
             .then(progress ->
-                initiateUpdateConnector(proxy, proxyClient, progress, "AWS-KafkaConnect-Connector::Update"))
+                verifyNonCreateOnlyFieldsHaveToBeUpdated(proxy, proxyClient, progress, request, callbackContext, logger))
+            .then(progress -> initiateUpdateConnector(proxy, proxyClient, progress, request,
+                "AWS-KafkaConnect-Connector::Update", logger))
             .then(progress ->
-                stabilize(proxy, proxyClient, progress, "AWS-KafkaConnect-Connector::PostUpdateStabilize"))
+                stabilize(proxy, proxyClient, progress, "AWS-KafkaConnect-Connector::PostUpdateStabilize", logger))
             .then(progress -> readHandler.handleRequest(proxy, request, callbackContext, proxyClient, logger));
     }
 
@@ -96,11 +118,13 @@ public class UpdateHandler extends BaseHandlerStd {
         final AmazonWebServicesClientProxy proxy,
         final ProxyClient<KafkaConnectClient> proxyClient,
         final ProgressEvent<ResourceModel, CallbackContext> progress,
-        final String callGraph) {
+        final String callGraph,
+        final Logger logger) {
 
         return proxy.initiate(callGraph, proxyClient, progress.getResourceModel(), progress.getCallbackContext())
             .translateToServiceRequest(translator::translateToReadRequest)
-            .makeServiceCall(this::verifyResourceExists)
+            .makeServiceCall((describeConnectorRequest, client) ->
+                verifyResourceExists(describeConnectorRequest, client, logger))
             .done(this::verifyUpdateFieldsNotCreateOnly);
     }
 
@@ -117,8 +141,6 @@ public class UpdateHandler extends BaseHandlerStd {
 
         // verify updatability by comparing all createOnly fields
         final boolean isNameEqual = Objects.equals(updateRequest.getConnectorName(), describeResult.getConnectorName());
-        final boolean isConfigEqual =
-            Objects.equals(updateRequest.getConnectorConfiguration(), describeResult.getConnectorConfiguration());
         final boolean isDescriptionEqual =
             Objects.equals(updateRequest.getConnectorDescription(), describeResult.getConnectorDescription());
         final boolean isKafkaClusterEqual = isKafkaClusterEqual(updateRequest.getKafkaCluster(),
@@ -135,7 +157,7 @@ public class UpdateHandler extends BaseHandlerStd {
         final boolean isWorkerConfigurationEqual =
             Objects.equals(updateRequest.getWorkerConfiguration(), describeResult.getWorkerConfiguration());
 
-        final boolean isUpdatable = isNameEqual && isConfigEqual && isDescriptionEqual && isKafkaClusterEqual &&
+        final boolean isUpdatable = isNameEqual && isDescriptionEqual && isKafkaClusterEqual &&
             isKafkaClusterClientAuthenticationEqual && isKafkaConnectVersionEqual && isLogDeliveryEqual &&
             isPluginsEqual && isServiceExecutionRoleEqual && isWorkerConfigurationEqual;
 
@@ -148,9 +170,10 @@ public class UpdateHandler extends BaseHandlerStd {
 
     private DescribeConnectorResponse verifyResourceExists(
         final DescribeConnectorRequest describeConnectorRequest,
-        final ProxyClient<KafkaConnectClient> proxyClient) {
+        final ProxyClient<KafkaConnectClient> proxyClient,
+        final Logger logger) {
 
-        final DescribeConnectorResponse describeConnectorResponse = runDescribeConnectorWithNotFoundCatch(
+        final DescribeConnectorResponse describeConnectorResponse = runDescribeConnector(
             describeConnectorRequest, proxyClient, DESCRIBE_STATE_FAILURE_MESSAGE_PATTERN, exceptionTranslator);
         final String identifier = describeConnectorRequest.connectorArn();
 
@@ -159,8 +182,11 @@ public class UpdateHandler extends BaseHandlerStd {
         return describeConnectorResponse;
     }
 
-    private ProgressEvent<ResourceModel, CallbackContext> updateTags(final ProxyClient<KafkaConnectClient> proxyClient,
-                                                                     final ProgressEvent<ResourceModel, CallbackContext> progress, ResourceHandlerRequest<ResourceModel> request) {
+    private ProgressEvent<ResourceModel, CallbackContext> updateTags(
+        final ProxyClient<KafkaConnectClient> proxyClient,
+        final ProgressEvent<ResourceModel, CallbackContext> progress,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final Logger logger) {
 
         final ResourceModel desiredModel = request.getDesiredResourceState();
         final String identifier = desiredModel.getConnectorArn();
@@ -205,11 +231,14 @@ public class UpdateHandler extends BaseHandlerStd {
             final ProxyClient<KafkaConnectClient> proxyClient,
             final ProgressEvent<ResourceModel, CallbackContext> progress,
             final ResourceHandlerRequest<ResourceModel> request,
-            final CallbackContext callbackContext) {
+            final CallbackContext callbackContext,
+            final Logger logger) {
         final ResourceModel desiredModel = progress.getResourceModel();
         final ResourceModel previousModel = request.getPreviousResourceState();
         final boolean isCapacityEqual = desiredModel.getCapacity().equals(previousModel.getCapacity());
-        final boolean nonCreateOnlyFieldsHaveToBeUpdated = !(isCapacityEqual);
+        final boolean isConfigEqual =
+            Objects.equals(desiredModel.getConnectorConfiguration(), previousModel.getConnectorConfiguration());
+        final boolean nonCreateOnlyFieldsHaveToBeUpdated = !(isCapacityEqual && isConfigEqual);
 
         if(nonCreateOnlyFieldsHaveToBeUpdated) {
             return ProgressEvent.progress(desiredModel, callbackContext);
@@ -222,17 +251,22 @@ public class UpdateHandler extends BaseHandlerStd {
         final AmazonWebServicesClientProxy proxy,
         final ProxyClient<KafkaConnectClient> proxyClient,
         final ProgressEvent<ResourceModel, CallbackContext> progress,
-        final String callGraph) {
+        final ResourceHandlerRequest<ResourceModel> request,
+        final String callGraph,
+        final Logger logger) {
 
         return proxy.initiate(callGraph, proxyClient, progress.getResourceModel(), progress.getCallbackContext())
-            .translateToServiceRequest(translator::translateToUpdateRequest)
-            .makeServiceCall(this::runUpdateConnector)
+            .translateToServiceRequest(model ->
+                translator.translateToUpdateRequest(model, request.getPreviousResourceState()))
+            .makeServiceCall((updateConnectorRequest, client) ->
+                runUpdateConnector(updateConnectorRequest, client, logger))
             .progress();
     }
 
     private UpdateConnectorResponse runUpdateConnector(
         final UpdateConnectorRequest updateConnectorRequest,
-        final ProxyClient<KafkaConnectClient> proxyClient) {
+        final ProxyClient<KafkaConnectClient> proxyClient,
+        final Logger logger) {
 
         final KafkaConnectClient kafkaConnectClient = proxyClient.client();
         final String identifier = updateConnectorRequest.connectorArn();
@@ -262,7 +296,8 @@ public class UpdateHandler extends BaseHandlerStd {
         final AmazonWebServicesClientProxy proxy,
         final ProxyClient<KafkaConnectClient> proxyClient,
         final ProgressEvent<ResourceModel, CallbackContext> progress,
-        final String callGraph) {
+        final String callGraph,
+        final Logger logger) {
 
         return proxy.initiate(callGraph, proxyClient, progress.getResourceModel(), progress.getCallbackContext())
             .translateToServiceRequest(Function.identity())
@@ -270,19 +305,20 @@ public class UpdateHandler extends BaseHandlerStd {
             .makeServiceCall(EMPTY_CALL)
             .stabilize(
                 (request, response, proxyInvocation, model, callbackContext) ->
-                    isStabilized(proxyClient, response, request))
+                    isStabilized(proxyClient, response, request, logger))
             .progress();
     }
 
     private Boolean isStabilized(
         final ProxyClient<KafkaConnectClient> proxyClient,
         final ResourceModel responseResourceModel,
-        final ResourceModel requestResourceModel) {
+        final ResourceModel requestResourceModel,
+        final Logger logger) {
 
         final DescribeConnectorRequest describeConnectorRequest = translator.translateToReadRequest(
             responseResourceModel);
         final DescribeConnectorResponse describeConnectorResponse = runDescribeConnector(describeConnectorRequest,
-            proxyClient, CONNECTOR_STATE_FAILURE_MESSAGE_PATTERN);
+            proxyClient, CONNECTOR_STATE_FAILURE_MESSAGE_PATTERN, exceptionTranslator);
         final ConnectorState connectorState = describeConnectorResponse.connectorState();
 
         logger.log(String.format(CONNECTOR_STATE_SUCCESS_MESSAGE_PATTERN, ResourceModel.TYPE_NAME,
@@ -319,7 +355,8 @@ public class UpdateHandler extends BaseHandlerStd {
         final DescribeConnectorResponse describeConnectorResponse = runDescribeConnector(
             DescribeConnectorRequest.builder().connectorArn(connectorArn).build(),
             proxyClient,
-            DESCRIBE_FAILURE_MESSAGE_PATTERN);
+            DESCRIBE_FAILURE_MESSAGE_PATTERN,
+            exceptionTranslator);
         return describeConnectorResponse.currentVersion();
     }
 
@@ -334,6 +371,13 @@ public class UpdateHandler extends BaseHandlerStd {
                 String.format("Couldn't update %s due to update failure. Resource reverted to previous state",
                     ResourceModel.TYPE_NAME));
         }
+
+        if (!Objects.equals(requestResourceModel.getConnectorConfiguration(),
+            updatedResourceModel.getConnectorConfiguration())) {
+            throw new CfnGeneralServiceException(
+                String.format("Couldn't update %s due to update failure. Running connector configuration "
+                    + "differs from the requested one", ResourceModel.TYPE_NAME));
+        }
     }
 
     /**
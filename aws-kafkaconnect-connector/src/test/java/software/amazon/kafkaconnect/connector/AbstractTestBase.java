@@ -6,6 +6,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import software.amazon.awssdk.awscore.AwsRequest;
 import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
 import software.amazon.awssdk.core.ResponseBytes;
 import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.pagination.sync.SdkIterable;
@@ -15,6 +16,10 @@ import software.amazon.cloudformation.proxy.Credentials;
 import software.amazon.cloudformation.proxy.LoggerProxy;
 import software.amazon.cloudformation.proxy.ProxyClient;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
 public class AbstractTestBase {
     protected static final Credentials MOCK_CREDENTIALS = new Credentials("accessKey", "secretKey", "token");
     protected static final LoggerProxy logger = new LoggerProxy();
@@ -73,4 +78,28 @@ public class AbstractTestBase {
             }
         };
     }
+
+    /**
+     * Lets a mocked exception translator classify the failures of describes made while polling, as the real one does.
+     *
+     * @param exceptionTranslator mocked translator
+     */
+    static void translateDescribeFailures(final ExceptionTranslator exceptionTranslator) {
+        final ExceptionTranslator realTranslator = new ExceptionTranslator();
+        when(exceptionTranslator.translateToCfnException(any(AwsServiceException.class), any(), anyString()))
+            .thenAnswer(invocation -> realTranslator.translateToCfnException(invocation.getArgument(0),
+                invocation.getArgument(1), invocation.getArgument(2)));
+    }
+
+    /**
+     * As {@link #translateDescribeFailures(ExceptionTranslator)}, for failure messages that also name a subject.
+     *
+     * @param exceptionTranslator mocked translator
+     */
+    static void translateSubjectFailures(final ExceptionTranslator exceptionTranslator) {
+        final ExceptionTranslator realTranslator = new ExceptionTranslator();
+        when(exceptionTranslator.translateToCfnException(any(AwsServiceException.class), any(), anyString(), any()))
+            .thenAnswer(invocation -> realTranslator.translateToCfnException(invocation.getArgument(0),
+                invocation.getArgument(1), invocation.getArgument(2), invocation.getArgument(3)));
+    }
 }
@@ -12,15 +12,21 @@ import software.amazon.awssdk.services.kafkaconnect.model.ConnectorState;
 import software.amazon.awssdk.services.kafkaconnect.model.DescribeConnectorRequest;
 import software.amazon.awssdk.services.kafkaconnect.model.DescribeConnectorResponse;
 import software.amazon.awssdk.services.kafkaconnect.model.NotFoundException;
+import software.amazon.awssdk.services.kafkaconnect.model.TooManyRequestsException;
 import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
 import software.amazon.cloudformation.exceptions.CfnNotFoundException;
+import software.amazon.cloudformation.exceptions.CfnThrottlingException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -33,8 +39,9 @@ public class BaseHandlerStdTest extends AbstractTestBase {
     @Mock
     private KafkaConnectClient kafkaConnectClient;
 
-    @Mock
-    private ExceptionTranslator exceptionTranslator;
+    private final ExceptionTranslator exceptionTranslator = new ExceptionTranslator();
+
+    private AmazonWebServicesClientProxy proxy;
 
     private ProxyClient<KafkaConnectClient> proxyClient;
 
@@ -42,7 +49,7 @@ public class BaseHandlerStdTest extends AbstractTestBase {
 
     @BeforeEach
     public void setup() {
-        final AmazonWebServicesClientProxy proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS,
+        proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS,
             () -> Duration.ofSeconds(600).toMillis());
         proxyClient = proxyStub(proxy, kafkaConnectClient);
         stubHandler = new StubHandler();
@@ -59,11 +66,38 @@ public class BaseHandlerStdTest extends AbstractTestBase {
             kafkaConnectClient::describeConnector)).thenReturn(TestData.DESCRIBE_CONNECTOR_RESPONSE);
 
         final DescribeConnectorResponse describeConnectorResponse = stubHandler.runDescribeConnector(
-            TestData.DESCRIBE_CONNECTOR_REQUEST, proxyClient, TestData.FAILURE_MESSAGE_PATTERN);
+            TestData.DESCRIBE_CONNECTOR_REQUEST, proxyClient, TestData.FAILURE_MESSAGE_PATTERN, exceptionTranslator);
 
         assertThat(describeConnectorResponse).isEqualTo(TestData.DESCRIBE_CONNECTOR_RESPONSE);
     }
 
+    @Test
+    public void runDescribeConnector_throwsCfnNotFoundException_whenConnectorDoesNotExist() {
+        when(proxyClient.injectCredentialsAndInvokeV2(TestData.DESCRIBE_CONNECTOR_REQUEST,
+            kafkaConnectClient::describeConnector)).thenThrow(NotFoundException.builder()
+                .message(TestData.EXCEPTION_MESSAGE).build());
+
+        final CfnNotFoundException exception = assertThrows(CfnNotFoundException.class,
+            () -> stubHandler.runDescribeConnector(TestData.DESCRIBE_CONNECTOR_REQUEST, proxyClient,
+                TestData.FAILURE_MESSAGE_PATTERN, exceptionTranslator));
+
+        assertThat(exception.getMessage()).contains(TestData.CONNECTOR_ARN);
+    }
+
+    @Test
+    public void runDescribeConnector_throwsCfnThrottlingException_whenDescribeIsThrottled() {
+        when(proxyClient.injectCredentialsAndInvokeV2(TestData.DESCRIBE_CONNECTOR_REQUEST,
+            kafkaConnectClient::describeConnector)).thenThrow(TooManyRequestsException.builder()
+                .message(TestData.EXCEPTION_MESSAGE).build());
+
+        final CfnThrottlingException exception = assertThrows(CfnThrottlingException.class,
+            () -> stubHandler.runDescribeConnector(TestData.DESCRIBE_CONNECTOR_REQUEST, proxyClient,
+                TestData.FAILURE_MESSAGE_PATTERN, exceptionTranslator));
+
+        assertThat(exception.getErrorCode()).isEqualTo(HandlerErrorCode.Throttling);
+        assertThat(exceptionTranslator.getTranslatedCounts()).containsEntry(HandlerErrorCode.Throttling, 1L);
+    }
+
     @Test
     public void runDescribeConnector_throwsCfnGeneralServiceException_whenDescribeFails() {
         when(proxyClient.injectCredentialsAndInvokeV2(TestData.DESCRIBE_CONNECTOR_REQUEST,
@@ -72,53 +106,52 @@ public class BaseHandlerStdTest extends AbstractTestBase {
 
         final CfnGeneralServiceException serviceException = assertThrows(CfnGeneralServiceException.class,
             () -> stubHandler.runDescribeConnector(TestData.DESCRIBE_CONNECTOR_REQUEST, proxyClient,
-                TestData.FAILURE_MESSAGE_PATTERN));
+                TestData.FAILURE_MESSAGE_PATTERN, exceptionTranslator));
 
         assertThat(serviceException.getMessage()).isEqualTo(String.format("Error occurred during operation '" +
             TestData.FAILURE_MESSAGE_PATTERN + "'.", ResourceModel.TYPE_NAME, TestData.EXCEPTION_MESSAGE));
     }
 
     @Test
-    public void runDescribeConnectorWithNotFoundCatch_success() {
-        when(proxyClient.injectCredentialsAndInvokeV2(TestData.DESCRIBE_CONNECTOR_REQUEST,
-            kafkaConnectClient::describeConnector)).thenReturn(TestData.DESCRIBE_CONNECTOR_RESPONSE);
+    public void handleCircuitOpen_inProgressUpToTheCap_thenFailsWithThrottling() {
+        final CallbackContext callbackContext = new CallbackContext();
+        for (int callback = 0; callback < BaseHandlerStd.MAX_CIRCUIT_OPEN_CALLBACKS; callback++) {
+            final ProgressEvent<ResourceModel, CallbackContext> response = stubHandler.handleCircuitOpen(
+                TestData.RESOURCE_HANDLER_REQUEST, callbackContext, TestData.RETRY_AFTER_SECONDS);
+
+            assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+            assertThat(response.getCallbackDelaySeconds()).isEqualTo(TestData.RETRY_AFTER_SECONDS);
+        }
 
-        final DescribeConnectorResponse describeConnectorResponse = stubHandler.runDescribeConnectorWithNotFoundCatch(
-            TestData.DESCRIBE_CONNECTOR_REQUEST, proxyClient, TestData.FAILURE_MESSAGE_PATTERN, exceptionTranslator);
+        final ProgressEvent<ResourceModel, CallbackContext> response = stubHandler.handleCircuitOpen(
+            TestData.RESOURCE_HANDLER_REQUEST, callbackContext, TestData.RETRY_AFTER_SECONDS);
 
-        assertThat(describeConnectorResponse).isEqualTo(TestData.DESCRIBE_CONNECTOR_RESPONSE);
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.Throttling);
+        assertThat(response.getMessage())
+            .isEqualTo("The kafkaconnect API in aws/us-east-1 is failing; retry in 30 seconds.");
     }
 
     @Test
-    public void runDescribeConnectorWithNotFoundCatch_throwsCfnNotFoundException_whenConnectorDoesNotExist() {
-        final NotFoundException exception = NotFoundException.builder()
-            .message(TestData.EXCEPTION_MESSAGE).build();
-        final CfnNotFoundException cfnException = new CfnNotFoundException(ResourceModel.TYPE_NAME,
-            TestData.CONNECTOR_ARN, exception);
-        when(proxyClient.injectCredentialsAndInvokeV2(TestData.DESCRIBE_CONNECTOR_REQUEST,
-            kafkaConnectClient::describeConnector)).thenThrow(exception);
-        when(exceptionTranslator.translateToCfnException(exception, TestData.CONNECTOR_ARN))
-            .thenReturn(cfnException);
+    public void handleRequest_admitted_resetsCircuitOpenCallbacks() {
+        final CallbackContext callbackContext = new CallbackContext();
+        callbackContext.setCircuitOpenCallbacks(BaseHandlerStd.MAX_CIRCUIT_OPEN_CALLBACKS);
 
-        final CfnNotFoundException responseException = assertThrows(CfnNotFoundException.class,
-            () -> stubHandler.runDescribeConnectorWithNotFoundCatch(TestData.DESCRIBE_CONNECTOR_REQUEST, proxyClient,
-                TestData.FAILURE_MESSAGE_PATTERN, exceptionTranslator));
+        stubHandler.handleRequest(proxy, TestData.RESOURCE_HANDLER_REQUEST, callbackContext, logger);
 
-        assertThat(responseException).isEqualTo(cfnException);
+        assertThat(callbackContext.getCircuitOpenCallbacks()).isZero();
     }
 
     @Test
-    public void runDescribeConnectorWithNotFoundCatch_throwsCfnGeneralServiceException_whenDescribeFails() {
-        when(proxyClient.injectCredentialsAndInvokeV2(TestData.DESCRIBE_CONNECTOR_REQUEST,
-            kafkaConnectClient::describeConnector)).thenThrow(AwsServiceException.builder()
-            .message(TestData.EXCEPTION_MESSAGE).build());
+    public void handleRequest_translatedFailure_logsTranslatedCounts() {
+        final List<String> messages = new ArrayList<>();
 
-        final CfnGeneralServiceException serviceException = assertThrows(CfnGeneralServiceException.class,
-            () -> stubHandler.runDescribeConnectorWithNotFoundCatch(TestData.DESCRIBE_CONNECTOR_REQUEST, proxyClient,
-                TestData.FAILURE_MESSAGE_PATTERN, exceptionTranslator));
+        assertThrows(CfnThrottlingException.class, () -> new FailingHandler().handleRequest(
+            proxy, TestData.RESOURCE_HANDLER_REQUEST, new CallbackContext(), messages::add));
 
-        assertThat(serviceException.getMessage()).isEqualTo(String.format("Error occurred during operation '" +
-            TestData.FAILURE_MESSAGE_PATTERN + "'.", ResourceModel.TYPE_NAME, TestData.EXCEPTION_MESSAGE));
+        assertThat(messages).anySatisfy(message -> assertThat(message)
+            .startsWith("Failed with Throttling; kafkaconnect errors translated in this container so far: {")
+            .contains("Throttling="));
     }
 
     private class StubHandler extends BaseHandlerStd {
@@ -130,11 +163,32 @@ public class BaseHandlerStdTest extends AbstractTestBase {
             final ProxyClient<KafkaConnectClient> proxyClient,
             final Logger logger) {
 
-            return super.handleRequest(proxy, request, callbackContext, logger);
+            return ProgressEvent.progress(request.getDesiredResourceState(), callbackContext);
+        }
+    }
+
+    private static class FailingHandler extends BaseHandlerStd {
+        @Override
+        protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final ProxyClient<KafkaConnectClient> proxyClient,
+            final Logger logger) {
+
+            throw HandlerRegistry.EXCEPTION_TRANSLATOR.translateToCfnException(
+                TooManyRequestsException.builder().build(), "unit-test");
         }
     }
 
     private static class TestData {
+        private static final int RETRY_AFTER_SECONDS = 30;
+        private static final ResourceHandlerRequest<ResourceModel> RESOURCE_HANDLER_REQUEST =
+            ResourceHandlerRequest.<ResourceModel>builder()
+                .awsPartition("aws")
+                .region("us-east-1")
+                .desiredResourceState(ResourceModel.builder().build())
+                .build();
         private static final String CONNECTOR_ARN =
             "arn:aws:kafkaconnect:us-east-1:123456789:connector/unit-test-connector";
         private static final ConnectorState CONNECTOR_STATE = ConnectorState.RUNNING;
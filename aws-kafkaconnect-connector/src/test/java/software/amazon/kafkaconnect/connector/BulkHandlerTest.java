@@ -0,0 +1,125 @@
+package software.amazon.kafkaconnect.connector;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.Action;
+import software.amazon.cloudformation.exceptions.CfnNotFoundException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+public class BulkHandlerTest extends AbstractTestBase {
+    private static final String MISSING_ARN = "arn:aws:kafkaconnect:us-east-1:123456789:connector/missing";
+
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger mostRunning = new AtomicInteger();
+
+    @Test
+    public void handleRequests_runsInParallelUpToLimit_inRequestOrder() {
+        final BulkHandler handler = new BulkHandler(readHandler(), 2, 1000);
+
+        final List<ProgressEvent<ResourceModel, CallbackContext>> events =
+            handler.handleRequests(bulkRequest(Action.READ, 6), () -> 60_000L, logger);
+
+        assertThat(events).hasSize(6);
+        for (int i = 0; i < events.size(); i++) {
+            assertThat(events.get(i).getStatus()).isEqualTo(OperationStatus.SUCCESS);
+            assertThat(events.get(i).getResourceModel().getConnectorArn()).isEqualTo(arn(i));
+        }
+        assertThat(mostRunning.get()).isBetween(1, 2);
+    }
+
+    @Test
+    public void handleRequests_failedRequest_doesNotAffectOthers() {
+        final BulkHandler handler = new BulkHandler(readHandler(), 4, 1000);
+        final BulkHandler.BulkRequest bulkRequest = bulkRequest(Action.READ, 2);
+        bulkRequest.getRequests().add(request(MISSING_ARN));
+
+        final List<ProgressEvent<ResourceModel, CallbackContext>> events =
+            handler.handleRequests(bulkRequest, () -> 60_000L, logger);
+
+        assertThat(events.get(0).getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(events.get(1).getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(events.get(2).getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(events.get(2).getErrorCode()).isEqualTo(HandlerErrorCode.NotFound);
+    }
+
+    @Test
+    public void handleRequests_unsupportedActionOrNoCredentials_rejectsAll() {
+        final BulkHandler handler = new BulkHandler(readHandler(), 2, 1000);
+        final BulkHandler.BulkRequest withoutCredentials = bulkRequest(Action.READ, 2);
+        withoutCredentials.setCredentials(null);
+
+        for (final BulkHandler.BulkRequest bulkRequest : new BulkHandler.BulkRequest[] {
+            bulkRequest(Action.CREATE, 2), withoutCredentials}) {
+
+            final List<ProgressEvent<ResourceModel, CallbackContext>> events =
+                handler.handleRequests(bulkRequest, () -> 60_000L, logger);
+
+            assertThat(events).hasSize(2).allSatisfy(event -> {
+                assertThat(event.getStatus()).isEqualTo(OperationStatus.FAILED);
+                assertThat(event.getErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
+            });
+        }
+        assertThat(mostRunning.get()).isZero();
+    }
+
+    private Map<Action, BaseHandler<CallbackContext>> readHandler() {
+        return Collections.singletonMap(Action.READ, new BaseHandler<CallbackContext>() {
+            @Override
+            public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+                final AmazonWebServicesClientProxy proxy,
+                final ResourceHandlerRequest<ResourceModel> request,
+                final CallbackContext callbackContext,
+                final Logger logger) {
+
+                mostRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(20L);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    running.decrementAndGet();
+                }
+                if (MISSING_ARN.equals(request.getDesiredResourceState().getConnectorArn())) {
+                    throw new CfnNotFoundException(ResourceModel.TYPE_NAME, MISSING_ARN);
+                }
+                return ProgressEvent.defaultSuccessHandler(request.getDesiredResourceState());
+            }
+        });
+    }
+
+    private static BulkHandler.BulkRequest bulkRequest(final Action action, final int count) {
+        final List<ResourceHandlerRequest<ResourceModel>> requests = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            requests.add(request(arn(i)));
+        }
+        return BulkHandler.BulkRequest.builder()
+            .action(action)
+            .credentials(MOCK_CREDENTIALS)
+            .requests(requests)
+            .build();
+    }
+
+    private static ResourceHandlerRequest<ResourceModel> request(final String connectorArn) {
+        return ResourceHandlerRequest.<ResourceModel>builder()
+            .awsPartition("aws")
+            .region("us-east-1")
+            .desiredResourceState(ResourceModel.builder().connectorArn(connectorArn).build())
+            .build();
+    }
+
+    private static String arn(final int index) {
+        return "arn:aws:kafkaconnect:us-east-1:123456789:connector/bulk-" + index;
+    }
+}
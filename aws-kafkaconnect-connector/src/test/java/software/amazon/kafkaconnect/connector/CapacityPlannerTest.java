@@ -0,0 +1,89 @@
+package software.amazon.kafkaconnect.connector;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+public class CapacityPlannerTest {
+    private final CapacityPlanner planner = new CapacityPlanner(ProviderSettings.DEFAULT_MAX_WORKER_COUNT);
+
+    @Test
+    public void plan_provisionedToAutoScaling_computesWorkerDelta() {
+        final CapacityPlanner.Plan plan = planner.plan(provisioned(4, 2), autoScaling(2, 8, 2, 20, 80));
+
+        assertThat(plan.getViolations()).isEmpty();
+        assertThat(plan.getMinWorkerDelta()).isEqualTo(-2);
+        assertThat(plan.getMaxWorkerDelta()).isEqualTo(4);
+        assertThat(plan.summary()).isEqualTo(
+            "provisioned 4 workers x 2 MCU -> auto scaling 2-8 workers x 2 MCU, workers change by -2 to +4");
+    }
+
+    @Test
+    public void plan_autoScalingToProvisioned_computesWorkerDelta() {
+        final CapacityPlanner.Plan plan = planner.plan(autoScaling(1, 3, 1, 20, 80), provisioned(2, null));
+
+        assertThat(plan.getViolations()).isEmpty();
+        assertThat(plan.getMinWorkerDelta()).isEqualTo(-1);
+        assertThat(plan.getMaxWorkerDelta()).isEqualTo(1);
+    }
+
+    @Test
+    public void plan_invalidAutoScaling_reportsAllViolations() {
+        final CapacityPlanner.Plan plan = planner.plan(provisioned(2, 1), autoScaling(6, 4, 3, 80, 70));
+
+        assertThat(plan.getViolations()).containsExactly(
+            "AutoScaling.McuCount must be one of [1, 2, 4, 8], not 3",
+            "AutoScaling.MinWorkerCount 6 is greater than MaxWorkerCount 4",
+            "AutoScaling.ScaleInPolicy CpuUtilizationPercentage 80 must be below "
+                + "ScaleOutPolicy CpuUtilizationPercentage 70");
+        assertThat(plan.getMinWorkerDelta()).isNull();
+    }
+
+    @Test
+    public void plan_workerCountsOutOfRange_reported() {
+        assertThat(planner.plan(null, provisioned(11, 1)).getViolations()).containsExactly(
+            "ProvisionedCapacity.WorkerCount must be between 1 and 10, not 11");
+        assertThat(planner.plan(null, autoScaling(0, 12, 1, 0, 80)).getViolations()).containsExactly(
+            "AutoScaling.MinWorkerCount must be between 1 and 10, not 0",
+            "AutoScaling.MaxWorkerCount must be between 1 and 10, not 12",
+            "AutoScaling.ScaleInPolicy CpuUtilizationPercentage must be between 1 and 100, not 0");
+        assertThat(new CapacityPlanner(20).plan(null, provisioned(11, 1)).getViolations()).isEmpty();
+    }
+
+    @Test
+    public void plan_bothOrNeitherCapacityType_reported() {
+        final Capacity both = Capacity.builder()
+            .provisionedCapacity(provisioned(1, 1).getProvisionedCapacity())
+            .autoScaling(autoScaling(1, 2, 1, 20, 80).getAutoScaling())
+            .build();
+
+        assertThat(planner.plan(null, both).getViolations())
+            .containsExactly("exactly one of AutoScaling and ProvisionedCapacity must be set");
+        assertThat(planner.plan(null, Capacity.builder().build()).getViolations())
+            .containsExactly("exactly one of AutoScaling and ProvisionedCapacity must be set");
+    }
+
+    private static Capacity provisioned(final int workerCount, final Integer mcuCount) {
+        return Capacity.builder()
+            .provisionedCapacity(ProvisionedCapacity.builder().workerCount(workerCount).mcuCount(mcuCount).build())
+            .build();
+    }
+
+    private static Capacity autoScaling(
+        final int minWorkerCount,
+        final int maxWorkerCount,
+        final int mcuCount,
+        final int scaleInPercentage,
+        final int scaleOutPercentage) {
+
+        return Capacity.builder()
+            .autoScaling(AutoScaling.builder()
+                .minWorkerCount(minWorkerCount)
+                .maxWorkerCount(maxWorkerCount)
+                .mcuCount(mcuCount)
+                .scaleInPolicy(ScaleInPolicy.builder().cpuUtilizationPercentage(scaleInPercentage).build())
+                .scaleOutPolicy(ScaleOutPolicy.builder().cpuUtilizationPercentage(scaleOutPercentage).build())
+                .build())
+            .build();
+    }
+}
@@ -0,0 +1,51 @@
+package software.amazon.kafkaconnect.connector;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
+
+public class CapacityPreflightTest extends AbstractTestBase {
+    private static final String CONNECTOR_ARN =
+        "arn:aws:kafkaconnect:us-east-1:123456789:connector/unit-test-connector";
+
+    @Test
+    public void check_failMode_listsEveryViolation() {
+        final CfnInvalidRequestException exception = assertThrows(CfnInvalidRequestException.class,
+            () -> preflight(ProviderSettings.CapacityValidation.FAIL).check(model(2), model(12), logger));
+
+        assertThat(exception.getMessage())
+            .contains("Capacity of " + CONNECTOR_ARN + " is invalid")
+            .contains("ProvisionedCapacity.WorkerCount must be between 1 and 10, not 12");
+    }
+
+    @Test
+    public void check_validChangeOrWarnMode_updatesAnyway() {
+        assertThatCode(() -> preflight(ProviderSettings.CapacityValidation.FAIL).check(model(2), model(4), logger))
+            .doesNotThrowAnyException();
+        assertThatCode(() -> preflight(ProviderSettings.CapacityValidation.WARN).check(model(2), model(12), logger))
+            .doesNotThrowAnyException();
+    }
+
+    @Test
+    public void check_disabled_skipsValidation() {
+        assertThatCode(() -> preflight(ProviderSettings.CapacityValidation.DISABLED)
+            .check(model(2), model(12), logger)).doesNotThrowAnyException();
+    }
+
+    private static CapacityPreflight preflight(final ProviderSettings.CapacityValidation mode) {
+        return new CapacityPreflight(ProviderSettings.builder().capacityValidation(mode).build(),
+            new CapacityPlanner(ProviderSettings.DEFAULT_MAX_WORKER_COUNT));
+    }
+
+    private static ResourceModel model(final int workerCount) {
+        return ResourceModel.builder()
+            .connectorArn(CONNECTOR_ARN)
+            .capacity(Capacity.builder()
+                .provisionedCapacity(ProvisionedCapacity.builder().workerCount(workerCount).mcuCount(1).build())
+                .build())
+            .build();
+    }
+}
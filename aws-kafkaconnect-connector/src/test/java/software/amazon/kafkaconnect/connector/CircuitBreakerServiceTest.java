@@ -0,0 +1,83 @@
+package software.amazon.kafkaconnect.connector;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.kafkaconnect.KafkaConnectClient;
+import software.amazon.awssdk.services.kafkaconnect.model.DescribeConnectorRequest;
+import software.amazon.awssdk.services.kafkaconnect.model.ServiceUnavailableException;
+import software.amazon.kafkaconnect.common.CircuitBreaker;
+
+/**
+ * Drives {@link CircuitBreaker} through a client from {@link ClientBuilder} against a {@link LocalKafkaConnectService}
+ * that fails calls on demand.
+ */
+public class CircuitBreakerServiceTest {
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(30L);
+    private static final String MISSING_ARN = "arn:aws:kafkaconnect:us-east-1:123456789012:connector/missing";
+
+    private LocalKafkaConnectService service;
+    private long now;
+
+    @BeforeAll
+    public static void setRegion() {
+        System.setProperty("aws.region", "us-east-1");
+    }
+
+    @BeforeEach
+    public void setup() throws Exception {
+        service = new LocalKafkaConnectService(Duration.ZERO, Duration.ZERO);
+    }
+
+    @AfterEach
+    public void tear_down() {
+        service.close();
+    }
+
+    @Test
+    public void serverErrors_openBreakerAndStopRetries_untilProbeSucceeds() {
+        final CircuitBreaker circuitBreaker = new CircuitBreaker(50, 2, OPEN_DURATION, () -> now);
+
+        try (KafkaConnectClient client =
+                 ClientBuilder.buildClient(service.getEndpoint(), Region.US_EAST_1, circuitBreaker)) {
+            service.injectFaults(Integer.MAX_VALUE, 503, "ServiceUnavailableException");
+
+            assertThrows(ServiceUnavailableException.class, () -> client.describeConnector(describe(MISSING_ARN)));
+            // the first attempt was retried once, then the breaker opened and stopped the retries
+            assertThat(describeCalls()).isEqualTo(2L);
+            assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+            assertThat(circuitBreaker.tryEnter()).isEqualTo(CircuitBreaker.Admission.REJECT);
+
+            now += OPEN_DURATION.toNanos();
+            service.injectFaults(0, 0, null);
+            final String connectorArn = service.putConnector("probe", new ObjectMapper().createObjectNode());
+
+            assertThat(circuitBreaker.tryEnter()).isEqualTo(CircuitBreaker.Admission.PROBE);
+            assertThat(client.describeConnector(describe(connectorArn)).connectorArn()).isEqualTo(connectorArn);
+            circuitBreaker.exitProbe();
+            assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        }
+    }
+
+    private long describeCalls() {
+        return service.getCallsByLabel().get(LocalKafkaConnectService.UNLABELLED).get("DescribeConnector");
+    }
+
+    private static DescribeConnectorRequest describe(final String connectorArn) {
+        return DescribeConnectorRequest.builder()
+            .connectorArn(connectorArn)
+            .overrideConfiguration(configuration -> configuration.credentialsProvider(
+                StaticCredentialsProvider.create(AwsBasicCredentials.create("accessKey", "secretKey"))))
+            .build();
+    }
+}
@@ -0,0 +1,215 @@
+package software.amazon.kafkaconnect.connector;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Cold-start benchmark: launches a fresh JVM running {@link ColdStartProbe} per iteration and measures the time to
+ * the first completed Read against a {@link LocalKafkaConnectService}, broken down by initialization phase.
+ *
+ * The child JVM flags default to those of the Lambda java17 runtime at 512 MB and can be replaced through
+ * {@code coldstart.jvmArgs}. Run with {@code mvn -Pcold-start integration-test}.
+ *
+ * With {@code coldstart.mode=crac} (a CRaC-enabled JDK is required) the probe is checkpointed once without and once
+ * with {@link HandlerPriming} registered, and each image is restored per iteration to compare restore-to-first-read
+ * with and without priming. The launch or restore wall time is measured by this process, from spawning the child
+ * until it reports the first read.
+ */
+public final class ColdStartBenchmark {
+    static final String DEFAULT_JVM_ARGS =
+        "-XX:+TieredCompilation -XX:TieredStopAtLevel=1 -XX:MaxRAM=512m -Xshare:auto";
+    private static final String CRAC_MODE = "crac";
+    private static final String LAUNCH_PHASE = "launch to first read";
+    private static final String RESTORE_PHASE = "restore to first read";
+    static final String CONNECTOR_DESCRIPTION = "{"
+        + "\"capacity\":{\"provisionedCapacity\":{\"mcuCount\":1,\"workerCount\":1}},"
+        + "\"connectorConfiguration\":{\"connector.class\":\"io.confluent.connect.s3.S3SinkConnector\","
+        + "\"tasks.max\":\"1\"},"
+        + "\"kafkaCluster\":{\"apacheKafkaCluster\":{\"bootstrapServers\":\"b-1.cold-start:9098\","
+        + "\"vpc\":{\"securityGroups\":[\"sg-0123456789\"],\"subnets\":[\"subnet-0123456789\"]}}},"
+        + "\"kafkaClusterClientAuthentication\":{\"authenticationType\":\"NONE\"},"
+        + "\"kafkaClusterEncryptionInTransit\":{\"encryptionType\":\"PLAINTEXT\"},"
+        + "\"kafkaConnectVersion\":\"2.7.1\","
+        + "\"plugins\":[{\"customPlugin\":{\"customPluginArn\":"
+        + "\"arn:aws:kafkaconnect:us-east-1:123456789012:custom-plugin/cold-start\",\"revision\":1}}],"
+        + "\"serviceExecutionRoleArn\":\"arn:aws:iam::123456789012:role/cold-start\"}";
+
+    private ColdStartBenchmark() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final int iterations = Integer.getInteger("coldstart.iterations", 10);
+        final List<String> jvmArgs = Arrays.asList(
+            System.getProperty("coldstart.jvmArgs", DEFAULT_JVM_ARGS).trim().split("\\s+"));
+
+        try (LocalKafkaConnectService service = new LocalKafkaConnectService(Duration.ZERO, Duration.ZERO)) {
+            final String connectorArn = service.putConnector("cold-start",
+                (ObjectNode) new ObjectMapper().readTree(CONNECTOR_DESCRIPTION));
+
+            final List<String> probe = Arrays.asList(
+                "-D" + ClientBuilder.ENDPOINT_OVERRIDE_PROPERTY + "=" + service.getEndpoint(),
+                "-Daws.region=us-east-1",
+                "-D" + ColdStartProbe.RESOURCE_ARN_PROPERTY + "=" + connectorArn,
+                "-classpath",
+                System.getProperty("java.class.path"),
+                ColdStartProbe.class.getName());
+
+            if (CRAC_MODE.equals(System.getProperty("coldstart.mode"))) {
+                for (final boolean primed : new boolean[] {false, true}) {
+                    final Path image = Files.createTempDirectory("coldstart-crac");
+                    try {
+                        final List<String> checkpointArgs = new ArrayList<>(jvmArgs);
+                        checkpointArgs.add("-XX:CRaCCheckpointTo=" + image);
+                        checkpointArgs.add("-D" + ColdStartProbe.CHECKPOINT_PROPERTY + "=true");
+                        checkpointArgs.add("-D" + ColdStartProbe.PRIME_PROPERTY + "=" + primed);
+                        checkpoint(javaCommand(checkpointArgs, probe), image);
+
+                        run(primed ? "crac, primed" : "crac, unprimed", iterations, jvmArgs,
+                            javaCommand(Collections.singletonList("-XX:CRaCRestoreFrom=" + image), Collections.emptyList()),
+                            RESTORE_PHASE);
+                    } finally {
+                        deleteRecursively(image);
+                    }
+                }
+            } else {
+                run("jvm", iterations, jvmArgs, javaCommand(jvmArgs, probe), LAUNCH_PHASE);
+            }
+        }
+    }
+
+    private static List<String> javaCommand(final List<String> jvmArgs, final List<String> probe) {
+        final List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.addAll(probe);
+        return command;
+    }
+
+    private static void run(
+        final String label,
+        final int iterations,
+        final List<String> jvmArgs,
+        final List<String> command,
+        final String wallPhase) throws IOException, InterruptedException {
+
+        final List<Map<String, long[]>> runs = new ArrayList<>();
+        for (int i = 0; i < iterations; i++) {
+            runs.add(runProbe(command, wallPhase));
+        }
+        report(label, iterations, jvmArgs, runs);
+    }
+
+    /**
+     * Runs the probe up to its checkpoint. The checkpointing JVM exits once the image is written, so the image
+     * directory rather than the exit code tells whether it succeeded.
+     */
+    private static void checkpoint(final List<String> command, final Path image) throws IOException, InterruptedException {
+        new ProcessBuilder(command).inheritIO().start().waitFor();
+        try (Stream<Path> files = Files.list(image)) {
+            if (!files.findAny().isPresent()) {
+                throw new IllegalStateException("No CRaC image written to " + image + ", is the JDK CRaC-enabled?");
+            }
+        }
+    }
+
+    static void deleteRecursively(final Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (final Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    /**
+     * @return metrics per phase, in probe order: wall microseconds, classes, JIT milliseconds, allocated bytes,
+     * followed by {@code wallPhase} holding the wall time from spawning the probe to its first read
+     */
+    static Map<String, long[]> runProbe(final List<String> command, final String wallPhase)
+        throws IOException, InterruptedException {
+
+        final long start = System.nanoTime();
+        final Process process = new ProcessBuilder(command)
+            .redirectError(ProcessBuilder.Redirect.INHERIT)
+            .start();
+
+        final Map<String, long[]> phases = new LinkedHashMap<>();
+        try (BufferedReader reader = new BufferedReader(
+            new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(ColdStartProbe.PHASE_PREFIX)) {
+                    final String[] fields = line.substring(ColdStartProbe.PHASE_PREFIX.length()).split("\t");
+                    final long[] metrics = Arrays.stream(fields, 1, fields.length)
+                        .mapToLong(Long::parseLong)
+                        .toArray();
+                    phases.put(fields[0], metrics);
+
+                    if (ColdStartProbe.TOTAL_PHASE.equals(fields[0])) {
+                        final long[] wall = metrics.clone();
+                        wall[0] = (System.nanoTime() - start) / 1000;
+                        phases.put(wallPhase, wall);
+                    }
+                }
+            }
+        }
+
+        final int exitCode = process.waitFor();
+        if (exitCode != 0) {
+            throw new IllegalStateException("Cold-start probe exited with " + exitCode);
+        }
+        return phases;
+    }
+
+    static void report(
+        final String label,
+        final int iterations,
+        final List<String> jvmArgs,
+        final List<Map<String, long[]>> runs) {
+
+        System.out.printf("%n%s: iterations=%d jvmArgs=%s%n", label, iterations, String.join(" ", jvmArgs));
+        System.out.printf("%-20s %10s %10s %9s %9s %12s%n",
+            "phase", "p50(ms)", "p90(ms)", "classes", "jit(ms)", "alloc(KiB)");
+
+        for (final String phase : runs.get(0).keySet()) {
+            System.out.printf("%-20s %10.1f %10.1f %9d %9d %12d%n",
+                phase,
+                percentile(runs, phase, 0, 50) / 1000d,
+                percentile(runs, phase, 0, 90) / 1000d,
+                percentile(runs, phase, 1, 50),
+                percentile(runs, phase, 2, 50),
+                percentile(runs, phase, 3, 50) / 1024);
+        }
+    }
+
+    private static long percentile(
+        final List<Map<String, long[]>> runs,
+        final String phase,
+        final int metric,
+        final int percentile) {
+
+        final long[] values = runs.stream()
+            .mapToLong(run -> run.get(phase)[metric])
+            .sorted()
+            .toArray();
+        final int index = (int) Math.ceil(percentile / 100d * values.length) - 1;
+        return values[Math.max(0, index)];
+    }
+}
@@ -0,0 +1,175 @@
+package software.amazon.kafkaconnect.connector;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.crac.Core;
+import software.amazon.awssdk.services.kafkaconnect.model.CapacityDescription;
+import software.amazon.awssdk.services.kafkaconnect.model.ConnectorState;
+import software.amazon.awssdk.services.kafkaconnect.model.DescribeConnectorResponse;
+import software.amazon.awssdk.services.kafkaconnect.model.ProvisionedCapacityDescription;
+import software.amazon.cloudformation.Action;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.cloudformation.resource.Serializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.RuntimeMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Child-JVM side of {@link ColdStartBenchmark}. Performs the work of a cold Read invocation one phase at a time
+ * and prints wall time, classes loaded, JIT time and main-thread allocation for each phase on standard out.
+ *
+ * With {@code coldstart.checkpoint} set the probe takes a CRaC checkpoint before the first phase, registering
+ * {@link HandlerPriming} beforehand when {@code coldstart.prime} is set, and measures the phases after restore.
+ */
+public final class ColdStartProbe {
+    static final String PHASE_PREFIX = "COLDSTART\t";
+    static final String RESOURCE_ARN_PROPERTY = "coldstart.resourceArn";
+    static final String JVM_BOOT_PHASE = "jvm boot";
+    static final String TOTAL_PHASE = "time to first read";
+    static final String CHECKPOINT_PROPERTY = "coldstart.checkpoint";
+    static final String PRIME_PROPERTY = "coldstart.prime";
+
+    private static final Credentials CREDENTIALS = new Credentials("accessKey", "secretKey", "token");
+    private static final TypeReference<ResourceHandlerRequest<ResourceModel>> REQUEST_TYPE =
+        new TypeReference<ResourceHandlerRequest<ResourceModel>>() {
+        };
+    private static final TypeReference<ProgressEvent<ResourceModel, CallbackContext>> PROGRESS_EVENT_TYPE =
+        new TypeReference<ProgressEvent<ResourceModel, CallbackContext>>() {
+        };
+
+    private ColdStartProbe() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final boolean checkpoint = Boolean.getBoolean(CHECKPOINT_PROPERTY);
+        if (checkpoint) {
+            if (Boolean.getBoolean(PRIME_PROPERTY)) {
+                HandlerPriming.register();
+            }
+            Core.checkpointRestore();
+        }
+
+        final PhaseRecorder recorder = new PhaseRecorder(checkpoint);
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .awsAccountId("123456789012")
+            .awsPartition("aws")
+            .region("us-east-1")
+            .desiredResourceState(ResourceModel.builder()
+                .connectorArn(System.getProperty(RESOURCE_ARN_PROPERTY))
+                .build())
+            .build();
+
+        final HandlerWrapper wrapper = recorder.phase("rpdk wrapper", HandlerWrapper::new);
+        final Serializer serializer = recorder.phase("jackson", () -> {
+            final Serializer roundTripSerializer = new Serializer();
+            roundTripSerializer.deserialize(roundTripSerializer.serialize(request), REQUEST_TYPE);
+            return roundTripSerializer;
+        });
+        recorder.phase("sdk client", () -> ClientBuilder.getClient("aws", "us-east-1").serviceName());
+        recorder.phase("translator", () -> {
+            final Translator translator = new Translator();
+            translator.translateToReadRequest(request.getDesiredResourceState());
+            return translator.translateFromReadResponse(DescribeConnectorResponse.builder()
+                .connectorArn(request.getDesiredResourceState().getConnectorArn())
+                .connectorState(ConnectorState.RUNNING)
+                .capacity(CapacityDescription.builder()
+                    .provisionedCapacity(ProvisionedCapacityDescription.builder()
+                        .mcuCount(1)
+                        .workerCount(1)
+                        .build())
+                    .build())
+                .build());
+        });
+        final ProgressEvent<ResourceModel, CallbackContext> event =
+            recorder.phase("first read", () -> invokeRead(wrapper, serializer, request));
+        recorder.total();
+
+        if (event.getStatus() != OperationStatus.SUCCESS) {
+            System.err.println("Read did not succeed: " + event.getMessage());
+            System.exit(1);
+        }
+    }
+
+    private static ProgressEvent<ResourceModel, CallbackContext> invokeRead(
+        final HandlerWrapper wrapper,
+        final Serializer serializer,
+        final ResourceHandlerRequest<ResourceModel> request) throws Exception {
+
+        final Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("credentials", CREDENTIALS);
+        payload.put("action", Action.READ);
+        payload.put("request", request);
+        payload.put("callbackContext", null);
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        wrapper.testEntrypoint(
+            new ByteArrayInputStream(serializer.serialize(payload).getBytes(StandardCharsets.UTF_8)),
+            output,
+            new StubLambdaContext(60_000));
+        return serializer.deserialize(output.toString(StandardCharsets.UTF_8), PROGRESS_EVENT_TYPE);
+    }
+
+    /**
+     * Measures consecutive phases and prints one tab-separated line per phase: name, wall time in microseconds,
+     * classes loaded, JIT milliseconds and bytes allocated by the main thread. After a restore there is no JVM boot
+     * to report and the total is measured from the recorder's creation.
+     */
+    static final class PhaseRecorder {
+        private final RuntimeMXBean runtime = ManagementFactory.getRuntimeMXBean();
+        private final ClassLoadingMXBean classLoading = ManagementFactory.getClassLoadingMXBean();
+        private final CompilationMXBean compilation = ManagementFactory.getCompilationMXBean();
+        private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        private final boolean restored;
+        private final long startNanos = System.nanoTime();
+
+        PhaseRecorder(final boolean restored) {
+            this.restored = restored;
+            if (!restored) {
+                print(JVM_BOOT_PHASE, runtime.getUptime() * 1000, classLoading.getTotalLoadedClassCount(),
+                    compilationMillis(), threads.getCurrentThreadAllocatedBytes());
+            }
+        }
+
+        <T> T phase(final String name, final Callable<T> work) throws Exception {
+            final long classes = classLoading.getTotalLoadedClassCount();
+            final long jitMillis = compilationMillis();
+            final long allocated = threads.getCurrentThreadAllocatedBytes();
+            final long start = System.nanoTime();
+
+            final T result = work.call();
+
+            print(name, (System.nanoTime() - start) / 1000, classLoading.getTotalLoadedClassCount() - classes,
+                compilationMillis() - jitMillis, threads.getCurrentThreadAllocatedBytes() - allocated);
+            return result;
+        }
+
+        void total() {
+            final long wallMicros = restored ? (System.nanoTime() - startNanos) / 1000 : runtime.getUptime() * 1000;
+            print(TOTAL_PHASE, wallMicros, classLoading.getTotalLoadedClassCount(), compilationMillis(),
+                threads.getCurrentThreadAllocatedBytes());
+        }
+
+        private long compilationMillis() {
+            return compilation == null ? 0 : compilation.getTotalCompilationTime();
+        }
+
+        private static void print(final String name, final long wallMicros, final long classes,
+            final long jitMillis, final long allocatedBytes) {
+
+            System.out.println(PHASE_PREFIX + name + "\t" + wallMicros + "\t" + classes + "\t" + jitMillis + "\t"
+                + allocatedBytes);
+        }
+    }
+}
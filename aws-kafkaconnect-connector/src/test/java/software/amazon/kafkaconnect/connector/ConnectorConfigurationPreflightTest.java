@@ -0,0 +1,66 @@
+package software.amazon.kafkaconnect.connector;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
+
+public class ConnectorConfigurationPreflightTest extends AbstractTestBase {
+    private static final String CONNECTOR_ARN =
+        "arn:aws:kafkaconnect:us-east-1:123456789:connector/unit-test-connector";
+
+    @Test
+    public void check_failMode_listsEveryViolation() {
+        final CfnInvalidRequestException exception = assertThrows(CfnInvalidRequestException.class,
+            () -> preflight(ProviderSettings.ConfigurationValidation.FAIL).check(model(invalidS3Sink()), logger));
+
+        assertThat(exception.getMessage())
+            .contains("ConnectorConfiguration of unit-test-connector is invalid")
+            .contains("exactly one of topics and topics.regex must be set; s3.bucket.name is required");
+    }
+
+    @Test
+    public void check_warnMode_createsAnyway() {
+        assertThatCode(() -> preflight(ProviderSettings.ConfigurationValidation.WARN)
+            .check(model(invalidS3Sink()), logger)).doesNotThrowAnyException();
+    }
+
+    @Test
+    public void check_disabledOrAlreadyCreated_skipsValidation() {
+        final ResourceModel created = model(invalidS3Sink());
+        created.setConnectorArn(CONNECTOR_ARN);
+
+        assertThatCode(() -> preflight(ProviderSettings.ConfigurationValidation.DISABLED)
+            .check(model(invalidS3Sink()), logger)).doesNotThrowAnyException();
+        assertThatCode(() -> preflight(ProviderSettings.ConfigurationValidation.FAIL).check(created, logger))
+            .doesNotThrowAnyException();
+    }
+
+    private static ConnectorConfigurationPreflight preflight(final ProviderSettings.ConfigurationValidation mode) {
+        return new ConnectorConfigurationPreflight(ProviderSettings.builder().configurationValidation(mode).build(),
+            new ConnectorConfigurationValidator(
+                ConnectorRuleSets.DEFAULTS, ProviderSettings.DEFAULT_MAX_TASKS_PER_MCU));
+    }
+
+    private static Map<String, String> invalidS3Sink() {
+        final Map<String, String> configuration = new HashMap<>();
+        configuration.put("connector.class", ConnectorRuleSets.S3_SINK);
+        configuration.put("tasks.max", "2");
+        configuration.put("format.class", "io.confluent.connect.s3.format.json.JsonFormat");
+        configuration.put("storage.class", "io.confluent.connect.s3.storage.S3Storage");
+        configuration.put("flush.size", "1000");
+        return configuration;
+    }
+
+    private static ResourceModel model(final Map<String, String> configuration) {
+        return ResourceModel.builder()
+            .connectorName("unit-test-connector")
+            .connectorConfiguration(configuration)
+            .build();
+    }
+}
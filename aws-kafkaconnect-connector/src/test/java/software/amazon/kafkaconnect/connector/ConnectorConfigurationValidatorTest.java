@@ -0,0 +1,181 @@
+package software.amazon.kafkaconnect.connector;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+public class ConnectorConfigurationValidatorTest {
+    private final ConnectorConfigurationValidator validator =
+        new ConnectorConfigurationValidator(ConnectorRuleSets.DEFAULTS, ProviderSettings.DEFAULT_MAX_TASKS_PER_MCU);
+
+    @Test
+    public void validate_completeS3Sink_noViolations() {
+        assertThat(validator.validate(model(s3Sink(), provisioned(1, 2)))).isEmpty();
+    }
+
+    @Test
+    public void validate_unknownClass_checksCommonSettingsOnly() {
+        final Map<String, String> configuration = new HashMap<>();
+        configuration.put("connector.class", "com.example.connect.CustomSourceConnector");
+        configuration.put("tasks.max", "4");
+
+        assertThat(validator.validate(model(configuration, provisioned(1, 1)))).isEmpty();
+    }
+
+    @Test
+    public void validate_s3SinkMistakes_reportsAllViolations() {
+        final Map<String, String> configuration = s3Sink();
+        configuration.remove("topics");
+        configuration.remove("s3.bucket.name");
+        configuration.put("flush.size", "0");
+        configuration.put("tasks.max", "17");
+
+        final List<String> violations = validator.validate(model(configuration, provisioned(1, 2)));
+
+        assertThat(violations).containsExactly(
+            "tasks.max 17 exceeds 16: the capacity scales to 2 MCUs and at most 8 tasks per MCU are accepted",
+            "exactly one of topics and topics.regex must be set",
+            "s3.bucket.name is required",
+            "flush.size must be a positive integer, not '0'");
+    }
+
+    @Test
+    public void validate_connectorClassTypo_suggestsKnownClass() {
+        final Map<String, String> configuration = s3Sink();
+        configuration.put("connector.class", "io.confluent.connect.s3.S3SinkConector");
+
+        assertThat(validator.validate(model(configuration, null))).containsExactly(
+            "connector.class 'io.confluent.connect.s3.S3SinkConector' is not a known connector class. "
+                + "Did you mean io.confluent.connect.s3.S3SinkConnector?");
+
+        configuration.put("connector.class", "io.confluent.connect.s3.S3SinkConnector ");
+        assertThat(validator.validate(model(configuration, null))).containsExactly(
+            "connector.class 'io.confluent.connect.s3.S3SinkConnector ' has leading or trailing whitespace");
+
+        configuration.put("connector.class", "io.confluent.connect.s3.S3Sink Connector");
+        assertThat(validator.validate(model(configuration, null))).containsExactly(
+            "connector.class 'io.confluent.connect.s3.S3Sink Connector' is not a class name");
+
+        configuration.remove("connector.class");
+        assertThat(validator.validate(model(configuration, null))).containsExactly("connector.class is required");
+    }
+
+    @Test
+    public void validate_tasksMax_checkedAgainstMaxCapacity() {
+        final Map<String, String> configuration = s3Sink();
+        configuration.put("tasks.max", "32");
+        final Capacity autoScaling = Capacity.builder()
+            .autoScaling(AutoScaling.builder().minWorkerCount(1).maxWorkerCount(2).mcuCount(2).build())
+            .build();
+
+        assertThat(validator.validate(model(configuration, autoScaling))).isEmpty();
+        assertThat(validator.validate(model(configuration, provisioned(1, null)))).containsExactly(
+            "tasks.max 32 exceeds 8: the capacity scales to 1 MCUs and at most 8 tasks per MCU are accepted");
+
+        configuration.put("tasks.max", "two");
+        assertThat(validator.validate(model(configuration, autoScaling)))
+            .containsExactly("tasks.max must be a positive integer, not 'two'");
+    }
+
+    @Test
+    public void validate_providerReferences_skipValueChecks() {
+        final Map<String, String> configuration = s3Sink();
+        configuration.put("tasks.max", "${ssm::/connect/tasks-max}");
+        configuration.put("flush.size", "${secretsmanager:s3-sink:flush-size}");
+
+        assertThat(validator.validate(model(configuration, provisioned(1, 1)))).isEmpty();
+
+        final Map<String, String> mysql = new HashMap<>();
+        mysql.put("connector.class", ConnectorRuleSets.DEBEZIUM_MYSQL);
+        mysql.put("database.hostname", "mysql.internal");
+        mysql.put("database.port", "${secretsmanager:db:port}");
+        mysql.put("database.user", "debezium");
+        mysql.put("database.server.id", "${env:SERVER_ID}0");
+        mysql.put("database.server.name", "inventory");
+        mysql.put("schema.history.internal.kafka.topic", "schema-changes.inventory");
+
+        assertThat(validator.validate(model(mysql, null))).isEmpty();
+
+        // a placeholder without a provider is a typo, not a reference
+        mysql.put("database.port", "${port}");
+        assertThat(validator.validate(model(mysql, null)))
+            .containsExactly("database.port must be a positive integer, not '${port}'");
+    }
+
+    @Test
+    public void validate_debeziumAndJdbc_applyTheirRuleSets() {
+        final Map<String, String> mysql = new HashMap<>();
+        mysql.put("connector.class", ConnectorRuleSets.DEBEZIUM_MYSQL);
+        mysql.put("database.hostname", "mysql.internal");
+        mysql.put("database.user", "debezium");
+        mysql.put("database.server.id", "184054");
+        mysql.put("database.server.name", "inventory");
+        mysql.put("table.include.list", "inventory.orders");
+        mysql.put("table.exclude.list", "inventory.audit");
+
+        assertThat(validator.validate(model(mysql, null))).containsExactly(
+            "one of schema.history.internal.kafka.topic, database.history.kafka.topic is required",
+            "table.include.list and table.exclude.list can't both be set");
+
+        final Map<String, String> jdbcSource = new HashMap<>();
+        jdbcSource.put("connector.class", ConnectorRuleSets.JDBC_SOURCE);
+        jdbcSource.put("connection.url", "jdbc:postgresql://db.internal/inventory");
+        jdbcSource.put("mode", "Timestamp+Incrementing");
+        jdbcSource.put("timestamp.column.name", "updated_at");
+        jdbcSource.put("topic.prefix", "inventory-");
+
+        assertThat(validator.validate(model(jdbcSource, null))).containsExactly(
+            "incrementing.column.name is required when mode is Timestamp+Incrementing");
+
+        jdbcSource.put("mode", "latest");
+        assertThat(validator.validate(model(jdbcSource, null))).containsExactly(
+            "mode must be one of bulk, timestamp, incrementing, timestamp+incrementing, not 'latest'");
+    }
+
+    @Test
+    public void validate_pluggedRuleSet_replacesDefaults() {
+        final ConnectorConfigurationValidator custom = new ConnectorConfigurationValidator(Collections.singletonMap(
+            "com.example.connect.CustomSinkConnector",
+            Arrays.asList(ConnectorConfigurationRule.required("example.endpoint"))), 1);
+        final Map<String, String> configuration = new HashMap<>();
+        configuration.put("connector.class", "com.example.connect.CustomSinkConnector");
+        configuration.put("tasks.max", "3");
+
+        assertThat(custom.validate(model(configuration, provisioned(2, 1)))).containsExactly(
+            "tasks.max 3 exceeds 2: the capacity scales to 2 MCUs and at most 1 tasks per MCU are accepted",
+            "example.endpoint is required");
+        assertThat(custom.validate(model(s3Sink(), null))).isEmpty();
+    }
+
+    private static Map<String, String> s3Sink() {
+        final Map<String, String> configuration = new HashMap<>();
+        configuration.put("connector.class", ConnectorRuleSets.S3_SINK);
+        configuration.put("tasks.max", "2");
+        configuration.put("topics", "orders");
+        configuration.put("s3.bucket.name", "unit-test-bucket");
+        configuration.put("format.class", "io.confluent.connect.s3.format.json.JsonFormat");
+        configuration.put("storage.class", "io.confluent.connect.s3.storage.S3Storage");
+        configuration.put("flush.size", "1000");
+        return configuration;
+    }
+
+    private static Capacity provisioned(final int workerCount, final Integer mcuCount) {
+        return Capacity.builder()
+            .provisionedCapacity(ProvisionedCapacity.builder().workerCount(workerCount).mcuCount(mcuCount).build())
+            .build();
+    }
+
+    private static ResourceModel model(final Map<String, String> configuration, final Capacity capacity) {
+        return ResourceModel.builder()
+            .connectorName("unit-test-connector")
+            .connectorConfiguration(configuration)
+            .capacity(capacity)
+            .build();
+    }
+}
@@ -8,28 +8,40 @@ import java.util.Map;
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
 import software.amazon.awssdk.services.kafkaconnect.KafkaConnectClient;
 import software.amazon.awssdk.services.kafkaconnect.model.ApacheKafkaCluster;
+import software.amazon.awssdk.services.kafkaconnect.model.ApacheKafkaClusterDescription;
 import software.amazon.awssdk.services.kafkaconnect.model.Capacity;
 import software.amazon.awssdk.services.kafkaconnect.model.ConflictException;
 import software.amazon.awssdk.services.kafkaconnect.model.ConnectorState;
+import software.amazon.awssdk.services.kafkaconnect.model.ConnectorSummary;
 import software.amazon.awssdk.services.kafkaconnect.model.CreateConnectorRequest;
 import software.amazon.awssdk.services.kafkaconnect.model.CreateConnectorResponse;
 import software.amazon.awssdk.services.kafkaconnect.model.CustomPlugin;
 import software.amazon.awssdk.services.kafkaconnect.model.DescribeConnectorRequest;
 import software.amazon.awssdk.services.kafkaconnect.model.DescribeConnectorResponse;
+import software.amazon.awssdk.services.kafkaconnect.model.ForbiddenException;
+import software.amazon.awssdk.services.kafkaconnect.model.InternalServerErrorException;
 import software.amazon.awssdk.services.kafkaconnect.model.KafkaCluster;
 import software.amazon.awssdk.services.kafkaconnect.model.KafkaClusterClientAuthentication;
+import software.amazon.awssdk.services.kafkaconnect.model.KafkaClusterDescription;
 import software.amazon.awssdk.services.kafkaconnect.model.KafkaClusterClientAuthenticationType;
 import software.amazon.awssdk.services.kafkaconnect.model.KafkaClusterEncryptionInTransit;
 import software.amazon.awssdk.services.kafkaconnect.model.KafkaClusterEncryptionInTransitType;
+import software.amazon.awssdk.services.kafkaconnect.model.ListConnectorsRequest;
+import software.amazon.awssdk.services.kafkaconnect.model.ListConnectorsResponse;
 import software.amazon.awssdk.services.kafkaconnect.model.ListTagsForResourceRequest;
 import software.amazon.awssdk.services.kafkaconnect.model.ListTagsForResourceResponse;
 import software.amazon.awssdk.services.kafkaconnect.model.Plugin;
 import software.amazon.awssdk.services.kafkaconnect.model.ProvisionedCapacity;
+import software.amazon.awssdk.services.kafkaconnect.model.TooManyRequestsException;
 import software.amazon.awssdk.services.kafkaconnect.model.Vpc;
+import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
 import software.amazon.cloudformation.exceptions.CfnAlreadyExistsException;
 import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
 import software.amazon.cloudformation.exceptions.CfnResourceConflictException;
+import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
+import software.amazon.cloudformation.exceptions.CfnThrottlingException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
@@ -164,6 +176,111 @@ public class CreateHandlerTest extends AbstractTestBase {
         assertThat(exception).isEqualTo(cfnException);
     }
 
+    @Test
+    public void handleRequest_adoptsConnector_whenCreateConflictsWithEarlierAttempt() {
+        final ResourceModel resourceModel = TestData.getResourceModel();
+        when(translator.translateToCreateRequest(resourceModel, TestData.STACK_TAGS))
+            .thenReturn(TestData.STACK_CREATE_CONNECTOR_REQUEST);
+        when(proxyClient.injectCredentialsAndInvokeV2(
+            TestData.STACK_CREATE_CONNECTOR_REQUEST, kafkaConnectClient::createConnector
+        )).thenThrow(ConflictException.builder().build());
+        when(proxyClient.injectCredentialsAndInvokeV2(
+            TestData.LIST_CONNECTORS_REQUEST, kafkaConnectClient::listConnectors
+        )).thenReturn(TestData.listConnectorsResponse(TestData.SERVICE_EXECUTION_ROLE_ARN, null));
+        setupMocksToAdoptAndRead();
+
+        final CallbackContext callbackContext = new CallbackContext();
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(
+            proxy, TestData.getStackResourceHandlerRequest(resourceModel), callbackContext, proxyClient, logger);
+
+        assertThat(response).isEqualTo(TestData.DESCRIBE_RESPONSE);
+        assertThat(callbackContext.getConnectorArn()).isEqualTo(TestData.CONNECTOR_ARN);
+    }
+
+    @Test
+    public void handleRequest_adoptsConnector_whenRetriedAfterCreateResponseWasLost() {
+        final ResourceModel resourceModel = TestData.getResourceModel();
+        final ResourceHandlerRequest<ResourceModel> request = TestData.getStackResourceHandlerRequest(resourceModel);
+        final InternalServerErrorException lostResponse = InternalServerErrorException.builder().statusCode(500)
+            .build();
+        final CfnServiceInternalErrorException cfnException =
+            new CfnServiceInternalErrorException(TestData.CONNECTOR_NAME, lostResponse);
+        when(translator.translateToCreateRequest(resourceModel, TestData.STACK_TAGS))
+            .thenReturn(TestData.STACK_CREATE_CONNECTOR_REQUEST);
+        // the first attempt's create goes through, but its response is lost; the retry finds the name taken
+        when(proxyClient.injectCredentialsAndInvokeV2(
+            TestData.STACK_CREATE_CONNECTOR_REQUEST, kafkaConnectClient::createConnector
+        )).thenThrow(lostResponse).thenThrow(ConflictException.builder().build());
+        when(exceptionTranslator.translateToCfnException(lostResponse, TestData.CONNECTOR_NAME))
+            .thenReturn(cfnException);
+        when(proxyClient.injectCredentialsAndInvokeV2(
+            TestData.LIST_CONNECTORS_REQUEST, kafkaConnectClient::listConnectors
+        )).thenReturn(TestData.listConnectorsResponse(TestData.SERVICE_EXECUTION_ROLE_ARN, null));
+        setupMocksToAdoptAndRead();
+
+        assertThrows(CfnServiceInternalErrorException.class,
+            () -> handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger));
+        // a failed invocation returns no callback context, so the retry starts from a new one
+        final CallbackContext retryContext = new CallbackContext();
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, retryContext, proxyClient, logger);
+
+        assertThat(response).isEqualTo(TestData.DESCRIBE_RESPONSE);
+        assertThat(retryContext.getConnectorArn()).isEqualTo(TestData.CONNECTOR_ARN);
+    }
+
+    @Test
+    public void handleRequest_throwsAlreadyExistsException_whenConflictingConnectorDoesNotMatch() {
+        assertConflictingConnectorNotAdopted(
+            TestData.listConnectorsResponse("arn:aws:iam::123456789:role/other-role", null));
+    }
+
+    @Test
+    public void handleRequest_throwsAlreadyExistsException_whenConflictingConnectorHasOtherDescription() {
+        assertConflictingConnectorNotAdopted(
+            TestData.listConnectorsResponse(TestData.SERVICE_EXECUTION_ROLE_ARN, "other description"));
+    }
+
+    @Test
+    public void handleRequest_throwsAccessDeniedException_whenConnectorsCannotBeListed() {
+        final ResourceModel resourceModel = TestData.getResourceModel();
+        when(translator.translateToCreateRequest(resourceModel, TestData.STACK_TAGS))
+            .thenReturn(TestData.STACK_CREATE_CONNECTOR_REQUEST);
+        when(proxyClient.injectCredentialsAndInvokeV2(
+            TestData.STACK_CREATE_CONNECTOR_REQUEST, kafkaConnectClient::createConnector
+        )).thenThrow(ConflictException.builder().build());
+        when(proxyClient.injectCredentialsAndInvokeV2(
+            TestData.LIST_CONNECTORS_REQUEST, kafkaConnectClient::listConnectors
+        )).thenThrow(ForbiddenException.builder().statusCode(403).build());
+
+        assertThrows(CfnAccessDeniedException.class,
+            () -> handler.handleRequest(proxy, TestData.getStackResourceHandlerRequest(resourceModel),
+                new CallbackContext(), proxyClient, logger));
+    }
+
+    @Test
+    public void handleRequest_resumesStabilization_whenCallbackContextHasConnectorArn() {
+        final CallbackContext callbackContext = new CallbackContext();
+        callbackContext.setConnectorArn(TestData.CONNECTOR_ARN);
+        when(translator.translateToReadRequest(TestData.RESOURCE_MODEL_WITH_ARN))
+            .thenReturn(TestData.DESCRIBE_CONNECTOR_REQUEST);
+        final DescribeConnectorResponse describeConnectorResponse =
+            TestData.describeResponseWithState(ConnectorState.RUNNING);
+        when(proxyClient.injectCredentialsAndInvokeV2(
+            TestData.DESCRIBE_CONNECTOR_REQUEST, kafkaConnectClient::describeConnector
+        )).thenReturn(describeConnectorResponse);
+        when(translator.translateFromReadResponse(describeConnectorResponse))
+            .thenReturn(TestData.RESOURCE_MODEL_WITH_ARN);
+        when(proxyClient.injectCredentialsAndInvokeV2(TestData.LIST_TAGS_FOR_RESOURCE_REQUEST,
+                kafkaConnectClient::listTagsForResource)).thenReturn(TestData.LIST_TAGS_FOR_RESOURCE_RESPONSE);
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(
+            proxy, TestData.getResourceHandlerRequest(TestData.getResourceModel()), callbackContext, proxyClient,
+            logger);
+
+        assertThat(response).isEqualTo(TestData.DESCRIBE_RESPONSE);
+    }
+
     @Test
     public void handleRequest_throwsGeneralServiceException_whenConnectorsStateFails() {
         setupMocksToReturnConnectorState(ConnectorState.FAILED);
@@ -215,12 +332,77 @@ public class CreateHandlerTest extends AbstractTestBase {
         when(proxyClient.injectCredentialsAndInvokeV2(
             TestData.DESCRIBE_CONNECTOR_REQUEST, kafkaConnectClient::describeConnector
         )).thenThrow(cException);
+        translateDescribeFailures(exceptionTranslator);
 
         runHandlerAndAssertExceptionThrownWithMessage(CfnGeneralServiceException.class,
             "Error occurred during operation 'AWS::KafkaConnect::Connector create request accepted " +
                 "but failed to get state due to: " + TestData.EXCEPTION_MESSAGE + "'.");
     }
 
+    @Test
+    public void handleRequest_throwsCfnThrottlingException_whenStabilizationDescribeIsThrottled() {
+        when(translator.translateToCreateRequest(TestData.getResourceModel(),
+            TagHelper.convertToMap(TestData.getResourceModel().getTags())))
+                .thenReturn(TestData.CREATE_CONNECTOR_REQUEST);
+        when(proxyClient.injectCredentialsAndInvokeV2(
+            TestData.CREATE_CONNECTOR_REQUEST, kafkaConnectClient::createConnector)
+        ).thenReturn(TestData.CREATE_CONNECTOR_RESPONSE);
+        when(translator.translateToReadRequest(TestData.RESOURCE_MODEL_WITH_ARN))
+            .thenReturn(TestData.DESCRIBE_CONNECTOR_REQUEST);
+        when(proxyClient.injectCredentialsAndInvokeV2(
+            TestData.DESCRIBE_CONNECTOR_REQUEST, kafkaConnectClient::describeConnector
+        )).thenThrow(TooManyRequestsException.builder().message(TestData.EXCEPTION_MESSAGE).build());
+        translateDescribeFailures(exceptionTranslator);
+
+        // throttling is retried by CloudFormation, instead of failing the create that the service accepted
+        final CfnThrottlingException exception = assertThrows(CfnThrottlingException.class,
+            () -> handler.handleRequest(proxy, TestData.getResourceHandlerRequest(TestData.getResourceModel()),
+                new CallbackContext(), proxyClient, logger));
+
+        assertThat(exception.getErrorCode()).isEqualTo(HandlerErrorCode.Throttling);
+    }
+
+    private void assertConflictingConnectorNotAdopted(final ListConnectorsResponse listConnectorsResponse) {
+        final ResourceModel resourceModel = TestData.getResourceModel();
+        final ConflictException cException = ConflictException.builder().build();
+        final CfnAlreadyExistsException cfnException = new CfnAlreadyExistsException(cException);
+        when(translator.translateToCreateRequest(resourceModel, TestData.STACK_TAGS))
+            .thenReturn(TestData.STACK_CREATE_CONNECTOR_REQUEST);
+        when(proxyClient.injectCredentialsAndInvokeV2(
+            TestData.STACK_CREATE_CONNECTOR_REQUEST, kafkaConnectClient::createConnector
+        )).thenThrow(cException);
+        when(proxyClient.injectCredentialsAndInvokeV2(
+            TestData.LIST_CONNECTORS_REQUEST, kafkaConnectClient::listConnectors
+        )).thenReturn(listConnectorsResponse);
+        when(proxyClient.injectCredentialsAndInvokeV2(TestData.LIST_TAGS_FOR_RESOURCE_REQUEST,
+                kafkaConnectClient::listTagsForResource)).thenReturn(TestData.STACK_LIST_TAGS_FOR_RESOURCE_RESPONSE);
+        when(exceptionTranslator.translateToCfnException(cException, TestData.CONNECTOR_NAME))
+            .thenReturn(cfnException);
+
+        final CfnAlreadyExistsException exception = assertThrows(CfnAlreadyExistsException.class,
+            () -> handler.handleRequest(proxy, TestData.getStackResourceHandlerRequest(resourceModel),
+                new CallbackContext(), proxyClient, logger));
+
+        assertThat(exception).isEqualTo(cfnException);
+    }
+
+    private void setupMocksToAdoptAndRead() {
+        // the first listing is the recovery's, which needs the stack tags, the second the read's
+        when(proxyClient.injectCredentialsAndInvokeV2(TestData.LIST_TAGS_FOR_RESOURCE_REQUEST,
+                kafkaConnectClient::listTagsForResource))
+            .thenReturn(TestData.STACK_LIST_TAGS_FOR_RESOURCE_RESPONSE)
+            .thenReturn(TestData.LIST_TAGS_FOR_RESOURCE_RESPONSE);
+        when(translator.translateToReadRequest(TestData.RESOURCE_MODEL_WITH_ARN))
+            .thenReturn(TestData.DESCRIBE_CONNECTOR_REQUEST);
+        final DescribeConnectorResponse describeConnectorResponse =
+            TestData.describeResponseWithState(ConnectorState.RUNNING);
+        when(proxyClient.injectCredentialsAndInvokeV2(
+            TestData.DESCRIBE_CONNECTOR_REQUEST, kafkaConnectClient::describeConnector
+        )).thenReturn(describeConnectorResponse);
+        when(translator.translateFromReadResponse(describeConnectorResponse))
+            .thenReturn(TestData.RESOURCE_MODEL_WITH_ARN);
+    }
+
     private void setupMocksToReturnConnectorState(final ConnectorState connectorState) {
         when(translator.translateToCreateRequest(TestData.RESOURCE_MODEL, TagHelper.convertToMap(TestData.RESOURCE_MODEL.getTags())))
             .thenReturn(TestData.CREATE_CONNECTOR_REQUEST);
@@ -316,6 +498,22 @@ public class CreateHandlerTest extends AbstractTestBase {
                 .tags(TAGS)
                 .build();
 
+        private static final Map<String, String> SYSTEM_TAGS = new HashMap<String, String>() {{
+            put(CreateRecovery.STACK_ID_TAG,
+                "arn:aws:cloudformation:us-east-1:123456789:stack/unit-test-stack/8a2b0f70-1111-2222-3333-444455556666");
+            put(CreateRecovery.LOGICAL_ID_TAG, "UnitTestConnector");
+        }};
+
+        private static final Map<String, String> STACK_TAGS = new HashMap<String, String>() {{
+            putAll(SYSTEM_TAGS);
+            putAll(TAGS);
+        }};
+
+        private static final CreateConnectorRequest STACK_CREATE_CONNECTOR_REQUEST =
+            CREATE_CONNECTOR_REQUEST.toBuilder()
+                .tags(STACK_TAGS)
+                .build();
+
         private static final CreateConnectorResponse CREATE_CONNECTOR_RESPONSE =
             CreateConnectorResponse
                 .builder()
@@ -350,6 +548,16 @@ public class CreateHandlerTest extends AbstractTestBase {
                 .build();
         }
 
+        private static ResourceHandlerRequest<ResourceModel> getStackResourceHandlerRequest(
+            final ResourceModel resourceModel) {
+
+            return ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(resourceModel)
+                .desiredResourceTags(TAGS)
+                .systemTags(SYSTEM_TAGS)
+                .build();
+        }
+
         private static final ResourceModel getResourceModel() {
             return ResourceModel
                 .builder()
@@ -367,6 +575,37 @@ public class CreateHandlerTest extends AbstractTestBase {
                 .build();
         }
 
+        private static final ListConnectorsRequest LIST_CONNECTORS_REQUEST =
+            ListConnectorsRequest.builder()
+                .connectorNamePrefix(CONNECTOR_NAME)
+                .build();
+
+        private static ListConnectorsResponse listConnectorsResponse(
+            final String serviceExecutionRoleArn,
+            final String connectorDescription) {
+
+            return ListConnectorsResponse.builder()
+                .connectors(
+                    ConnectorSummary.builder()
+                        .connectorName(CONNECTOR_NAME + "-2")
+                        .connectorArn(CONNECTOR_ARN + "-2")
+                        .build(),
+                    ConnectorSummary.builder()
+                        .connectorName(CONNECTOR_NAME)
+                        .connectorArn(CONNECTOR_ARN)
+                        .connectorState(ConnectorState.CREATING)
+                        .kafkaConnectVersion(KAFKA_CONNECT_VERSION)
+                        .serviceExecutionRoleArn(serviceExecutionRoleArn)
+                        .connectorDescription(connectorDescription)
+                        .kafkaCluster(KafkaClusterDescription.builder()
+                            .apacheKafkaCluster(ApacheKafkaClusterDescription.builder()
+                                .bootstrapServers(KAFKA_CLUSTER_BOOTSTRAP_SERVERS)
+                                .build())
+                            .build())
+                        .build())
+                .build();
+        }
+
         private static final ListTagsForResourceRequest LIST_TAGS_FOR_RESOURCE_REQUEST =
                 ListTagsForResourceRequest.builder()
                         .resourceArn(CONNECTOR_ARN)
@@ -376,5 +615,10 @@ public class CreateHandlerTest extends AbstractTestBase {
                 ListTagsForResourceResponse.builder()
                         .tags(TAGS)
                         .build();
+
+        private static final ListTagsForResourceResponse STACK_LIST_TAGS_FOR_RESOURCE_RESPONSE =
+                ListTagsForResourceResponse.builder()
+                        .tags(STACK_TAGS)
+                        .build();
     }
 }
@@ -27,6 +27,8 @@ import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -103,7 +105,7 @@ public class DeleteHandlerTest extends AbstractTestBase {
             TestData.DESCRIBE_CONNECTOR_REQUEST,
             kafkaConnectClient::describeConnector)
         ).thenThrow(serviceException);
-        when(exceptionTranslator.translateToCfnException(serviceException, TestData.CONNECTOR_ARN))
+        when(exceptionTranslator.translateToCfnException(eq(serviceException), eq(TestData.CONNECTOR_ARN), anyString()))
             .thenReturn(cfnException);
 
         final CfnNotFoundException exception = assertThrows(CfnNotFoundException.class, () -> handler
@@ -122,6 +124,7 @@ public class DeleteHandlerTest extends AbstractTestBase {
             TestData.DESCRIBE_CONNECTOR_REQUEST,
             kafkaConnectClient::describeConnector)
         ).thenThrow(serviceException);
+        translateDescribeFailures(exceptionTranslator);
 
         final CfnGeneralServiceException exception = assertThrows(CfnGeneralServiceException.class, () -> handler
             .handleRequest(proxy, TestData.RESOURCE_HANDLER_REQUEST, new CallbackContext(), proxyClient, logger));
@@ -142,6 +145,7 @@ public class DeleteHandlerTest extends AbstractTestBase {
         )
             .thenReturn(TestData.describeConnectorResponse(ConnectorState.RUNNING))
             .thenThrow(serviceException);
+        translateSubjectFailures(exceptionTranslator);
 
         final CfnGeneralServiceException exception = assertThrows(CfnGeneralServiceException.class,
             () -> handler.handleRequest(proxy, TestData.RESOURCE_HANDLER_REQUEST, new CallbackContext(),
@@ -8,14 +8,18 @@ import software.amazon.awssdk.services.kafkaconnect.model.BadRequestException;
 import software.amazon.awssdk.services.kafkaconnect.model.ConflictException;
 import software.amazon.awssdk.services.kafkaconnect.model.InternalServerErrorException;
 import software.amazon.awssdk.services.kafkaconnect.model.NotFoundException;
+import software.amazon.awssdk.services.kafkaconnect.model.ServiceUnavailableException;
+import software.amazon.awssdk.services.kafkaconnect.model.TooManyRequestsException;
 import software.amazon.awssdk.services.kafkaconnect.model.UnauthorizedException;
 import software.amazon.cloudformation.exceptions.BaseHandlerException;
 import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
 import software.amazon.cloudformation.exceptions.CfnAlreadyExistsException;
 import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
-import software.amazon.cloudformation.exceptions.CfnInternalFailureException;
 import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
 import software.amazon.cloudformation.exceptions.CfnNotFoundException;
+import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
+import software.amazon.cloudformation.exceptions.CfnThrottlingException;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -58,13 +62,43 @@ public class ExceptionTranslatorTest {
     }
 
     @Test
-    public void translateToCfnException_InternalServerErrorException_MapsToCfnInternalFailureException() {
+    public void translateToCfnException_InternalServerErrorException_MapsToCfnServiceInternalErrorException() {
         final InternalServerErrorException exception = InternalServerErrorException.builder()
             .message(TEST_MESSAGE)
             .build();
 
-        runTranslateToCfnExceptionAndVerifyOutput(exception, CfnInternalFailureException.class,
-            "Internal error occurred.");
+        runTranslateToCfnExceptionAndVerifyErrorCode(exception, CfnServiceInternalErrorException.class,
+            HandlerErrorCode.ServiceInternalError);
+    }
+
+    @Test
+    public void translateToCfnException_ServiceUnavailableException_MapsToCfnServiceInternalErrorException() {
+        final ServiceUnavailableException exception = ServiceUnavailableException.builder()
+            .message(TEST_MESSAGE)
+            .build();
+
+        runTranslateToCfnExceptionAndVerifyErrorCode(exception, CfnServiceInternalErrorException.class,
+            HandlerErrorCode.ServiceInternalError);
+    }
+
+    @Test
+    public void translateToCfnException_TooManyRequestsException_MapsToCfnThrottlingException() {
+        final TooManyRequestsException exception = TooManyRequestsException.builder()
+            .message(TEST_MESSAGE)
+            .build();
+
+        runTranslateToCfnExceptionAndVerifyErrorCode(exception, CfnThrottlingException.class,
+            HandlerErrorCode.Throttling);
+    }
+
+    @Test
+    public void translateToCfnException_UndeclaredThrottleOrServerError_MapsToRetryableException() {
+        runTranslateToCfnExceptionAndVerifyErrorCode(
+            AwsServiceException.builder().message(TEST_MESSAGE).statusCode(429).build(),
+            CfnThrottlingException.class, HandlerErrorCode.Throttling);
+        runTranslateToCfnExceptionAndVerifyErrorCode(
+            AwsServiceException.builder().message(TEST_MESSAGE).statusCode(502).build(),
+            CfnServiceInternalErrorException.class, HandlerErrorCode.ServiceInternalError);
     }
 
     @Test
@@ -86,6 +120,59 @@ public class ExceptionTranslatorTest {
         runTranslateToCfnExceptionAndVerifyOutput(exception, CfnGeneralServiceException.class, TEST_MESSAGE);
     }
 
+    @Test
+    public void translateToCfnExceptionWithFailureMessage_Other_MapsToCfnGeneralServiceExceptionWithTheMessage() {
+        final AwsServiceException exception = AwsServiceException.builder()
+            .message(TEST_MESSAGE)
+            .build();
+
+        final BaseHandlerException result =
+            exceptionTranslator.translateToCfnException(exception, TEST_IDENTIFIER, "%s state unknown: %s");
+
+        assertThat(result.getClass()).isEqualTo(CfnGeneralServiceException.class);
+        assertThat(result.getMessage()).isEqualTo(String.format("Error occurred during operation '%s state unknown: "
+            + "%s'.", ResourceModel.TYPE_NAME, TEST_MESSAGE));
+    }
+
+    @Test
+    public void translateToCfnExceptionWithSubject_Other_KeepsPercentSignsOfTheSubject() {
+        final AwsServiceException exception = AwsServiceException.builder()
+            .message(TEST_MESSAGE)
+            .build();
+
+        final BaseHandlerException result = exceptionTranslator.translateToCfnException(
+            exception, TEST_IDENTIFIER, "%s [%s] state unknown: %s", "100%-done");
+
+        assertThat(result.getClass()).isEqualTo(CfnGeneralServiceException.class);
+        assertThat(result.getMessage()).isEqualTo(String.format("Error occurred during operation '%s [100%%-done] "
+            + "state unknown: %s'.", ResourceModel.TYPE_NAME, TEST_MESSAGE));
+    }
+
+    @Test
+    public void translateToCfnExceptionWithFailureMessage_TooManyRequestsException_StaysRetryable() {
+        final TooManyRequestsException exception = TooManyRequestsException.builder()
+            .message(TEST_MESSAGE)
+            .build();
+
+        final BaseHandlerException result =
+            exceptionTranslator.translateToCfnException(exception, TEST_IDENTIFIER, "%s state unknown: %s");
+
+        assertThat(result.getClass()).isEqualTo(CfnThrottlingException.class);
+        assertThat(exceptionTranslator.getTranslatedCounts()).containsEntry(HandlerErrorCode.Throttling, 1L);
+    }
+
+    @Test
+    public void getTranslatedCounts_countsPerErrorCode() {
+        exceptionTranslator.translateToCfnException(TooManyRequestsException.builder().build(), TEST_IDENTIFIER);
+        exceptionTranslator.translateToCfnException(TooManyRequestsException.builder().build(), TEST_IDENTIFIER);
+        exceptionTranslator.translateToCfnException(NotFoundException.builder().build(), TEST_IDENTIFIER);
+
+        assertThat(exceptionTranslator.getTranslatedCounts())
+            .containsOnlyKeys(HandlerErrorCode.Throttling, HandlerErrorCode.NotFound)
+            .containsEntry(HandlerErrorCode.Throttling, 2L)
+            .containsEntry(HandlerErrorCode.NotFound, 1L);
+    }
+
     private void runTranslateToCfnExceptionAndVerifyOutput(final AwsServiceException exception,
         final Class<? extends BaseHandlerException> expectedExceptionClass, final String expectedMessage) {
 
@@ -94,4 +181,14 @@ public class ExceptionTranslatorTest {
         assertThat(result.getClass()).isEqualTo(expectedExceptionClass);
         assertThat(result.getMessage()).isEqualTo(expectedMessage);
     }
+
+    private void runTranslateToCfnExceptionAndVerifyErrorCode(final AwsServiceException exception,
+        final Class<? extends BaseHandlerException> expectedExceptionClass, final HandlerErrorCode expectedErrorCode) {
+
+        final BaseHandlerException result = exceptionTranslator.translateToCfnException(exception, TEST_IDENTIFIER);
+
+        assertThat(result.getClass()).isEqualTo(expectedExceptionClass);
+        assertThat(result.getErrorCode()).isEqualTo(expectedErrorCode);
+        assertThat(result.getCause()).isSameAs(exception);
+    }
 }
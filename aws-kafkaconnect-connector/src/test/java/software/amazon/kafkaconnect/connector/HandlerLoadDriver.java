@@ -0,0 +1,330 @@
+package software.amazon.kafkaconnect.connector;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import software.amazon.cloudformation.Action;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.cloudformation.resource.Serializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Load-generation harness driving full Create/Read/Update/List/Delete lifecycles through the generated
+ * {@link HandlerWrapper} test entrypoint against a {@link LocalKafkaConnectService}. Handlers build their clients
+ * through {@link ClientBuilder}, so the production retry strategy and stabilization delays are what is measured.
+ *
+ * Stabilization waits are compressed: the Lambda context reports little remaining time, so handlers return
+ * IN_PROGRESS instead of sleeping, and the driver re-invokes after {@code load.callbackDelayMillis} rather than
+ * the requested callback delay.
+ *
+ * Run with {@code mvn -Pload-test integration-test}; see the {@code load.*} properties in the pom.
+ */
+public final class HandlerLoadDriver {
+    private static final Credentials CREDENTIALS = new Credentials("accessKey", "secretKey", "token");
+    private static final TypeReference<ProgressEvent<ResourceModel, CallbackContext>> PROGRESS_EVENT_TYPE =
+        new TypeReference<ProgressEvent<ResourceModel, CallbackContext>>() {
+        };
+    private static final Action[] LIFECYCLE = {Action.CREATE, Action.READ, Action.UPDATE, Action.LIST, Action.DELETE};
+
+    private final Settings settings;
+    private final LocalKafkaConnectService service;
+    private final Serializer serializer = new Serializer();
+    // the rpdk wrapper keeps per-invocation state in fields; the handlers and translators behind it are shared
+    private final ThreadLocal<HandlerWrapper> wrappers = ThreadLocal.withInitial(HandlerWrapper::new);
+    private final Map<Action, OperationStats> stats = new EnumMap<>(Action.class);
+
+    private HandlerLoadDriver(final Settings settings, final LocalKafkaConnectService service) {
+        this.settings = settings;
+        this.service = service;
+        for (final Action action : LIFECYCLE) {
+            stats.put(action, new OperationStats());
+        }
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final Settings settings = Settings.fromSystemProperties();
+
+        try (LocalKafkaConnectService service = new LocalKafkaConnectService(
+            Duration.ZERO, Duration.ofMillis(settings.stateTransitionMillis), settings.requestsPerSecond)) {
+
+            System.setProperty(ClientBuilder.ENDPOINT_OVERRIDE_PROPERTY, service.getEndpoint().toString());
+            System.setProperty("aws.region", "us-east-1");
+
+            new HandlerLoadDriver(settings, service).run();
+        }
+    }
+
+    private void run() throws InterruptedException {
+        final HeapSampler heapSampler = new HeapSampler();
+        final ExecutorService executor = Executors.newFixedThreadPool(settings.concurrency);
+        final long start = System.nanoTime();
+
+        heapSampler.start();
+        for (int i = 0; i < settings.lifecycles; i++) {
+            final String connectorName = "load-test-" + i;
+            executor.execute(() -> runLifecycle(connectorName));
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.DAYS);
+        final long elapsedNanos = System.nanoTime() - start;
+        heapSampler.interrupt();
+
+        report(elapsedNanos, heapSampler.getPeakBytes());
+    }
+
+    private void runLifecycle(final String connectorName) {
+        final ResourceModel desired = newResourceModel(connectorName, 1);
+        ResourceModel current = desired;
+
+        for (final Action action : LIFECYCLE) {
+            service.label(connectorName, action.name());
+            final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .awsAccountId("123456789012")
+                .awsPartition("aws")
+                .region("us-east-1")
+                .clientRequestToken(UUID.randomUUID().toString())
+                .logicalResourceIdentifier(connectorName)
+                .desiredResourceState(desiredStateFor(action, current, connectorName))
+                .previousResourceState(action == Action.UPDATE ? current : null)
+                .desiredResourceTags(Collections.singletonMap("load-test", "true"))
+                .build();
+
+            final ProgressEvent<ResourceModel, CallbackContext> event = invokeUntilDone(action, request);
+            if (event.getStatus() != OperationStatus.SUCCESS) {
+                // later steps depend on this one, so the remaining lifecycle is abandoned
+                return;
+            }
+            if (event.getResourceModel() != null) {
+                current = event.getResourceModel();
+            }
+        }
+    }
+
+    private ResourceModel desiredStateFor(final Action action, final ResourceModel current, final String name) {
+        switch (action) {
+            case UPDATE:
+                final ResourceModel updated = newResourceModel(name, 2);
+                updated.setConnectorArn(current.getConnectorArn());
+                return updated;
+            case LIST:
+                return ResourceModel.builder().build();
+            default:
+                return current;
+        }
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> invokeUntilDone(
+        final Action action,
+        final ResourceHandlerRequest<ResourceModel> request) {
+
+        final OperationStats operationStats = stats.get(action);
+        final long start = System.nanoTime();
+        CallbackContext callbackContext = null;
+        ProgressEvent<ResourceModel, CallbackContext> event;
+
+        try {
+            do {
+                if (callbackContext != null) {
+                    Thread.sleep(settings.callbackDelayMillis);
+                }
+                event = invoke(action, request, callbackContext);
+                operationStats.invocations.increment();
+                callbackContext = event.getCallbackContext();
+            } while (event.getStatus() == OperationStatus.IN_PROGRESS);
+        } catch (final IOException e) {
+            event = ProgressEvent.failed(null, null, null, e.getMessage());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            event = ProgressEvent.failed(null, null, null, "interrupted");
+        }
+
+        operationStats.record(System.nanoTime() - start, event.getStatus() == OperationStatus.SUCCESS);
+        return event;
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> invoke(
+        final Action action,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext) throws IOException {
+
+        final Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("credentials", CREDENTIALS);
+        payload.put("action", action);
+        payload.put("request", request);
+        payload.put("callbackContext", callbackContext);
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        wrappers.get().testEntrypoint(
+            new ByteArrayInputStream(serializer.serialize(payload).getBytes(StandardCharsets.UTF_8)),
+            output,
+            new StubLambdaContext(settings.remainingTimeMillis));
+
+        return serializer.deserialize(output.toString(StandardCharsets.UTF_8), PROGRESS_EVENT_TYPE);
+    }
+
+    private void report(final long elapsedNanos, final long peakHeapBytes) {
+        final Map<String, Map<String, Long>> callsByLabel = service.getCallsByLabel();
+        final Map<String, Long> throttlesByLabel = service.getThrottlesByLabel();
+
+        System.out.printf("%nlifecycles=%d concurrency=%d elapsed=%.1fs peakHeap=%.1fMiB%n",
+            settings.lifecycles, settings.concurrency, elapsedNanos / 1e9, peakHeapBytes / (1024d * 1024d));
+        System.out.printf("%-7s %7s %7s %9s %9s %9s %12s %10s %9s%n",
+            "op", "count", "failed", "p50(ms)", "p95(ms)", "p99(ms)", "invokes/op", "calls/op", "throttles");
+
+        for (final Action action : LIFECYCLE) {
+            final OperationStats operationStats = stats.get(action);
+            final long count = operationStats.count();
+            final Map<String, Long> calls = callsByLabel.getOrDefault(action.name(), Collections.emptyMap());
+            final long totalCalls = calls.values().stream().mapToLong(Long::longValue).sum();
+
+            System.out.printf("%-7s %7d %7d %9.1f %9.1f %9.1f %12.2f %10.2f %9d%n",
+                action, count, operationStats.failures.sum(),
+                operationStats.percentileMillis(50), operationStats.percentileMillis(95),
+                operationStats.percentileMillis(99),
+                ratio(operationStats.invocations.sum(), count), ratio(totalCalls, count),
+                throttlesByLabel.getOrDefault(action.name(), 0L));
+            calls.forEach((api, apiCalls) -> System.out.printf("        %-24s %10.2f%n", api, ratio(apiCalls, count)));
+        }
+    }
+
+    private static double ratio(final long numerator, final long denominator) {
+        return denominator == 0 ? 0 : (double) numerator / denominator;
+    }
+
+    private static ResourceModel newResourceModel(final String connectorName, final int workerCount) {
+        return ResourceModel.builder()
+            .connectorName(connectorName)
+            .capacity(Capacity.builder()
+                .provisionedCapacity(ProvisionedCapacity.builder()
+                    .mcuCount(1)
+                    .workerCount(workerCount)
+                    .build())
+                .build())
+            .connectorConfiguration(Collections.singletonMap("connector.class",
+                "io.confluent.connect.s3.S3SinkConnector"))
+            .kafkaCluster(KafkaCluster.builder()
+                .apacheKafkaCluster(ApacheKafkaCluster.builder()
+                    .bootstrapServers("b-1.load-test.kafka.us-east-1.amazonaws.com:9098")
+                    .vpc(Vpc.builder()
+                        .securityGroups(Collections.singleton("sg-0123456789"))
+                        .subnets(Collections.singleton("subnet-0123456789"))
+                        .build())
+                    .build())
+                .build())
+            .kafkaClusterClientAuthentication(KafkaClusterClientAuthentication.builder()
+                .authenticationType("NONE")
+                .build())
+            .kafkaClusterEncryptionInTransit(KafkaClusterEncryptionInTransit.builder()
+                .encryptionType("PLAINTEXT")
+                .build())
+            .kafkaConnectVersion("2.7.1")
+            .plugins(Collections.singleton(Plugin.builder()
+                .customPlugin(CustomPlugin.builder()
+                    .customPluginArn("arn:aws:kafkaconnect:us-east-1:123456789012:custom-plugin/load-test")
+                    .revision(1L)
+                    .build())
+                .build()))
+            .serviceExecutionRoleArn("arn:aws:iam::123456789012:role/load-test")
+            .tags(Collections.singleton(Tag.builder().key("load-test").value("true").build()))
+            .build();
+    }
+
+    private static final class OperationStats {
+        private final List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder invocations = new LongAdder();
+
+        private void record(final long latencyNanos, final boolean succeeded) {
+            latencies.add(latencyNanos);
+            if (!succeeded) {
+                failures.increment();
+            }
+        }
+
+        private long count() {
+            return latencies.size();
+        }
+
+        private double percentileMillis(final int percentile) {
+            final List<Long> sorted;
+            synchronized (latencies) {
+                sorted = new ArrayList<>(latencies);
+            }
+            if (sorted.isEmpty()) {
+                return 0;
+            }
+            Collections.sort(sorted);
+            final int index = (int) Math.ceil(percentile / 100d * sorted.size()) - 1;
+            return sorted.get(Math.max(0, index)) / 1e6;
+        }
+    }
+
+    /**
+     * Samples heap usage so the peak reflects concurrent load rather than the state after the run.
+     */
+    private static final class HeapSampler extends Thread {
+        private final MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+        private final AtomicLong peakBytes = new AtomicLong();
+
+        private HeapSampler() {
+            super("heap-sampler");
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            while (!isInterrupted()) {
+                peakBytes.accumulateAndGet(memoryBean.getHeapMemoryUsage().getUsed(), Math::max);
+                try {
+                    Thread.sleep(20);
+                } catch (final InterruptedException e) {
+                    return;
+                }
+            }
+        }
+
+        private long getPeakBytes() {
+            return peakBytes.get();
+        }
+    }
+
+    private static final class Settings {
+        private int concurrency;
+        private int lifecycles;
+        private int requestsPerSecond;
+        private int stateTransitionMillis;
+        private int callbackDelayMillis;
+        private int remainingTimeMillis;
+
+        private static Settings fromSystemProperties() {
+            final Settings settings = new Settings();
+            settings.concurrency = Integer.getInteger("load.concurrency", 200);
+            settings.lifecycles = Integer.getInteger("load.lifecycles", 2000);
+            settings.requestsPerSecond = Integer.getInteger("load.requestsPerSecond", 0);
+            settings.stateTransitionMillis = Integer.getInteger("load.stateTransitionMillis", 500);
+            settings.callbackDelayMillis = Integer.getInteger("load.callbackDelayMillis", 100);
+            settings.remainingTimeMillis = Integer.getInteger("load.remainingTimeMillis", 5000);
+            return settings;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package software.amazon.kafkaconnect.connector;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.KeyStore;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import software.amazon.kafkaconnect.common.ClientSettings;
+import software.amazon.kafkaconnect.common.HttpTransport;
+
+/**
+ * HTTP transport benchmark: for each {@link HttpTransport}, launches fresh JVMs running
+ * {@link HttpTransportProbe} against a {@link LocalKafkaConnectService} served over TLS, and reports the median of
+ * each probe metric: cold first-call latency, steady-state latency and memory.
+ *
+ * The stand-in's certificate is generated with keytool for the run and trusted through the child JVM's trust
+ * store. The CRT transport verifies certificates against the operating system's trust store instead, so compare it
+ * with {@code transport.tls=false}, which serves plain HTTP to every transport. CRT also needs the {@code crt}
+ * profile. Run with {@code mvn -Pcrt,http-transport integration-test}.
+ */
+public final class HttpTransportBenchmark {
+    private static final String STORE_PASSWORD = "benchmark";
+    private static final String CERTIFICATE_ALIAS = "localhost";
+
+    private HttpTransportBenchmark() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final int iterations = Integer.getInteger("transport.iterations", 5);
+        final int calls = Integer.getInteger(HttpTransportProbe.CALLS_PROPERTY, 500);
+        final boolean tls = Boolean.parseBoolean(System.getProperty("transport.tls", "true"));
+        final List<String> transports = Arrays.asList(System.getProperty("transport.transports",
+            "LAMBDA,APACHE,URL_CONNECTION,CRT").trim().split("\\s*,\\s*"));
+        final List<String> jvmArgs = Arrays.asList(
+            System.getProperty("transport.jvmArgs", ColdStartBenchmark.DEFAULT_JVM_ARGS).trim().split("\\s+"));
+
+        final Path directory = Files.createTempDirectory("transport-benchmark");
+        try {
+            final Path keyStore = directory.resolve("server.p12");
+            final Path trustStore = directory.resolve("trust.p12");
+            if (tls) {
+                generateCertificate(keyStore, directory.resolve("server.pem"), trustStore);
+            }
+
+            try (LocalKafkaConnectService service = new LocalKafkaConnectService(
+                Duration.ZERO, Duration.ZERO, 0, tls ? serverContext(keyStore) : null)) {
+
+                final String connectorArn = service.putConnector("transport",
+                    (ObjectNode) new ObjectMapper().readTree(ColdStartBenchmark.CONNECTOR_DESCRIPTION));
+
+                final List<String> command = new ArrayList<>();
+                command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+                command.addAll(jvmArgs);
+                command.add("-D" + ClientBuilder.ENDPOINT_OVERRIDE_PROPERTY + "=" + service.getEndpoint());
+                command.add("-Daws.region=us-east-1");
+                command.add("-D" + HttpTransportProbe.RESOURCE_ARN_PROPERTY + "=" + connectorArn);
+                command.add("-D" + HttpTransportProbe.CALLS_PROPERTY + "=" + calls);
+                if (tls) {
+                    command.add("-Djavax.net.ssl.trustStore=" + trustStore);
+                    command.add("-Djavax.net.ssl.trustStorePassword=" + STORE_PASSWORD);
+                    command.add("-Djavax.net.ssl.trustStoreType=PKCS12");
+                }
+                command.add("-classpath");
+                command.add(System.getProperty("java.class.path"));
+                command.add(HttpTransportProbe.class.getName());
+
+                System.out.printf("%n%s: iterations=%d calls=%d jvmArgs=%s%n", service.getEndpoint().getScheme(),
+                    iterations, calls, String.join(" ", jvmArgs));
+                boolean header = true;
+                for (final String transport : transports) {
+                    final List<Map<String, Long>> runs = new ArrayList<>();
+                    try {
+                        for (int i = 0; i < iterations; i++) {
+                            runs.add(runProbe(command, transport));
+                        }
+                    } catch (final IllegalStateException e) {
+                        System.out.printf("%-16s %s%n", transport, e.getMessage());
+                        continue;
+                    }
+                    if (header) {
+                        System.out.printf("%-16s", "transport");
+                        runs.get(0).keySet().forEach(metric -> System.out.printf(" %12s", metric));
+                        System.out.println();
+                        header = false;
+                    }
+                    System.out.printf("%-16s", transport);
+                    runs.get(0).keySet().forEach(metric -> System.out.printf(" %12d", median(runs, metric)));
+                    System.out.println();
+                }
+            }
+        } finally {
+            ColdStartBenchmark.deleteRecursively(directory);
+        }
+    }
+
+    /**
+     * Generates a self-signed certificate for localhost into {@code keyStore}, and a trust store holding only that
+     * certificate.
+     */
+    private static void generateCertificate(final Path keyStore, final Path certificate, final Path trustStore)
+        throws IOException, InterruptedException {
+
+        keytool("-genkeypair", "-alias", CERTIFICATE_ALIAS, "-keyalg", "RSA", "-keysize", "2048", "-validity", "1",
+            "-dname", "CN=localhost", "-ext", "SAN=dns:localhost,ip:127.0.0.1",
+            "-storetype", "PKCS12", "-keystore", keyStore.toString(), "-storepass", STORE_PASSWORD);
+        keytool("-exportcert", "-rfc", "-alias", CERTIFICATE_ALIAS, "-file", certificate.toString(),
+            "-keystore", keyStore.toString(), "-storepass", STORE_PASSWORD);
+        keytool("-importcert", "-noprompt", "-alias", CERTIFICATE_ALIAS, "-file", certificate.toString(),
+            "-storetype", "PKCS12", "-keystore", trustStore.toString(), "-storepass", STORE_PASSWORD);
+    }
+
+    private static void keytool(final String... args) throws IOException, InterruptedException {
+        final List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "keytool").toString());
+        command.addAll(Arrays.asList(args));
+        final int exitCode = new ProcessBuilder(command).inheritIO().start().waitFor();
+        if (exitCode != 0) {
+            throw new IllegalStateException("keytool " + args[0] + " exited with " + exitCode);
+        }
+    }
+
+    private static SSLContext serverContext(final Path keyStore) throws Exception {
+        final KeyStore store = KeyStore.getInstance("PKCS12");
+        try (InputStream input = Files.newInputStream(keyStore)) {
+            store.load(input, STORE_PASSWORD.toCharArray());
+        }
+        final KeyManagerFactory keyManagers = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagers.init(store, STORE_PASSWORD.toCharArray());
+
+        final SSLContext sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(keyManagers.getKeyManagers(), null, null);
+        return sslContext;
+    }
+
+    /**
+     * @return the probe's metrics, in probe order
+     * @throws IllegalStateException if the probe fails, e.g. because the transport is not on the classpath
+     */
+    private static Map<String, Long> runProbe(final List<String> command, final String transport)
+        throws IOException, InterruptedException {
+
+        final ProcessBuilder processBuilder = new ProcessBuilder(command)
+            .redirectError(ProcessBuilder.Redirect.INHERIT);
+        processBuilder.environment()
+            .put(ProviderSettings.VARIABLE_PREFIX + ClientSettings.HTTP_TRANSPORT_VARIABLE, transport);
+        final Process process = processBuilder.start();
+
+        final Map<String, Long> metrics = new LinkedHashMap<>();
+        try (BufferedReader reader = new BufferedReader(
+            new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(HttpTransportProbe.METRIC_PREFIX)) {
+                    final String[] fields = line.substring(HttpTransportProbe.METRIC_PREFIX.length()).split("\t");
+                    metrics.put(fields[0], Long.parseLong(fields[1]));
+                }
+            }
+        }
+
+        final int exitCode = process.waitFor();
+        if (exitCode != 0) {
+            throw new IllegalStateException("probe exited with " + exitCode + ", see its output above");
+        }
+        return metrics;
+    }
+
+    private static long median(final List<Map<String, Long>> runs, final String metric) {
+        final long[] values = runs.stream()
+            .mapToLong(run -> run.get(metric))
+            .sorted()
+            .toArray();
+        return values[(values.length - 1) / 2];
+    }
+}
@@ -0,0 +1,91 @@
+package software.amazon.kafkaconnect.connector;
+
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.services.kafkaconnect.KafkaConnectClient;
+import software.amazon.awssdk.services.kafkaconnect.model.DescribeConnectorRequest;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Child-JVM side of {@link HttpTransportBenchmark}. Builds the client through {@link ClientBuilder}, with the
+ * transport selected in the environment, and prints one tab-separated line per metric on standard out: the first
+ * DescribeConnector including client creation and connection setup, the p50/p99 of the calls after it, and the
+ * heap, non-heap, resident memory and threads once they are done.
+ */
+public final class HttpTransportProbe {
+    static final String METRIC_PREFIX = "TRANSPORT\t";
+    static final String RESOURCE_ARN_PROPERTY = "transport.resourceArn";
+    static final String CALLS_PROPERTY = "transport.calls";
+
+    private static final Path PROCESS_STATUS = Paths.get("/proc/self/status");
+    private static final String RESIDENT_SET_FIELD = "VmRSS:";
+
+    private HttpTransportProbe() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final int calls = Integer.getInteger(CALLS_PROPERTY, 500);
+        final DescribeConnectorRequest request = DescribeConnectorRequest.builder()
+            .connectorArn(System.getProperty(RESOURCE_ARN_PROPERTY))
+            .overrideConfiguration(configuration -> configuration.credentialsProvider(
+                StaticCredentialsProvider.create(AwsBasicCredentials.create("accessKey", "secretKey"))))
+            .build();
+
+        final long start = System.nanoTime();
+        final KafkaConnectClient client = ClientBuilder.getClient("aws", "us-east-1");
+        client.describeConnector(request);
+        print("first(us)", (System.nanoTime() - start) / 1000);
+
+        final long[] latencies = new long[calls];
+        for (int i = 0; i < calls; i++) {
+            final long callStart = System.nanoTime();
+            client.describeConnector(request);
+            latencies[i] = (System.nanoTime() - callStart) / 1000;
+        }
+        Arrays.sort(latencies);
+        print("p50(us)", percentile(latencies, 50));
+        print("p99(us)", percentile(latencies, 99));
+
+        System.gc();
+        final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        print("heap(KiB)", memory.getHeapMemoryUsage().getUsed() / 1024);
+        print("nonheap(KiB)", memory.getNonHeapMemoryUsage().getUsed() / 1024);
+        print("rss(KiB)", residentSetKib());
+        print("threads", ManagementFactory.getThreadMXBean().getThreadCount());
+
+        // the shared HTTP client stays open for the life of the container, and some transports keep threads
+        System.exit(0);
+    }
+
+    private static long percentile(final long[] sorted, final int percentile) {
+        final int index = (int) Math.ceil(percentile / 100d * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+
+    /**
+     * @return resident memory of the process, which unlike the heap includes native transport buffers; -1 when the
+     * platform doesn't report it
+     */
+    private static long residentSetKib() throws IOException {
+        if (!Files.isReadable(PROCESS_STATUS)) {
+            return -1;
+        }
+        return Files.readAllLines(PROCESS_STATUS).stream()
+            .filter(line -> line.startsWith(RESIDENT_SET_FIELD))
+            .map(line -> line.substring(RESIDENT_SET_FIELD.length()).replace("kB", "").trim())
+            .mapToLong(Long::parseLong)
+            .findFirst()
+            .orElse(-1);
+    }
+
+    private static void print(final String metric, final long value) {
+        System.out.println(METRIC_PREFIX + metric + "\t" + value);
+    }
+}
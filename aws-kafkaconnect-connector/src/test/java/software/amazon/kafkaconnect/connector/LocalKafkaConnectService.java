@@ -0,0 +1,923 @@
+package software.amazon.kafkaconnect.connector;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import javax.net.ssl.SSLContext;
+
+/**
+ * In-process stand-in for the kafkaconnect control plane, speaking the restJson1 wire protocol of the custom plugin,
+ * worker configuration, connector and tagging APIs. Custom plugins stay CREATING for {@code customPluginDelay} and
+ * connectors stay in CREATING, UPDATING and DELETING for {@code connectorDelay}; worker configurations are ACTIVE at
+ * once. As in the service, a connector can't be created on a custom plugin or worker configuration that isn't ACTIVE
+ * or has been deleted, and a custom plugin or worker configuration can't be deleted while a connector uses it. ARNs
+ * the stand-in has never seen are taken to exist elsewhere, so handler tests needn't add them first. Requests above
+ * {@code requestsPerSecond} are rejected with TooManyRequestsException so that the retry strategy in
+ * {@link ClientBuilder} is exercised exactly as it would be against the real service.
+ *
+ * Every service call is counted per API and per label, where a label is the logical operation the caller attached to
+ * a resource name through {@link #label(String, String)}. Calls can be failed on purpose through
+ * {@link #injectFaults(int, int, String)}. Given an {@link SSLContext}, the stand-in serves HTTPS instead of HTTP.
+ *
+ * Resources live in the region a request is signed for, as read from its SigV4 credential scope, so one stand-in
+ * serves every region through a single endpoint. Calls for a region can be given a latency. The stand-in is shared
+ * with the orchestration module's tests through this module's test jar.
+ */
+public class LocalKafkaConnectService implements AutoCloseable {
+    static final String UNLABELLED = "UNLABELLED";
+
+    private static final String ARN_PATTERN = "arn:aws:kafkaconnect:%s:123456789012:%s/%s/%s";
+    private static final String DEFAULT_REGION = "us-east-1";
+    private static final int DEFAULT_PAGE_SIZE = 10;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<Kind, Duration> createDelays = new HashMap<>();
+    private final Map<Kind, Duration> deleteDelays = new HashMap<>();
+    private final TokenBucket tokenBucket;
+
+    private final ConcurrentMap<String, ResourceRecord> resources = new ConcurrentHashMap<>();
+    private final Set<String> deleted = ConcurrentHashMap.newKeySet();
+    private final Set<String> failingCreates = ConcurrentHashMap.newKeySet();
+    private final Set<String> failingDeletes = ConcurrentHashMap.newKeySet();
+    private final ConcurrentMap<String, String> labels = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ConcurrentMap<String, LongAdder>> callsByLabel = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongAdder> throttlesByLabel = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Duration> latencies = new ConcurrentHashMap<>();
+    private final Set<String> deniedRegions = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger faultsRemaining = new AtomicInteger();
+    private volatile int faultStatus;
+    private volatile String faultErrorType;
+
+    /**
+     * @param customPluginDelay time a custom plugin spends CREATING
+     * @param connectorDelay time a connector spends CREATING, UPDATING or DELETING
+     */
+    public LocalKafkaConnectService(final Duration customPluginDelay, final Duration connectorDelay)
+        throws IOException {
+
+        this(customPluginDelay, connectorDelay, 0);
+    }
+
+    /**
+     * @param customPluginDelay time a custom plugin spends CREATING
+     * @param connectorDelay time a connector spends CREATING, UPDATING or DELETING
+     * @param requestsPerSecond sustained request rate before throttling, zero for unlimited
+     */
+    public LocalKafkaConnectService(
+        final Duration customPluginDelay,
+        final Duration connectorDelay,
+        final int requestsPerSecond) throws IOException {
+
+        this(customPluginDelay, connectorDelay, requestsPerSecond, null);
+    }
+
+    /**
+     * @param customPluginDelay time a custom plugin spends CREATING
+     * @param connectorDelay time a connector spends CREATING, UPDATING or DELETING
+     * @param requestsPerSecond sustained request rate before throttling, zero for unlimited
+     * @param sslContext server certificate to serve HTTPS with, null for HTTP
+     */
+    public LocalKafkaConnectService(
+        final Duration customPluginDelay,
+        final Duration connectorDelay,
+        final int requestsPerSecond,
+        final SSLContext sslContext) throws IOException {
+
+        this.tokenBucket = requestsPerSecond > 0 ? new TokenBucket(requestsPerSecond) : null;
+        createDelays.put(Kind.CUSTOM_PLUGIN, customPluginDelay);
+        createDelays.put(Kind.WORKER_CONFIGURATION, Duration.ZERO);
+        createDelays.put(Kind.CONNECTOR, connectorDelay);
+        deleteDelays.put(Kind.CUSTOM_PLUGIN, Duration.ZERO);
+        deleteDelays.put(Kind.WORKER_CONFIGURATION, Duration.ZERO);
+        deleteDelays.put(Kind.CONNECTOR, connectorDelay);
+
+        if (sslContext == null) {
+            this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        } else {
+            final HttpsServer httpsServer = HttpsServer.create(new InetSocketAddress("localhost", 0), 0);
+            httpsServer.setHttpsConfigurator(new HttpsConfigurator(sslContext));
+            this.server = httpsServer;
+        }
+        this.executor = Executors.newCachedThreadPool();
+        this.server.setExecutor(executor);
+        this.server.createContext("/", this::handle);
+        this.server.start();
+    }
+
+    public URI getEndpoint() {
+        final String scheme = server instanceof HttpsServer ? "https" : "http";
+        return URI.create(scheme + "://localhost:" + server.getAddress().getPort());
+    }
+
+    /**
+     * Attributes all subsequent calls touching the named resource to the given logical operation.
+     */
+    public void label(final String name, final String operation) {
+        labels.put(name, operation);
+    }
+
+    /**
+     * @return service calls per label, broken down by API name
+     */
+    public Map<String, Map<String, Long>> getCallsByLabel() {
+        final Map<String, Map<String, Long>> snapshot = new TreeMap<>();
+        callsByLabel.forEach((label, calls) -> {
+            final Map<String, Long> apiCalls = new TreeMap<>();
+            calls.forEach((api, count) -> apiCalls.put(api, count.sum()));
+            snapshot.put(label, apiCalls);
+        });
+        return snapshot;
+    }
+
+    /**
+     * @return service calls per API name
+     */
+    public Map<String, Long> getCalls() {
+        final Map<String, Long> snapshot = new TreeMap<>();
+        callsByLabel.values()
+            .forEach(calls -> calls.forEach((api, count) -> snapshot.merge(api, count.sum(), Long::sum)));
+        return snapshot;
+    }
+
+    public Map<String, Long> getThrottlesByLabel() {
+        final Map<String, Long> snapshot = new TreeMap<>();
+        throttlesByLabel.forEach((label, count) -> snapshot.put(label, count.sum()));
+        return snapshot;
+    }
+
+    /**
+     * @return calls answered with TooManyRequestsException
+     */
+    public long getThrottles() {
+        return throttlesByLabel.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * Fails the next calls with the given error once they have been counted, 0 to stop failing them.
+     */
+    public void injectFaults(final int count, final int status, final String errorType) {
+        faultStatus = status;
+        faultErrorType = errorType;
+        faultsRemaining.set(count);
+    }
+
+    /**
+     * Delays every call signed for the region by the latency.
+     */
+    public void setLatency(final String region, final Duration latency) {
+        latencies.put(region, latency);
+    }
+
+    /**
+     * Rejects every call signed for the region with ForbiddenException, as for credentials without access to it.
+     */
+    public void denyAccess(final String region) {
+        deniedRegions.add(region);
+    }
+
+    /**
+     * Adds an ACTIVE custom plugin in us-east-1, as if it had been created earlier.
+     *
+     * @return its ARN
+     */
+    public String putCustomPlugin(final String name) {
+        return putCustomPlugin(DEFAULT_REGION, name);
+    }
+
+    /**
+     * Adds an ACTIVE custom plugin, as if it had been created earlier.
+     *
+     * @return its ARN
+     */
+    public String putCustomPlugin(final String region, final String name) {
+        final ObjectNode request = objectMapper.createObjectNode();
+        request.put("contentType", "ZIP");
+        request.putObject("location").putObject("s3Location")
+            .put("bucketArn", "arn:aws:s3:::plugins")
+            .put("fileKey", name + ".zip");
+        return put(Kind.CUSTOM_PLUGIN, region, name, request);
+    }
+
+    /**
+     * Adds an ACTIVE worker configuration in us-east-1, as if it had been created earlier.
+     *
+     * @return its ARN
+     */
+    public String putWorkerConfiguration(final String name) {
+        return putWorkerConfiguration(DEFAULT_REGION, name);
+    }
+
+    /**
+     * Adds an ACTIVE worker configuration, as if it had been created earlier.
+     *
+     * @return its ARN
+     */
+    public String putWorkerConfiguration(final String region, final String name) {
+        final ObjectNode request = objectMapper.createObjectNode();
+        request.put("propertiesFileContent", Base64.getEncoder().encodeToString(
+            "key.converter=org.apache.kafka.connect.storage.StringConverter\n".getBytes(StandardCharsets.UTF_8)));
+        return put(Kind.WORKER_CONFIGURATION, region, name, request);
+    }
+
+    /**
+     * Adds a RUNNING connector in us-east-1 described as given, e.g. to serve reads in benchmarks.
+     *
+     * @return its ARN
+     */
+    public String putConnector(final String name, final ObjectNode description) {
+        return put(Kind.CONNECTOR, DEFAULT_REGION, name, description);
+    }
+
+    /**
+     * Adds a RUNNING connector in us-east-1 on the given custom plugins and worker configuration, as if it had been
+     * created earlier.
+     *
+     * @param workerConfigurationArn worker configuration of the connector, null for none
+     * @return its ARN
+     */
+    public String putConnector(
+        final String name,
+        final List<String> customPluginArns,
+        final String workerConfigurationArn) {
+
+        return putConnector(DEFAULT_REGION, name, customPluginArns, workerConfigurationArn);
+    }
+
+    /**
+     * Adds a RUNNING connector on the given custom plugins and worker configuration, as if it had been created
+     * earlier.
+     *
+     * @param workerConfigurationArn worker configuration of the connector, null for none
+     * @return its ARN
+     */
+    public String putConnector(
+        final String region,
+        final String name,
+        final List<String> customPluginArns,
+        final String workerConfigurationArn) {
+
+        final ObjectNode request = objectMapper.createObjectNode();
+        request.put("kafkaConnectVersion", "2.7.1");
+        request.put("serviceExecutionRoleArn", "arn:aws:iam::123456789012:role/orchestration");
+        final ArrayNode plugins = request.putArray("plugins");
+        customPluginArns.forEach(arn -> plugins.addObject().putObject("customPlugin")
+            .put("customPluginArn", arn)
+            .put("revision", 1L));
+        if (workerConfigurationArn != null) {
+            request.putObject("workerConfiguration")
+                .put("workerConfigurationArn", workerConfigurationArn)
+                .put("revision", 1L);
+        }
+        return put(Kind.CONNECTOR, region, name, request);
+    }
+
+    /**
+     * Makes the creation of the named resource end in CREATE_FAILED instead.
+     */
+    public void failCreate(final String name) {
+        failingCreates.add(name);
+    }
+
+    /**
+     * Makes the deletion of the named connector end in FAILED instead.
+     */
+    public void failDelete(final String name) {
+        failingDeletes.add(name);
+    }
+
+    /**
+     * @return names of the custom plugins, worker configurations and connectors that exist, with their state
+     */
+    public Map<String, String> getStates() {
+        final Map<String, String> states = new TreeMap<>();
+        new TreeMap<>(resources).forEach((arn, record) -> {
+            if (live(arn) != null) {
+                states.put(record.name, record.state);
+            }
+        });
+        return states;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            final byte[] payload = body.readAllBytes();
+            final ObjectNode request = payload.length == 0
+                ? objectMapper.createObjectNode() : (ObjectNode) objectMapper.readTree(payload);
+            final String method = exchange.getRequestMethod();
+            final List<String> segments = pathSegments(exchange.getRequestURI().getRawPath());
+            final Map<String, List<String>> query = queryParameters(exchange.getRequestURI().getRawQuery());
+            final Kind kind = segments.size() >= 2 ? Kind.forCollection(segments.get(1)) : null;
+            final boolean tags = kind == null && segments.size() == 3 && "tags".equals(segments.get(1));
+            final String api = tags ? tagsApi(method) : kind != null ? resourceApi(kind, method, segments) : null;
+            final String region = signingRegion(exchange);
+            pause(latencies.get(region));
+
+            if (api == null) {
+                sendError(exchange, kind == null ? 404 : 400, kind == null ? "NotFoundException"
+                    : "BadRequestException", "Unsupported request " + method + " " + exchange.getRequestURI());
+            } else if (admit(exchange, region, api, subject(kind, segments, request))) {
+                if (tags) {
+                    handleTags(exchange, method, segments.get(2), query, request);
+                } else {
+                    handleResources(exchange, kind, region, method, segments, query, request);
+                }
+            }
+        } catch (final RuntimeException e) {
+            sendError(exchange, 500, "InternalServerErrorException", String.valueOf(e.getMessage()));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * @return the API a resource request calls, null if there is none
+     */
+    private static String resourceApi(final Kind kind, final String method, final List<String> segments) {
+        if (segments.size() == 2) {
+            return "POST".equals(method) ? "Create" + kind.api : "GET".equals(method) ? "List" + kind.api + "s" : null;
+        }
+        if (segments.size() != 3) {
+            return null;
+        }
+        switch (method) {
+            case "GET":
+                return "Describe" + kind.api;
+            case "PUT":
+                return kind == Kind.CONNECTOR ? "Update" + kind.api : null;
+            case "DELETE":
+                return "Delete" + kind.api;
+            default:
+                return null;
+        }
+    }
+
+    private static String tagsApi(final String method) {
+        return "GET".equals(method) ? "ListTagsForResource" : "POST".equals(method) ? "TagResource" : "UntagResource";
+    }
+
+    /**
+     * @return name of the resource the request is for, null if it isn't for one the stand-in has
+     */
+    private String subject(final Kind kind, final List<String> segments, final ObjectNode request) {
+        if (segments.size() == 3) {
+            final ResourceRecord record = resources.get(segments.get(2));
+            return record == null ? null : record.name;
+        }
+        return kind == null ? null : request.path(kind.nameField).asText(null);
+    }
+
+    /**
+     * Counts the call, then applies denied regions, injected faults and the rate limit.
+     *
+     * @return false when the call has been failed or throttled and already answered
+     */
+    private boolean admit(final HttpExchange exchange, final String region, final String api, final String name)
+        throws IOException {
+
+        final String label = name == null ? UNLABELLED : labels.getOrDefault(name, UNLABELLED);
+        callsByLabel.computeIfAbsent(label, ignored -> new ConcurrentHashMap<>())
+            .computeIfAbsent(api, ignored -> new LongAdder())
+            .increment();
+
+        if (deniedRegions.contains(region)) {
+            sendError(exchange, 403, "ForbiddenException", "Access denied in " + region);
+            return false;
+        }
+        if (faultsRemaining.getAndUpdate(remaining -> Math.max(0, remaining - 1)) > 0) {
+            sendError(exchange, faultStatus, faultErrorType, "Injected fault");
+            return false;
+        }
+        if (tokenBucket != null && !tokenBucket.tryAcquire()) {
+            throttlesByLabel.computeIfAbsent(label, ignored -> new LongAdder()).increment();
+            sendError(exchange, 429, "TooManyRequestsException", "Rate exceeded");
+            return false;
+        }
+        return true;
+    }
+
+    private void handleResources(
+        final HttpExchange exchange,
+        final Kind kind,
+        final String region,
+        final String method,
+        final List<String> segments,
+        final Map<String, List<String>> query,
+        final ObjectNode request) throws IOException {
+
+        if (segments.size() == 2 && "POST".equals(method)) {
+            create(exchange, kind, region, request);
+        } else if (segments.size() == 2) {
+            list(exchange, kind, region, query);
+        } else {
+            final String arn = segments.get(2);
+            final ResourceRecord record = live(arn);
+            if (record == null || record.kind != kind) {
+                sendError(exchange, 404, "NotFoundException", arn + " does not exist.");
+            } else if ("GET".equals(method)) {
+                sendJson(exchange, record.describe());
+            } else if ("PUT".equals(method)) {
+                update(exchange, record, request);
+            } else {
+                delete(exchange, record);
+            }
+        }
+    }
+
+    private void create(final HttpExchange exchange, final Kind kind, final String region, final ObjectNode request)
+        throws IOException {
+
+        final String name = request.path(kind.nameField).asText();
+        if (resources.values().stream().anyMatch(existing -> existing.kind == kind && existing.region.equals(region)
+            && existing.name.equals(name) && live(existing.arn()) != null)) {
+            sendError(exchange, 409, "ConflictException", name + " already exists.");
+            return;
+        }
+        if (kind == Kind.CONNECTOR) {
+            final String unusable = unusableDependency(request);
+            if (unusable != null) {
+                sendError(exchange, 400, "BadRequestException", unusable + " is not ACTIVE.");
+                return;
+            }
+        }
+
+        final ResourceRecord record = newRecord(kind, region, name, request);
+        final String arn = record.arn();
+        request.path("tags").fields().forEachRemaining(tag -> record.tags.put(tag.getKey(), tag.getValue().asText()));
+        resources.put(arn, record);
+        live(arn);
+
+        final ObjectNode response = objectMapper.createObjectNode();
+        response.put(kind.arnField, arn);
+        response.put(kind.nameField, name);
+        response.put(kind.stateField, record.state);
+        if (kind == Kind.CUSTOM_PLUGIN) {
+            response.put("revision", 1L);
+        } else if (kind == Kind.WORKER_CONFIGURATION) {
+            response.set("latestRevision", record.description.get("latestRevision").deepCopy());
+            response.put("creationTime", record.description.get("creationTime").asText());
+        }
+        sendJson(exchange, response);
+    }
+
+    private ResourceRecord newRecord(
+        final Kind kind,
+        final String region,
+        final String name,
+        final ObjectNode request) {
+
+        final String arn = String.format(ARN_PATTERN, region, kind.arnType, name, UUID.randomUUID());
+        final ObjectNode description = describedAs(kind, request);
+        description.put(kind.arnField, arn);
+        description.put(kind.nameField, name);
+        description.put("creationTime", Instant.now().toString());
+        return new ResourceRecord(kind, region, name, description, failingCreates.contains(name));
+    }
+
+    private String put(final Kind kind, final String region, final String name, final ObjectNode request) {
+        final ResourceRecord record = newRecord(kind, region, name, request);
+        record.transition(kind.createdState);
+        resources.put(record.arn(), record);
+        return record.arn();
+    }
+
+    private ObjectNode describedAs(final Kind kind, final ObjectNode request) {
+        final ObjectNode description = objectMapper.createObjectNode();
+        switch (kind) {
+            case CUSTOM_PLUGIN: {
+                description.put("description", request.path("description").asText(null));
+                final ObjectNode revision = description.putObject("latestRevision");
+                revision.put("revision", 1L);
+                revision.put("contentType", request.path("contentType").asText());
+                revision.put("description", request.path("description").asText(null));
+                revision.put("creationTime", Instant.now().toString());
+                revision.set("location", request.path("location").deepCopy());
+                final ObjectNode fileDescription = revision.putObject("fileDescription");
+                fileDescription.put("fileMd5", "d41d8cd98f00b204e9800998ecf8427e");
+                fileDescription.put("fileSize", 1L << 20);
+                return description;
+            }
+            case WORKER_CONFIGURATION: {
+                description.put("description", request.path("description").asText(null));
+                final ObjectNode revision = description.putObject("latestRevision");
+                revision.put("revision", 1L);
+                revision.put("description", request.path("description").asText(null));
+                revision.put("creationTime", Instant.now().toString());
+                revision.put("propertiesFileContent", request.path("propertiesFileContent").asText());
+                return description;
+            }
+            default: {
+                final ObjectNode connector = request.deepCopy();
+                connector.remove("tags");
+                return connector;
+            }
+        }
+    }
+
+    /**
+     * @return ARN of the first custom plugin or worker configuration the connector refers to that isn't ACTIVE or
+     *     has been deleted, null if there is none
+     */
+    private String unusableDependency(final ObjectNode request) {
+        final List<String> arns = new ArrayList<>();
+        request.path("plugins")
+            .forEach(plugin -> arns.add(plugin.path("customPlugin").path("customPluginArn").asText()));
+        if (request.has("workerConfiguration")) {
+            arns.add(request.path("workerConfiguration").path("workerConfigurationArn").asText());
+        }
+        for (final String arn : arns) {
+            final ResourceRecord record = live(arn);
+            if (record == null ? deleted.contains(arn) : !"ACTIVE".equals(record.state)) {
+                return arn;
+            }
+        }
+        return null;
+    }
+
+    private void update(final HttpExchange exchange, final ResourceRecord record, final ObjectNode request)
+        throws IOException {
+
+        synchronized (record) {
+            if (!record.kind.createdState.equals(record.state)) {
+                sendError(exchange, 400, "BadRequestException",
+                    record.arn() + " is in state " + record.state + " and cannot be updated.");
+                return;
+            }
+            if (request.has("capacity")) {
+                record.description.set("capacity", request.get("capacity"));
+            }
+            record.transition("UPDATING");
+        }
+
+        final ObjectNode response = objectMapper.createObjectNode();
+        response.put(record.kind.arnField, record.arn());
+        response.put(record.kind.stateField, "UPDATING");
+        sendJson(exchange, response);
+    }
+
+    private void delete(final HttpExchange exchange, final ResourceRecord record) throws IOException {
+        if (record.kind != Kind.CONNECTOR) {
+            final List<String> users = users(record.arn());
+            if (!users.isEmpty()) {
+                sendError(exchange, 409, "ConflictException",
+                    record.arn() + " is in use by " + String.join(", ", users) + ".");
+                return;
+            }
+        }
+        record.transition(failingDeletes.contains(record.name) ? "FAILED" : "DELETING");
+
+        final ObjectNode response = objectMapper.createObjectNode();
+        response.put(record.kind.arnField, record.arn());
+        response.put(record.kind.stateField, "DELETING");
+        sendJson(exchange, response);
+    }
+
+    /**
+     * @return names of the connectors that haven't finished deleting and use the custom plugin or worker
+     *     configuration
+     */
+    private List<String> users(final String arn) {
+        return new TreeMap<>(resources).entrySet().stream()
+            .filter(entry -> entry.getValue().kind == Kind.CONNECTOR && live(entry.getKey()) != null)
+            .map(Map.Entry::getValue)
+            .filter(connector -> {
+                final JsonNode description = connector.description;
+                for (final JsonNode plugin : description.path("plugins")) {
+                    if (arn.equals(plugin.path("customPlugin").path("customPluginArn").asText())) {
+                        return true;
+                    }
+                }
+                return arn.equals(description.path("workerConfiguration").path("workerConfigurationArn").asText());
+            })
+            .map(connector -> connector.name)
+            .collect(Collectors.toList());
+    }
+
+    private void list(
+        final HttpExchange exchange,
+        final Kind kind,
+        final String region,
+        final Map<String, List<String>> query) throws IOException {
+
+        final String prefix = first(query, kind.prefixParameter);
+        final int maxResults = first(query, "maxResults") == null
+            ? DEFAULT_PAGE_SIZE : Integer.parseInt(first(query, "maxResults"));
+        final int start = first(query, "nextToken") == null ? 0 : Integer.parseInt(first(query, "nextToken"));
+
+        final List<ResourceRecord> matching = new ArrayList<>();
+        new TreeMap<>(resources).forEach((arn, record) -> {
+            if (record.kind == kind && record.region.equals(region) && live(arn) != null
+                && (prefix == null || record.name.startsWith(prefix))) {
+                matching.add(record);
+            }
+        });
+
+        final ObjectNode response = objectMapper.createObjectNode();
+        final ArrayNode page = response.putArray(kind.listField);
+        final int end = Math.min(matching.size(), start + maxResults);
+        for (int i = start; i < end; i++) {
+            final ObjectNode summary = matching.get(i).describe();
+            if (kind == Kind.WORKER_CONFIGURATION) {
+                // summaries don't carry the properties
+                ((ObjectNode) summary.path("latestRevision")).remove("propertiesFileContent");
+            }
+            page.add(summary);
+        }
+        if (end < matching.size()) {
+            response.put("nextToken", String.valueOf(end));
+        }
+        sendJson(exchange, response);
+    }
+
+    private void handleTags(
+        final HttpExchange exchange,
+        final String method,
+        final String arn,
+        final Map<String, List<String>> query,
+        final ObjectNode request) throws IOException {
+
+        final ResourceRecord record = live(arn);
+        if (record == null) {
+            sendError(exchange, 404, "NotFoundException", "Resource " + arn + " does not exist.");
+            return;
+        }
+
+        if ("POST".equals(method)) {
+            request.path("tags").fields()
+                .forEachRemaining(tag -> record.tags.put(tag.getKey(), tag.getValue().asText()));
+        } else if ("DELETE".equals(method)) {
+            query.getOrDefault("tagKeys", Collections.emptyList()).forEach(record.tags::remove);
+        }
+
+        final ObjectNode response = objectMapper.createObjectNode();
+        if ("GET".equals(method)) {
+            final ObjectNode tags = response.putObject("tags");
+            record.tags.forEach(tags::put);
+        }
+        sendJson(exchange, response);
+    }
+
+    /**
+     * @return the resource with its pending transition applied, null if there is none or it has finished deleting
+     */
+    private ResourceRecord live(final String arn) {
+        final ResourceRecord record = resources.get(arn);
+        if (record == null) {
+            return null;
+        }
+        if (record.advance(createDelays.get(record.kind), deleteDelays.get(record.kind))) {
+            deleted.add(arn);
+            resources.remove(arn);
+            return null;
+        }
+        return record;
+    }
+
+    /**
+     * @return the region of the request's SigV4 credential scope, {@code Credential=<key>/<date>/<region>/...}
+     */
+    private static String signingRegion(final HttpExchange exchange) {
+        final String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        final int credential = authorization == null ? -1 : authorization.indexOf("Credential=");
+        if (credential < 0) {
+            return DEFAULT_REGION;
+        }
+        final String[] scope = authorization.substring(credential + "Credential=".length()).split("/");
+        return scope.length > 2 ? scope[2] : DEFAULT_REGION;
+    }
+
+    private static void pause(final Duration latency) {
+        if (latency == null) {
+            return;
+        }
+        try {
+            Thread.sleep(latency.toMillis());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void sendJson(final HttpExchange exchange, final JsonNode body) throws IOException {
+        send(exchange, 200, objectMapper.writeValueAsBytes(body));
+    }
+
+    private void sendError(final HttpExchange exchange, final int status, final String errorType, final String message)
+        throws IOException {
+
+        exchange.getResponseHeaders().add("x-amzn-ErrorType", errorType);
+        final ObjectNode body = objectMapper.createObjectNode();
+        body.put("message", message);
+        send(exchange, status, objectMapper.writeValueAsBytes(body));
+    }
+
+    private static void send(final HttpExchange exchange, final int status, final byte[] body) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+    }
+
+    private static List<String> pathSegments(final String rawPath) {
+        final List<String> segments = new ArrayList<>();
+        for (final String segment : rawPath.split("/")) {
+            if (!segment.isEmpty()) {
+                segments.add(URLDecoder.decode(segment, StandardCharsets.UTF_8));
+            }
+        }
+        return segments;
+    }
+
+    private static Map<String, List<String>> queryParameters(final String rawQuery) {
+        final Map<String, List<String>> parameters = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return parameters;
+        }
+        Arrays.stream(rawQuery.split("&")).forEach(pair -> {
+            final int separator = pair.indexOf('=');
+            final String key = URLDecoder.decode(separator < 0 ? pair : pair.substring(0, separator),
+                StandardCharsets.UTF_8);
+            final String value = separator < 0 ? "" : URLDecoder.decode(pair.substring(separator + 1),
+                StandardCharsets.UTF_8);
+            parameters.computeIfAbsent(key, ignored -> new ArrayList<>()).add(value);
+        });
+        return parameters;
+    }
+
+    private static String first(final Map<String, List<String>> query, final String key) {
+        final List<String> values = query.get(key);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    private enum Kind {
+        CUSTOM_PLUGIN("custom-plugins", "custom-plugin", "CustomPlugin", "customPluginArn", "name",
+            "customPluginState", "customPlugins", "namePrefix", "ACTIVE"),
+        WORKER_CONFIGURATION("worker-configurations", "worker-configuration", "WorkerConfiguration",
+            "workerConfigurationArn", "name", "workerConfigurationState", "workerConfigurations", "namePrefix",
+            "ACTIVE"),
+        CONNECTOR("connectors", "connector", "Connector", "connectorArn", "connectorName", "connectorState",
+            "connectors", "connectorNamePrefix", "RUNNING");
+
+        private final String collection;
+        private final String arnType;
+        private final String api;
+        private final String arnField;
+        private final String nameField;
+        private final String stateField;
+        private final String listField;
+        private final String prefixParameter;
+        private final String createdState;
+
+        Kind(
+            final String collection,
+            final String arnType,
+            final String api,
+            final String arnField,
+            final String nameField,
+            final String stateField,
+            final String listField,
+            final String prefixParameter,
+            final String createdState) {
+
+            this.collection = collection;
+            this.arnType = arnType;
+            this.api = api;
+            this.arnField = arnField;
+            this.nameField = nameField;
+            this.stateField = stateField;
+            this.listField = listField;
+            this.prefixParameter = prefixParameter;
+            this.createdState = createdState;
+        }
+
+        private static Kind forCollection(final String collection) {
+            for (final Kind kind : values()) {
+                if (kind.collection.equals(collection)) {
+                    return kind;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class ResourceRecord {
+        private final Kind kind;
+        private final String region;
+        private final String name;
+        private final ObjectNode description;
+        private final boolean failing;
+        private final Map<String, String> tags = new ConcurrentHashMap<>();
+        private String state = "CREATING";
+        private long stateEnteredAt = System.nanoTime();
+        private int version = 1;
+
+        private ResourceRecord(
+            final Kind kind,
+            final String region,
+            final String name,
+            final ObjectNode description,
+            final boolean failing) {
+
+            this.kind = kind;
+            this.region = region;
+            this.name = name;
+            this.description = description;
+            this.failing = failing;
+        }
+
+        private String arn() {
+            return description.path(kind.arnField).asText();
+        }
+
+        private synchronized void transition(final String newState) {
+            state = newState;
+            stateEnteredAt = System.nanoTime();
+        }
+
+        /**
+         * Completes a pending transition once its delay has elapsed; an update takes as long as a create.
+         *
+         * @return true when the resource has finished deleting
+         */
+        private synchronized boolean advance(final Duration createDelay, final Duration deleteDelay) {
+            final long elapsed = System.nanoTime() - stateEnteredAt;
+            if ("CREATING".equals(state) && elapsed >= createDelay.toNanos()) {
+                state = failing ? "CREATE_FAILED" : kind.createdState;
+            } else if ("UPDATING".equals(state) && elapsed >= createDelay.toNanos()) {
+                state = kind.createdState;
+                version++;
+            }
+            return "DELETING".equals(state) && elapsed >= deleteDelay.toNanos();
+        }
+
+        private synchronized ObjectNode describe() {
+            final ObjectNode response = description.deepCopy();
+            response.put(kind.stateField, state);
+            if (kind == Kind.CONNECTOR) {
+                response.put("currentVersion", String.valueOf(version));
+            }
+            return response;
+        }
+    }
+
+    private static final class TokenBucket {
+        private final int ratePerSecond;
+        private double tokens;
+        private long lastRefill = System.nanoTime();
+
+        private TokenBucket(final int ratePerSecond) {
+            this.ratePerSecond = ratePerSecond;
+            this.tokens = ratePerSecond;
+        }
+
+        private synchronized boolean tryAcquire() {
+            final long now = System.nanoTime();
+            tokens = Math.min(ratePerSecond, tokens + (now - lastRefill) * ratePerSecond / 1_000_000_000d);
+            lastRefill = now;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens--;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package software.amazon.kafkaconnect.connector;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.kafkaconnect.common.ClientSettings;
+import software.amazon.kafkaconnect.common.HttpTransport;
+
+public class ProviderSettingsTest {
+    private final List<String> logged = new ArrayList<>();
+    private final Logger logger = logged::add;
+
+    @Test
+    public void fromEnvironment_unset_defaultsToOff() {
+        final ProviderSettings settings = ProviderSettings.fromEnvironment(Collections.emptyMap(), logger);
+
+        assertThat(settings).isEqualTo(ProviderSettings.DEFAULTS);
+        assertThat(settings.getConfigurationValidation()).isEqualTo(ProviderSettings.ConfigurationValidation.DISABLED);
+        assertThat(settings.getMaxTasksPerMcu()).isEqualTo(ProviderSettings.DEFAULT_MAX_TASKS_PER_MCU);
+        assertThat(settings.getCapacityValidation()).isEqualTo(ProviderSettings.CapacityValidation.DISABLED);
+        assertThat(settings.getMaxWorkerCount()).isEqualTo(ProviderSettings.DEFAULT_MAX_WORKER_COUNT);
+        assertThat(settings.getBulkParallelism()).isEqualTo(ProviderSettings.DEFAULT_BULK_PARALLELISM);
+        assertThat(settings.getBulkRequestsPerSecond()).isEqualTo(ProviderSettings.DEFAULT_BULK_REQUESTS_PER_SECOND);
+        assertThat(settings.getClientSettings()).isEqualTo(ClientSettings.DEFAULTS);
+        assertThat(logged).isEmpty();
+    }
+
+    @Test
+    public void fromEnvironment_set_readsSettings() {
+        final Map<String, String> environment = new HashMap<>();
+        environment.put(ProviderSettings.CONFIGURATION_VALIDATION_VARIABLE, " fail ");
+        environment.put(ProviderSettings.MAX_TASKS_PER_MCU_VARIABLE, "4");
+        environment.put(ProviderSettings.CAPACITY_VALIDATION_VARIABLE, "warn");
+        environment.put(ProviderSettings.MAX_WORKER_COUNT_VARIABLE, " 20 ");
+        environment.put(ProviderSettings.BULK_PARALLELISM_VARIABLE, "16");
+        environment.put(ProviderSettings.BULK_REQUESTS_PER_SECOND_VARIABLE, "2");
+        environment.put(ProviderSettings.VARIABLE_PREFIX + ClientSettings.HTTP_TRANSPORT_VARIABLE, "url_connection");
+        final ProviderSettings settings = ProviderSettings.fromEnvironment(environment, logger);
+
+        assertThat(settings.getConfigurationValidation()).isEqualTo(ProviderSettings.ConfigurationValidation.FAIL);
+        assertThat(settings.getMaxTasksPerMcu()).isEqualTo(4);
+        assertThat(settings.getCapacityValidation()).isEqualTo(ProviderSettings.CapacityValidation.WARN);
+        assertThat(settings.getMaxWorkerCount()).isEqualTo(20);
+        assertThat(settings.getBulkParallelism()).isEqualTo(16);
+        assertThat(settings.getBulkRequestsPerSecond()).isEqualTo(2);
+        assertThat(settings.getClientSettings().getHttpTransport()).isEqualTo(HttpTransport.URL_CONNECTION);
+        assertThat(logged).isEmpty();
+    }
+
+    @Test
+    public void fromEnvironment_unknownMode_isLoggedAndDisabled() {
+        final Map<String, String> environment = new HashMap<>();
+        environment.put(ProviderSettings.CONFIGURATION_VALIDATION_VARIABLE, "STRICT");
+        environment.put(ProviderSettings.CAPACITY_VALIDATION_VARIABLE, "on");
+        environment.put(ProviderSettings.VARIABLE_PREFIX + ClientSettings.HTTP_TRANSPORT_VARIABLE, "netty");
+        final ProviderSettings settings = ProviderSettings.fromEnvironment(environment, logger);
+
+        assertThat(settings).isEqualTo(ProviderSettings.DEFAULTS);
+        assertThat(logged).hasSize(3);
+        assertThat(logged).anySatisfy(message -> assertThat(message)
+            .contains(ProviderSettings.CONFIGURATION_VALIDATION_VARIABLE + "=STRICT")
+            .contains("[DISABLED, WARN, FAIL]")
+            .endsWith("using DISABLED"));
+    }
+
+    @Test
+    public void fromEnvironment_invalidNumbers_areLoggedAndDefaulted() {
+        final Map<String, String> environment = new HashMap<>();
+        environment.put(ProviderSettings.MAX_TASKS_PER_MCU_VARIABLE, "eight");
+        environment.put(ProviderSettings.MAX_WORKER_COUNT_VARIABLE, "0");
+        environment.put(ProviderSettings.BULK_PARALLELISM_VARIABLE, "-4");
+        environment.put(ProviderSettings.BULK_REQUESTS_PER_SECOND_VARIABLE, "2.5");
+        final ProviderSettings settings = ProviderSettings.fromEnvironment(environment, logger);
+
+        assertThat(settings).isEqualTo(ProviderSettings.DEFAULTS);
+        assertThat(logged).hasSize(4);
+        assertThat(logged).anySatisfy(message -> assertThat(message)
+            .contains(ProviderSettings.MAX_WORKER_COUNT_VARIABLE + "=0")
+            .contains("from 1 to " + Integer.MAX_VALUE)
+            .endsWith("using " + ProviderSettings.DEFAULT_MAX_WORKER_COUNT));
+    }
+}
@@ -0,0 +1,43 @@
+package software.amazon.kafkaconnect.connector;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class RateLimiterTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1L);
+
+    private long now;
+    private final RateLimiter rateLimiter = new RateLimiter(2, () -> now);
+
+    @Test
+    public void reserve_fullBucket_thenQueuesInArrivalOrder() {
+        assertThat(rateLimiter.reserve()).isZero();
+        assertThat(rateLimiter.reserve()).isZero();
+        assertThat(rateLimiter.reserve()).isEqualTo(SECOND / 2);
+        assertThat(rateLimiter.reserve()).isEqualTo(SECOND);
+    }
+
+    @Test
+    public void reserve_refillsAtRate_upToOneSecondWorth() {
+        rateLimiter.reserve();
+        rateLimiter.reserve();
+
+        now += SECOND / 2;
+        assertThat(rateLimiter.reserve()).isZero();
+        assertThat(rateLimiter.reserve()).isEqualTo(SECOND / 2);
+
+        now += 10 * SECOND;
+        assertThat(rateLimiter.reserve()).isZero();
+        assertThat(rateLimiter.reserve()).isZero();
+        assertThat(rateLimiter.reserve()).isPositive();
+    }
+
+    @Test
+    public void constructor_nonPositiveRate_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter(0));
+    }
+}
@@ -0,0 +1,85 @@
+package software.amazon.kafkaconnect.connector;
+
+import com.amazonaws.services.lambda.runtime.ClientContext;
+import com.amazonaws.services.lambda.runtime.CognitoIdentity;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+
+import java.util.UUID;
+
+/**
+ * Lambda context for invoking {@link HandlerWrapper} entrypoints outside of Lambda. The reported remaining time
+ * decides whether handlers wait in-process or hand back IN_PROGRESS with a callback delay.
+ */
+final class StubLambdaContext implements Context {
+    private static final LambdaLogger DISCARDING_LOGGER = new LambdaLogger() {
+        @Override
+        public void log(final String message) {
+        }
+
+        @Override
+        public void log(final byte[] message) {
+        }
+    };
+
+    private final int remainingTimeMillis;
+
+    StubLambdaContext(final int remainingTimeMillis) {
+        this.remainingTimeMillis = remainingTimeMillis;
+    }
+
+    @Override
+    public String getAwsRequestId() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Override
+    public String getLogGroupName() {
+        return "local";
+    }
+
+    @Override
+    public String getLogStreamName() {
+        return "local";
+    }
+
+    @Override
+    public String getFunctionName() {
+        return "local";
+    }
+
+    @Override
+    public String getFunctionVersion() {
+        return "$LATEST";
+    }
+
+    @Override
+    public String getInvokedFunctionArn() {
+        return "arn:aws:lambda:us-east-1:123456789012:function:local";
+    }
+
+    @Override
+    public CognitoIdentity getIdentity() {
+        return null;
+    }
+
+    @Override
+    public ClientContext getClientContext() {
+        return null;
+    }
+
+    @Override
+    public int getRemainingTimeInMillis() {
+        return remainingTimeMillis;
+    }
+
+    @Override
+    public int getMemoryLimitInMB() {
+        return 512;
+    }
+
+    @Override
+    public LambdaLogger getLogger() {
+        return DISCARDING_LOGGER;
+    }
+}
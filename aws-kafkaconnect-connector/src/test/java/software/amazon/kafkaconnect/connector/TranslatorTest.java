@@ -116,6 +116,24 @@ public class TranslatorTest {
             .isEqualTo(TestData.UPDATE_CONNECTOR_REQUEST);
     }
 
+    @Test
+    public void translateToUpdateRequest_withPreviousModel_sendsOnlyChangedConfiguration() {
+        final ResourceModel previousModel = TestData.UPDATE_REQUEST_RESOURCE_MODEL.toBuilder()
+            .connectorConfiguration(TestData.CONNECTOR_CONFIGURATION)
+            .build();
+        final Map<String, String> updatedConfiguration = new HashMap<>(TestData.CONNECTOR_CONFIGURATION);
+        updatedConfiguration.put("tasks.max", "4");
+        final ResourceModel model = previousModel.toBuilder()
+            .connectorConfiguration(updatedConfiguration)
+            .build();
+
+        assertThat(translator.translateToUpdateRequest(model, previousModel)).isEqualTo(
+            UpdateConnectorRequest.builder()
+                .connectorArn(TestData.CONNECTOR_ARN)
+                .connectorConfiguration(updatedConfiguration)
+                .build());
+    }
+
     @Test
     public void translateToTagResourceRequest_success() {
         assertThat(Translator.tagResourceRequest(TestData.TAG_RESOURCE_REQUEST_RESOURCE_MODEL, TAGS))
@@ -53,6 +53,8 @@ import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -379,7 +381,7 @@ public class UpdateHandlerTest extends AbstractTestBase {
         final NotFoundException serviceException = NotFoundException.builder().build();
         final CfnNotFoundException cfnException = new CfnNotFoundException(serviceException);
         setupDescribeMocksToThrowException(serviceException);
-        when(exceptionTranslator.translateToCfnException(serviceException, TestData.CONNECTOR_ARN))
+        when(exceptionTranslator.translateToCfnException(eq(serviceException), eq(TestData.CONNECTOR_ARN), anyString()))
             .thenReturn(cfnException);
 
         final CfnNotFoundException exception = assertThrows(CfnNotFoundException.class, () -> handler
@@ -392,6 +394,7 @@ public class UpdateHandlerTest extends AbstractTestBase {
     public void handlerRequest_throwsCfnGeneralServiceException_whenDescribeConnectorFails() {
         setupDescribeMocksToThrowException(AwsServiceException.builder()
             .message(TestData.EXCEPTION_MESSAGE).build());
+        translateDescribeFailures(exceptionTranslator);
 
         runHandlerAndAssertExceptionThrownWithMessage(TestData.resourceHandlerRequest(),
             CfnGeneralServiceException.class, String.format("Error occurred during operation 'Could not update %s " +
@@ -408,7 +411,8 @@ public class UpdateHandlerTest extends AbstractTestBase {
         final UpdateConnectorRequest updateConnectorRequest =
             TestData.updateConnectorRequest(TestData.capacityUpdateOnlyProvisionedCapacity());
         setupDescribeMocksForSuccess(resourceModel, unchangedConnector);
-        when(translator.translateToUpdateRequest(resourceModel)).thenReturn(updateConnectorRequest);
+        when(translator.translateToUpdateRequest(eq(resourceModel), any(ResourceModel.class)))
+            .thenReturn(updateConnectorRequest);
         when(proxyClient.injectCredentialsAndInvokeV2(
             updateConnectorRequest,
             kafkaConnectClient::updateConnector)
@@ -493,6 +497,74 @@ public class UpdateHandlerTest extends AbstractTestBase {
                 "update %s due to update failure. Resource reverted to previous state'.", ResourceModel.TYPE_NAME));
     }
 
+    @Test
+    public void handleRequest_updateConnectorConfiguration_success() {
+        final ResourceModel previousResourceModel = TestData.resourceModelWithCapacity(TestData.unchangedCapacity());
+        final ResourceModel requestResourceModel = previousResourceModel.toBuilder()
+            .connectorConfiguration(TestData.UPDATED_CONNECTOR_CONFIGURATION)
+            .build();
+        final DescribeConnectorResponse unchangedDescribeConnectorResponse =
+            TestData.unchangedDescribeConnectorResponse(TestData.unchangedCapacityDescription(),
+                ConnectorState.RUNNING);
+        final DescribeConnectorResponse updatedDescribeConnectorResponse =
+            TestData.updatedDescribeConnectorResponse(TestData.unchangedCapacityDescription(),
+                ConnectorState.RUNNING);
+        final DescribeConnectorRequest describeConnectorRequest = TestData.describeConnectorRequest();
+        final UpdateConnectorRequest updateConnectorRequest =
+            TestData.updateConnectorRequest(TestData.UPDATED_CONNECTOR_CONFIGURATION);
+        setupTranslateToReadMockWithMultipleInputs(requestResourceModel, previousResourceModel,
+            describeConnectorRequest);
+        when(proxyClient.injectCredentialsAndInvokeV2(
+            describeConnectorRequest,
+            kafkaConnectClient::describeConnector
+        ))
+            .thenReturn(unchangedDescribeConnectorResponse)
+            .thenReturn(unchangedDescribeConnectorResponse)
+            .thenReturn(updatedDescribeConnectorResponse);
+        setupTranslateFromReadMockWithMultipleInputs(
+            asList(unchangedDescribeConnectorResponse, updatedDescribeConnectorResponse),
+            asList(previousResourceModel, requestResourceModel));
+        when(translator.translateToUpdateRequest(requestResourceModel, previousResourceModel))
+            .thenReturn(updateConnectorRequest);
+        when(proxyClient.injectCredentialsAndInvokeV2(
+            updateConnectorRequest,
+            kafkaConnectClient::updateConnector)
+        ).thenReturn(TestData.updateConnectorResponse());
+        when(proxyClient.injectCredentialsAndInvokeV2(TestData.LIST_TAGS_FOR_RESOURCE_REQUEST,
+                kafkaConnectClient::listTagsForResource)).thenReturn(TestData.LIST_TAGS_FOR_RESOURCE_RESPONSE);
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy,
+            TestData.resourceHandlerRequest(requestResourceModel, previousResourceModel), new CallbackContext(),
+            proxyClient, logger);
+
+        assertThat(response).isEqualTo(TestData.describeResponse(requestResourceModel));
+        verify(proxyClient.client(), times(1)).updateConnector(any(UpdateConnectorRequest.class));
+    }
+
+    @Test
+    public void handleRequest_throwsCfnGeneralServiceException_whenConnectorConfigurationNotApplied() {
+        final ResourceModel previousResourceModel = TestData.resourceModelWithCapacity(TestData.unchangedCapacity());
+        final ResourceModel requestResourceModel = previousResourceModel.toBuilder()
+            .connectorConfiguration(TestData.UPDATED_CONNECTOR_CONFIGURATION)
+            .build();
+        final UpdateConnectorRequest updateConnectorRequest =
+            TestData.updateConnectorRequest(TestData.UPDATED_CONNECTOR_CONFIGURATION);
+        setupDescribeMocksWithMultipleInputsWithOutput(requestResourceModel, previousResourceModel,
+            previousResourceModel);
+        when(translator.translateToUpdateRequest(requestResourceModel, previousResourceModel))
+            .thenReturn(updateConnectorRequest);
+        when(proxyClient.injectCredentialsAndInvokeV2(
+            updateConnectorRequest,
+            kafkaConnectClient::updateConnector)
+        ).thenReturn(TestData.updateConnectorResponse());
+
+        runHandlerAndAssertExceptionThrownWithMessage(
+            TestData.resourceHandlerRequest(requestResourceModel, previousResourceModel),
+            CfnGeneralServiceException.class, String.format("Error occurred during operation 'Couldn't update %s " +
+                "due to update failure. Running connector configuration differs from the requested one'.",
+                ResourceModel.TYPE_NAME));
+    }
+
     @Test
     public void handlerRequest_throwsCfnNotUpdatableException_whenUpdateCreateOnlyProperty() {
         setupDescribeMocksForSuccess(TestData.resourceModelWithName(TestData.CONNECTOR_NAME),
@@ -525,7 +597,8 @@ public class UpdateHandlerTest extends AbstractTestBase {
     private void setupMocksForUpdateConnectorSuccess(final ResourceModel resourceModel) {
         final UpdateConnectorRequest updateConnectorRequest =
             TestData.updateConnectorRequest(TestData.capacityUpdateOnlyProvisionedCapacity());
-        when(translator.translateToUpdateRequest(resourceModel)).thenReturn(updateConnectorRequest);
+        when(translator.translateToUpdateRequest(eq(resourceModel), any(ResourceModel.class)))
+            .thenReturn(updateConnectorRequest);
         when(proxyClient.injectCredentialsAndInvokeV2(
             updateConnectorRequest,
             kafkaConnectClient::updateConnector)
@@ -667,6 +740,10 @@ public class UpdateHandlerTest extends AbstractTestBase {
             put("tasks.max", "2");
             put("connector.class", "io.confluent.connect.s3.S3SinkConnector");
         }};
+        private static final Map<String, String> UPDATED_CONNECTOR_CONFIGURATION = new HashMap<String, String>() {{
+            put("tasks.max", "4");
+            put("connector.class", "io.confluent.connect.s3.S3SinkConnector");
+        }};
         private static final String KAFKA_CONNECT_VERSION = "2.7.1";
         private static final String BOOTSTRAP_SERVERS = "bootstrapServers";
         private static final List<String> SUBNETS = asList("subnet1", "subnet2");
@@ -889,6 +966,14 @@ public class UpdateHandlerTest extends AbstractTestBase {
                 .build();
         }
 
+        private static UpdateConnectorRequest updateConnectorRequest(final Map<String, String> connectorConfiguration) {
+            return UpdateConnectorRequest.builder()
+                .connectorConfiguration(connectorConfiguration)
+                .connectorArn(CONNECTOR_ARN)
+                .currentVersion(UNCHANGED_CURRENT_VERSION)
+                .build();
+        }
+
         private static DescribeConnectorResponse unchangedDescribeConnectorResponse(
             final CapacityDescription capacity,
             final ConnectorState connectorState) {
@@ -1,16 +1,32 @@
 package software.amazon.kafkaconnect.customplugin;
 
 import software.amazon.awssdk.services.kafkaconnect.KafkaConnectClient;
+import software.amazon.cloudformation.exceptions.BaseHandlerException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.kafkaconnect.common.CircuitBreaker;
 
 // Placeholder for the functionality that could be shared across Create/Read/Update/Delete/List
 // Handlers
 
 public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
+    static final String CIRCUIT_OPEN_MESSAGE_PATTERN =
+        "The kafkaconnect API in %s/%s is failing; retry in %d seconds.";
+    static final String TRANSLATED_COUNTS_MESSAGE_PATTERN =
+        "Failed with %s; kafkaconnect errors translated in this container so far: %s";
+    /**
+     * Invocations in a row of one operation the open circuit breaker answers with IN_PROGRESS before failing it.
+     */
+    static final int MAX_CIRCUIT_OPEN_CALLBACKS = 10;
+
+    static {
+        HandlerPriming.register();
+    }
+
     @Override
     public final ProgressEvent<ResourceModel, CallbackContext> handleRequest(
         final AmazonWebServicesClientProxy proxy,
@@ -18,13 +34,62 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
         final CallbackContext callbackContext,
         final Logger logger) {
 
-        return handleRequest(
-            proxy,
-            request,
-            callbackContext != null ? callbackContext : new CallbackContext(),
-            proxy.newProxy(
-                () -> ClientBuilder.getClient(request.getAwsPartition(), request.getRegion())),
-            logger);
+        final CallbackContext context = callbackContext != null ? callbackContext : new CallbackContext();
+        final CircuitBreaker circuitBreaker =
+            ClientBuilder.getCircuitBreaker(request.getAwsPartition(), request.getRegion());
+        final CircuitBreaker.Admission admission = circuitBreaker.tryEnter();
+        if (admission == CircuitBreaker.Admission.REJECT) {
+            final int retryAfterSeconds = circuitBreaker.getRetryAfterSeconds();
+            logger.log(String.format(CIRCUIT_OPEN_MESSAGE_PATTERN, request.getAwsPartition(), request.getRegion(),
+                retryAfterSeconds));
+            return handleCircuitOpen(request, context, retryAfterSeconds);
+        }
+
+        context.setCircuitOpenCallbacks(0);
+        try {
+            return handleRequest(
+                proxy,
+                request,
+                context,
+                proxy.newProxy(() -> ClientBuilder.getClient(request.getAwsPartition(), request.getRegion())),
+                logger);
+        } catch (final BaseHandlerException e) {
+            // CloudFormation only sees this invocation's error code; the running counts show whether throttling or
+            // server errors are piling up across invocations
+            logger.log(String.format(TRANSLATED_COUNTS_MESSAGE_PATTERN, e.getErrorCode(),
+                HandlerRegistry.EXCEPTION_TRANSLATOR.getTranslatedCounts()));
+            throw e;
+        } finally {
+            if (admission == CircuitBreaker.Admission.PROBE) {
+                circuitBreaker.exitProbe();
+            }
+        }
+    }
+
+    /**
+     * Answers an invocation turned away by the open circuit breaker, without calling the service. Create, Update and
+     * Delete come back with the same callback context once the breaker may have closed, at most
+     * {@link #MAX_CIRCUIT_OPEN_CALLBACKS} times in a row; after that the operation fails with Throttling rather than
+     * waiting for as long as the service keeps failing.
+     *
+     * @param request request turned away
+     * @param callbackContext callback context of the request
+     * @param retryAfterSeconds seconds until the breaker lets a probe through
+     * @return the event to return to CloudFormation
+     */
+    protected ProgressEvent<ResourceModel, CallbackContext> handleCircuitOpen(
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        final int retryAfterSeconds) {
+
+        if (callbackContext.getCircuitOpenCallbacks() >= MAX_CIRCUIT_OPEN_CALLBACKS) {
+            return ProgressEvent.failed(request.getDesiredResourceState(), callbackContext,
+                HandlerErrorCode.Throttling, String.format(CIRCUIT_OPEN_MESSAGE_PATTERN, request.getAwsPartition(),
+                    request.getRegion(), retryAfterSeconds));
+        }
+        callbackContext.setCircuitOpenCallbacks(callbackContext.getCircuitOpenCallbacks() + 1);
+        return ProgressEvent.defaultInProgressHandler(
+            callbackContext, retryAfterSeconds, request.getDesiredResourceState());
     }
 
     protected abstract ProgressEvent<ResourceModel, CallbackContext> handleRequest(
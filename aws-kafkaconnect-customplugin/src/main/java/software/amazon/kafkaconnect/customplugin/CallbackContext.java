@@ -7,4 +7,23 @@ import software.amazon.cloudformation.proxy.StdCallbackContext;
 @lombok.ToString
 @lombok.EqualsAndHashCode(callSuper = true)
 public class CallbackContext extends StdCallbackContext {
+    /**
+     * Archive size in bytes, from the local archive inspection or the service once it reports it.
+     */
+    private Long fileSize;
+
+    /**
+     * Epoch millis at which CreateCustomPlugin was accepted.
+     */
+    private Long createStartedAt;
+
+    /**
+     * ARN of the custom plugin the create made or adopted, set before stabilization.
+     */
+    private String customPluginArn;
+
+    /**
+     * Invocations in a row the open circuit breaker turned away, reset once one is let through.
+     */
+    private int circuitOpenCallbacks;
 }
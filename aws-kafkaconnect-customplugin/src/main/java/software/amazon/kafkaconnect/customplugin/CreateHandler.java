@@ -1,12 +1,16 @@
 package software.amazon.kafkaconnect.customplugin;
 
 import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
 import software.amazon.awssdk.services.kafkaconnect.KafkaConnectClient;
+import software.amazon.awssdk.services.kafkaconnect.model.ConflictException;
 import software.amazon.awssdk.services.kafkaconnect.model.CreateCustomPluginRequest;
 import software.amazon.awssdk.services.kafkaconnect.model.CreateCustomPluginResponse;
+import software.amazon.awssdk.services.kafkaconnect.model.CustomPluginRevisionSummary;
 import software.amazon.awssdk.services.kafkaconnect.model.CustomPluginState;
 import software.amazon.awssdk.services.kafkaconnect.model.DescribeCustomPluginRequest;
 import software.amazon.awssdk.services.kafkaconnect.model.DescribeCustomPluginResponse;
@@ -17,11 +21,8 @@ import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
-import software.amazon.cloudformation.proxy.delay.Constant;
 
 public class CreateHandler extends BaseHandlerStd {
-    private static final Constant BACK_OFF_DELAY =
-        Constant.of().timeout(Duration.ofHours(1L)).delay(Duration.ofSeconds(30L)).build();
     private static final BiFunction<ResourceModel, ProxyClient<KafkaConnectClient>, ResourceModel> EMPTY_CALL =
         (model, proxyClient) -> model;
     private static final String CUSTOM_PLUGIN_STATE_FAILURE_MESSAGE_PATTERN =
@@ -29,13 +30,18 @@ public class CreateHandler extends BaseHandlerStd {
     private static final String CUSTOM_PLUGIN_STATE_SUCCESS_MESSAGE_PATTERN =
         "Create state of resource %s with ID %s is %s";
 
-    private Logger logger;
     private final ExceptionTranslator exceptionTranslator;
     private final Translator translator;
     private final ReadHandler readHandler;
+    private final PluginArchivePreflight pluginArchivePreflight;
+    private final CustomPluginReuse customPluginReuse;
+    private final StabilizationSchedule stabilizationSchedule;
+    private final CreateRecovery createRecovery;
 
     public CreateHandler() {
-        this(new ExceptionTranslator(), new Translator(), new ReadHandler());
+        this(HandlerRegistry.EXCEPTION_TRANSLATOR, HandlerRegistry.TRANSLATOR, HandlerRegistry.READ_HANDLER,
+            HandlerRegistry.PLUGIN_ARCHIVE_PREFLIGHT, HandlerRegistry.CUSTOM_PLUGIN_REUSE,
+            HandlerRegistry.STABILIZATION_SCHEDULE, HandlerRegistry.CREATE_RECOVERY);
     }
 
     /**
@@ -50,9 +56,39 @@ public class CreateHandler extends BaseHandlerStd {
         final Translator translator,
         final ReadHandler readHandler) {
 
+        this(exceptionTranslator, translator, readHandler,
+            new PluginArchivePreflight(ProviderSettings.DEFAULTS, new PluginArchiveInspector()),
+            new CustomPluginReuse(ProviderSettings.DEFAULTS, new CustomPluginIndex(translator), exceptionTranslator),
+            new StabilizationSchedule(), new CreateRecovery());
+    }
+
+    /**
+     * Constructor used for unit testing
+     *
+     * @param exceptionTranslator
+     * @param translator
+     * @param readHandler
+     * @param pluginArchivePreflight
+     * @param customPluginReuse
+     * @param stabilizationSchedule
+     * @param createRecovery
+     */
+    CreateHandler(
+        final ExceptionTranslator exceptionTranslator,
+        final Translator translator,
+        final ReadHandler readHandler,
+        final PluginArchivePreflight pluginArchivePreflight,
+        final CustomPluginReuse customPluginReuse,
+        final StabilizationSchedule stabilizationSchedule,
+        final CreateRecovery createRecovery) {
+
         this.exceptionTranslator = exceptionTranslator;
         this.translator = translator;
         this.readHandler = readHandler;
+        this.pluginArchivePreflight = pluginArchivePreflight;
+        this.customPluginReuse = customPluginReuse;
+        this.stabilizationSchedule = stabilizationSchedule;
+        this.createRecovery = createRecovery;
     }
 
     @Override
@@ -63,20 +99,32 @@ public class CreateHandler extends BaseHandlerStd {
         final ProxyClient<KafkaConnectClient> proxyClient,
         final Logger logger) {
 
-        this.logger = logger;
-
         final ResourceModel model = request.getDesiredResourceState();
+        // an earlier invocation created or adopted the plugin, only its stabilization is left; the reuse check
+        // would otherwise find that plugin
+        final boolean resumed = callbackContext.getCustomPluginArn() != null;
+        if (resumed) {
+            model.setCustomPluginArn(callbackContext.getCustomPluginArn());
+        } else {
+            final Optional<PluginArchiveReport> archive = pluginArchivePreflight.check(model, logger);
+            customPluginReuse.check(proxyClient, request, archive.map(PluginArchiveReport::getFileMd5).orElse(null),
+                logger);
+            if (callbackContext.getFileSize() == null) {
+                archive.ifPresent(report -> callbackContext.setFileSize(report.getFileSize()));
+            }
+        }
 
         return ProgressEvent.progress(model, callbackContext)
             .then(
-                progress -> initiateCreateCustomPlugin(
-                    proxy, proxyClient, progress, "AWS-KafkaConnect-CustomPlugin::Create", request))
+                progress -> resumed ? progress : initiateCreateCustomPlugin(
+                    proxy, proxyClient, progress, "AWS-KafkaConnect-CustomPlugin::Create", request, logger))
             .then(
                 progress -> stabilize(
                     proxy,
                     proxyClient,
                     progress,
-                    "AWS-KafkaConnect-CustomPlugin::PostCreateStabilize"))
+                    "AWS-KafkaConnect-CustomPlugin::PostCreateStabilize",
+                    logger))
             .then(
                 progress -> readHandler.handleRequest(proxy, request, callbackContext, proxyClient, logger));
     }
@@ -86,13 +134,15 @@ public class CreateHandler extends BaseHandlerStd {
         final ProxyClient<KafkaConnectClient> proxyClient,
         final ProgressEvent<ResourceModel, CallbackContext> progress,
         final String callGraph,
-        final ResourceHandlerRequest<ResourceModel> request) {
+        final ResourceHandlerRequest<ResourceModel> request,
+        final Logger logger) {
         return proxy
             .initiate(
                 callGraph, proxyClient, progress.getResourceModel(), progress.getCallbackContext())
             .translateToServiceRequest(_resourceModel -> translator.translateToCreateRequest(_resourceModel,
                 TagHelper.generateTagsForCreate(request)))
-            .makeServiceCall(this::runCreateCustomPlugin)
+            .makeServiceCall((createCustomPluginRequest, client) ->
+                runCreateCustomPlugin(createCustomPluginRequest, client, progress.getCallbackContext(), logger))
             .done(this::setCustomPluginArn);
     }
 
@@ -103,57 +153,92 @@ public class CreateHandler extends BaseHandlerStd {
         final ResourceModel resourceModel,
         final CallbackContext callbackContext) {
         resourceModel.setCustomPluginArn(createCustomPluginResponse.customPluginArn());
+        callbackContext.setCustomPluginArn(createCustomPluginResponse.customPluginArn());
         return ProgressEvent.progress(resourceModel, callbackContext);
     }
 
     private CreateCustomPluginResponse runCreateCustomPlugin(
         final CreateCustomPluginRequest createCustomPluginRequest,
-        final ProxyClient<KafkaConnectClient> proxyClient) {
+        final ProxyClient<KafkaConnectClient> proxyClient,
+        final CallbackContext callbackContext,
+        final Logger logger) {
         final KafkaConnectClient kafkaConnectClient = proxyClient.client();
         final String identifier = createCustomPluginRequest.name();
         CreateCustomPluginResponse createCustomPluginResponse;
+
         try {
             createCustomPluginResponse =
                 proxyClient.injectCredentialsAndInvokeV2(
                     createCustomPluginRequest, kafkaConnectClient::createCustomPlugin);
+        } catch (final ConflictException e) {
+            // an earlier attempt of this create, or an SDK retry of this one, may have made the plugin and lost the
+            // response; it is adopted if it carries this request's stack and logical ID
+            final Optional<String> customPluginArn =
+                createRecovery.findCreated(proxyClient, createCustomPluginRequest, logger);
+            if (!customPluginArn.isPresent()) {
+                throw exceptionTranslator.translateToCfnException(e, identifier);
+            }
+            return adopted(createCustomPluginRequest, customPluginArn.get());
         } catch (final AwsServiceException e) {
             throw exceptionTranslator.translateToCfnException(e, identifier);
         }
+        // an adopted plugin's start time is unknown, so only creates accepted here feed the stabilization schedule
+        callbackContext.setCreateStartedAt(Instant.now().toEpochMilli());
 
         logger.log(String.format("%s [%s] created successfully.", ResourceModel.TYPE_NAME, identifier));
         return createCustomPluginResponse;
     }
 
+    private static CreateCustomPluginResponse adopted(
+        final CreateCustomPluginRequest createCustomPluginRequest,
+        final String customPluginArn) {
+        return CreateCustomPluginResponse.builder()
+            .customPluginArn(customPluginArn)
+            .name(createCustomPluginRequest.name())
+            .build();
+    }
+
     private ProgressEvent<ResourceModel, CallbackContext> stabilize(
         final AmazonWebServicesClientProxy proxy,
         final ProxyClient<KafkaConnectClient> proxyClient,
         final ProgressEvent<ResourceModel, CallbackContext> progress,
-        final String callGraph) {
+        final String callGraph,
+        final Logger logger) {
 
         return proxy
             .initiate(
                 callGraph, proxyClient, progress.getResourceModel(), progress.getCallbackContext())
             .translateToServiceRequest(Function.identity())
-            .backoffDelay(BACK_OFF_DELAY)
+            .backoffDelay(stabilizationSchedule.delayFor(progress.getCallbackContext().getFileSize()))
             .makeServiceCall(EMPTY_CALL)
             .stabilize(
-                (request, response, client, model, callbackContext) -> isStabilized(proxyClient, response))
+                (request, response, client, model, callbackContext) ->
+                    isStabilized(proxyClient, response, callbackContext, logger))
             .progress();
     }
 
     private boolean isStabilized(
-        final ProxyClient<KafkaConnectClient> proxyClient, final ResourceModel model) {
+        final ProxyClient<KafkaConnectClient> proxyClient,
+        final ResourceModel model,
+        final CallbackContext callbackContext,
+        final Logger logger) {
         final KafkaConnectClient kafkaConnectClient = proxyClient.client();
-        final CustomPluginState customPluginState =
-            getCustomPluginState(
+        final DescribeCustomPluginResponse describeCustomPluginResponse =
+            describeCustomPlugin(
                 kafkaConnectClient,
                 translator.translateToReadRequest(model),
                 proxyClient,
                 logger,
                 CUSTOM_PLUGIN_STATE_FAILURE_MESSAGE_PATTERN,
                 CUSTOM_PLUGIN_STATE_SUCCESS_MESSAGE_PATTERN);
+        final CustomPluginState customPluginState = describeCustomPluginResponse.customPluginState();
+        recordFileSize(describeCustomPluginResponse, callbackContext);
         switch (customPluginState) {
             case ACTIVE:
+                if (callbackContext.getCreateStartedAt() != null) {
+                    stabilizationSchedule.record(callbackContext.getFileSize(), Duration.ofMillis(
+                        Instant.now().toEpochMilli() - callbackContext.getCreateStartedAt()));
+                }
                 return true;
             case CREATING:
                 return false;
@@ -173,7 +258,19 @@ public class CreateHandler extends BaseHandlerStd {
         }
     }
 
-    private CustomPluginState getCustomPluginState(
+    /**
+     * The service reports the archive size once it has read the file; later polls are scheduled from it.
+     */
+    private static void recordFileSize(
+        final DescribeCustomPluginResponse describeCustomPluginResponse, final CallbackContext callbackContext) {
+        final CustomPluginRevisionSummary latestRevision = describeCustomPluginResponse.latestRevision();
+        if (callbackContext.getFileSize() == null && latestRevision != null
+            && latestRevision.fileDescription() != null && latestRevision.fileDescription().fileSize() != null) {
+            callbackContext.setFileSize(latestRevision.fileDescription().fileSize());
+        }
+    }
+
+    private DescribeCustomPluginResponse describeCustomPlugin(
         final KafkaConnectClient kafkaConnectClient,
         final DescribeCustomPluginRequest describeCustomPluginRequest,
         final ProxyClient<KafkaConnectClient> proxyClient,
@@ -192,10 +289,10 @@ public class CreateHandler extends BaseHandlerStd {
                     describeCustomPluginRequest.customPluginArn(),
                     customPluginState == null ? "unknown" : customPluginState.toString()));
 
-            return customPluginState;
+            return describeCustomPluginResponse;
         } catch (final AwsServiceException e) {
-            throw new CfnGeneralServiceException(
-                String.format(failureMessagePattern, ResourceModel.TYPE_NAME, e.getMessage()), e);
+            throw exceptionTranslator.translateToCfnException(
+                e, describeCustomPluginRequest.customPluginArn(), failureMessagePattern);
         }
     }
 }
@@ -0,0 +1,139 @@
+package software.amazon.kafkaconnect.customplugin;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.services.kafkaconnect.KafkaConnectClient;
+import software.amazon.awssdk.services.kafkaconnect.model.CreateCustomPluginRequest;
+import software.amazon.awssdk.services.kafkaconnect.model.CustomPluginRevisionSummary;
+import software.amazon.awssdk.services.kafkaconnect.model.CustomPluginState;
+import software.amazon.awssdk.services.kafkaconnect.model.CustomPluginSummary;
+import software.amazon.awssdk.services.kafkaconnect.model.ForbiddenException;
+import software.amazon.awssdk.services.kafkaconnect.model.ListCustomPluginsRequest;
+import software.amazon.awssdk.services.kafkaconnect.model.ListCustomPluginsResponse;
+import software.amazon.awssdk.services.kafkaconnect.model.S3LocationDescription;
+import software.amazon.awssdk.services.kafkaconnect.model.UnauthorizedException;
+import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+/**
+ * Finds the custom plugin an earlier attempt of the same create made, so that a create retried after the
+ * CreateCustomPlugin response was lost resumes stabilization instead of failing on the name conflict. The plugin is
+ * looked up with ListCustomPlugins filtered by the name as a prefix, and adopted only when it is CREATING or ACTIVE
+ * and its latest revision was requested from the same content type and S3 location, with the request's description
+ * and tags. The tags must include the CloudFormation stack and logical ID, so a plugin of the same name that another
+ * stack, or a caller outside CloudFormation, made is left alone.
+ */
+class CreateRecovery {
+    private static final int UNAUTHORIZED_STATUS = 401;
+    private static final int FORBIDDEN_STATUS = 403;
+
+    /**
+     * @param proxyClient client for the request's account and region
+     * @param createCustomPluginRequest the create that failed on the name conflict
+     * @param logger logger of the current request
+     * @return the ARN of the custom plugin to adopt; empty if the create isn't tagged with its stack and logical ID,
+     *     there is none, it doesn't match, or the lookup failed for a reason other than access being denied
+     * @throws CfnAccessDeniedException if the caller may not look the custom plugin up
+     */
+    Optional<String> findCreated(
+        final ProxyClient<KafkaConnectClient> proxyClient,
+        final CreateCustomPluginRequest createCustomPluginRequest,
+        final Logger logger) {
+
+        final String name = createCustomPluginRequest.name();
+        if (!isTaggedWithStack(createCustomPluginRequest.tags())) {
+            return Optional.empty();
+        }
+
+        try {
+            final Optional<CustomPluginSummary> existing = findByName(proxyClient, name);
+            if (!existing.isPresent()) {
+                return Optional.empty();
+            }
+
+            final CustomPluginSummary plugin = existing.get();
+            final Map<String, String> tags =
+                TagHelper.listTags(plugin.customPluginArn(), proxyClient.client(), proxyClient).tags();
+            if (!matches(createCustomPluginRequest, plugin, tags)) {
+                logger.log(String.format("%s [%s] exists as %s, %s, but doesn't match this create.",
+                    ResourceModel.TYPE_NAME, name, plugin.customPluginArn(), plugin.customPluginState()));
+                return Optional.empty();
+            }
+
+            logger.log(String.format("%s [%s] adopting %s, %s, created by an earlier attempt.",
+                ResourceModel.TYPE_NAME, name, plugin.customPluginArn(), plugin.customPluginState()));
+            return Optional.of(plugin.customPluginArn());
+        } catch (final AwsServiceException e) {
+            if (isAccessDenied(e)) {
+                // a create that can't look for its earlier attempt must not pass a missing permission off as a
+                // name conflict
+                throw new CfnAccessDeniedException(ResourceModel.TYPE_NAME, e);
+            }
+            logger.log(String.format("%s [%s] couldn't look for a custom plugin created by an earlier attempt: %s",
+                ResourceModel.TYPE_NAME, name, e.getMessage()));
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<CustomPluginSummary> findByName(
+        final ProxyClient<KafkaConnectClient> proxyClient,
+        final String name) {
+
+        String nextToken = null;
+        do {
+            final ListCustomPluginsResponse response = proxyClient.injectCredentialsAndInvokeV2(
+                ListCustomPluginsRequest.builder()
+                    .namePrefix(name)
+                    .nextToken(nextToken)
+                    .build(),
+                proxyClient.client()::listCustomPlugins);
+            final Optional<CustomPluginSummary> plugin = Translator.streamOfOrEmpty(response.customPlugins())
+                .filter(summary -> name.equals(summary.name()))
+                .findFirst();
+            if (plugin.isPresent()) {
+                return plugin;
+            }
+            nextToken = response.nextToken();
+        } while (nextToken != null);
+        return Optional.empty();
+    }
+
+    private static boolean matches(
+        final CreateCustomPluginRequest createCustomPluginRequest,
+        final CustomPluginSummary plugin,
+        final Map<String, String> tags) {
+
+        final CustomPluginRevisionSummary revision = plugin.latestRevision();
+        if (revision == null || revision.location() == null || revision.location().s3Location() == null
+            || createCustomPluginRequest.location() == null
+            || createCustomPluginRequest.location().s3Location() == null) {
+            return false;
+        }
+
+        final software.amazon.awssdk.services.kafkaconnect.model.S3Location location =
+            createCustomPluginRequest.location().s3Location();
+        final S3LocationDescription candidate = revision.location().s3Location();
+        return (plugin.customPluginState() == CustomPluginState.CREATING
+            || plugin.customPluginState() == CustomPluginState.ACTIVE)
+            && Objects.equals(revision.contentTypeAsString(), createCustomPluginRequest.contentTypeAsString())
+            && Objects.equals(candidate.bucketArn(), location.bucketArn())
+            && Objects.equals(candidate.fileKey(), location.fileKey())
+            && (location.objectVersion() == null || location.objectVersion().equals(candidate.objectVersion()))
+            // the service may leave an empty description out
+            && Objects.toString(createCustomPluginRequest.description(), "")
+                .equals(Objects.toString(plugin.description(), ""))
+            && tags.entrySet().containsAll(createCustomPluginRequest.tags().entrySet());
+    }
+
+    private static boolean isTaggedWithStack(final Map<String, String> tags) {
+        return tags.get(CustomPluginReuse.STACK_ID_TAG) != null && tags.get(CustomPluginReuse.LOGICAL_ID_TAG) != null;
+    }
+
+    private static boolean isAccessDenied(final AwsServiceException e) {
+        return e instanceof UnauthorizedException || e instanceof ForbiddenException
+            || e.statusCode() == UNAUTHORIZED_STATUS || e.statusCode() == FORBIDDEN_STATUS;
+    }
+}
@@ -0,0 +1,131 @@
+package software.amazon.kafkaconnect.customplugin;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+import software.amazon.awssdk.services.kafkaconnect.KafkaConnectClient;
+import software.amazon.awssdk.services.kafkaconnect.model.CustomPluginRevisionSummary;
+import software.amazon.awssdk.services.kafkaconnect.model.CustomPluginState;
+import software.amazon.awssdk.services.kafkaconnect.model.CustomPluginSummary;
+import software.amazon.awssdk.services.kafkaconnect.model.ListCustomPluginsResponse;
+import software.amazon.awssdk.services.kafkaconnect.model.S3LocationDescription;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+/**
+ * ACTIVE custom plugins of an account and region, listed through ListCustomPlugins and kept per container for
+ * {@link #TTL}, so that a burst of creates lists the plugins once.
+ */
+class CustomPluginIndex {
+    static final Duration TTL = Duration.ofMinutes(5);
+
+    private final Translator translator;
+    private final LongSupplier currentTimeMillis;
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    CustomPluginIndex(final Translator translator) {
+        this(translator, System::currentTimeMillis);
+    }
+
+    /**
+     * Constructor used for unit testing
+     *
+     * @param translator
+     * @param currentTimeMillis
+     */
+    CustomPluginIndex(final Translator translator, final LongSupplier currentTimeMillis) {
+        this.translator = translator;
+        this.currentTimeMillis = currentTimeMillis;
+    }
+
+    /**
+     * Finds the ACTIVE plugins whose latest revision was created from the same archive. The bucket, key and content
+     * type must match. With an object version, the versions must match too. Without one, the key may have been
+     * overwritten since, so the archive's MD5 must be known and match the plugin's file MD5.
+     *
+     * @param proxyClient client for the request's account and region
+     * @param scope account and region the index is kept for
+     * @param model the desired custom plugin
+     * @param fileMd5 MD5 of the archive if it is known, otherwise null
+     * @return the matching plugins, as of the last listing
+     */
+    List<CustomPluginSummary> findActive(
+        final ProxyClient<KafkaConnectClient> proxyClient,
+        final String scope,
+        final ResourceModel model,
+        final String fileMd5) {
+
+        if (model.getLocation() == null || model.getLocation().getS3Location() == null) {
+            return Collections.emptyList();
+        }
+
+        final S3Location location = model.getLocation().getS3Location();
+        if (location.getObjectVersion() == null && fileMd5 == null) {
+            return Collections.emptyList();
+        }
+
+        return snapshot(proxyClient, scope).plugins.stream()
+            .filter(plugin -> matches(plugin.latestRevision(), model.getContentType(), location, fileMd5))
+            .collect(Collectors.toList());
+    }
+
+    private Snapshot snapshot(final ProxyClient<KafkaConnectClient> proxyClient, final String scope) {
+        final long now = currentTimeMillis.getAsLong();
+        final Snapshot cached = snapshots.get(scope);
+        if (cached != null && now - cached.listedAt < TTL.toMillis()) {
+            return cached;
+        }
+
+        final List<CustomPluginSummary> plugins = new ArrayList<>();
+        String nextToken = null;
+        do {
+            final ListCustomPluginsResponse response = proxyClient.injectCredentialsAndInvokeV2(
+                translator.translateToListRequest(nextToken), proxyClient.client()::listCustomPlugins);
+            Translator.streamOfOrEmpty(response.customPlugins())
+                .filter(plugin -> plugin.customPluginState() == CustomPluginState.ACTIVE)
+                .forEach(plugins::add);
+            nextToken = response.nextToken();
+        } while (nextToken != null);
+
+        final Snapshot snapshot = new Snapshot(now, Collections.unmodifiableList(plugins));
+        snapshots.put(scope, snapshot);
+        return snapshot;
+    }
+
+    private static boolean matches(
+        final CustomPluginRevisionSummary revision,
+        final String contentType,
+        final S3Location location,
+        final String fileMd5) {
+
+        if (revision == null || revision.location() == null || revision.location().s3Location() == null) {
+            return false;
+        }
+
+        final S3LocationDescription candidate = revision.location().s3Location();
+        final String candidateMd5 = Optional.ofNullable(revision.fileDescription())
+            .map(fileDescription -> fileDescription.fileMd5())
+            .orElse(null);
+        return Objects.equals(candidate.bucketArn(), location.getBucketArn())
+            && Objects.equals(candidate.fileKey(), location.getFileKey())
+            && Objects.equals(revision.contentTypeAsString(), contentType)
+            && (location.getObjectVersion() == null || location.getObjectVersion().equals(candidate.objectVersion()))
+            && (fileMd5 == null || fileMd5.equalsIgnoreCase(candidateMd5));
+    }
+
+    private static final class Snapshot {
+        private final long listedAt;
+        private final List<CustomPluginSummary> plugins;
+
+        private Snapshot(final long listedAt, final List<CustomPluginSummary> plugins) {
+            this.listedAt = listedAt;
+            this.plugins = plugins;
+        }
+    }
+}
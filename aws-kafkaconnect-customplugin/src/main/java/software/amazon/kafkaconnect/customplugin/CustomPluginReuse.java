@@ -0,0 +1,129 @@
+package software.amazon.kafkaconnect.customplugin;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.services.kafkaconnect.KafkaConnectClient;
+import software.amazon.awssdk.services.kafkaconnect.model.CustomPluginState;
+import software.amazon.awssdk.services.kafkaconnect.model.CustomPluginSummary;
+import software.amazon.awssdk.services.kafkaconnect.model.DescribeCustomPluginRequest;
+import software.amazon.awssdk.services.kafkaconnect.model.NotFoundException;
+import software.amazon.cloudformation.exceptions.BaseHandlerException;
+import software.amazon.cloudformation.exceptions.CfnAlreadyExistsException;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+/**
+ * Looks for an ACTIVE custom plugin already created from the same archive before CreateCustomPlugin, as configured
+ * by {@link ProviderSettings#getPluginReuse()}. The existing plugin is never adopted as this resource: it belongs to
+ * another stack, which would delete it along with itself.
+ *
+ * A plugin tagged with the request's stack and logical ID is the one this resource replaces, so it is not a copy.
+ * In {@code FAIL} mode the plugin found is described again before the create fails, since the listing it was found
+ * in may be minutes old. A listing that fails fails the create too, since the check the mode asks for couldn't be
+ * done; in {@code WARN} mode it only skips the check.
+ */
+class CustomPluginReuse {
+    static final String STACK_ID_TAG = "aws:cloudformation:stack-id";
+    static final String LOGICAL_ID_TAG = "aws:cloudformation:logical-id";
+
+    private static final String LIST_FAILURE_MESSAGE_PATTERN =
+        "%s [%s] couldn't list custom plugins to check for one serving the same archive: %s";
+
+    private final ProviderSettings.PluginReuse mode;
+    private final CustomPluginIndex index;
+    private final ExceptionTranslator exceptionTranslator;
+
+    CustomPluginReuse(
+        final ProviderSettings settings,
+        final CustomPluginIndex index,
+        final ExceptionTranslator exceptionTranslator) {
+
+        this.mode = settings.getPluginReuse();
+        this.index = index;
+        this.exceptionTranslator = exceptionTranslator;
+    }
+
+    /**
+     * @param proxyClient client for the request's account and region
+     * @param request the create request
+     * @param fileMd5 MD5 of the archive if it was inspected locally, otherwise null
+     * @param logger logger of the current request
+     * @throws CfnAlreadyExistsException in {@code FAIL} mode, naming the existing plugin
+     * @throws BaseHandlerException in {@code FAIL} mode, if the plugins couldn't be listed or described
+     */
+    void check(
+        final ProxyClient<KafkaConnectClient> proxyClient,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final String fileMd5,
+        final Logger logger) {
+
+        final ResourceModel model = request.getDesiredResourceState();
+        if (mode == ProviderSettings.PluginReuse.DISABLED || model.getCustomPluginArn() != null) {
+            return;
+        }
+
+        final Optional<CustomPluginSummary> existing;
+        try {
+            final List<CustomPluginSummary> candidates = index.findActive(
+                proxyClient, request.getAwsAccountId() + "/" + request.getRegion(), model, fileMd5);
+            existing = candidates.stream()
+                .filter(candidate -> !isReplacedByRequest(proxyClient, candidate, request.getSystemTags()))
+                .filter(candidate -> mode != ProviderSettings.PluginReuse.FAIL || isStillActive(proxyClient, candidate))
+                .findFirst();
+        } catch (final AwsServiceException e) {
+            if (mode == ProviderSettings.PluginReuse.FAIL) {
+                throw exceptionTranslator.translateToCfnException(
+                    e, model.getName(), LIST_FAILURE_MESSAGE_PATTERN, model.getName());
+            }
+            logger.log(String.format("%s [%s] couldn't list custom plugins, skipping reuse check: %s",
+                ResourceModel.TYPE_NAME, model.getName(), e.getMessage()));
+            return;
+        }
+
+        if (!existing.isPresent()) {
+            return;
+        }
+
+        final String existingArn = existing.get().customPluginArn();
+        logger.log(String.format("%s [%s] archive is already served by ACTIVE custom plugin %s (%s). Reference that "
+                + "plugin's ARN instead of creating a copy.",
+            ResourceModel.TYPE_NAME, model.getName(), existingArn, existing.get().name()));
+        if (mode == ProviderSettings.PluginReuse.FAIL) {
+            throw new CfnAlreadyExistsException(ResourceModel.TYPE_NAME, existingArn);
+        }
+    }
+
+    /**
+     * @return whether the candidate was created by the same stack and logical ID, i.e. this create replaces it
+     */
+    private static boolean isReplacedByRequest(
+        final ProxyClient<KafkaConnectClient> proxyClient,
+        final CustomPluginSummary candidate,
+        final Map<String, String> systemTags) {
+
+        if (systemTags == null || systemTags.get(STACK_ID_TAG) == null || systemTags.get(LOGICAL_ID_TAG) == null) {
+            return false;
+        }
+
+        final Map<String, String> tags =
+            TagHelper.listTags(candidate.customPluginArn(), proxyClient.client(), proxyClient).tags();
+        return systemTags.get(STACK_ID_TAG).equals(tags.get(STACK_ID_TAG))
+            && systemTags.get(LOGICAL_ID_TAG).equals(tags.get(LOGICAL_ID_TAG));
+    }
+
+    private static boolean isStillActive(
+        final ProxyClient<KafkaConnectClient> proxyClient,
+        final CustomPluginSummary candidate) {
+
+        try {
+            return proxyClient.injectCredentialsAndInvokeV2(
+                DescribeCustomPluginRequest.builder().customPluginArn(candidate.customPluginArn()).build(),
+                proxyClient.client()::describeCustomPlugin).customPluginState() == CustomPluginState.ACTIVE;
+        } catch (final NotFoundException e) {
+            return false;
+        }
+    }
+}
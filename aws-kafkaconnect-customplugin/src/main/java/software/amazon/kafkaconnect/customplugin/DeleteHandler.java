@@ -17,13 +17,11 @@ import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
 public class DeleteHandler extends BaseHandlerStd {
-    private Logger logger;
-
     private final Translator translator;
     private final ExceptionTranslator exceptionTranslator;
 
     public DeleteHandler() {
-        this(new ExceptionTranslator(), new Translator());
+        this(HandlerRegistry.EXCEPTION_TRANSLATOR, HandlerRegistry.TRANSLATOR);
     }
 
     /**
@@ -43,7 +41,6 @@ public class DeleteHandler extends BaseHandlerStd {
         final ProxyClient<KafkaConnectClient> proxyClient,
         final Logger logger) {
 
-        this.logger = logger;
         final ResourceModel model = request.getDesiredResourceState();
 
         return ProgressEvent.progress(model, callbackContext)
@@ -55,7 +52,9 @@ public class DeleteHandler extends BaseHandlerStd {
                         model,
                         callbackContext)
                     .translateToServiceRequest(translator::translateToReadRequest)
-                    .makeServiceCall(this::validateResourceExists).progress())
+                    .makeServiceCall((describeCustomPluginRequest, client) ->
+                        validateResourceExists(describeCustomPluginRequest, client, logger))
+                    .progress())
             .then(
                 progress -> proxy
                     .initiate(
@@ -64,10 +63,11 @@ public class DeleteHandler extends BaseHandlerStd {
                         model,
                         callbackContext)
                     .translateToServiceRequest(translator::translateToDeleteRequest)
-                    .makeServiceCall(this::deleteCustomPlugin)
+                    .makeServiceCall((deleteCustomPluginRequest, client) ->
+                        deleteCustomPlugin(deleteCustomPluginRequest, client, logger))
                     .stabilize(
                         (awsRequest, awsResponse, client, awsModel, context) -> isStabilized(awsRequest, client,
-                            awsModel))
+                            awsModel, logger))
                     .done(
                         (awsRequest, awsResponse, client, awsModel, context) -> ProgressEvent
                             .defaultSuccessHandler(null)));
@@ -75,7 +75,8 @@ public class DeleteHandler extends BaseHandlerStd {
 
     private DescribeCustomPluginResponse validateResourceExists(
         DescribeCustomPluginRequest describeCustomPluginRequest,
-        ProxyClient<KafkaConnectClient> proxyClient) {
+        ProxyClient<KafkaConnectClient> proxyClient,
+        Logger logger) {
         DescribeCustomPluginResponse describeCustomPluginResponse;
         if (describeCustomPluginRequest.customPluginArn() == null) {
             throw new CfnNotFoundException(ResourceModel.TYPE_NAME, null);
@@ -102,7 +103,8 @@ public class DeleteHandler extends BaseHandlerStd {
 
     private DeleteCustomPluginResponse deleteCustomPlugin(
         final DeleteCustomPluginRequest deleteCustomPluginRequest,
-        final ProxyClient<KafkaConnectClient> proxyClient) {
+        final ProxyClient<KafkaConnectClient> proxyClient,
+        final Logger logger) {
         DeleteCustomPluginResponse deleteCustomPluginResponse;
         final String identifier = deleteCustomPluginRequest.customPluginArn();
         try {
@@ -123,7 +125,8 @@ public class DeleteHandler extends BaseHandlerStd {
     private boolean isStabilized(
         final DeleteCustomPluginRequest deleteCustomPluginRequest,
         final ProxyClient<KafkaConnectClient> proxyClient,
-        final ResourceModel model) {
+        final ResourceModel model,
+        final Logger logger) {
         final String identifier = deleteCustomPluginRequest.customPluginArn();
         try {
             final KafkaConnectClient kafkaConnectClient = proxyClient.client();
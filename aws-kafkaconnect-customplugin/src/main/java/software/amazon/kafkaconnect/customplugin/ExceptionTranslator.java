@@ -5,50 +5,166 @@ import software.amazon.awssdk.services.kafkaconnect.model.BadRequestException;
 import software.amazon.awssdk.services.kafkaconnect.model.ConflictException;
 import software.amazon.awssdk.services.kafkaconnect.model.InternalServerErrorException;
 import software.amazon.awssdk.services.kafkaconnect.model.NotFoundException;
-import software.amazon.awssdk.services.kafkaconnect.model.UnauthorizedException;
+import software.amazon.awssdk.services.kafkaconnect.model.ServiceUnavailableException;
 import software.amazon.awssdk.services.kafkaconnect.model.TooManyRequestsException;
-import software.amazon.cloudformation.exceptions.*;
+import software.amazon.awssdk.services.kafkaconnect.model.UnauthorizedException;
+import software.amazon.cloudformation.exceptions.BaseHandlerException;
+import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
+import software.amazon.cloudformation.exceptions.CfnAlreadyExistsException;
+import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
+import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
+import software.amazon.cloudformation.exceptions.CfnNotFoundException;
+import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
+import software.amazon.cloudformation.exceptions.CfnThrottlingException;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 public class ExceptionTranslator {
+    private static final int MIN_SERVER_ERROR_STATUS = 500;
+
+    /**
+     * How each kafkaconnect error reaches CloudFormation, checked in order. Throttling and transient server errors
+     * map to error codes CloudFormation retries with back-off, instead of failing the operation and rolling back.
+     */
+    private static final List<Classification> CLASSIFICATIONS = Arrays.asList(
+        new Classification(NotFoundException.class,
+            (exception, identifier) -> new CfnNotFoundException(ResourceModel.TYPE_NAME, identifier, exception)),
+        new Classification(BadRequestException.class,
+            (exception, identifier) -> new CfnInvalidRequestException(exception.getMessage(), exception)),
+        new Classification(ConflictException.class,
+            (exception, identifier) -> new CfnAlreadyExistsException(ResourceModel.TYPE_NAME, identifier, exception)),
+        new Classification(UnauthorizedException.class,
+            (exception, identifier) -> new CfnAccessDeniedException(ResourceModel.TYPE_NAME, exception)),
+        new Classification(TooManyRequestsException.class,
+            (exception, identifier) -> new CfnThrottlingException(ResourceModel.TYPE_NAME, exception)),
+        new Classification(InternalServerErrorException.class,
+            (exception, identifier) -> new CfnServiceInternalErrorException(ResourceModel.TYPE_NAME, exception)),
+        new Classification(ServiceUnavailableException.class,
+            (exception, identifier) -> new CfnServiceInternalErrorException(ResourceModel.TYPE_NAME, exception)));
+
+    private final Map<HandlerErrorCode, LongAdder> translatedCounts = new EnumMap<>(HandlerErrorCode.class);
 
     public ExceptionTranslator() {
+        // filled up front, so that concurrent translations only ever read the map
+        for (final HandlerErrorCode errorCode : HandlerErrorCode.values()) {
+            translatedCounts.put(errorCode, new LongAdder());
+        }
     }
 
     /**
-     * Translation for exceptions coming from SDK having no additional messaging or clarification
-     * needs to Cfn exceptions.
+     * Translation for exceptions coming from SDK having no additional messaging or clarification needs
+     * to Cfn exceptions.
      *
      * @param exception SDK exception to translate
      * @param identifier Resource identifying field
      * @return Cfn equivalent exception
      */
     public BaseHandlerException translateToCfnException(
-        final AwsServiceException exception, final String identifier) {
+        final AwsServiceException exception,
+        final String identifier) {
 
-        if (exception instanceof NotFoundException) {
-            return new CfnNotFoundException(ResourceModel.TYPE_NAME, identifier, exception);
-        }
+        return translate(exception, identifier, CfnGeneralServiceException::new);
+    }
 
-        if (exception instanceof BadRequestException) {
-            return new CfnInvalidRequestException(exception.getMessage(), exception);
-        }
+    /**
+     * Translation for exceptions coming from SDK while the handler is doing something the bare SDK message
+     * wouldn't say, e.g. polling the state of the resource. Exceptions the classifications cover translate as
+     * {@link #translateToCfnException(AwsServiceException, String)} does, so throttling and server errors stay
+     * retryable; any other fails the operation with the given message.
+     *
+     * @param exception SDK exception to translate
+     * @param identifier Resource identifying field
+     * @param failureMessagePattern pattern of the failure message, given the resource type and the SDK message
+     * @return Cfn equivalent exception
+     */
+    public BaseHandlerException translateToCfnException(
+        final AwsServiceException exception,
+        final String identifier,
+        final String failureMessagePattern) {
 
-        if (exception instanceof ConflictException) {
-            return new CfnAlreadyExistsException(ResourceModel.TYPE_NAME, identifier, exception);
-        }
+        return translate(exception, identifier, unclassified -> new CfnGeneralServiceException(
+            String.format(failureMessagePattern, ResourceModel.TYPE_NAME, unclassified.getMessage()), unclassified));
+    }
 
-        if (exception instanceof InternalServerErrorException) {
-            return new CfnInternalFailureException(exception);
-        }
+    /**
+     * As {@link #translateToCfnException(AwsServiceException, String, String)}, for a message that also names what
+     * the handler was working on. The subject is an argument of the pattern, never part of it, so a {@code %} in it
+     * is kept as it is.
+     *
+     * @param exception SDK exception to translate
+     * @param identifier Resource identifying field
+     * @param failureMessagePattern pattern of the failure message, given the resource type, the subject and the SDK
+     *     message
+     * @param subject what the handler was working on, e.g. the resource name or ARN
+     * @return Cfn equivalent exception
+     */
+    public BaseHandlerException translateToCfnException(
+        final AwsServiceException exception,
+        final String identifier,
+        final String failureMessagePattern,
+        final String subject) {
+
+        return translate(exception, identifier, unclassified -> new CfnGeneralServiceException(
+            String.format(failureMessagePattern, ResourceModel.TYPE_NAME, subject, unclassified.getMessage()),
+            unclassified));
+    }
+
+    private BaseHandlerException translate(
+        final AwsServiceException exception,
+        final String identifier,
+        final Function<AwsServiceException, BaseHandlerException> unclassifiedTranslation) {
 
-        if (exception instanceof UnauthorizedException) {
-            return new CfnAccessDeniedException(ResourceModel.TYPE_NAME, exception);
+        final BaseHandlerException translated = classify(exception, identifier, unclassifiedTranslation);
+        translatedCounts.get(translated.getErrorCode()).increment();
+        return translated;
+    }
+
+    private static BaseHandlerException classify(
+        final AwsServiceException exception,
+        final String identifier,
+        final Function<AwsServiceException, BaseHandlerException> unclassifiedTranslation) {
+
+        for (final Classification classification : CLASSIFICATIONS) {
+            if (classification.getType().isInstance(exception)) {
+                return classification.getTranslation().apply(exception, identifier);
+            }
         }
 
-        if (exception instanceof TooManyRequestsException) {
-            return new CfnServiceLimitExceededException(exception);
+        // errors the service model doesn't declare, e.g. from a load balancer in front of the service
+        if (exception.isThrottlingException()) {
+            return new CfnThrottlingException(ResourceModel.TYPE_NAME, exception);
         }
+        if (exception.statusCode() >= MIN_SERVER_ERROR_STATUS) {
+            return new CfnServiceInternalErrorException(ResourceModel.TYPE_NAME, exception);
+        }
+
+        return unclassifiedTranslation.apply(exception);
+    }
+
+    /**
+     * @return exceptions translated by this translator so far, per error code reported to CloudFormation
+     */
+    public Map<HandlerErrorCode, Long> getTranslatedCounts() {
+        final Map<HandlerErrorCode, Long> counts = new EnumMap<>(HandlerErrorCode.class);
+        translatedCounts.forEach((errorCode, count) -> {
+            if (count.sum() > 0) {
+                counts.put(errorCode, count.sum());
+            }
+        });
+        return Collections.unmodifiableMap(counts);
+    }
 
-        return new CfnGeneralServiceException(exception);
+    @lombok.Value
+    private static class Classification {
+        Class<? extends AwsServiceException> type;
+        BiFunction<AwsServiceException, String, BaseHandlerException> translation;
     }
 }
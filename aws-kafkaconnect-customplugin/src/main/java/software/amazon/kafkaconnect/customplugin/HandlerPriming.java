@@ -0,0 +1,113 @@
+package software.amazon.kafkaconnect.customplugin;
+
+import com.amazonaws.services.lambda.runtime.LambdaRuntime;
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+import software.amazon.awssdk.services.kafkaconnect.model.CustomPluginContentType;
+import software.amazon.awssdk.services.kafkaconnect.model.CustomPluginLocationDescription;
+import software.amazon.awssdk.services.kafkaconnect.model.CustomPluginRevisionSummary;
+import software.amazon.awssdk.services.kafkaconnect.model.CustomPluginState;
+import software.amazon.awssdk.services.kafkaconnect.model.DescribeCustomPluginResponse;
+import software.amazon.awssdk.services.kafkaconnect.model.S3LocationDescription;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.cloudformation.resource.Serializer;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * CRaC resource priming the handler before a CRaC/SnapStart checkpoint. It runs a synthetic Create/Read translation
+ * round trip, a Jackson round trip of a {@link ResourceHandlerRequest} and builds the client for the function's
+ * region, without calling the service. Priming is best effort and never blocks the checkpoint.
+ */
+final class HandlerPriming implements Resource {
+    private static final String PRIMING_ARN = "arn:aws:kafkaconnect:us-east-1:123456789012:custom-plugin/priming";
+    private static final String PRIMING_BUCKET_ARN = "arn:aws:s3:::priming";
+    private static final TypeReference<ResourceHandlerRequest<ResourceModel>> REQUEST_TYPE =
+        new TypeReference<ResourceHandlerRequest<ResourceModel>>() {
+        };
+
+    // CRaC holds registered resources weakly
+    private static final HandlerPriming INSTANCE = new HandlerPriming();
+
+    static void register() {
+        Core.getGlobalContext().register(INSTANCE);
+    }
+
+    @Override
+    public void beforeCheckpoint(final Context<? extends Resource> context) {
+        try {
+            prime();
+        } catch (final Exception e) {
+            LambdaRuntime.getLogger().log(String.format("%s handler priming skipped: %s", ResourceModel.TYPE_NAME, e));
+        }
+    }
+
+    @Override
+    public void afterRestore(final Context<? extends Resource> context) {
+        ClientBuilder.invalidateClients();
+    }
+
+    static void prime() throws Exception {
+        final Translator translator = new Translator();
+        final ResourceModel model = primingModel();
+        final Map<String, String> tags = Collections.singletonMap("priming", "true");
+
+        translator.translateToCreateRequest(model, tags);
+        translator.translateToReadRequest(model);
+        translator.translateToDeleteRequest(model);
+        final ResourceModel readModel = translator.translateFromReadResponse(primingDescribeResponse());
+
+        final Serializer serializer = new Serializer();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .awsAccountId("123456789012")
+            .awsPartition("aws")
+            .region("us-east-1")
+            .desiredResourceState(model)
+            .previousResourceState(readModel)
+            .desiredResourceTags(tags)
+            .build();
+        serializer.deserialize(serializer.serialize(request), REQUEST_TYPE);
+        serializer.serialize(ProgressEvent.defaultSuccessHandler(readModel));
+
+        final String region = System.getenv("AWS_REGION");
+        if (region != null) {
+            ClientBuilder.getClient(region.startsWith("cn-") ? "aws-cn" : "aws", region);
+        }
+    }
+
+    private static ResourceModel primingModel() {
+        return ResourceModel.builder()
+            .customPluginArn(PRIMING_ARN)
+            .name("priming")
+            .contentType("ZIP")
+            .location(CustomPluginLocation.builder()
+                .s3Location(S3Location.builder()
+                    .bucketArn(PRIMING_BUCKET_ARN)
+                    .fileKey("priming.zip")
+                    .build())
+                .build())
+            .build();
+    }
+
+    private static DescribeCustomPluginResponse primingDescribeResponse() {
+        return DescribeCustomPluginResponse.builder()
+            .customPluginArn(PRIMING_ARN)
+            .name("priming")
+            .customPluginState(CustomPluginState.ACTIVE)
+            .latestRevision(CustomPluginRevisionSummary.builder()
+                .contentType(CustomPluginContentType.ZIP)
+                .location(CustomPluginLocationDescription.builder()
+                    .s3Location(S3LocationDescription.builder()
+                        .bucketArn(PRIMING_BUCKET_ARN)
+                        .fileKey("priming.zip")
+                        .build())
+                    .build())
+                .revision(1L)
+                .build())
+            .build();
+    }
+}
@@ -6,6 +6,7 @@ import software.amazon.awssdk.services.kafkaconnect.KafkaConnectClient;
 import software.amazon.awssdk.services.kafkaconnect.model.ListCustomPluginsRequest;
 import software.amazon.awssdk.services.kafkaconnect.model.ListCustomPluginsResponse;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
@@ -17,7 +18,7 @@ public class ListHandler extends BaseHandlerStd {
     private final Translator translator;
 
     public ListHandler() {
-        this(new ExceptionTranslator(), new Translator());
+        this(HandlerRegistry.EXCEPTION_TRANSLATOR, HandlerRegistry.TRANSLATOR);
     }
 
     /**
@@ -65,4 +66,18 @@ public class ListHandler extends BaseHandlerStd {
             .status(OperationStatus.SUCCESS)
             .build();
     }
+
+    /**
+     * List can't return IN_PROGRESS, so it fails with Throttling, which CloudFormation retries.
+     */
+    @Override
+    protected ProgressEvent<ResourceModel, CallbackContext> handleCircuitOpen(
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        final int retryAfterSeconds) {
+
+        return ProgressEvent.failed(request.getDesiredResourceState(), callbackContext, HandlerErrorCode.Throttling,
+            String.format(CIRCUIT_OPEN_MESSAGE_PATTERN, request.getAwsPartition(), request.getRegion(),
+                retryAfterSeconds));
+    }
 }
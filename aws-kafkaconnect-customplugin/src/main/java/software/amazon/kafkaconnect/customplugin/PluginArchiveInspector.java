@@ -0,0 +1,362 @@
+package software.amazon.kafkaconnect.customplugin;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Validates a custom plugin archive in a single streaming pass. While the archive is read once, it computes the MD5
+ * and size that the service reports in {@link CustomPluginFileDescription}, lists nested jars and finds the Kafka
+ * Connect plugin implementations from the class file headers, without loading any class. A custom plugin may carry
+ * only converters, transformations, predicates or config providers for connectors of other plugins, so any of them
+ * makes the archive a plugin. Nested jars are inspected straight from the enclosing entry, nothing is extracted to
+ * disk.
+ */
+public class PluginArchiveInspector {
+    static final String CONTENT_TYPE_JAR = "JAR";
+    static final String CONTENT_TYPE_ZIP = "ZIP";
+
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final int MAX_NESTED_DEPTH = 2;
+    private static final int CLASS_MAGIC = 0xCAFEBABE;
+    private static final int ACC_INTERFACE = 0x0200;
+    private static final int ACC_ABSTRACT = 0x0400;
+    private static final Set<String> CONNECTOR_TYPES = new HashSet<>(Arrays.asList(
+        "org/apache/kafka/connect/connector/Connector",
+        "org/apache/kafka/connect/sink/SinkConnector",
+        "org/apache/kafka/connect/source/SourceConnector"));
+    private static final Set<String> CONVERTER_TYPES = new HashSet<>(Arrays.asList(
+        "org/apache/kafka/connect/storage/Converter",
+        "org/apache/kafka/connect/storage/HeaderConverter"));
+    private static final Set<String> OTHER_PLUGIN_TYPES = new HashSet<>(Arrays.asList(
+        "org/apache/kafka/connect/transforms/Transformation",
+        "org/apache/kafka/connect/transforms/predicates/Predicate",
+        "org/apache/kafka/common/config/provider/ConfigProvider"));
+
+    /**
+     * Inspects an archive on the local file system.
+     *
+     * @param archive the plugin archive
+     * @param contentType the declared content type (JAR or ZIP), or null to skip the content type check
+     * @return the inspection report
+     */
+    public PluginArchiveReport inspect(final Path archive, final String contentType) throws IOException {
+        try (InputStream input = Files.newInputStream(archive)) {
+            return inspect(input, contentType);
+        }
+    }
+
+    /**
+     * Inspects an archive read from a stream. The stream is read to its end and closed.
+     *
+     * @param archive the plugin archive
+     * @param contentType the declared content type (JAR or ZIP), or null to skip the content type check
+     * @return the inspection report
+     */
+    public PluginArchiveReport inspect(final InputStream archive, final String contentType) throws IOException {
+        final MeteredInputStream metered = new MeteredInputStream(new BufferedInputStream(archive, BUFFER_SIZE));
+        final Scan scan = new Scan();
+
+        try (ZipInputStream zip = new ZipInputStream(metered)) {
+            try {
+                scanEntries(zip, "", 0, scan);
+            } catch (final ZipException | EOFException e) {
+                scan.problems.add(String.format("Archive is not a readable ZIP file: %s", e.getMessage()));
+            }
+            // the central directory and anything after a broken entry still count towards the MD5 and size
+            metered.transferTo(OutputStream.nullOutputStream());
+        }
+
+        if (scan.entryCount == 0 && scan.problems.isEmpty()) {
+            scan.problems.add("Archive is empty or not a ZIP file");
+        }
+
+        final String detectedContentType = scan.topLevelClassCount > 0 ? CONTENT_TYPE_JAR : CONTENT_TYPE_ZIP;
+        if (CONTENT_TYPE_JAR.equals(contentType) && scan.entryCount > 0 && scan.topLevelClassCount == 0) {
+            scan.problems.add("Content type is JAR but the archive has no class files outside nested jars, use ZIP");
+        }
+
+        final List<String> connectors = concreteSubtypes(scan.classes, CONNECTOR_TYPES);
+        final List<String> converters = concreteSubtypes(scan.classes, CONVERTER_TYPES);
+        final List<String> otherPlugins = concreteSubtypes(scan.classes, OTHER_PLUGIN_TYPES);
+        if (scan.entryCount > 0 && connectors.isEmpty() && converters.isEmpty() && otherPlugins.isEmpty()) {
+            scan.problems.add("Archive contains no Kafka Connect Connector, Converter, HeaderConverter, "
+                + "Transformation, Predicate or ConfigProvider implementation");
+        }
+
+        return PluginArchiveReport.builder()
+            .fileMd5(String.format("%032x", new BigInteger(1, metered.digest.digest())))
+            .fileSize(metered.size)
+            .detectedContentType(detectedContentType)
+            .classCount(scan.classes.size())
+            .nestedJars(Collections.unmodifiableList(scan.nestedJars))
+            .connectorClasses(connectors)
+            .converterClasses(converters)
+            .otherPluginClasses(otherPlugins)
+            .problems(Collections.unmodifiableList(scan.problems))
+            .build();
+    }
+
+    private static void scanEntries(
+        final ZipInputStream zip,
+        final String prefix,
+        final int depth,
+        final Scan scan) throws IOException {
+
+        ZipEntry entry;
+        while ((entry = zip.getNextEntry()) != null) {
+            final String name = entry.getName();
+            scan.entryCount++;
+
+            if (name.startsWith("/") || name.contains("\\") || Arrays.asList(name.split("/")).contains("..")) {
+                scan.problems.add(String.format("Entry %s%s points outside the archive", prefix, name));
+            }
+            if (entry.isDirectory()) {
+                continue;
+            }
+
+            if (name.endsWith(".class") && !name.endsWith("module-info.class")) {
+                if (depth == 0) {
+                    scan.topLevelClassCount++;
+                }
+                try {
+                    final ClassHeader header = readClassHeader(zip);
+                    scan.classes.putIfAbsent(header.name, header);
+                } catch (final IOException e) {
+                    scan.problems.add(String.format("Entry %s%s is not a valid class file", prefix, name));
+                }
+            } else if (name.endsWith(".jar")) {
+                scan.nestedJars.add(prefix + name);
+                if (depth < MAX_NESTED_DEPTH) {
+                    try (ZipInputStream nested = new ZipInputStream(new UnclosableInputStream(zip))) {
+                        scanEntries(nested, prefix + name + "!/", depth + 1, scan);
+                    } catch (final ZipException e) {
+                        scan.problems.add(String.format("Nested jar %s%s is not a readable ZIP file", prefix, name));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the class file up to its interfaces: the constant pool, access flags, this class, super class and
+     * interfaces. The rest of the entry is skipped by the next {@link ZipInputStream#getNextEntry()}.
+     */
+    static ClassHeader readClassHeader(final InputStream input) throws IOException {
+        final DataInputStream data = new DataInputStream(input);
+        if (data.readInt() != CLASS_MAGIC) {
+            throw new IOException("Not a class file");
+        }
+        data.skipNBytes(4); // minor and major version
+
+        final int constantPoolCount = data.readUnsignedShort();
+        final String[] utf8 = new String[constantPoolCount];
+        final int[] classNames = new int[constantPoolCount];
+        for (int i = 1; i < constantPoolCount; i++) {
+            final int tag = data.readUnsignedByte();
+            switch (tag) {
+                case 1: // Utf8
+                    utf8[i] = data.readUTF();
+                    break;
+                case 7: // Class
+                    classNames[i] = data.readUnsignedShort();
+                    break;
+                case 8: case 16: case 19: case 20: // String, MethodType, Module, Package
+                    data.skipNBytes(2);
+                    break;
+                case 15: // MethodHandle
+                    data.skipNBytes(3);
+                    break;
+                case 3: case 4: case 9: case 10: case 11: case 12: case 17: case 18:
+                    data.skipNBytes(4);
+                    break;
+                case 5: case 6: // Long and Double take two slots
+                    data.skipNBytes(8);
+                    i++;
+                    break;
+                default:
+                    throw new IOException("Unknown constant pool tag " + tag);
+            }
+        }
+
+        final int accessFlags = data.readUnsignedShort();
+        final String name = className(utf8, classNames, data.readUnsignedShort());
+        final int superClass = data.readUnsignedShort();
+        final String superName = superClass == 0 ? null : className(utf8, classNames, superClass);
+        final int interfaceCount = data.readUnsignedShort();
+        final List<String> interfaces = new ArrayList<>(interfaceCount);
+        for (int i = 0; i < interfaceCount; i++) {
+            interfaces.add(className(utf8, classNames, data.readUnsignedShort()));
+        }
+        return new ClassHeader(name, superName, interfaces, accessFlags);
+    }
+
+    private static String className(final String[] utf8, final int[] classNames, final int index) throws IOException {
+        if (index <= 0 || index >= classNames.length || classNames[index] >= utf8.length
+            || utf8[classNames[index]] == null) {
+            throw new IOException("Invalid class reference " + index);
+        }
+        return utf8[classNames[index]];
+    }
+
+    private static List<String> concreteSubtypes(final Map<String, ClassHeader> classes, final Set<String> types) {
+        return classes.values().stream()
+            .filter(header -> (header.accessFlags & (ACC_INTERFACE | ACC_ABSTRACT)) == 0)
+            .filter(header -> isSubtype(header.name, types, classes, new HashSet<>()))
+            .map(header -> header.name.replace('/', '.'))
+            .sorted()
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Walks super classes and interfaces declared in the archive. Types outside the archive end the walk, which is
+     * where the Kafka Connect API types live.
+     */
+    private static boolean isSubtype(
+        final String name,
+        final Set<String> types,
+        final Map<String, ClassHeader> classes,
+        final Set<String> visited) {
+
+        if (name == null || !visited.add(name)) {
+            return false;
+        }
+        if (types.contains(name)) {
+            return true;
+        }
+        final ClassHeader header = classes.get(name);
+        if (header == null) {
+            return false;
+        }
+        return isSubtype(header.superName, types, classes, visited)
+            || header.interfaces.stream().anyMatch(type -> isSubtype(type, types, classes, visited));
+    }
+
+    private static MessageDigest md5() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 is not available", e);
+        }
+    }
+
+    static final class ClassHeader {
+        private final String name;
+        private final String superName;
+        private final List<String> interfaces;
+        private final int accessFlags;
+
+        ClassHeader(final String name, final String superName, final List<String> interfaces, final int accessFlags) {
+            this.name = name;
+            this.superName = superName;
+            this.interfaces = interfaces;
+            this.accessFlags = accessFlags;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        String getSuperName() {
+            return superName;
+        }
+
+        List<String> getInterfaces() {
+            return interfaces;
+        }
+    }
+
+    private static final class Scan {
+        private final Map<String, ClassHeader> classes = new HashMap<>();
+        private final List<String> nestedJars = new ArrayList<>();
+        private final List<String> problems = new ArrayList<>();
+        private int entryCount;
+        private int topLevelClassCount;
+    }
+
+    /**
+     * Digests and counts every byte of the archive as it is read, including bytes that {@link ZipInputStream} reads
+     * ahead.
+     */
+    private static final class MeteredInputStream extends FilterInputStream {
+        private final MessageDigest digest = md5();
+        private long size;
+
+        private MeteredInputStream(final InputStream input) {
+            super(input);
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int value = super.read();
+            if (value >= 0) {
+                digest.update((byte) value);
+                size++;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+            final int count = super.read(buffer, offset, length);
+            if (count > 0) {
+                digest.update(buffer, offset, count);
+                size += count;
+            }
+            return count;
+        }
+
+        @Override
+        public long skip(final long count) throws IOException {
+            final byte[] buffer = new byte[(int) Math.min(count, 8192)];
+            long skipped = 0;
+            while (skipped < count) {
+                final int read = read(buffer, 0, (int) Math.min(buffer.length, count - skipped));
+                if (read < 0) {
+                    break;
+                }
+                skipped += read;
+            }
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+
+    /**
+     * Lets a nested {@link ZipInputStream} be closed, releasing its inflater, without closing the enclosing entry.
+     */
+    private static final class UnclosableInputStream extends FilterInputStream {
+        private UnclosableInputStream(final InputStream input) {
+            super(input);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package software.amazon.kafkaconnect.customplugin;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
+import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
+import software.amazon.cloudformation.proxy.Logger;
+
+/**
+ * Rejects a malformed plugin archive before CreateCustomPlugin, which would otherwise only fail after the service
+ * has tried to extract it. Runs only when {@link ProviderSettings#getPluginArchiveRoot()} is set and the archive is
+ * found under it; archives that live only in S3 are left to the service.
+ */
+class PluginArchivePreflight {
+    private final Path archiveRoot;
+    private final PluginArchiveInspector inspector;
+
+    PluginArchivePreflight(final ProviderSettings settings, final PluginArchiveInspector inspector) {
+        this.archiveRoot = settings.getPluginArchiveRoot();
+        this.inspector = inspector;
+    }
+
+    /**
+     * @param model the desired custom plugin
+     * @param logger logger of the current request
+     * @return the report of a valid archive, empty if it was not inspected
+     * @throws CfnInvalidRequestException if the archive is malformed or its content type does not match
+     */
+    Optional<PluginArchiveReport> check(final ResourceModel model, final Logger logger) {
+        if (archiveRoot == null || model.getCustomPluginArn() != null) {
+            return Optional.empty();
+        }
+
+        final Optional<Path> archive = localArchive(model);
+        if (!archive.isPresent()) {
+            logger.log(String.format("%s [%s] plugin archive not found under %s, skipping inspection.",
+                ResourceModel.TYPE_NAME, model.getName(), archiveRoot));
+            return Optional.empty();
+        }
+
+        final PluginArchiveReport report;
+        try {
+            report = inspector.inspect(archive.get(), model.getContentType());
+        } catch (final IOException e) {
+            throw new CfnGeneralServiceException(
+                String.format("Couldn't read %s plugin archive %s", ResourceModel.TYPE_NAME, archive.get()), e);
+        }
+
+        logger.log(String.format(
+            "%s [%s] plugin archive %s: size %d, MD5 %s, connectors %s, converters %s, other plugins %s.",
+            ResourceModel.TYPE_NAME, model.getName(), archive.get(), report.getFileSize(), report.getFileMd5(),
+            report.getConnectorClasses(), report.getConverterClasses(), report.getOtherPluginClasses()));
+        if (!report.isValid()) {
+            throw new CfnInvalidRequestException(
+                String.format("Plugin archive %s is invalid: %s", archive.get(), String.join("; ", report.getProblems())),
+                null);
+        }
+        return Optional.of(report);
+    }
+
+    private Optional<Path> localArchive(final ResourceModel model) {
+        if (model.getLocation() == null || model.getLocation().getS3Location() == null) {
+            return Optional.empty();
+        }
+
+        final S3Location s3Location = model.getLocation().getS3Location();
+        final String bucketArn = s3Location.getBucketArn();
+        final Path root = archiveRoot.toAbsolutePath().normalize();
+        final Path archive = root
+            .resolve(bucketArn.substring(bucketArn.lastIndexOf(':') + 1))
+            .resolve(s3Location.getFileKey())
+            .normalize();
+        if (!archive.startsWith(root)) {
+            throw new CfnInvalidRequestException(
+                String.format("Plugin archive key %s points outside %s", s3Location.getFileKey(), root), null);
+        }
+        return Files.isRegularFile(archive) ? Optional.of(archive) : Optional.empty();
+    }
+}
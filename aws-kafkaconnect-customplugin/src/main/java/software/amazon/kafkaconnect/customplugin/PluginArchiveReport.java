@@ -0,0 +1,25 @@
+package software.amazon.kafkaconnect.customplugin;
+
+import java.util.List;
+
+/**
+ * Result of {@link PluginArchiveInspector}. Class names use the binary (dotted) form.
+ */
+@lombok.Value
+@lombok.Builder
+public class PluginArchiveReport {
+    String fileMd5;
+    long fileSize;
+    String detectedContentType;
+    int classCount;
+    List<String> nestedJars;
+    List<String> connectorClasses;
+    List<String> converterClasses;
+    // transformations, predicates and config providers
+    List<String> otherPluginClasses;
+    List<String> problems;
+
+    public boolean isValid() {
+        return problems.isEmpty();
+    }
+}
@@ -0,0 +1,73 @@
+package software.amazon.kafkaconnect.customplugin;
+
+import com.amazonaws.services.lambda.runtime.LambdaRuntime;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.kafkaconnect.common.ClientSettings;
+import software.amazon.kafkaconnect.common.EnvironmentSettings;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Opt-in provider behaviour, read from the function environment once per container. Every setting is off unless its
+ * variable is set, so an unconfigured deployment behaves as before.
+ */
+@lombok.Value
+@lombok.Builder
+public class ProviderSettings {
+    static final String PLUGIN_ARCHIVE_ROOT_VARIABLE = "KAFKACONNECT_PLUGIN_ARCHIVE_ROOT";
+    static final String PLUGIN_REUSE_VARIABLE = "KAFKACONNECT_PLUGIN_REUSE";
+    static final String VARIABLE_PREFIX = "KAFKACONNECT_PLUGIN_";
+    static final ProviderSettings DEFAULTS = ProviderSettings.builder().build();
+
+    /**
+     * Local directory standing in for S3, laid out as {@code <root>/<bucket>/<key>}. Plugin archives found there are
+     * inspected before CreateCustomPlugin. Unset disables the inspection.
+     */
+    Path pluginArchiveRoot;
+
+    /**
+     * What to do when an ACTIVE custom plugin already serves the same archive.
+     */
+    @lombok.Builder.Default
+    PluginReuse pluginReuse = PluginReuse.DISABLED;
+
+    /**
+     * Settings of the kafkaconnect clients, read from the variables prefixed with {@link #VARIABLE_PREFIX}.
+     */
+    @lombok.Builder.Default
+    ClientSettings clientSettings = ClientSettings.DEFAULTS;
+
+    static ProviderSettings fromEnvironment() {
+        return fromEnvironment(System.getenv(), LambdaRuntime.getLogger()::log);
+    }
+
+    /**
+     * A value that can't be read is logged and replaced by the setting's default, so that a mistyped variable turns
+     * the setting off instead of failing every invocation of the container.
+     *
+     * @param environment function environment
+     * @param logger logger of the values ignored
+     * @return the settings
+     */
+    static ProviderSettings fromEnvironment(final Map<String, String> environment, final Logger logger) {
+        final EnvironmentSettings settings = new EnvironmentSettings(environment, logger, ResourceModel.TYPE_NAME);
+        return ProviderSettings.builder()
+            .pluginArchiveRoot(settings.path(PLUGIN_ARCHIVE_ROOT_VARIABLE))
+            .pluginReuse(settings.mode(PLUGIN_REUSE_VARIABLE, PluginReuse.class, PluginReuse.DISABLED))
+            .clientSettings(ClientSettings.fromEnvironment(VARIABLE_PREFIX, settings))
+            .build();
+    }
+
+    public enum PluginReuse {
+        /** Always create a new custom plugin. */
+        DISABLED,
+        /** Log the existing plugin's ARN, then create a new custom plugin anyway. */
+        WARN,
+        /**
+         * Fail the create with AlreadyExists, naming the existing plugin to reference instead. A create whose plugins
+         * couldn't be listed fails too.
+         */
+        FAIL
+    }
+}
@@ -7,18 +7,22 @@ import software.amazon.awssdk.services.kafkaconnect.model.DescribeCustomPluginRe
 import software.amazon.awssdk.services.kafkaconnect.model.DescribeCustomPluginResponse;
 import software.amazon.awssdk.services.kafkaconnect.model.ListTagsForResourceResponse;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.kafkaconnect.common.SingleFlight;
 
 public class ReadHandler extends BaseHandlerStd {
-    private Logger logger;
+    private static final String READ_OPERATION = "DescribeCustomPluginWithTags";
+
     private final ExceptionTranslator exceptionTranslator;
     private final Translator translator;
+    private final SingleFlight<ReadResult> readFlights;
 
     public ReadHandler() {
-        this(new ExceptionTranslator(), new Translator());
+        this(HandlerRegistry.EXCEPTION_TRANSLATOR, HandlerRegistry.TRANSLATOR, HandlerRegistry.READ_FLIGHTS);
     }
 
     /**
@@ -28,8 +32,24 @@ public class ReadHandler extends BaseHandlerStd {
      * @param translator
      */
     ReadHandler(final ExceptionTranslator exceptionTranslator, final Translator translator) {
+        this(exceptionTranslator, translator, new SingleFlight<>());
+    }
+
+    /**
+     * Constructor used for unit testing
+     *
+     * @param exceptionTranslator
+     * @param translator
+     * @param readFlights
+     */
+    ReadHandler(
+        final ExceptionTranslator exceptionTranslator,
+        final Translator translator,
+        final SingleFlight<ReadResult> readFlights) {
+
         this.exceptionTranslator = exceptionTranslator;
         this.translator = translator;
+        this.readFlights = readFlights;
     }
 
     @Override
@@ -40,8 +60,6 @@ public class ReadHandler extends BaseHandlerStd {
         final ProxyClient<KafkaConnectClient> proxyClient,
         final Logger logger) {
 
-        this.logger = logger;
-
         return proxy
             .initiate(
                 "AWS-KafkaConnect-CustomPlugin::Read",
@@ -49,11 +67,48 @@ public class ReadHandler extends BaseHandlerStd {
                 request.getDesiredResourceState(),
                 callbackContext)
             .translateToServiceRequest(translator::translateToReadRequest)
-            .makeServiceCall(this::describeCustomPluginWithTags)
+            .makeServiceCall((describeCustomPluginRequest, client) ->
+                describeCustomPluginWithTags(
+                    describeCustomPluginRequest, client, SingleFlight.caller(request), logger))
             .done(responseModel -> ProgressEvent.defaultSuccessHandler(responseModel));
     }
 
+    /**
+     * Read can't return IN_PROGRESS, so it fails with Throttling, which CloudFormation retries.
+     */
+    @Override
+    protected ProgressEvent<ResourceModel, CallbackContext> handleCircuitOpen(
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        final int retryAfterSeconds) {
+
+        return ProgressEvent.failed(request.getDesiredResourceState(), callbackContext, HandlerErrorCode.Throttling,
+            String.format(CIRCUIT_OPEN_MESSAGE_PATTERN, request.getAwsPartition(), request.getRegion(),
+                retryAfterSeconds));
+    }
+
     private ResourceModel describeCustomPluginWithTags(
+        final DescribeCustomPluginRequest describeCustomPluginRequest,
+        final ProxyClient<KafkaConnectClient> proxyClient,
+        final String caller,
+        final Logger logger) {
+
+        final String identifier = describeCustomPluginRequest.customPluginArn();
+        // concurrent reads of the same custom plugin in this container share one Describe and ListTags, as long as
+        // they are for the same account and stack, and so signed with the same credentials
+        final ReadResult readResult = readFlights.execute(READ_OPERATION, identifier,
+            caller,
+            () -> describeCustomPluginAndTags(describeCustomPluginRequest, proxyClient), logger);
+
+        logger.log(
+            String.format("%s [%s] has successfully been read.", ResourceModel.TYPE_NAME, identifier));
+
+        ResourceModel readResponse = translator.translateFromReadResponse(readResult.getDescribeCustomPluginResponse());
+        readResponse.setTags(TagHelper.convertToList(readResult.getTags()));
+        return readResponse;
+    }
+
+    private ReadResult describeCustomPluginAndTags(
         final DescribeCustomPluginRequest describeCustomPluginRequest,
         final ProxyClient<KafkaConnectClient> proxyClient) {
 
@@ -79,11 +134,15 @@ public class ReadHandler extends BaseHandlerStd {
             throw exceptionTranslator.translateToCfnException(e, identifier);
         }
 
-        logger.log(
-            String.format("%s [%s] has successfully been read.", ResourceModel.TYPE_NAME, identifier));
+        return new ReadResult(describeCustomPluginResponse, customPluginTags);
+    }
 
-        ResourceModel readResponse = translator.translateFromReadResponse(describeCustomPluginResponse);
-        readResponse.setTags(TagHelper.convertToList(customPluginTags));
-        return readResponse;
+    /**
+     * What a read fetched from the service, shared by coalesced reads. Each read translates it into its own model.
+     */
+    @lombok.Value
+    static class ReadResult {
+        DescribeCustomPluginResponse describeCustomPluginResponse;
+        Map<String, String> tags;
     }
 }
@@ -0,0 +1,97 @@
+package software.amazon.kafkaconnect.customplugin;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import software.amazon.cloudformation.proxy.Delay;
+
+/**
+ * Poll schedule for custom plugin create stabilization. The expected CREATING to ACTIVE time is estimated from the
+ * archive size until this container has seen plugins of that size class become ACTIVE. After that it is a moving
+ * average of those observations. The first poll comes after half the expected time, and each later delay is 1.5
+ * times the previous one, between {@link #MIN_DELAY} and {@link #MAX_DELAY}.
+ */
+class StabilizationSchedule {
+    static final Duration TIMEOUT = Duration.ofHours(1L);
+    static final Duration MIN_DELAY = Duration.ofSeconds(2L);
+    static final Duration MAX_DELAY = Duration.ofSeconds(60L);
+    static final Duration UNKNOWN_SIZE_EXPECTED = Duration.ofSeconds(60L);
+
+    private static final Duration BASE_EXPECTED = Duration.ofSeconds(10L);
+    private static final long BYTES_PER_SECOND = 5L << 20;
+    private static final double GROWTH = 1.5;
+    private static final double SMOOTHING = 0.3;
+    private static final int UNKNOWN_SIZE_CLASS = -1;
+
+    private final Map<Integer, Double> observedMillis = new ConcurrentHashMap<>();
+
+    /**
+     * @param fileSize archive size in bytes, or null if not known yet
+     * @return the poll schedule for a plugin of that size
+     */
+    Delay delayFor(final Long fileSize) {
+        return new SizeAwareDelay(expected(fileSize));
+    }
+
+    /**
+     * @param fileSize archive size in bytes, or null if not known
+     * @return the expected CREATING to ACTIVE time
+     */
+    Duration expected(final Long fileSize) {
+        final Double observed = observedMillis.get(sizeClass(fileSize));
+        if (observed != null) {
+            return Duration.ofMillis(Math.round(observed));
+        }
+        return fileSize == null
+            ? UNKNOWN_SIZE_EXPECTED
+            : BASE_EXPECTED.plusSeconds(fileSize / BYTES_PER_SECOND);
+    }
+
+    /**
+     * Records how long a plugin took from CreateCustomPlugin to ACTIVE.
+     *
+     * @param fileSize archive size in bytes, or null if not known
+     * @param elapsed time from CreateCustomPlugin to ACTIVE
+     */
+    void record(final Long fileSize, final Duration elapsed) {
+        if (elapsed.isNegative()) {
+            return;
+        }
+        final double millis = elapsed.toMillis();
+        observedMillis.merge(sizeClass(fileSize), millis,
+            (previous, sample) -> previous + SMOOTHING * (sample - previous));
+    }
+
+    /**
+     * Size classes are powers of two in MiB, so plugins within a factor of two of each other share observations.
+     */
+    private static int sizeClass(final Long fileSize) {
+        return fileSize == null ? UNKNOWN_SIZE_CLASS : 64 - Long.numberOfLeadingZeros(fileSize >> 20);
+    }
+
+    private static final class SizeAwareDelay implements Delay {
+        private final Duration first;
+
+        private SizeAwareDelay(final Duration expected) {
+            this.first = clamp(expected.dividedBy(2));
+        }
+
+        @Override
+        public Duration nextDelay(final int attempt) {
+            Duration accrued = Duration.ZERO;
+            Duration next = first;
+            for (int i = 1; i < attempt; i++) {
+                accrued = accrued.plus(next);
+                next = clamp(Duration.ofMillis(Math.round(next.toMillis() * GROWTH)));
+            }
+            return accrued.plus(next).compareTo(TIMEOUT) > 0 ? Duration.ZERO : next;
+        }
+
+        private static Duration clamp(final Duration delay) {
+            if (delay.compareTo(MIN_DELAY) < 0) {
+                return MIN_DELAY;
+            }
+            return delay.compareTo(MAX_DELAY) > 0 ? MAX_DELAY : delay;
+        }
+    }
+}
@@ -20,14 +20,12 @@ import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
 public class UpdateHandler extends BaseHandlerStd {
 
-    private Logger logger;
-
     private final Translator translator;
     private final ExceptionTranslator exceptionTranslator;
     private final ReadHandler readHandler;
 
     public UpdateHandler() {
-        this(new ExceptionTranslator(), new Translator(), new ReadHandler());
+        this(HandlerRegistry.EXCEPTION_TRANSLATOR, HandlerRegistry.TRANSLATOR, HandlerRegistry.READ_HANDLER);
     }
 
     /**
@@ -52,7 +50,6 @@ public class UpdateHandler extends BaseHandlerStd {
         final CallbackContext callbackContext,
         final ProxyClient<KafkaConnectClient> proxyClient,
         final Logger logger) {
-        this.logger = logger;
 
         final ResourceModel desiredModel = request.getDesiredResourceState();
         final ResourceModel previousModel = request.getPreviousResourceState();
@@ -66,17 +63,19 @@ public class UpdateHandler extends BaseHandlerStd {
                         desiredModel,
                         callbackContext)
                     .translateToServiceRequest(translator::translateToReadRequest)
-                    .makeServiceCall(this::validateResourceExists)
+                    .makeServiceCall((describeCustomPluginRequest, client) ->
+                        validateResourceExists(describeCustomPluginRequest, client, logger))
                     .progress())
-            .then(progress -> verifyNonUpdatableFields(desiredModel, previousModel, progress))
-            .then(progress -> updateTags(proxyClient, progress, request))
+            .then(progress -> verifyNonUpdatableFields(desiredModel, previousModel, progress, logger))
+            .then(progress -> updateTags(proxyClient, progress, request, logger))
             .then(
                 progress -> readHandler.handleRequest(proxy, request, callbackContext, proxyClient, logger));
     }
 
     private DescribeCustomPluginResponse validateResourceExists(
         DescribeCustomPluginRequest describeCustomPluginRequest,
-        ProxyClient<KafkaConnectClient> proxyClient) {
+        ProxyClient<KafkaConnectClient> proxyClient,
+        Logger logger) {
         DescribeCustomPluginResponse describeCustomPluginResponse;
         if (describeCustomPluginRequest.customPluginArn() == null) {
             throw new CfnNotFoundException(ResourceModel.TYPE_NAME, null);
@@ -104,12 +103,14 @@ public class UpdateHandler extends BaseHandlerStd {
      * @param currentModel The current resource model.
      * @param previousModel The previous resource model.
      * @param progress
+     * @param logger
      * @return
      */
     private ProgressEvent<ResourceModel, CallbackContext> verifyNonUpdatableFields(
         ResourceModel currentModel,
         ResourceModel previousModel,
-        ProgressEvent<ResourceModel, CallbackContext> progress) {
+        ProgressEvent<ResourceModel, CallbackContext> progress,
+        Logger logger) {
         if (previousModel != null) {
             // Check READ ONLY fields.
             final boolean isCustomPluginArnEqual =
@@ -159,12 +160,14 @@ public class UpdateHandler extends BaseHandlerStd {
      * @param proxyClient KafkaConnectClient to be used for updating tags
      * @param progress
      * @param request
+     * @param logger
      * @return
      */
     private ProgressEvent<ResourceModel, CallbackContext> updateTags(
         final ProxyClient<KafkaConnectClient> proxyClient,
         final ProgressEvent<ResourceModel, CallbackContext> progress,
-        ResourceHandlerRequest<ResourceModel> request) {
+        ResourceHandlerRequest<ResourceModel> request,
+        final Logger logger) {
         final ResourceModel desiredModel = request.getDesiredResourceState();
         final String identifier = desiredModel.getCustomPluginArn();
 
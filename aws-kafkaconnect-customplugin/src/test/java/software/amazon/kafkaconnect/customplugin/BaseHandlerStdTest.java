@@ -0,0 +1,114 @@
+package software.amazon.kafkaconnect.customplugin;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.kafkaconnect.KafkaConnectClient;
+import software.amazon.awssdk.services.kafkaconnect.model.TooManyRequestsException;
+import software.amazon.cloudformation.exceptions.CfnThrottlingException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BaseHandlerStdTest extends AbstractTestBase {
+
+    private AmazonWebServicesClientProxy proxy;
+
+    private StubHandler stubHandler;
+
+    @BeforeEach
+    public void setup() {
+        proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS,
+            () -> Duration.ofSeconds(600).toMillis());
+        stubHandler = new StubHandler();
+    }
+
+    @Test
+    public void handleCircuitOpen_inProgressUpToTheCap_thenFailsWithThrottling() {
+        final CallbackContext callbackContext = new CallbackContext();
+        for (int callback = 0; callback < BaseHandlerStd.MAX_CIRCUIT_OPEN_CALLBACKS; callback++) {
+            final ProgressEvent<ResourceModel, CallbackContext> response = stubHandler.handleCircuitOpen(
+                TestData.RESOURCE_HANDLER_REQUEST, callbackContext, TestData.RETRY_AFTER_SECONDS);
+
+            assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+            assertThat(response.getCallbackDelaySeconds()).isEqualTo(TestData.RETRY_AFTER_SECONDS);
+        }
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = stubHandler.handleCircuitOpen(
+            TestData.RESOURCE_HANDLER_REQUEST, callbackContext, TestData.RETRY_AFTER_SECONDS);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.Throttling);
+        assertThat(response.getMessage())
+            .isEqualTo("The kafkaconnect API in aws/us-east-1 is failing; retry in 30 seconds.");
+    }
+
+    @Test
+    public void handleRequest_admitted_resetsCircuitOpenCallbacks() {
+        final CallbackContext callbackContext = new CallbackContext();
+        callbackContext.setCircuitOpenCallbacks(BaseHandlerStd.MAX_CIRCUIT_OPEN_CALLBACKS);
+
+        stubHandler.handleRequest(proxy, TestData.RESOURCE_HANDLER_REQUEST, callbackContext, logger);
+
+        assertThat(callbackContext.getCircuitOpenCallbacks()).isZero();
+    }
+
+    @Test
+    public void handleRequest_translatedFailure_logsTranslatedCounts() {
+        final List<String> messages = new ArrayList<>();
+
+        assertThrows(CfnThrottlingException.class, () -> new FailingHandler().handleRequest(
+            proxy, TestData.RESOURCE_HANDLER_REQUEST, new CallbackContext(), messages::add));
+
+        assertThat(messages).anySatisfy(message -> assertThat(message)
+            .startsWith("Failed with Throttling; kafkaconnect errors translated in this container so far: {")
+            .contains("Throttling="));
+    }
+
+    private class StubHandler extends BaseHandlerStd {
+        @Override
+        protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final ProxyClient<KafkaConnectClient> proxyClient,
+            final Logger logger) {
+
+            return ProgressEvent.progress(request.getDesiredResourceState(), callbackContext);
+        }
+    }
+
+    private static class FailingHandler extends BaseHandlerStd {
+        @Override
+        protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final ProxyClient<KafkaConnectClient> proxyClient,
+            final Logger logger) {
+
+            throw HandlerRegistry.EXCEPTION_TRANSLATOR.translateToCfnException(
+                TooManyRequestsException.builder().build(), "unit-test");
+        }
+    }
+
+    private static class TestData {
+        private static final int RETRY_AFTER_SECONDS = 30;
+        private static final ResourceHandlerRequest<ResourceModel> RESOURCE_HANDLER_REQUEST =
+            ResourceHandlerRequest.<ResourceModel>builder()
+                .awsPartition("aws")
+                .region("us-east-1")
+                .desiredResourceState(ResourceModel.builder().build())
+                .build();
+    }
+}
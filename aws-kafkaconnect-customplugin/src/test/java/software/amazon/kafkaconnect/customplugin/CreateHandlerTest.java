@@ -10,6 +10,8 @@ import static org.mockito.Mockito.when;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -27,17 +29,27 @@ import software.amazon.awssdk.services.kafkaconnect.model.CustomPluginLocation;
 import software.amazon.awssdk.services.kafkaconnect.model.CustomPluginLocationDescription;
 import software.amazon.awssdk.services.kafkaconnect.model.CustomPluginRevisionSummary;
 import software.amazon.awssdk.services.kafkaconnect.model.CustomPluginState;
+import software.amazon.awssdk.services.kafkaconnect.model.CustomPluginSummary;
 import software.amazon.awssdk.services.kafkaconnect.model.DescribeCustomPluginRequest;
 import software.amazon.awssdk.services.kafkaconnect.model.DescribeCustomPluginResponse;
+import software.amazon.awssdk.services.kafkaconnect.model.ForbiddenException;
+import software.amazon.awssdk.services.kafkaconnect.model.InternalServerErrorException;
+import software.amazon.awssdk.services.kafkaconnect.model.ListCustomPluginsRequest;
+import software.amazon.awssdk.services.kafkaconnect.model.ListCustomPluginsResponse;
 import software.amazon.awssdk.services.kafkaconnect.model.ListTagsForResourceRequest;
 import software.amazon.awssdk.services.kafkaconnect.model.ListTagsForResourceResponse;
 import software.amazon.awssdk.services.kafkaconnect.model.S3Location;
 import software.amazon.awssdk.services.kafkaconnect.model.S3LocationDescription;
 import software.amazon.awssdk.services.kafkaconnect.model.StateDescription;
+import software.amazon.awssdk.services.kafkaconnect.model.TooManyRequestsException;
+import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
 import software.amazon.cloudformation.exceptions.CfnAlreadyExistsException;
 import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
 import software.amazon.cloudformation.exceptions.CfnResourceConflictException;
+import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
+import software.amazon.cloudformation.exceptions.CfnThrottlingException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
@@ -137,6 +149,145 @@ public class CreateHandlerTest extends AbstractTestBase {
         assertThat(exception).isEqualTo(cfnException);
     }
 
+    @Test
+    public void handleRequest_adoptsCustomPlugin_whenCreateConflictsWithEarlierAttempt() {
+        final ResourceModel resourceModel = TestData.getResourceModel();
+        when(translator.translateToCreateRequest(resourceModel, TestData.STACK_TAGS))
+            .thenReturn(TestData.STACK_CREATE_CUSTOM_PLUGIN_REQUEST);
+        when(proxyClient.injectCredentialsAndInvokeV2(
+            TestData.STACK_CREATE_CUSTOM_PLUGIN_REQUEST, kafkaConnectClient::createCustomPlugin))
+                .thenThrow(ConflictException.builder().build());
+        when(proxyClient.injectCredentialsAndInvokeV2(
+            TestData.LIST_CUSTOM_PLUGINS_REQUEST, kafkaConnectClient::listCustomPlugins))
+                .thenReturn(TestData.listCustomPluginsResponse(TestData.CUSTOM_PLUGIN_DESCRIPTION));
+        setupMocksToAdoptAndRead();
+
+        final CallbackContext callbackContext = new CallbackContext();
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(
+                proxy, TestData.getStackResourceHandlerRequest(resourceModel), callbackContext, proxyClient, logger);
+
+        assertThat(response).isEqualTo(TestData.DESCRIBE_RESPONSE);
+        assertThat(callbackContext.getCustomPluginArn()).isEqualTo(TestData.CUSTOM_PLUGIN_ARN);
+        assertThat(callbackContext.getCreateStartedAt()).isNull();
+    }
+
+    @Test
+    public void handleRequest_adoptsCustomPlugin_whenRetriedAfterCreateResponseWasLost() {
+        final ResourceModel resourceModel = TestData.getResourceModel();
+        final ResourceHandlerRequest<ResourceModel> request = TestData.getStackResourceHandlerRequest(resourceModel);
+        final InternalServerErrorException lostResponse =
+            InternalServerErrorException.builder().statusCode(500).build();
+        final CfnServiceInternalErrorException cfnException =
+            new CfnServiceInternalErrorException(TestData.CUSTOM_PLUGIN_NAME, lostResponse);
+        when(translator.translateToCreateRequest(resourceModel, TestData.STACK_TAGS))
+            .thenReturn(TestData.STACK_CREATE_CUSTOM_PLUGIN_REQUEST);
+        // the first attempt's create goes through, but its response is lost; the retry finds the name taken
+        when(proxyClient.injectCredentialsAndInvokeV2(
+            TestData.STACK_CREATE_CUSTOM_PLUGIN_REQUEST, kafkaConnectClient::createCustomPlugin))
+                .thenThrow(lostResponse)
+                .thenThrow(ConflictException.builder().build());
+        when(exceptionTranslator.translateToCfnException(lostResponse, TestData.CUSTOM_PLUGIN_NAME))
+            .thenReturn(cfnException);
+        when(proxyClient.injectCredentialsAndInvokeV2(
+            TestData.LIST_CUSTOM_PLUGINS_REQUEST, kafkaConnectClient::listCustomPlugins))
+                .thenReturn(TestData.listCustomPluginsResponse(TestData.CUSTOM_PLUGIN_DESCRIPTION));
+        setupMocksToAdoptAndRead();
+
+        assertThrows(
+            CfnServiceInternalErrorException.class,
+            () -> handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger));
+        // a failed invocation returns no callback context, so the retry starts from a new one
+        final CallbackContext retryContext = new CallbackContext();
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, retryContext, proxyClient, logger);
+
+        assertThat(response).isEqualTo(TestData.DESCRIBE_RESPONSE);
+        assertThat(retryContext.getCustomPluginArn()).isEqualTo(TestData.CUSTOM_PLUGIN_ARN);
+    }
+
+    @Test
+    public void handleRequest_throwsAlreadyExistsException_whenConflictingCustomPluginHasOtherDescription() {
+        final ResourceModel resourceModel = TestData.getResourceModel();
+        final ConflictException cException = ConflictException.builder().build();
+        final CfnAlreadyExistsException cfnException = new CfnAlreadyExistsException(cException);
+        when(translator.translateToCreateRequest(resourceModel, TestData.STACK_TAGS))
+            .thenReturn(TestData.STACK_CREATE_CUSTOM_PLUGIN_REQUEST);
+        when(proxyClient.injectCredentialsAndInvokeV2(
+            TestData.STACK_CREATE_CUSTOM_PLUGIN_REQUEST, kafkaConnectClient::createCustomPlugin))
+                .thenThrow(cException);
+        when(proxyClient.injectCredentialsAndInvokeV2(
+            TestData.LIST_CUSTOM_PLUGINS_REQUEST, kafkaConnectClient::listCustomPlugins))
+                .thenReturn(TestData.listCustomPluginsResponse("other description"));
+        when(proxyClient.injectCredentialsAndInvokeV2(
+            TestData.LIST_TAGS_FOR_RESOURCE_REQUEST, kafkaConnectClient::listTagsForResource))
+                .thenReturn(TestData.STACK_LIST_TAGS_FOR_RESOURCE_RESPONSE);
+        when(exceptionTranslator.translateToCfnException(cException, TestData.CUSTOM_PLUGIN_NAME))
+            .thenReturn(cfnException);
+
+        final CfnAlreadyExistsException exception =
+            assertThrows(
+                CfnAlreadyExistsException.class,
+                () -> handler.handleRequest(
+                    proxy,
+                    TestData.getStackResourceHandlerRequest(resourceModel),
+                    new CallbackContext(),
+                    proxyClient,
+                    logger));
+
+        assertThat(exception).isEqualTo(cfnException);
+    }
+
+    @Test
+    public void handleRequest_throwsAccessDeniedException_whenCustomPluginsCannotBeListed() {
+        final ResourceModel resourceModel = TestData.getResourceModel();
+        when(translator.translateToCreateRequest(resourceModel, TestData.STACK_TAGS))
+            .thenReturn(TestData.STACK_CREATE_CUSTOM_PLUGIN_REQUEST);
+        when(proxyClient.injectCredentialsAndInvokeV2(
+            TestData.STACK_CREATE_CUSTOM_PLUGIN_REQUEST, kafkaConnectClient::createCustomPlugin))
+                .thenThrow(ConflictException.builder().build());
+        when(proxyClient.injectCredentialsAndInvokeV2(
+            TestData.LIST_CUSTOM_PLUGINS_REQUEST, kafkaConnectClient::listCustomPlugins))
+                .thenThrow(ForbiddenException.builder().statusCode(403).build());
+
+        assertThrows(
+            CfnAccessDeniedException.class,
+            () -> handler.handleRequest(
+                proxy,
+                TestData.getStackResourceHandlerRequest(resourceModel),
+                new CallbackContext(),
+                proxyClient,
+                logger));
+    }
+
+    @Test
+    public void handleRequest_resumesStabilization_whenCallbackContextHasCustomPluginArn() {
+        final CallbackContext callbackContext = new CallbackContext();
+        callbackContext.setCustomPluginArn(TestData.CUSTOM_PLUGIN_ARN);
+        when(translator.translateToReadRequest(TestData.RESOURCE_MODEL_WITH_ARN))
+            .thenReturn(TestData.DESCRIBE_CUSTOM_PLUGIN_REQUEST);
+        final DescribeCustomPluginResponse describeCustomPluginResponse =
+            TestData.describeResponseWithState(CustomPluginState.ACTIVE);
+        when(proxyClient.injectCredentialsAndInvokeV2(
+            TestData.DESCRIBE_CUSTOM_PLUGIN_REQUEST, kafkaConnectClient::describeCustomPlugin))
+                .thenReturn(describeCustomPluginResponse);
+        when(translator.translateFromReadResponse(describeCustomPluginResponse))
+            .thenReturn(TestData.RESOURCE_MODEL_WITH_ARN);
+        when(proxyClient.injectCredentialsAndInvokeV2(
+            TestData.LIST_TAGS_FOR_RESOURCE_REQUEST, kafkaConnectClient::listTagsForResource))
+                .thenReturn(TestData.LIST_TAGS_FOR_RESOURCE_RESPONSE);
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(
+                proxy,
+                TestData.getResourceHandlerRequest(TestData.getResourceModel()),
+                callbackContext,
+                proxyClient,
+                logger);
+
+        assertThat(response).isEqualTo(TestData.DESCRIBE_RESPONSE);
+    }
+
     public void handleRequest_afterNDescribeCustomPlugins_success() {
         final ResourceModel resourceModel = TestData.getResourceModel();
         when(translator.translateToCreateRequest(resourceModel, TagHelper.convertToMap(resourceModel.getTags())))
@@ -184,6 +335,7 @@ public class CreateHandlerTest extends AbstractTestBase {
         when(proxyClient.injectCredentialsAndInvokeV2(
             TestData.DESCRIBE_CUSTOM_PLUGIN_REQUEST, kafkaConnectClient::describeCustomPlugin))
                 .thenThrow(cException);
+        translateDescribeFailures(exceptionTranslator);
 
         runHandlerAndAssertExceptionThrownWithMessage(
             CfnGeneralServiceException.class,
@@ -193,6 +345,34 @@ public class CreateHandlerTest extends AbstractTestBase {
                 + "'.");
     }
 
+    @Test
+    public void handleRequest_throwsCfnThrottlingException_whenStabilizationDescribeIsThrottled() {
+        when(translator.translateToCreateRequest(TestData.getResourceModel(),
+            TagHelper.convertToMap(TestData.getResourceModel().getTags())))
+                .thenReturn(TestData.CREATE_CUSTOM_PLUGIN_REQUEST);
+        when(proxyClient.injectCredentialsAndInvokeV2(
+            TestData.CREATE_CUSTOM_PLUGIN_REQUEST, kafkaConnectClient::createCustomPlugin))
+                .thenReturn(TestData.CREATE_CUSTOM_PLUGIN_RESPONSE);
+        when(translator.translateToReadRequest(TestData.RESOURCE_MODEL_WITH_ARN))
+            .thenReturn(TestData.DESCRIBE_CUSTOM_PLUGIN_REQUEST);
+        when(proxyClient.injectCredentialsAndInvokeV2(
+            TestData.DESCRIBE_CUSTOM_PLUGIN_REQUEST, kafkaConnectClient::describeCustomPlugin))
+                .thenThrow(TooManyRequestsException.builder().message(TestData.EXCEPTION_MESSAGE).build());
+        translateDescribeFailures(exceptionTranslator);
+
+        final CfnThrottlingException exception =
+            assertThrows(
+                CfnThrottlingException.class,
+                () -> handler.handleRequest(
+                    proxy,
+                    TestData.getResourceHandlerRequest(TestData.getResourceModel()),
+                    new CallbackContext(),
+                    proxyClient,
+                    logger));
+
+        assertThat(exception.getErrorCode()).isEqualTo(HandlerErrorCode.Throttling);
+    }
+
     @Test
     public void handleRequest_throwsGeneralServiceException_whenCustomPluginsStateFails() {
         setupMocksToReturnCustomPluginState(CustomPluginState.CREATE_FAILED);
@@ -238,6 +418,23 @@ public class CreateHandlerTest extends AbstractTestBase {
                 .thenReturn(TestData.describeResponseWithState(customPluginState));
     }
 
+    private void setupMocksToAdoptAndRead() {
+        // the first listing is the recovery's, which needs the stack tags, the second the read's
+        when(proxyClient.injectCredentialsAndInvokeV2(
+            TestData.LIST_TAGS_FOR_RESOURCE_REQUEST, kafkaConnectClient::listTagsForResource))
+                .thenReturn(TestData.STACK_LIST_TAGS_FOR_RESOURCE_RESPONSE)
+                .thenReturn(TestData.LIST_TAGS_FOR_RESOURCE_RESPONSE);
+        when(translator.translateToReadRequest(TestData.RESOURCE_MODEL_WITH_ARN))
+            .thenReturn(TestData.DESCRIBE_CUSTOM_PLUGIN_REQUEST);
+        final DescribeCustomPluginResponse describeCustomPluginResponse =
+            TestData.describeResponseWithState(CustomPluginState.ACTIVE);
+        when(proxyClient.injectCredentialsAndInvokeV2(
+            TestData.DESCRIBE_CUSTOM_PLUGIN_REQUEST, kafkaConnectClient::describeCustomPlugin))
+                .thenReturn(describeCustomPluginResponse);
+        when(translator.translateFromReadResponse(describeCustomPluginResponse))
+            .thenReturn(TestData.RESOURCE_MODEL_WITH_ARN);
+    }
+
     private void runHandlerAndAssertExceptionThrownWithMessage(
         final Class<? extends Exception> expectedExceptionClass, final String expectedMessage) {
 
@@ -330,6 +527,24 @@ public class CreateHandlerTest extends AbstractTestBase {
                 .name(CUSTOM_PLUGIN_NAME)
                 .build();
 
+        private static final Map<String, String> SYSTEM_TAGS = new HashMap<String, String>() {
+            {
+                put(CustomPluginReuse.STACK_ID_TAG, "arn:aws:cloudformation:us-east-1:1111111111:stack/"
+                    + "unit-test-stack/8a2b0f70-1111-2222-3333-444455556666");
+                put(CustomPluginReuse.LOGICAL_ID_TAG, "UnitTestCustomPlugin");
+            }
+        };
+
+        private static final Map<String, String> STACK_TAGS = new HashMap<String, String>() {
+            {
+                putAll(SYSTEM_TAGS);
+                putAll(TAGS);
+            }
+        };
+
+        private static final CreateCustomPluginRequest STACK_CREATE_CUSTOM_PLUGIN_REQUEST =
+            CREATE_CUSTOM_PLUGIN_REQUEST.toBuilder().tags(STACK_TAGS).build();
+
         private static final CreateCustomPluginResponse CREATE_CUSTOM_PLUGIN_RESPONSE =
             CreateCustomPluginResponse.builder()
                 .customPluginArn(CUSTOM_PLUGIN_ARN)
@@ -372,6 +587,16 @@ public class CreateHandlerTest extends AbstractTestBase {
                 .build();
         }
 
+        private static ResourceHandlerRequest<ResourceModel> getStackResourceHandlerRequest(
+            final ResourceModel resourceModel) {
+
+            return ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(resourceModel)
+                .desiredResourceTags(TAGS)
+                .systemTags(SYSTEM_TAGS)
+                .build();
+        }
+
         private static ResourceModel getResourceModel() {
             return ResourceModel.builder()
                 .name(CUSTOM_PLUGIN_NAME)
@@ -379,10 +604,41 @@ public class CreateHandlerTest extends AbstractTestBase {
                 .build();
         }
 
+        private static final ListCustomPluginsRequest LIST_CUSTOM_PLUGINS_REQUEST =
+            ListCustomPluginsRequest.builder().namePrefix(CUSTOM_PLUGIN_NAME).build();
+
+        private static ListCustomPluginsResponse listCustomPluginsResponse(final String description) {
+            return ListCustomPluginsResponse.builder()
+                .customPlugins(
+                    CustomPluginSummary.builder()
+                        .name(CUSTOM_PLUGIN_NAME)
+                        .customPluginArn(CUSTOM_PLUGIN_ARN)
+                        .customPluginState(CustomPluginState.CREATING)
+                        .description(description)
+                        .latestRevision(
+                            CustomPluginRevisionSummary.builder()
+                                .contentType(CUSTOM_PLUGIN_PROPERTIES_FILE_CONTENT)
+                                .location(
+                                    CustomPluginLocationDescription.builder()
+                                        .s3Location(
+                                            S3LocationDescription.builder()
+                                                .bucketArn(CUSTOM_PLUGIN_LOCATION_BUCKET_ARN)
+                                                .fileKey(CUSTOM_PLUGIN_LOCATION_FILE_KEY)
+                                                .objectVersion(CUSTOM_PLUGIN_LOCATION_OBJECT_VERSION)
+                                                .build())
+                                        .build())
+                                .build())
+                        .build())
+                .build();
+        }
+
         private static final ListTagsForResourceRequest LIST_TAGS_FOR_RESOURCE_REQUEST =
             ListTagsForResourceRequest.builder().resourceArn(CUSTOM_PLUGIN_ARN).build();
 
         private static final ListTagsForResourceResponse LIST_TAGS_FOR_RESOURCE_RESPONSE =
             ListTagsForResourceResponse.builder().tags(TAGS).build();
+
+        private static final ListTagsForResourceResponse STACK_LIST_TAGS_FOR_RESOURCE_RESPONSE =
+            ListTagsForResourceResponse.builder().tags(STACK_TAGS).build();
     }
 }
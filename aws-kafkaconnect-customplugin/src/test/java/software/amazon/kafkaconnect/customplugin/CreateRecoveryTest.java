@@ -0,0 +1,210 @@
+package software.amazon.kafkaconnect.customplugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.services.kafkaconnect.KafkaConnectClient;
+import software.amazon.awssdk.services.kafkaconnect.model.CreateCustomPluginRequest;
+import software.amazon.awssdk.services.kafkaconnect.model.CustomPluginLocation;
+import software.amazon.awssdk.services.kafkaconnect.model.CustomPluginLocationDescription;
+import software.amazon.awssdk.services.kafkaconnect.model.CustomPluginRevisionSummary;
+import software.amazon.awssdk.services.kafkaconnect.model.CustomPluginState;
+import software.amazon.awssdk.services.kafkaconnect.model.CustomPluginSummary;
+import software.amazon.awssdk.services.kafkaconnect.model.InternalServerErrorException;
+import software.amazon.awssdk.services.kafkaconnect.model.ListCustomPluginsRequest;
+import software.amazon.awssdk.services.kafkaconnect.model.ListCustomPluginsResponse;
+import software.amazon.awssdk.services.kafkaconnect.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.kafkaconnect.model.ListTagsForResourceResponse;
+import software.amazon.awssdk.services.kafkaconnect.model.S3Location;
+import software.amazon.awssdk.services.kafkaconnect.model.S3LocationDescription;
+import software.amazon.awssdk.services.kafkaconnect.model.UnauthorizedException;
+import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+@ExtendWith(MockitoExtension.class)
+public class CreateRecoveryTest extends AbstractTestBase {
+    private static final String NAME = "unit-test-custom-plugin";
+    private static final String ARN = "arn:aws:kafkaconnect:us-east-1:1111111111:custom-plugin/unit-test-custom-plugin";
+    private static final String BUCKET_ARN = "arn:aws:s3:::unit-test-bucket";
+    private static final String FILE_KEY = "plugins/unit-test-plugin.zip";
+    private static final String OBJECT_VERSION = "3";
+    private static final String DESCRIPTION = "Unit testing custom plugin description";
+    private static final String STACK_ID =
+        "arn:aws:cloudformation:us-east-1:1111111111:stack/unit-test-stack/8a2b0f70-1111-2222-3333-444455556666";
+    private static final Map<String, String> STACK_TAGS = new HashMap<String, String>() {
+        {
+            putAll(TAGS);
+            put(CustomPluginReuse.STACK_ID_TAG, STACK_ID);
+            put(CustomPluginReuse.LOGICAL_ID_TAG, "UnitTestCustomPlugin");
+        }
+    };
+
+    @Mock
+    private KafkaConnectClient kafkaConnectClient;
+
+    private ProxyClient<KafkaConnectClient> proxyClient;
+
+    private final CreateRecovery createRecovery = new CreateRecovery();
+
+    @BeforeEach
+    public void setup() {
+        final AmazonWebServicesClientProxy proxy =
+            new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+        proxyClient = proxyStub(proxy, kafkaConnectClient);
+    }
+
+    @Test
+    public void findCreated_matchingPluginOnLaterPage_returnsItsArn() {
+        when(kafkaConnectClient.listCustomPlugins(any(ListCustomPluginsRequest.class)))
+            .thenReturn(ListCustomPluginsResponse.builder()
+                .customPlugins(plugin().name(NAME + "-2").customPluginArn(ARN + "-2").build())
+                .nextToken("page-2")
+                .build())
+            .thenReturn(ListCustomPluginsResponse.builder().customPlugins(plugin().build()).build());
+        taggedWith(STACK_TAGS);
+
+        assertThat(createRecovery.findCreated(proxyClient, request(OBJECT_VERSION), logger)).contains(ARN);
+    }
+
+    @Test
+    public void findCreated_requestWithoutObjectVersion_matchesAnyVersion() {
+        listed(plugin().build());
+        taggedWith(STACK_TAGS);
+
+        assertThat(createRecovery.findCreated(proxyClient, request(null), logger)).contains(ARN);
+    }
+
+    @Test
+    public void findCreated_noPluginOfThatName_returnsEmpty() {
+        when(kafkaConnectClient.listCustomPlugins(any(ListCustomPluginsRequest.class)))
+            .thenReturn(ListCustomPluginsResponse.builder().build());
+
+        assertThat(createRecovery.findCreated(proxyClient, request(OBJECT_VERSION), logger)).isEmpty();
+    }
+
+    @Test
+    public void findCreated_pluginDiffersFromRequest_returnsEmpty() {
+        final List<CustomPluginSummary> differing = Arrays.asList(
+            plugin().customPluginState(CustomPluginState.CREATE_FAILED).build(),
+            plugin().description("other description").build(),
+            plugin().latestRevision(revision("JAR", BUCKET_ARN, FILE_KEY, OBJECT_VERSION)).build(),
+            plugin().latestRevision(revision("ZIP", BUCKET_ARN + "-2", FILE_KEY, OBJECT_VERSION)).build(),
+            plugin().latestRevision(revision("ZIP", BUCKET_ARN, FILE_KEY + "-2", OBJECT_VERSION)).build(),
+            plugin().latestRevision(revision("ZIP", BUCKET_ARN, FILE_KEY, "4")).build(),
+            plugin().latestRevision(CustomPluginRevisionSummary.builder().contentType("ZIP").build()).build(),
+            plugin().latestRevision((CustomPluginRevisionSummary) null).build());
+        taggedWith(STACK_TAGS);
+
+        for (final CustomPluginSummary plugin : differing) {
+            listed(plugin);
+            assertThat(createRecovery.findCreated(proxyClient, request(OBJECT_VERSION), logger)).isEmpty();
+        }
+    }
+
+    @Test
+    public void findCreated_pluginOfAnotherStack_returnsEmpty() {
+        final Map<String, String> otherStackTags = new HashMap<>(STACK_TAGS);
+        otherStackTags.put(CustomPluginReuse.STACK_ID_TAG, STACK_ID + "-2");
+        listed(plugin().build());
+        taggedWith(otherStackTags);
+
+        assertThat(createRecovery.findCreated(proxyClient, request(OBJECT_VERSION), logger)).isEmpty();
+    }
+
+    @Test
+    public void findCreated_requestOutsideStack_returnsEmptyWithoutLookup() {
+        final CreateCustomPluginRequest request = request(OBJECT_VERSION).toBuilder().tags(TAGS).build();
+
+        assertThat(createRecovery.findCreated(proxyClient, request, logger)).isEmpty();
+        verifyNoInteractions(kafkaConnectClient);
+    }
+
+    @Test
+    public void findCreated_listDenied_throwsAccessDenied() {
+        when(kafkaConnectClient.listCustomPlugins(any(ListCustomPluginsRequest.class)))
+            .thenThrow(UnauthorizedException.builder().build())
+            .thenThrow(AwsServiceException.builder().statusCode(403).build());
+
+        assertThrows(CfnAccessDeniedException.class,
+            () -> createRecovery.findCreated(proxyClient, request(OBJECT_VERSION), logger));
+        assertThrows(CfnAccessDeniedException.class,
+            () -> createRecovery.findCreated(proxyClient, request(OBJECT_VERSION), logger));
+    }
+
+    @Test
+    public void findCreated_listFails_returnsEmpty() {
+        when(kafkaConnectClient.listCustomPlugins(any(ListCustomPluginsRequest.class)))
+            .thenThrow(InternalServerErrorException.builder().statusCode(500).build());
+
+        assertThat(createRecovery.findCreated(proxyClient, request(OBJECT_VERSION), logger)).isEmpty();
+    }
+
+    private void listed(final CustomPluginSummary plugin) {
+        when(kafkaConnectClient.listCustomPlugins(any(ListCustomPluginsRequest.class)))
+            .thenReturn(ListCustomPluginsResponse.builder().customPlugins(plugin).build());
+    }
+
+    private void taggedWith(final Map<String, String> tags) {
+        when(kafkaConnectClient.listTagsForResource(any(ListTagsForResourceRequest.class)))
+            .thenReturn(ListTagsForResourceResponse.builder().tags(tags).build());
+    }
+
+    private static CreateCustomPluginRequest request(final String objectVersion) {
+        return CreateCustomPluginRequest.builder()
+            .name(NAME)
+            .contentType("ZIP")
+            .description(DESCRIPTION)
+            .location(CustomPluginLocation.builder()
+                .s3Location(S3Location.builder()
+                    .bucketArn(BUCKET_ARN)
+                    .fileKey(FILE_KEY)
+                    .objectVersion(objectVersion)
+                    .build())
+                .build())
+            .tags(STACK_TAGS)
+            .build();
+    }
+
+    private static CustomPluginSummary.Builder plugin() {
+        return CustomPluginSummary.builder()
+            .name(NAME)
+            .customPluginArn(ARN)
+            .customPluginState(CustomPluginState.CREATING)
+            .description(DESCRIPTION)
+            .latestRevision(revision("ZIP", BUCKET_ARN, FILE_KEY, OBJECT_VERSION));
+    }
+
+    private static CustomPluginRevisionSummary revision(
+        final String contentType,
+        final String bucketArn,
+        final String fileKey,
+        final String objectVersion) {
+
+        return CustomPluginRevisionSummary.builder()
+            .contentType(contentType)
+            .location(CustomPluginLocationDescription.builder()
+                .s3Location(S3LocationDescription.builder()
+                    .bucketArn(bucketArn)
+                    .fileKey(fileKey)
+                    .objectVersion(objectVersion)
+                    .build())
+                .build())
+            .build();
+    }
+}
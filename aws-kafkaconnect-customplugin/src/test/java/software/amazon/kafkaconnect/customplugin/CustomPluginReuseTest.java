@@ -0,0 +1,318 @@
+package software.amazon.kafkaconnect.customplugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.kafkaconnect.KafkaConnectClient;
+import software.amazon.awssdk.services.kafkaconnect.model.CustomPluginContentType;
+import software.amazon.awssdk.services.kafkaconnect.model.CustomPluginLocationDescription;
+import software.amazon.awssdk.services.kafkaconnect.model.CustomPluginRevisionSummary;
+import software.amazon.awssdk.services.kafkaconnect.model.CustomPluginState;
+import software.amazon.awssdk.services.kafkaconnect.model.CustomPluginSummary;
+import software.amazon.awssdk.services.kafkaconnect.model.DescribeCustomPluginRequest;
+import software.amazon.awssdk.services.kafkaconnect.model.DescribeCustomPluginResponse;
+import software.amazon.awssdk.services.kafkaconnect.model.ForbiddenException;
+import software.amazon.awssdk.services.kafkaconnect.model.InternalServerErrorException;
+import software.amazon.awssdk.services.kafkaconnect.model.ListCustomPluginsRequest;
+import software.amazon.awssdk.services.kafkaconnect.model.ListCustomPluginsResponse;
+import software.amazon.awssdk.services.kafkaconnect.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.kafkaconnect.model.ListTagsForResourceResponse;
+import software.amazon.awssdk.services.kafkaconnect.model.NotFoundException;
+import software.amazon.awssdk.services.kafkaconnect.model.S3LocationDescription;
+import software.amazon.cloudformation.exceptions.CfnAlreadyExistsException;
+import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
+import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+@ExtendWith(MockitoExtension.class)
+public class CustomPluginReuseTest extends AbstractTestBase {
+    private static final String BUCKET_ARN = "arn:aws:s3:::unit-test-bucket";
+    private static final String FILE_KEY = "plugins/unit-test-plugin.zip";
+    private static final String OBJECT_VERSION = "3";
+    private static final String FILE_MD5 = "0cde325bb296610ea55918a9c03e7648";
+    private static final String EXISTING_ARN =
+        "arn:aws:kafkaconnect:us-east-1:1111111111:custom-plugin/existing-plugin";
+    private static final String STACK_ID =
+        "arn:aws:cloudformation:us-east-1:1111111111:stack/unit-test-stack/8a2b0f70-1111-2222-3333-444455556666";
+
+    @Mock
+    private KafkaConnectClient kafkaConnectClient;
+
+    private ProxyClient<KafkaConnectClient> proxyClient;
+
+    private final AtomicLong currentTimeMillis = new AtomicLong();
+
+    @BeforeEach
+    public void setup() {
+        final AmazonWebServicesClientProxy proxy =
+            new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+        proxyClient = proxyStub(proxy, kafkaConnectClient);
+    }
+
+    @Test
+    public void check_disabled_doesNotList() {
+        reuse(ProviderSettings.PluginReuse.DISABLED).check(proxyClient, request(OBJECT_VERSION), null, logger);
+
+        verifyNoInteractions(kafkaConnectClient);
+    }
+
+    @Test
+    public void check_failMode_versionMatch_throwsAlreadyExists() {
+        when(kafkaConnectClient.listCustomPlugins(any(ListCustomPluginsRequest.class)))
+            .thenReturn(page(null, plugin(EXISTING_ARN, CustomPluginState.ACTIVE, OBJECT_VERSION, FILE_MD5)));
+        describedAs(CustomPluginState.ACTIVE);
+
+        final CfnAlreadyExistsException exception = assertThrows(CfnAlreadyExistsException.class,
+            () -> reuse(ProviderSettings.PluginReuse.FAIL).check(proxyClient, request(OBJECT_VERSION), null, logger));
+
+        assertThat(exception.getMessage()).contains(EXISTING_ARN);
+    }
+
+    @Test
+    public void check_warnMode_listsOncePerTtl() {
+        when(kafkaConnectClient.listCustomPlugins(any(ListCustomPluginsRequest.class)))
+            .thenReturn(page(null, plugin(EXISTING_ARN, CustomPluginState.ACTIVE, OBJECT_VERSION, FILE_MD5)));
+        final CustomPluginReuse reuse = reuse(ProviderSettings.PluginReuse.WARN);
+
+        reuse.check(proxyClient, request(OBJECT_VERSION), null, logger);
+        currentTimeMillis.addAndGet(CustomPluginIndex.TTL.toMillis() - 1);
+        reuse.check(proxyClient, request(OBJECT_VERSION), null, logger);
+        verify(kafkaConnectClient, times(1)).listCustomPlugins(any(ListCustomPluginsRequest.class));
+
+        currentTimeMillis.addAndGet(1);
+        reuse.check(proxyClient, request(OBJECT_VERSION), null, logger);
+        verify(kafkaConnectClient, times(2)).listCustomPlugins(any(ListCustomPluginsRequest.class));
+    }
+
+    @Test
+    public void check_failMode_followsPagesAndSkipsInactivePlugins() {
+        when(kafkaConnectClient.listCustomPlugins(any(ListCustomPluginsRequest.class)))
+            .thenReturn(page("page-2", plugin("arn:deleting", CustomPluginState.DELETING, OBJECT_VERSION, FILE_MD5)))
+            .thenReturn(page(null, plugin(EXISTING_ARN, CustomPluginState.ACTIVE, OBJECT_VERSION, FILE_MD5)));
+        describedAs(CustomPluginState.ACTIVE);
+
+        final CfnAlreadyExistsException exception = assertThrows(CfnAlreadyExistsException.class,
+            () -> reuse(ProviderSettings.PluginReuse.FAIL).check(proxyClient, request(OBJECT_VERSION), null, logger));
+
+        assertThat(exception.getMessage()).contains(EXISTING_ARN);
+    }
+
+    @Test
+    public void check_failMode_withoutObjectVersion_matchesOnMd5Only() {
+        when(kafkaConnectClient.listCustomPlugins(any(ListCustomPluginsRequest.class)))
+            .thenReturn(page(null, plugin(EXISTING_ARN, CustomPluginState.ACTIVE, null, FILE_MD5)));
+        describedAs(CustomPluginState.ACTIVE);
+        final CustomPluginReuse reuse = reuse(ProviderSettings.PluginReuse.FAIL);
+
+        assertThatCode(() -> reuse.check(proxyClient, request(null), "ffffffffffffffffffffffffffffffff", logger))
+            .doesNotThrowAnyException();
+        assertThrows(CfnAlreadyExistsException.class,
+            () -> reuse.check(proxyClient, request(null), FILE_MD5.toUpperCase(), logger));
+    }
+
+    @Test
+    public void check_failMode_withoutObjectVersionOrMd5_doesNotList() {
+        reuse(ProviderSettings.PluginReuse.FAIL).check(proxyClient, request(null), null, logger);
+
+        verifyNoInteractions(kafkaConnectClient);
+    }
+
+    @Test
+    public void check_failMode_otherVersion_creates() {
+        when(kafkaConnectClient.listCustomPlugins(any(ListCustomPluginsRequest.class)))
+            .thenReturn(page(null, plugin(EXISTING_ARN, CustomPluginState.ACTIVE, "2", FILE_MD5)));
+
+        assertThatCode(() -> reuse(ProviderSettings.PluginReuse.FAIL)
+            .check(proxyClient, request(OBJECT_VERSION), null, logger)).doesNotThrowAnyException();
+    }
+
+    @Test
+    public void check_warnMode_listFails_skipsCheck() {
+        when(kafkaConnectClient.listCustomPlugins(any(ListCustomPluginsRequest.class)))
+            .thenThrow(InternalServerErrorException.builder().message("list failed").build());
+
+        assertThatCode(() -> reuse(ProviderSettings.PluginReuse.WARN)
+            .check(proxyClient, request(OBJECT_VERSION), null, logger)).doesNotThrowAnyException();
+    }
+
+    @Test
+    public void check_failMode_listDenied_fails() {
+        when(kafkaConnectClient.listCustomPlugins(any(ListCustomPluginsRequest.class)))
+            .thenThrow(ForbiddenException.builder().message("not authorized").build());
+
+        final CfnGeneralServiceException exception = assertThrows(CfnGeneralServiceException.class,
+            () -> reuse(ProviderSettings.PluginReuse.FAIL).check(proxyClient, request(OBJECT_VERSION), null, logger));
+
+        assertThat(exception.getMessage()).contains("AWS::KafkaConnect::CustomPlugin [unit-test-custom-plugin] "
+            + "couldn't list custom plugins to check for one serving the same archive: not authorized");
+    }
+
+    @Test
+    public void check_failMode_listFails_failsRetryably() {
+        when(kafkaConnectClient.listCustomPlugins(any(ListCustomPluginsRequest.class)))
+            .thenThrow(InternalServerErrorException.builder().message("list failed").build());
+
+        assertThrows(CfnServiceInternalErrorException.class,
+            () -> reuse(ProviderSettings.PluginReuse.FAIL).check(proxyClient, request(OBJECT_VERSION), null, logger));
+    }
+
+    @Test
+    public void check_failMode_pluginThisCreateReplaces_creates() {
+        when(kafkaConnectClient.listCustomPlugins(any(ListCustomPluginsRequest.class)))
+            .thenReturn(page(null, plugin(EXISTING_ARN, CustomPluginState.ACTIVE, OBJECT_VERSION, FILE_MD5)));
+        taggedWith(STACK_ID, "UnitTestCustomPlugin");
+        final ResourceHandlerRequest<ResourceModel> request = request(OBJECT_VERSION);
+        request.setSystemTags(systemTags(STACK_ID, "UnitTestCustomPlugin"));
+
+        assertThatCode(() -> reuse(ProviderSettings.PluginReuse.FAIL).check(proxyClient, request, null, logger))
+            .doesNotThrowAnyException();
+        verify(kafkaConnectClient, never()).describeCustomPlugin(any(DescribeCustomPluginRequest.class));
+    }
+
+    @Test
+    public void check_failMode_pluginOfAnotherResourceOfTheStack_throwsAlreadyExists() {
+        when(kafkaConnectClient.listCustomPlugins(any(ListCustomPluginsRequest.class)))
+            .thenReturn(page(null, plugin(EXISTING_ARN, CustomPluginState.ACTIVE, OBJECT_VERSION, FILE_MD5)));
+        taggedWith(STACK_ID, "OtherCustomPlugin");
+        describedAs(CustomPluginState.ACTIVE);
+        final ResourceHandlerRequest<ResourceModel> request = request(OBJECT_VERSION);
+        request.setSystemTags(systemTags(STACK_ID, "UnitTestCustomPlugin"));
+
+        assertThrows(CfnAlreadyExistsException.class,
+            () -> reuse(ProviderSettings.PluginReuse.FAIL).check(proxyClient, request, null, logger));
+    }
+
+    @Test
+    public void check_failMode_pluginGoneSinceListing_creates() {
+        when(kafkaConnectClient.listCustomPlugins(any(ListCustomPluginsRequest.class)))
+            .thenReturn(page(null, plugin(EXISTING_ARN, CustomPluginState.ACTIVE, OBJECT_VERSION, FILE_MD5)));
+        when(kafkaConnectClient.describeCustomPlugin(any(DescribeCustomPluginRequest.class)))
+            .thenThrow(NotFoundException.builder().message("not found").build())
+            .thenReturn(DescribeCustomPluginResponse.builder()
+                .customPluginArn(EXISTING_ARN)
+                .customPluginState(CustomPluginState.DELETING)
+                .build());
+        final CustomPluginReuse reuse = reuse(ProviderSettings.PluginReuse.FAIL);
+
+        assertThatCode(() -> reuse.check(proxyClient, request(OBJECT_VERSION), null, logger))
+            .doesNotThrowAnyException();
+        assertThatCode(() -> reuse.check(proxyClient, request(OBJECT_VERSION), null, logger))
+            .doesNotThrowAnyException();
+    }
+
+    @Test
+    public void check_warnMode_doesNotDescribe() {
+        when(kafkaConnectClient.listCustomPlugins(any(ListCustomPluginsRequest.class)))
+            .thenReturn(page(null, plugin(EXISTING_ARN, CustomPluginState.ACTIVE, OBJECT_VERSION, FILE_MD5)));
+
+        reuse(ProviderSettings.PluginReuse.WARN).check(proxyClient, request(OBJECT_VERSION), null, logger);
+
+        verify(kafkaConnectClient, never()).describeCustomPlugin(any(DescribeCustomPluginRequest.class));
+    }
+
+    @Test
+    public void check_alreadyCreated_doesNotList() {
+        final ResourceHandlerRequest<ResourceModel> request = request(OBJECT_VERSION);
+        request.getDesiredResourceState().setCustomPluginArn(EXISTING_ARN);
+
+        reuse(ProviderSettings.PluginReuse.FAIL).check(proxyClient, request, null, logger);
+
+        verifyNoInteractions(kafkaConnectClient);
+    }
+
+    private void describedAs(final CustomPluginState state) {
+        when(kafkaConnectClient.describeCustomPlugin(any(DescribeCustomPluginRequest.class)))
+            .thenReturn(DescribeCustomPluginResponse.builder()
+                .customPluginArn(EXISTING_ARN)
+                .customPluginState(state)
+                .build());
+    }
+
+    private void taggedWith(final String stackId, final String logicalId) {
+        when(kafkaConnectClient.listTagsForResource(any(ListTagsForResourceRequest.class)))
+            .thenReturn(ListTagsForResourceResponse.builder().tags(systemTags(stackId, logicalId)).build());
+    }
+
+    private static Map<String, String> systemTags(final String stackId, final String logicalId) {
+        final Map<String, String> tags = new HashMap<>();
+        tags.put(CustomPluginReuse.STACK_ID_TAG, stackId);
+        tags.put(CustomPluginReuse.LOGICAL_ID_TAG, logicalId);
+        return tags;
+    }
+
+    private CustomPluginReuse reuse(final ProviderSettings.PluginReuse mode) {
+        return new CustomPluginReuse(ProviderSettings.builder().pluginReuse(mode).build(),
+            new CustomPluginIndex(new Translator(), currentTimeMillis::get), new ExceptionTranslator());
+    }
+
+    private static ResourceHandlerRequest<ResourceModel> request(final String objectVersion) {
+        return ResourceHandlerRequest.<ResourceModel>builder()
+            .awsAccountId("1111111111")
+            .region("us-east-1")
+            .desiredResourceState(ResourceModel.builder()
+                .name("unit-test-custom-plugin")
+                .contentType("ZIP")
+                .location(CustomPluginLocation.builder()
+                    .s3Location(S3Location.builder()
+                        .bucketArn(BUCKET_ARN)
+                        .fileKey(FILE_KEY)
+                        .objectVersion(objectVersion)
+                        .build())
+                    .build())
+                .build())
+            .build();
+    }
+
+    private static ListCustomPluginsResponse page(final String nextToken, final CustomPluginSummary plugin) {
+        return ListCustomPluginsResponse.builder()
+            .customPlugins(plugin)
+            .nextToken(nextToken)
+            .build();
+    }
+
+    private static CustomPluginSummary plugin(
+        final String arn,
+        final CustomPluginState state,
+        final String objectVersion,
+        final String fileMd5) {
+
+        return CustomPluginSummary.builder()
+            .customPluginArn(arn)
+            .name("existing-plugin")
+            .customPluginState(state)
+            .latestRevision(CustomPluginRevisionSummary.builder()
+                .contentType(CustomPluginContentType.ZIP)
+                .fileDescription(software.amazon.awssdk.services.kafkaconnect.model.CustomPluginFileDescription.builder()
+                    .fileMd5(fileMd5)
+                    .fileSize(1272L)
+                    .build())
+                .location(CustomPluginLocationDescription.builder()
+                    .s3Location(S3LocationDescription.builder()
+                        .bucketArn(BUCKET_ARN)
+                        .fileKey(FILE_KEY)
+                        .objectVersion(objectVersion)
+                        .build())
+                    .build())
+                .build())
+            .build();
+    }
+}
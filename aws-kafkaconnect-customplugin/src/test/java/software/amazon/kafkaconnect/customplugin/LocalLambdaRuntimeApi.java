@@ -0,0 +1,149 @@
+package software.amazon.kafkaconnect.customplugin;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process stand-in for the Lambda Runtime API (2018-06-01) that a custom runtime polls. Events queued through
+ * {@link #invoke(String)} are handed out by {@code invocation/next}; the runtime's response or error completes the
+ * returned future.
+ */
+public class LocalLambdaRuntimeApi implements AutoCloseable {
+    private static final String PATH_PREFIX = "/2018-06-01/runtime/";
+    private static final String FUNCTION_ARN = "arn:aws:lambda:us-east-1:123456789012:function:native-smoke";
+    private static final long DEADLINE_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final BlockingQueue<Invocation> pending = new LinkedBlockingQueue<>();
+    private final Map<String, CompletableFuture<String>> responses = new ConcurrentHashMap<>();
+
+    public LocalLambdaRuntimeApi() throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        // invocation/next long-polls, so it must not hold up the thread answering the response post
+        this.executor = Executors.newCachedThreadPool();
+        this.server.setExecutor(executor);
+        this.server.createContext(PATH_PREFIX, this::handle);
+        this.server.start();
+    }
+
+    /**
+     * @return the host:port to export as {@code AWS_LAMBDA_RUNTIME_API}
+     */
+    public String getAddress() {
+        return "localhost:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Queues an event for the runtime.
+     *
+     * @return the response payload, or an exception carrying the reported error
+     */
+    public CompletableFuture<String> invoke(final String event) {
+        final Invocation invocation = new Invocation(UUID.randomUUID().toString(), event);
+        final CompletableFuture<String> response = new CompletableFuture<>();
+        responses.put(invocation.requestId, response);
+        pending.add(invocation);
+        return response;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        try {
+            final String path = exchange.getRequestURI().getPath().substring(PATH_PREFIX.length());
+            final String[] segments = path.split("/");
+
+            if ("GET".equals(exchange.getRequestMethod()) && "invocation/next".equals(path)) {
+                next(exchange);
+            } else if ("POST".equals(exchange.getRequestMethod()) && segments.length == 3
+                && "invocation".equals(segments[0])) {
+                complete(exchange, segments[1], "response".equals(segments[2]));
+            } else if ("POST".equals(exchange.getRequestMethod()) && "init/error".equals(path)) {
+                final String error = read(exchange);
+                responses.values().forEach(response -> response.completeExceptionally(
+                    new IllegalStateException("Runtime init failed: " + error)));
+                respond(exchange, 202, "");
+            } else {
+                respond(exchange, 404, "");
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void next(final HttpExchange exchange) throws IOException, InterruptedException {
+        final Invocation invocation = pending.take();
+        exchange.getResponseHeaders().add("Lambda-Runtime-Aws-Request-Id", invocation.requestId);
+        exchange.getResponseHeaders().add("Lambda-Runtime-Deadline-Ms",
+            String.valueOf(System.currentTimeMillis() + DEADLINE_MILLIS));
+        exchange.getResponseHeaders().add("Lambda-Runtime-Invoked-Function-Arn", FUNCTION_ARN);
+        exchange.getResponseHeaders().add("Lambda-Runtime-Trace-Id", "Root=1-00000000-000000000000000000000000");
+        respond(exchange, 200, invocation.event);
+    }
+
+    private void complete(final HttpExchange exchange, final String requestId, final boolean success)
+        throws IOException {
+
+        final CompletableFuture<String> response = responses.remove(requestId);
+        if (response == null) {
+            respond(exchange, 404, "");
+            return;
+        }
+
+        final String body = read(exchange);
+        if (success) {
+            response.complete(body);
+        } else {
+            response.completeExceptionally(new IllegalStateException("Invocation failed: " + body));
+        }
+        respond(exchange, 202, "");
+    }
+
+    private static String read(final HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            return new String(body.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static void respond(final HttpExchange exchange, final int status, final String body) throws IOException {
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(bytes);
+            }
+        }
+    }
+
+    private static final class Invocation {
+        private final String requestId;
+        private final String event;
+
+        private Invocation(final String requestId, final String event) {
+            this.requestId = requestId;
+            this.event = event;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package software.amazon.kafkaconnect.customplugin;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import software.amazon.cloudformation.Action;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.cloudformation.resource.Serializer;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Smoke test for the native executable built by the {@code native} profile. Starts the executable as a custom
+ * runtime against a {@link LocalLambdaRuntimeApi}, sends one Read through {@code HandlerWrapper::testEntrypoint} and
+ * checks that it reads the custom plugin back from a {@link LocalKafkaConnectService}. Exits non-zero on failure.
+ */
+public final class NativeSmokeRunner {
+    private static final String EXECUTABLE_PROPERTY = "native.executable";
+    private static final long TIMEOUT_SECONDS = 60;
+    private static final String HANDLER = HandlerWrapper.class.getName() + "::testEntrypoint";
+    private static final TypeReference<ProgressEvent<ResourceModel, CallbackContext>> PROGRESS_EVENT_TYPE =
+        new TypeReference<ProgressEvent<ResourceModel, CallbackContext>>() {
+        };
+
+    private NativeSmokeRunner() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final String executable = System.getProperty(EXECUTABLE_PROPERTY);
+        final Serializer serializer = new Serializer();
+
+        try (LocalKafkaConnectService service = new LocalKafkaConnectService();
+             LocalLambdaRuntimeApi runtimeApi = new LocalLambdaRuntimeApi()) {
+
+            final String customPluginArn = service.putCustomPlugin("native-smoke",
+                (ObjectNode) new ObjectMapper().readTree(ColdStartBenchmark.CUSTOM_PLUGIN_DESCRIPTION));
+
+            final ProcessBuilder builder = new ProcessBuilder(Arrays.asList(
+                executable,
+                "-D" + ClientBuilder.ENDPOINT_OVERRIDE_PROPERTY + "=" + service.getEndpoint(),
+                "-Dlog4j2.loggerContextFactory=org.apache.logging.log4j.simple.SimpleLoggerContextFactory",
+                HANDLER)).inheritIO();
+            builder.environment().put("AWS_LAMBDA_RUNTIME_API", runtimeApi.getAddress());
+            builder.environment().put("AWS_REGION", "us-east-1");
+            builder.environment().put("AWS_LAMBDA_FUNCTION_NAME", "native-smoke");
+            builder.environment().put("AWS_LAMBDA_FUNCTION_VERSION", "$LATEST");
+            builder.environment().put("AWS_LAMBDA_FUNCTION_MEMORY_SIZE", "512");
+
+            final Process runtime = builder.start();
+            try {
+                final String response = runtimeApi.invoke(serializer.serialize(readEvent(customPluginArn)))
+                    .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                final ProgressEvent<ResourceModel, CallbackContext> event =
+                    serializer.deserialize(response, PROGRESS_EVENT_TYPE);
+
+                if (event.getStatus() != OperationStatus.SUCCESS
+                    || !customPluginArn.equals(event.getResourceModel().getCustomPluginArn())) {
+                    System.err.println("Native Read did not return the custom plugin: " + response);
+                    System.exit(1);
+                }
+                System.out.println("Native smoke test passed, service calls: " + service.getCalls());
+            } finally {
+                runtime.destroy();
+                runtime.waitFor(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    private static Map<String, Object> readEvent(final String customPluginArn) {
+        final Map<String, Object> event = new LinkedHashMap<>();
+        event.put("credentials", new Credentials("accessKey", "secretKey", "token"));
+        event.put("action", Action.READ);
+        event.put("request", ResourceHandlerRequest.<ResourceModel>builder()
+            .awsAccountId("123456789012")
+            .awsPartition("aws")
+            .region("us-east-1")
+            .desiredResourceState(ResourceModel.builder()
+                .customPluginArn(customPluginArn)
+                .build())
+            .build());
+        event.put("callbackContext", null);
+        return event;
+    }
+}
@@ -0,0 +1,163 @@
+package software.amazon.kafkaconnect.customplugin;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Throughput of {@link PluginArchiveInspector} on generated plugin archives of 100 MB and more. Each archive is a ZIP
+ * of nested jars holding incompressible resources and a few thousand class files, the shape of a connector bundle
+ * with its dependencies. For reference, the MD5 of the same file is also computed alone, streamed and memory-mapped,
+ * which is the floor for any inspection that has to produce the file's MD5.
+ *
+ * Run with {@code mvn -Pplugin-archive-benchmark integration-test}; {@code archive.sizesMb} and
+ * {@code archive.iterations} change the archive sizes and the iteration count.
+ */
+public final class PluginArchiveBenchmark {
+    private static final int JAR_SIZE = 8 << 20;
+    private static final int RESOURCE_SIZE = 256 << 10;
+    private static final int CLASSES_PER_JAR = 200;
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private PluginArchiveBenchmark() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final int iterations = Integer.getInteger("archive.iterations", 5);
+        final String[] sizes = System.getProperty("archive.sizesMb", "100,500").split(",");
+        final PluginArchiveInspector inspector = new PluginArchiveInspector();
+
+        final Path directory = Files.createTempDirectory("plugin-archive-benchmark");
+        try {
+            for (final String size : sizes) {
+                final Path archive = directory.resolve("plugin-" + size.trim() + "mb.zip");
+                writeArchive(archive, Long.parseLong(size.trim()) << 20);
+                final double megabytes = Files.size(archive) / (double) (1 << 20);
+
+                final Map<String, long[]> timings = new LinkedHashMap<>();
+                for (int i = 0; i < iterations; i++) {
+                    time(timings, "md5 streamed", () -> streamedMd5(archive));
+                    time(timings, "md5 mapped", () -> mappedMd5(archive));
+                    time(timings, "inspect", () -> {
+                        final PluginArchiveReport report = inspector.inspect(archive, "ZIP");
+                        if (!report.isValid()) {
+                            throw new IllegalStateException("Generated archive is invalid: " + report.getProblems());
+                        }
+                    });
+                }
+
+                System.out.printf("%narchive=%.0f MiB iterations=%d%n", megabytes, iterations);
+                System.out.printf("%-14s %10s %10s %10s%n", "pass", "p50(ms)", "max(ms)", "MiB/s");
+                for (final Map.Entry<String, long[]> timing : timings.entrySet()) {
+                    final long[] millis = timing.getValue();
+                    Arrays.sort(millis);
+                    final long median = millis[(millis.length - 1) / 2];
+                    System.out.printf("%-14s %10d %10d %10.0f%n",
+                        timing.getKey(), median, millis[millis.length - 1], megabytes * 1000 / Math.max(1, median));
+                }
+                Files.delete(archive);
+            }
+        } finally {
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    private static void time(final Map<String, long[]> timings, final String pass, final Pass body) throws Exception {
+        final long start = System.nanoTime();
+        body.run();
+        final long elapsed = (System.nanoTime() - start) / 1_000_000;
+
+        final long[] previous = timings.getOrDefault(pass, new long[0]);
+        final long[] next = Arrays.copyOf(previous, previous.length + 1);
+        next[previous.length] = elapsed;
+        timings.put(pass, next);
+    }
+
+    private static byte[] streamedMd5(final Path archive) throws Exception {
+        final MessageDigest digest = MessageDigest.getInstance("MD5");
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream input = Files.newInputStream(archive)) {
+            int read;
+            while ((read = input.read(buffer)) > 0) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return digest.digest();
+    }
+
+    private static byte[] mappedMd5(final Path archive) throws Exception {
+        final MessageDigest digest = MessageDigest.getInstance("MD5");
+        try (FileChannel channel = FileChannel.open(archive, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            for (long position = 0; position < size; position += Integer.MAX_VALUE) {
+                final MappedByteBuffer mapped =
+                    channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(Integer.MAX_VALUE, size - position));
+                digest.update(mapped);
+            }
+        }
+        return digest.digest();
+    }
+
+    /**
+     * Writes a ZIP of 8 MiB nested jars until the archive reaches {@code size}. Resources are random so that they
+     * take their full size after deflation, like the already compressed jars of a real bundle.
+     */
+    private static void writeArchive(final Path archive, final long size) throws IOException {
+        final Random random = new Random(42);
+        try (OutputStream file = new BufferedOutputStream(Files.newOutputStream(archive), BUFFER_SIZE);
+             ZipOutputStream zip = new ZipOutputStream(file)) {
+
+            zip.setLevel(Deflater.NO_COMPRESSION);
+            long written = 0;
+            for (int jar = 0; written < size; jar++) {
+                final byte[] content = PluginArchives.archive(jarEntries(jar, random));
+                zip.putNextEntry(new ZipEntry("benchmark-connector/lib/dependency-" + jar + ".jar"));
+                zip.write(content);
+                zip.closeEntry();
+                written += content.length;
+            }
+        }
+    }
+
+    private static Map<String, byte[]> jarEntries(final int jar, final Random random) {
+        final Map<String, byte[]> entries = new LinkedHashMap<>();
+        final List<String> classes = new ArrayList<>();
+        for (int i = 0; i < CLASSES_PER_JAR; i++) {
+            classes.add("com/example/dependency" + jar + "/Type" + i);
+        }
+        for (final String name : classes) {
+            entries.put(name + ".class", PluginArchives.classFile(name, "java/lang/Object", PluginArchives.ACC_PUBLIC));
+        }
+        if (jar == 0) {
+            entries.put("com/example/BenchmarkSinkConnector.class", PluginArchives.classFile(
+                "com/example/BenchmarkSinkConnector", PluginArchives.SINK_CONNECTOR, PluginArchives.ACC_PUBLIC));
+        }
+        for (int i = 0; i < JAR_SIZE / RESOURCE_SIZE; i++) {
+            final byte[] resource = new byte[RESOURCE_SIZE];
+            random.nextBytes(resource);
+            entries.put("resources/dependency" + jar + "/blob-" + i + ".bin", resource);
+        }
+        return entries;
+    }
+
+    @FunctionalInterface
+    private interface Pass {
+        void run() throws Exception;
+    }
+}
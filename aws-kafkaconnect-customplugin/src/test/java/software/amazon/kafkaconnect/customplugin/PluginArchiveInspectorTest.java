@@ -0,0 +1,180 @@
+package software.amazon.kafkaconnect.customplugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static software.amazon.kafkaconnect.customplugin.PluginArchives.ACC_ABSTRACT;
+import static software.amazon.kafkaconnect.customplugin.PluginArchives.ACC_PUBLIC;
+import static software.amazon.kafkaconnect.customplugin.PluginArchives.CONVERTER;
+import static software.amazon.kafkaconnect.customplugin.PluginArchives.SINK_CONNECTOR;
+import static software.amazon.kafkaconnect.customplugin.PluginArchives.SOURCE_CONNECTOR;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class PluginArchiveInspectorTest {
+    private static final byte[] CONNECTOR_JAR = PluginArchives.archive(entries(
+        "META-INF/MANIFEST.MF", "Manifest-Version: 1.0\n".getBytes(StandardCharsets.UTF_8),
+        "com/example/AbstractSink.class",
+        PluginArchives.classFile("com/example/AbstractSink", SINK_CONNECTOR, ACC_PUBLIC | ACC_ABSTRACT),
+        "com/example/ExampleSinkConnector.class",
+        PluginArchives.classFile("com/example/ExampleSinkConnector", "com/example/AbstractSink", ACC_PUBLIC),
+        "com/example/ExampleSourceConnector.class",
+        PluginArchives.classFile("com/example/ExampleSourceConnector", SOURCE_CONNECTOR, ACC_PUBLIC)));
+    private static final byte[] CONVERTER_JAR = PluginArchives.archive(entries(
+        "com/example/ExampleConverter.class",
+        PluginArchives.classFile("com/example/ExampleConverter", "java/lang/Object", ACC_PUBLIC, CONVERTER)));
+
+    private final PluginArchiveInspector inspector = new PluginArchiveInspector();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void inspect_zipOfJars_findsConnectorsAndConverters() throws Exception {
+        final byte[] archive = PluginArchives.archive(entries(
+            "example-connector/", new byte[0],
+            "example-connector/lib/connector.jar", CONNECTOR_JAR,
+            "example-connector/lib/converter.jar", CONVERTER_JAR,
+            "example-connector/README.md", "readme".getBytes(StandardCharsets.UTF_8)));
+        final Path file = Files.write(directory.resolve("plugin.zip"), archive);
+
+        final PluginArchiveReport report = inspector.inspect(file, "ZIP");
+
+        assertThat(report.isValid()).isTrue();
+        assertThat(report.getFileMd5()).isEqualTo(md5(archive));
+        assertThat(report.getFileSize()).isEqualTo(archive.length);
+        assertThat(report.getDetectedContentType()).isEqualTo(PluginArchiveInspector.CONTENT_TYPE_ZIP);
+        assertThat(report.getClassCount()).isEqualTo(4);
+        assertThat(report.getNestedJars())
+            .containsExactly("example-connector/lib/connector.jar", "example-connector/lib/converter.jar");
+        assertThat(report.getConnectorClasses())
+            .containsExactly("com.example.ExampleSinkConnector", "com.example.ExampleSourceConnector");
+        assertThat(report.getConverterClasses()).containsExactly("com.example.ExampleConverter");
+    }
+
+    @Test
+    public void inspect_jar_detectsJarContentType() throws Exception {
+        final PluginArchiveReport report = inspector.inspect(new ByteArrayInputStream(CONNECTOR_JAR), "JAR");
+
+        assertThat(report.isValid()).isTrue();
+        assertThat(report.getDetectedContentType()).isEqualTo(PluginArchiveInspector.CONTENT_TYPE_JAR);
+        assertThat(report.getFileMd5()).isEqualTo(md5(CONNECTOR_JAR));
+        assertThat(report.getNestedJars()).isEmpty();
+    }
+
+    @Test
+    public void inspect_zipDeclaredAsJar_reportsContentTypeMismatch() throws Exception {
+        final byte[] archive = PluginArchives.archive(entries("lib/connector.jar", CONNECTOR_JAR));
+
+        final PluginArchiveReport report = inspector.inspect(new ByteArrayInputStream(archive), "JAR");
+
+        assertThat(report.isValid()).isFalse();
+        assertThat(report.getProblems()).hasSize(1);
+        assertThat(report.getProblems().get(0)).contains("use ZIP");
+    }
+
+    @Test
+    public void inspect_notAZip_reportsProblemAndDigestsWholeFile() throws Exception {
+        final byte[] archive = "definitely not a zip".getBytes(StandardCharsets.UTF_8);
+
+        final PluginArchiveReport report = inspector.inspect(new ByteArrayInputStream(archive), "ZIP");
+
+        assertThat(report.getProblems()).containsExactly("Archive is empty or not a ZIP file");
+        assertThat(report.getFileMd5()).isEqualTo(md5(archive));
+        assertThat(report.getFileSize()).isEqualTo(archive.length);
+    }
+
+    @Test
+    public void inspect_truncatedArchive_reportsUnreadableZip() throws Exception {
+        final byte[] archive = PluginArchives.archive(entries("lib/connector.jar", CONNECTOR_JAR));
+        final byte[] truncated = new byte[archive.length / 2];
+        System.arraycopy(archive, 0, truncated, 0, truncated.length);
+
+        final PluginArchiveReport report = inspector.inspect(new ByteArrayInputStream(truncated), null);
+
+        assertThat(report.isValid()).isFalse();
+        assertThat(report.getFileSize()).isEqualTo(truncated.length);
+    }
+
+    @Test
+    public void inspect_convertersOnly_isValid() throws Exception {
+        final PluginArchiveReport report = inspector.inspect(new ByteArrayInputStream(CONVERTER_JAR), null);
+
+        assertThat(report.isValid()).isTrue();
+        assertThat(report.getConnectorClasses()).isEmpty();
+        assertThat(report.getConverterClasses()).containsExactly("com.example.ExampleConverter");
+    }
+
+    @Test
+    public void inspect_transformationsAndConfigProviders_isValid() throws Exception {
+        final byte[] archive = PluginArchives.archive(entries(
+            "com/example/ExampleTransformation.class", PluginArchives.classFile("com/example/ExampleTransformation",
+                "java/lang/Object", ACC_PUBLIC, "org/apache/kafka/connect/transforms/Transformation"),
+            "com/example/ExampleConfigProvider.class", PluginArchives.classFile("com/example/ExampleConfigProvider",
+                "java/lang/Object", ACC_PUBLIC, "org/apache/kafka/common/config/provider/ConfigProvider")));
+
+        final PluginArchiveReport report = inspector.inspect(new ByteArrayInputStream(archive), null);
+
+        assertThat(report.isValid()).isTrue();
+        assertThat(report.getOtherPluginClasses())
+            .containsExactly("com.example.ExampleConfigProvider", "com.example.ExampleTransformation");
+    }
+
+    @Test
+    public void inspect_noPluginImplementation_reportsProblem() throws Exception {
+        final byte[] archive = PluginArchives.archive(entries(
+            "com/example/Helper.class",
+            PluginArchives.classFile("com/example/Helper", "java/lang/Object", ACC_PUBLIC)));
+
+        final PluginArchiveReport report = inspector.inspect(new ByteArrayInputStream(archive), null);
+
+        assertThat(report.getProblems()).containsExactly("Archive contains no Kafka Connect Connector, Converter, "
+            + "HeaderConverter, Transformation, Predicate or ConfigProvider implementation");
+    }
+
+    @Test
+    public void inspect_invalidClassAndUnsafeEntry_reportsProblems() throws Exception {
+        final byte[] archive = PluginArchives.archive(entries(
+            "lib/connector.jar", CONNECTOR_JAR,
+            "com/example/Broken.class", new byte[] {1, 2, 3},
+            "../outside.properties", new byte[0]));
+
+        final PluginArchiveReport report = inspector.inspect(new ByteArrayInputStream(archive), "ZIP");
+
+        assertThat(report.getConnectorClasses()).hasSize(2);
+        assertThat(report.getProblems()).containsExactly(
+            "Entry com/example/Broken.class is not a valid class file",
+            "Entry ../outside.properties points outside the archive");
+    }
+
+    @Test
+    public void readClassHeader_readsNamesAndInterfaces() throws IOException {
+        final PluginArchiveInspector.ClassHeader header = PluginArchiveInspector.readClassHeader(new ByteArrayInputStream(
+            PluginArchives.classFile("com/example/Both", "java/lang/Object", ACC_PUBLIC, CONVERTER, "java/io/Closeable")));
+
+        assertThat(header.getName()).isEqualTo("com/example/Both");
+        assertThat(header.getSuperName()).isEqualTo("java/lang/Object");
+        assertThat(header.getInterfaces()).containsExactly(CONVERTER, "java/io/Closeable");
+    }
+
+    private static Map<String, byte[]> entries(final Object... namesAndContents) {
+        final Map<String, byte[]> entries = new LinkedHashMap<>();
+        for (int i = 0; i < namesAndContents.length; i += 2) {
+            entries.put((String) namesAndContents[i], (byte[]) namesAndContents[i + 1]);
+        }
+        return entries;
+    }
+
+    private static String md5(final byte[] bytes) throws Exception {
+        return String.format("%032x", new BigInteger(1, MessageDigest.getInstance("MD5").digest(bytes)));
+    }
+}
@@ -0,0 +1,115 @@
+package software.amazon.kafkaconnect.customplugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
+import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
+
+public class PluginArchivePreflightTest extends AbstractTestBase {
+    private static final String BUCKET_ARN = "arn:aws:s3:::unit-test-bucket";
+    private static final String FILE_KEY = "plugins/unit-test-plugin.zip";
+    private static final String CUSTOM_PLUGIN_ARN =
+        "arn:aws:kafkaconnect:us-east-1:1111111111:custom-plugin/unit-test-custom-plugin";
+
+    @TempDir
+    Path archiveRoot;
+
+    private PluginArchivePreflight preflight;
+
+    @BeforeEach
+    public void setup() {
+        preflight = new PluginArchivePreflight(
+            ProviderSettings.builder().pluginArchiveRoot(archiveRoot).build(), new PluginArchiveInspector());
+    }
+
+    @Test
+    public void check_validArchive_passes() throws IOException {
+        final Map<String, byte[]> jar = new LinkedHashMap<>();
+        jar.put("com/example/ExampleSinkConnector.class", PluginArchives.classFile(
+            "com/example/ExampleSinkConnector", PluginArchives.SINK_CONNECTOR, PluginArchives.ACC_PUBLIC));
+        writeArchive(PluginArchives.archive(
+            Collections.singletonMap("lib/connector.jar", PluginArchives.archive(jar))));
+
+        assertThat(preflight.check(model(FILE_KEY, "ZIP"), logger)).hasValueSatisfying(report ->
+            assertThat(report.getConnectorClasses()).containsExactly("com.example.ExampleSinkConnector"));
+    }
+
+    @Test
+    public void check_malformedArchive_throwsInvalidRequest() throws IOException {
+        writeArchive("not a zip".getBytes(StandardCharsets.UTF_8));
+
+        final CfnInvalidRequestException exception = assertThrows(CfnInvalidRequestException.class,
+            () -> preflight.check(model(FILE_KEY, "ZIP"), logger));
+
+        assertThat(exception.getMessage()).contains("Archive is empty or not a ZIP file");
+    }
+
+    @Test
+    public void check_unreadableArchive_throwsGeneralServiceException() throws IOException {
+        writeArchive(new byte[0]);
+        final PluginArchiveInspector failingInspector = new PluginArchiveInspector() {
+            @Override
+            public PluginArchiveReport inspect(final Path archive, final String contentType) throws IOException {
+                throw new IOException("read failed");
+            }
+        };
+        preflight = new PluginArchivePreflight(
+            ProviderSettings.builder().pluginArchiveRoot(archiveRoot).build(), failingInspector);
+
+        assertThrows(CfnGeneralServiceException.class, () -> preflight.check(model(FILE_KEY, "ZIP"), logger));
+    }
+
+    @Test
+    public void check_keyOutsideRoot_throwsInvalidRequest() {
+        assertThrows(CfnInvalidRequestException.class,
+            () -> preflight.check(model("../../outside.zip", "ZIP"), logger));
+    }
+
+    @Test
+    public void check_missingArchive_skipsInspection() {
+        assertThat(preflight.check(model("plugins/missing.zip", "ZIP"), logger)).isEmpty();
+        assertThat(preflight.check(ResourceModel.builder().name("no-location").build(), logger)).isEmpty();
+    }
+
+    @Test
+    public void check_disabledOrAlreadyCreated_skipsInspection() throws IOException {
+        writeArchive("not a zip".getBytes(StandardCharsets.UTF_8));
+        final ResourceModel created = model(FILE_KEY, "ZIP");
+        created.setCustomPluginArn(CUSTOM_PLUGIN_ARN);
+
+        assertThat(new PluginArchivePreflight(ProviderSettings.DEFAULTS, new PluginArchiveInspector())
+            .check(model(FILE_KEY, "ZIP"), logger)).isEmpty();
+        assertThat(preflight.check(created, logger)).isEmpty();
+    }
+
+    private void writeArchive(final byte[] content) throws IOException {
+        final Path archive = archiveRoot.resolve("unit-test-bucket").resolve(FILE_KEY);
+        Files.createDirectories(archive.getParent());
+        Files.write(archive, content);
+    }
+
+    private static ResourceModel model(final String fileKey, final String contentType) {
+        return ResourceModel.builder()
+            .name("unit-test-custom-plugin")
+            .contentType(contentType)
+            .location(CustomPluginLocation.builder()
+                .s3Location(S3Location.builder()
+                    .bucketArn(BUCKET_ARN)
+                    .fileKey(fileKey)
+                    .build())
+                .build())
+            .build();
+    }
+}
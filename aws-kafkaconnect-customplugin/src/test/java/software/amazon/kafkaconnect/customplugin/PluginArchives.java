@@ -0,0 +1,91 @@
+package software.amazon.kafkaconnect.customplugin;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Builds plugin archives for tests and benchmarks: minimal class files (header only, no members) and ZIP/JAR files
+ * from a map of entry names to content.
+ */
+final class PluginArchives {
+    static final String SINK_CONNECTOR = "org/apache/kafka/connect/sink/SinkConnector";
+    static final String SOURCE_CONNECTOR = "org/apache/kafka/connect/source/SourceConnector";
+    static final String CONVERTER = "org/apache/kafka/connect/storage/Converter";
+    static final int ACC_PUBLIC = 0x0001;
+    static final int ACC_ABSTRACT = 0x0400;
+
+    private PluginArchives() {
+    }
+
+    /**
+     * @param name internal name of the class, e.g. {@code com/example/MySinkConnector}
+     * @param superName internal name of the super class
+     * @param accessFlags class access flags
+     * @param interfaces internal names of the implemented interfaces
+     * @return a class file declaring only the class, its super class and interfaces
+     */
+    static byte[] classFile(
+        final String name,
+        final String superName,
+        final int accessFlags,
+        final String... interfaces) {
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream data = new DataOutputStream(bytes)) {
+            data.writeInt(0xCAFEBABE);
+            data.writeShort(0);
+            data.writeShort(52);
+
+            // each class name is a Utf8 entry followed by the Class entry pointing at it
+            final String[] classes = new String[interfaces.length + 2];
+            classes[0] = name;
+            classes[1] = superName;
+            System.arraycopy(interfaces, 0, classes, 2, interfaces.length);
+            data.writeShort(classes.length * 2 + 1);
+            for (int i = 0; i < classes.length; i++) {
+                data.writeByte(1);
+                data.writeUTF(classes[i]);
+                data.writeByte(7);
+                data.writeShort(i * 2 + 1);
+            }
+
+            data.writeShort(accessFlags);
+            data.writeShort(2);
+            data.writeShort(4);
+            data.writeShort(interfaces.length);
+            for (int i = 0; i < interfaces.length; i++) {
+                data.writeShort(i * 2 + 6);
+            }
+            data.writeShort(0); // fields
+            data.writeShort(0); // methods
+            data.writeShort(0); // attributes
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static byte[] archive(final Map<String, byte[]> entries) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        writeArchive(entries, bytes);
+        return bytes.toByteArray();
+    }
+
+    static void writeArchive(final Map<String, byte[]> entries, final OutputStream output) {
+        try (ZipOutputStream zip = new ZipOutputStream(output)) {
+            for (final Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                zip.putNextEntry(new ZipEntry(entry.getKey()));
+                zip.write(entry.getValue());
+                zip.closeEntry();
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
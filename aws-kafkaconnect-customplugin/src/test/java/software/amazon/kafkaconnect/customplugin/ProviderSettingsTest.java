@@ -0,0 +1,73 @@
+package software.amazon.kafkaconnect.customplugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.kafkaconnect.common.ClientSettings;
+import software.amazon.kafkaconnect.common.HttpTransport;
+
+public class ProviderSettingsTest {
+    private final List<String> logged = new ArrayList<>();
+    private final Logger logger = logged::add;
+
+    @Test
+    public void fromEnvironment_unset_defaultsToOff() {
+        final ProviderSettings settings = ProviderSettings.fromEnvironment(Collections.emptyMap(), logger);
+
+        assertThat(settings).isEqualTo(ProviderSettings.DEFAULTS);
+        assertThat(settings.getPluginArchiveRoot()).isNull();
+        assertThat(settings.getPluginReuse()).isEqualTo(ProviderSettings.PluginReuse.DISABLED);
+        assertThat(settings.getClientSettings()).isEqualTo(ClientSettings.DEFAULTS);
+        assertThat(logged).isEmpty();
+    }
+
+    @Test
+    public void fromEnvironment_set_readsSettings() {
+        final Map<String, String> environment = new HashMap<>();
+        environment.put(ProviderSettings.PLUGIN_ARCHIVE_ROOT_VARIABLE, "/tmp/plugins");
+        environment.put(ProviderSettings.PLUGIN_REUSE_VARIABLE, " fail ");
+        environment.put(ProviderSettings.VARIABLE_PREFIX + ClientSettings.HTTP_TRANSPORT_VARIABLE, "url_connection");
+
+        final ProviderSettings settings = ProviderSettings.fromEnvironment(environment, logger);
+
+        assertThat(settings.getPluginArchiveRoot()).isEqualTo(Paths.get("/tmp/plugins"));
+        assertThat(settings.getPluginReuse()).isEqualTo(ProviderSettings.PluginReuse.FAIL);
+        assertThat(settings.getClientSettings().getHttpTransport()).isEqualTo(HttpTransport.URL_CONNECTION);
+        assertThat(logged).isEmpty();
+    }
+
+    @Test
+    public void fromEnvironment_unknownModes_areLoggedAndDisabled() {
+        final Map<String, String> environment = new HashMap<>();
+        environment.put(ProviderSettings.PLUGIN_REUSE_VARIABLE, "ADOPT");
+        environment.put(ProviderSettings.VARIABLE_PREFIX + ClientSettings.HTTP_TRANSPORT_VARIABLE, "netty");
+        final ProviderSettings settings = ProviderSettings.fromEnvironment(environment, logger);
+
+        assertThat(settings).isEqualTo(ProviderSettings.DEFAULTS);
+        assertThat(logged).hasSize(2);
+        assertThat(logged).anySatisfy(message -> assertThat(message)
+            .contains(ProviderSettings.PLUGIN_REUSE_VARIABLE + "=ADOPT")
+            .contains("[DISABLED, WARN, FAIL]")
+            .endsWith("using DISABLED"));
+    }
+
+    @Test
+    public void fromEnvironment_invalidValues_areLoggedAndDefaulted() {
+        final Map<String, String> environment = new HashMap<>();
+        environment.put(ProviderSettings.PLUGIN_ARCHIVE_ROOT_VARIABLE, "/tmp/\0plugins");
+        final ProviderSettings settings = ProviderSettings.fromEnvironment(environment, logger);
+
+        assertThat(settings).isEqualTo(ProviderSettings.DEFAULTS);
+        assertThat(logged).hasSize(1);
+        assertThat(logged).anySatisfy(message -> assertThat(message)
+            .contains(ProviderSettings.PLUGIN_ARCHIVE_ROOT_VARIABLE)
+            .endsWith("using none"));
+    }
+}
@@ -0,0 +1,61 @@
+package software.amazon.kafkaconnect.customplugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.proxy.Delay;
+
+public class StabilizationScheduleTest {
+    private static final long SMALL_PLUGIN = 512L << 10;
+    private static final long LARGE_PLUGIN = 800L << 20;
+
+    private final StabilizationSchedule schedule = new StabilizationSchedule();
+
+    @Test
+    public void expected_withoutObservations_grows_withFileSize() {
+        assertThat(schedule.expected(null)).isEqualTo(StabilizationSchedule.UNKNOWN_SIZE_EXPECTED);
+        assertThat(schedule.expected(SMALL_PLUGIN)).isEqualTo(Duration.ofSeconds(10));
+        assertThat(schedule.expected(LARGE_PLUGIN)).isEqualTo(Duration.ofSeconds(170));
+    }
+
+    @Test
+    public void delayFor_smallPlugin_pollsSoonAndBacksOff() {
+        final Delay delay = schedule.delayFor(SMALL_PLUGIN);
+
+        assertThat(delay.nextDelay(1)).isEqualTo(Duration.ofSeconds(5));
+        assertThat(delay.nextDelay(2)).isEqualTo(Duration.ofMillis(7500));
+        assertThat(delay.nextDelay(3)).isEqualTo(Duration.ofMillis(11250));
+        assertThat(delay.nextDelay(20)).isEqualTo(StabilizationSchedule.MAX_DELAY);
+    }
+
+    @Test
+    public void delayFor_largeOrUnknownPlugin_keepsPreviousCadence() {
+        assertThat(schedule.delayFor(LARGE_PLUGIN).nextDelay(1)).isEqualTo(StabilizationSchedule.MAX_DELAY);
+        assertThat(schedule.delayFor(null).nextDelay(1)).isEqualTo(Duration.ofSeconds(30));
+    }
+
+    @Test
+    public void delayFor_pastTimeout_returnsZero() {
+        final Delay delay = schedule.delayFor(LARGE_PLUGIN);
+
+        assertThat(delay.nextDelay(60)).isEqualTo(StabilizationSchedule.MAX_DELAY);
+        assertThat(delay.nextDelay(61)).isEqualTo(Duration.ZERO);
+    }
+
+    @Test
+    public void record_learnsPerSizeClass() {
+        schedule.record(SMALL_PLUGIN, Duration.ofSeconds(2));
+        assertThat(schedule.expected(SMALL_PLUGIN)).isEqualTo(Duration.ofSeconds(2));
+        assertThat(schedule.delayFor(SMALL_PLUGIN).nextDelay(1)).isEqualTo(StabilizationSchedule.MIN_DELAY);
+
+        schedule.record(SMALL_PLUGIN + 1, Duration.ofSeconds(12));
+        assertThat(schedule.expected(SMALL_PLUGIN)).isEqualTo(Duration.ofSeconds(5));
+
+        schedule.record(SMALL_PLUGIN, Duration.ofSeconds(-1));
+        assertThat(schedule.expected(SMALL_PLUGIN)).isEqualTo(Duration.ofSeconds(5));
+        assertThat(schedule.expected(LARGE_PLUGIN)).isEqualTo(Duration.ofSeconds(170));
+        assertThat(schedule.expected(null)).isEqualTo(StabilizationSchedule.UNKNOWN_SIZE_EXPECTED);
+    }
+}
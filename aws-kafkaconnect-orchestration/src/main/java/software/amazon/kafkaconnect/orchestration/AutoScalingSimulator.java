@@ -0,0 +1,242 @@
+package software.amazon.kafkaconnect.orchestration;
+
+import software.amazon.kafkaconnect.connector.AutoScaling;
+import software.amazon.kafkaconnect.connector.Capacity;
+import software.amazon.kafkaconnect.connector.ProvisionedCapacity;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Replays a recorded load against a connector {@link Capacity} offline, to compare auto scaling policies before
+ * deploying them. The load is one sample per {@link #sampleInterval}, each the CPU the connector needed in MSK Connect
+ * Units (MCU); {@link #demandFromCpuUtilization} and {@link #demandFromThroughput} convert recorded metrics into it.
+ *
+ * <p>The service does not publish its scaling algorithm, so this is a model: a policy fires when every sample of the
+ * last {@link #evaluationPeriods} breaches its threshold and the cooldown since the last scaling has passed. It then
+ * sizes the workers so the latest sample would sit halfway between the two thresholds, within the worker limits. New
+ * workers count from the next sample. Provisioned capacity is replayed at its fixed worker count.
+ */
+@lombok.Value
+@lombok.Builder
+public class AutoScalingSimulator {
+    private static final double MILLIS_PER_HOUR = Duration.ofHours(1L).toMillis();
+
+    /**
+     * Time between two samples of the load.
+     */
+    @lombok.Builder.Default
+    Duration sampleInterval = Duration.ofMinutes(1L);
+
+    /**
+     * Consecutive samples that must breach a threshold before its policy fires.
+     */
+    @lombok.Builder.Default
+    int evaluationPeriods = 5;
+
+    /**
+     * Least time from any scaling to the next scale out.
+     */
+    @lombok.Builder.Default
+    Duration scaleOutCooldown = Duration.ofMinutes(5L);
+
+    /**
+     * Least time from any scaling to the next scale in.
+     */
+    @lombok.Builder.Default
+    Duration scaleInCooldown = Duration.ofMinutes(15L);
+
+    /**
+     * @param capacity the capacity to replay, auto scaling or provisioned
+     * @param demand the MCUs of CPU the connector needed, one per sample
+     * @return cost, saturation and scaling over the replay
+     */
+    public Result simulate(final Capacity capacity, final double[] demand) {
+        if (capacity == null) {
+            throw new IllegalArgumentException("Capacity is required");
+        }
+        if (capacity.getAutoScaling() != null) {
+            return simulate(capacity.getAutoScaling(), demand);
+        }
+        if (capacity.getProvisionedCapacity() != null) {
+            final ProvisionedCapacity provisioned = capacity.getProvisionedCapacity();
+            final int workers = positive(provisioned.getWorkerCount(), "WorkerCount");
+            final int mcuCount = provisioned.getMcuCount() == null
+                ? 1 : positive(provisioned.getMcuCount(), "McuCount");
+            return replay(demand, mcuCount, workers, workers, workers, 0, 0);
+        }
+        throw new IllegalArgumentException("Capacity needs AutoScaling or ProvisionedCapacity");
+    }
+
+    private Result simulate(final AutoScaling autoScaling, final double[] demand) {
+        final int minWorkers = positive(autoScaling.getMinWorkerCount(), "MinWorkerCount");
+        final int maxWorkers = positive(autoScaling.getMaxWorkerCount(), "MaxWorkerCount");
+        final int mcuCount = positive(autoScaling.getMcuCount(), "McuCount");
+        final int scaleIn = positive(autoScaling.getScaleInPolicy() == null ? null
+            : autoScaling.getScaleInPolicy().getCpuUtilizationPercentage(), "ScaleInPolicy.CpuUtilizationPercentage");
+        final int scaleOut = positive(autoScaling.getScaleOutPolicy() == null ? null
+            : autoScaling.getScaleOutPolicy().getCpuUtilizationPercentage(), "ScaleOutPolicy.CpuUtilizationPercentage");
+        if (minWorkers > maxWorkers) {
+            throw new IllegalArgumentException(String.format(
+                "MinWorkerCount %d is greater than MaxWorkerCount %d", minWorkers, maxWorkers));
+        }
+        if (scaleIn >= scaleOut) {
+            throw new IllegalArgumentException(String.format(
+                "Scale in threshold %d%% must be below scale out threshold %d%%", scaleIn, scaleOut));
+        }
+        return replay(demand, mcuCount, minWorkers, maxWorkers, minWorkers, scaleIn, scaleOut);
+    }
+
+    private Result replay(
+        final double[] demand,
+        final int mcuCount,
+        final int minWorkers,
+        final int maxWorkers,
+        final int initialWorkers,
+        final int scaleInPercentage,
+        final int scaleOutPercentage) {
+
+        if (demand == null) {
+            throw new IllegalArgumentException("Demand is required");
+        }
+        if (evaluationPeriods <= 0 || sampleInterval.isZero() || sampleInterval.isNegative()) {
+            throw new IllegalArgumentException("Sample interval and evaluation periods must be positive");
+        }
+
+        final double sampleHours = sampleInterval.toMillis() / MILLIS_PER_HOUR;
+        final long scaleOutCooldownSamples = samples(scaleOutCooldown);
+        final long scaleInCooldownSamples = samples(scaleInCooldown);
+        final double targetUtilization = (scaleInPercentage + scaleOutPercentage) / 200.0;
+        final List<Integer> workerCounts = new ArrayList<>(demand.length);
+
+        int workers = initialWorkers;
+        int peakWorkers = workers;
+        int scaleOuts = 0;
+        int scaleIns = 0;
+        int saturatedSamples = 0;
+        double mcuHours = 0;
+        // samples since the last scaling, which also bounds the evaluation window: older samples saw other capacity
+        long sinceScaling = Math.max(scaleOutCooldownSamples, scaleInCooldownSamples);
+        int breachingOut = 0;
+        int breachingIn = 0;
+
+        for (final double load : demand) {
+            if (load < 0 || Double.isNaN(load) || Double.isInfinite(load)) {
+                throw new IllegalArgumentException(String.format("Demand %s is not a non-negative number", load));
+            }
+            final int capacityMcus = workers * mcuCount;
+            final double utilization = load / capacityMcus * 100;
+
+            workerCounts.add(workers);
+            mcuHours += capacityMcus * sampleHours;
+            if (load > capacityMcus) {
+                saturatedSamples++;
+            }
+
+            breachingOut = utilization > scaleOutPercentage ? breachingOut + 1 : 0;
+            breachingIn = utilization < scaleInPercentage ? breachingIn + 1 : 0;
+            sinceScaling++;
+
+            final int target = (int) Math.ceil(load / (mcuCount * targetUtilization));
+            if (breachingOut >= evaluationPeriods && sinceScaling >= scaleOutCooldownSamples
+                && workers < maxWorkers) {
+                workers = Math.min(maxWorkers, Math.max(workers + 1, target));
+                scaleOuts++;
+            } else if (breachingIn >= evaluationPeriods && sinceScaling >= scaleInCooldownSamples
+                && workers > minWorkers) {
+                workers = Math.max(minWorkers, Math.min(workers - 1, target));
+                scaleIns++;
+            } else {
+                continue;
+            }
+            peakWorkers = Math.max(peakWorkers, workers);
+            sinceScaling = 0;
+            breachingOut = 0;
+            breachingIn = 0;
+        }
+
+        return Result.builder()
+            .mcuHours(mcuHours)
+            .saturatedTime(sampleInterval.multipliedBy(saturatedSamples))
+            .scaleOutCount(scaleOuts)
+            .scaleInCount(scaleIns)
+            .peakWorkerCount(peakWorkers)
+            .workerCounts(Collections.unmodifiableList(workerCounts))
+            .build();
+    }
+
+    private long samples(final Duration duration) {
+        return (duration.toMillis() + sampleInterval.toMillis() - 1) / sampleInterval.toMillis();
+    }
+
+    private static int positive(final Integer value, final String name) {
+        if (value == null || value <= 0) {
+            throw new IllegalArgumentException(String.format("%s must be a positive integer, not %s", name, value));
+        }
+        return value;
+    }
+
+    /**
+     * @param utilizationPercentage recorded average CPU utilization of the workers, one per sample
+     * @param workerCounts the worker count while each sample was recorded
+     * @param mcuCount MCUs per worker while the samples were recorded
+     * @return the MCUs of CPU needed per sample. Samples recorded at 100% only bound the demand from below.
+     */
+    public static double[] demandFromCpuUtilization(
+        final double[] utilizationPercentage,
+        final int[] workerCounts,
+        final int mcuCount) {
+
+        if (utilizationPercentage.length != workerCounts.length) {
+            throw new IllegalArgumentException("Every utilization sample needs its worker count");
+        }
+        final double[] demand = new double[utilizationPercentage.length];
+        for (int i = 0; i < demand.length; i++) {
+            demand[i] = utilizationPercentage[i] / 100 * workerCounts[i] * mcuCount;
+        }
+        return demand;
+    }
+
+    /**
+     * @param throughput recorded records or bytes per second, one per sample
+     * @param throughputPerMcu the throughput one MCU sustains at full CPU, measured for this connector
+     * @return the MCUs of CPU needed per sample
+     */
+    public static double[] demandFromThroughput(final double[] throughput, final double throughputPerMcu) {
+        if (throughputPerMcu <= 0) {
+            throw new IllegalArgumentException("Throughput per MCU must be positive");
+        }
+        final double[] demand = new double[throughput.length];
+        for (int i = 0; i < demand.length; i++) {
+            demand[i] = throughput[i] / throughputPerMcu;
+        }
+        return demand;
+    }
+
+    @lombok.Value
+    @lombok.Builder
+    public static class Result {
+        /**
+         * MCUs provisioned, summed over the replay. Multiply by the regional MCU-hour price for cost.
+         */
+        double mcuHours;
+
+        /**
+         * Time the load needed more CPU than the workers had.
+         */
+        Duration saturatedTime;
+
+        int scaleOutCount;
+
+        int scaleInCount;
+
+        int peakWorkerCount;
+
+        /**
+         * Worker count during each sample.
+         */
+        List<Integer> workerCounts;
+    }
+}
@@ -0,0 +1,87 @@
+package software.amazon.kafkaconnect.orchestration;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Bounds how many asynchronous operations are in flight at once, e.g. connectors DELETING. Operations beyond the
+ * limit wait in arrival order and start as earlier ones end, without a thread waiting for them.
+ */
+final class ConcurrencyLimit {
+    private final int limit;
+    private final Queue<Runnable> waiting = new ArrayDeque<>();
+
+    private int running;
+    private int peak;
+
+    /**
+     * @param limit operations in flight at once
+     */
+    ConcurrencyLimit(final int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive, not " + limit);
+        }
+        this.limit = limit;
+    }
+
+    /**
+     * @param operation starts the operation once it is its turn
+     * @return completes as the operation does
+     */
+    <T> CompletableFuture<T> submit(final Supplier<CompletableFuture<T>> operation) {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final Runnable start = () -> {
+            CompletableFuture<T> started;
+            try {
+                started = operation.get();
+            } catch (final RuntimeException e) {
+                started = CompletableFuture.failedFuture(e);
+            }
+            started.whenComplete((value, failure) -> {
+                release();
+                if (failure == null) {
+                    result.complete(value);
+                } else {
+                    result.completeExceptionally(failure);
+                }
+            });
+        };
+
+        final boolean startNow;
+        synchronized (this) {
+            startNow = running < limit;
+            if (startNow) {
+                running++;
+                peak = Math.max(peak, running);
+            } else {
+                waiting.add(start);
+            }
+        }
+        if (startNow) {
+            start.run();
+        }
+        return result;
+    }
+
+    /**
+     * @return the most operations that were in flight at once
+     */
+    synchronized int getPeak() {
+        return peak;
+    }
+
+    private void release() {
+        final Runnable next;
+        synchronized (this) {
+            next = waiting.poll();
+            if (next == null) {
+                running--;
+            }
+        }
+        if (next != null) {
+            next.run();
+        }
+    }
+}
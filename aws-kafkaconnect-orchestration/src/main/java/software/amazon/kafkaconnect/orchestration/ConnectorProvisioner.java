@@ -0,0 +1,135 @@
+package software.amazon.kafkaconnect.orchestration;
+
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.kafkaconnect.connector.CallbackContext;
+import software.amazon.kafkaconnect.connector.CreateHandler;
+import software.amazon.kafkaconnect.connector.DeleteHandler;
+import software.amazon.kafkaconnect.connector.ListHandler;
+import software.amazon.kafkaconnect.connector.CustomPlugin;
+import software.amazon.kafkaconnect.connector.Plugin;
+import software.amazon.kafkaconnect.connector.ReadHandler;
+import software.amazon.kafkaconnect.connector.ResourceModel;
+import software.amazon.kafkaconnect.connector.WorkerConfiguration;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Connectors through the AWS::KafkaConnect::Connector handlers. A create ends once the connector is RUNNING.
+ */
+final class ConnectorProvisioner {
+    private final HandlerDriver driver;
+    private final CreateHandler createHandler = new CreateHandler();
+    private final DeleteHandler deleteHandler = new DeleteHandler();
+    private final ListHandler listHandler = new ListHandler();
+    private final ReadHandler readHandler = new ReadHandler();
+
+    ConnectorProvisioner(final HandlerDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * @param target where to create the connector
+     * @param logicalName name of the connector in the plan
+     * @param model desired connector, with the plugins and worker configuration it runs on
+     * @param logger logger of the connector's handler
+     * @return completes with the RUNNING connector, including its ARN
+     */
+    CompletableFuture<HandlerDriver.Outcome<ResourceModel>> create(
+        final Target target,
+        final String logicalName,
+        final ResourceModel model,
+        final Logger logger) {
+
+        return driver.<ResourceModel, CallbackContext>drive(
+            createHandler::handleRequest, target.request(logicalName, model), target.getCredentials(), logger);
+    }
+
+    /**
+     * @param target where the connector is
+     * @param logicalName name of the connector in the run
+     * @param model connector to delete, with its ARN
+     * @param logger logger of the connector's handler
+     * @return completes once the connector is gone
+     */
+    CompletableFuture<HandlerDriver.Outcome<ResourceModel>> delete(
+        final Target target,
+        final String logicalName,
+        final ResourceModel model,
+        final Logger logger) {
+
+        return driver.<ResourceModel, CallbackContext>drive(
+            deleteHandler::handleRequest, target.request(logicalName, model), target.getCredentials(), logger);
+    }
+
+    /**
+     * @param target where the connector is
+     * @param logicalName name of the connector in the run
+     * @param model connector to read, with its ARN
+     * @param logger logger of the connector's handler
+     * @return completes with the connector's description, including its tags
+     */
+    CompletableFuture<HandlerDriver.Outcome<ResourceModel>> read(
+        final Target target,
+        final String logicalName,
+        final ResourceModel model,
+        final Logger logger) {
+
+        return driver.<ResourceModel, CallbackContext>drive(
+            readHandler::handleRequest, target.request(logicalName, model), target.getCredentials(), logger);
+    }
+
+    /**
+     * @param target where to list connectors
+     * @param nextToken token of the page to list, null for the first
+     * @param logger logger of the handler
+     * @return completes with the page and the token of the next one
+     */
+    CompletableFuture<HandlerDriver.Outcome<ResourceModel>> list(
+        final Target target,
+        final String nextToken,
+        final Logger logger) {
+
+        return driver.<ResourceModel, CallbackContext>drive(listHandler::handleRequest,
+            target.listRequest(ResourceModel.builder().build(), nextToken), target.getCredentials(), logger);
+    }
+
+    /**
+     * Adds the plugins and worker configuration the plan created for the connector to its model.
+     *
+     * @param model desired connector; plugins it already lists are kept
+     * @param customPlugins ACTIVE plugins the connector runs
+     * @param workerConfiguration worker configuration the connector runs with, or null to keep the model's
+     * @return the model
+     */
+    static ResourceModel withDependencies(
+        final ResourceModel model,
+        final List<software.amazon.kafkaconnect.customplugin.ResourceModel> customPlugins,
+        final software.amazon.kafkaconnect.workerconfiguration.ResourceModel workerConfiguration) {
+
+        if (!customPlugins.isEmpty()) {
+            final Set<Plugin> plugins = new HashSet<>();
+            if (model.getPlugins() != null) {
+                plugins.addAll(model.getPlugins());
+            }
+            for (final software.amazon.kafkaconnect.customplugin.ResourceModel customPlugin : customPlugins) {
+                plugins.add(Plugin.builder()
+                    .customPlugin(CustomPlugin.builder()
+                        .customPluginArn(customPlugin.getCustomPluginArn())
+                        .revision(customPlugin.getRevision())
+                        .build())
+                    .build());
+            }
+            model.setPlugins(plugins);
+        }
+        if (workerConfiguration != null) {
+            model.setWorkerConfiguration(WorkerConfiguration.builder()
+                .workerConfigurationArn(workerConfiguration.getWorkerConfigurationArn())
+                .revision(workerConfiguration.getRevision())
+                .build());
+        }
+        return model;
+    }
+}
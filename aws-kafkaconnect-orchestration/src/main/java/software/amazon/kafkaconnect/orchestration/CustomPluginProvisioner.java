@@ -0,0 +1,92 @@
+package software.amazon.kafkaconnect.orchestration;
+
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.kafkaconnect.customplugin.CallbackContext;
+import software.amazon.kafkaconnect.customplugin.CreateHandler;
+import software.amazon.kafkaconnect.customplugin.DeleteHandler;
+import software.amazon.kafkaconnect.customplugin.ListHandler;
+import software.amazon.kafkaconnect.customplugin.ReadHandler;
+import software.amazon.kafkaconnect.customplugin.ResourceModel;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Custom plugins through the AWS::KafkaConnect::CustomPlugin handlers. A create ends once the plugin is ACTIVE.
+ */
+final class CustomPluginProvisioner {
+    private final HandlerDriver driver;
+    private final CreateHandler createHandler = new CreateHandler();
+    private final DeleteHandler deleteHandler = new DeleteHandler();
+    private final ListHandler listHandler = new ListHandler();
+    private final ReadHandler readHandler = new ReadHandler();
+
+    CustomPluginProvisioner(final HandlerDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * @param target where to create the plugin
+     * @param logicalName name of the plugin in the plan
+     * @param model desired plugin
+     * @param logger logger of the plugin's handler
+     * @return completes with the ACTIVE plugin, including its ARN and revision
+     */
+    CompletableFuture<HandlerDriver.Outcome<ResourceModel>> create(
+        final Target target,
+        final String logicalName,
+        final ResourceModel model,
+        final Logger logger) {
+
+        return driver.<ResourceModel, CallbackContext>drive(
+            createHandler::handleRequest, target.request(logicalName, model), target.getCredentials(), logger);
+    }
+
+    /**
+     * @param target where the plugin is
+     * @param logicalName name of the plugin in the run
+     * @param model plugin to delete, with its ARN
+     * @param logger logger of the plugin's handler
+     * @return completes once the plugin is gone
+     */
+    CompletableFuture<HandlerDriver.Outcome<ResourceModel>> delete(
+        final Target target,
+        final String logicalName,
+        final ResourceModel model,
+        final Logger logger) {
+
+        return driver.<ResourceModel, CallbackContext>drive(
+            deleteHandler::handleRequest, target.request(logicalName, model), target.getCredentials(), logger);
+    }
+
+    /**
+     * @param target where the plugin is
+     * @param logicalName name of the plugin in the run
+     * @param model plugin to read, with its ARN
+     * @param logger logger of the plugin's handler
+     * @return completes with the plugin's description
+     */
+    CompletableFuture<HandlerDriver.Outcome<ResourceModel>> read(
+        final Target target,
+        final String logicalName,
+        final ResourceModel model,
+        final Logger logger) {
+
+        return driver.<ResourceModel, CallbackContext>drive(
+            readHandler::handleRequest, target.request(logicalName, model), target.getCredentials(), logger);
+    }
+
+    /**
+     * @param target where to list plugins
+     * @param nextToken token of the page to list, null for the first
+     * @param logger logger of the handler
+     * @return completes with the page and the token of the next one
+     */
+    CompletableFuture<HandlerDriver.Outcome<ResourceModel>> list(
+        final Target target,
+        final String nextToken,
+        final Logger logger) {
+
+        return driver.<ResourceModel, CallbackContext>drive(listHandler::handleRequest,
+            target.listRequest(ResourceModel.builder().build(), nextToken), target.getCredentials(), logger);
+    }
+}
@@ -0,0 +1,150 @@
+package software.amazon.kafkaconnect.orchestration;
+
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.kafkaconnect.connector.ResourceModel;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Compares desired connectors, e.g. from exported templates, to the live ones, instead of one Read after another
+ * as CloudFormation drift detection does.
+ *
+ * A desired connector without an ARN is found by name among the listed connectors. The live connectors are read
+ * through the Read handler, {@code parallelism} at a time, and compared to the desired ones by a {@link SchemaDiff} of
+ * the connector schema: only the properties a desired connector sets count, and plugins, subnets, security groups and
+ * tags are compared as sets.
+ */
+public class DriftDetector implements AutoCloseable {
+    static final int DEFAULT_PARALLELISM = 32;
+    static final String SCHEMA = "aws-kafkaconnect-connector.json";
+
+    private final HandlerDriver driver;
+    private final ConnectorProvisioner connectors;
+    private final SchemaDiff schemaDiff;
+
+    public DriftDetector() {
+        this(DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * @param parallelism connectors read at the same time
+     */
+    public DriftDetector(final int parallelism) {
+        this(new HandlerDriver(parallelism, EnvironmentOrchestrator.DEFAULT_INVOCATION_TIME,
+            EnvironmentOrchestrator.DEFAULT_MAX_CALLBACK_DELAY));
+    }
+
+    /**
+     * Constructor used for unit testing
+     *
+     * @param driver
+     */
+    DriftDetector(final HandlerDriver driver) {
+        this.driver = driver;
+        this.connectors = new ConnectorProvisioner(driver);
+        this.schemaDiff = SchemaDiff.load(SCHEMA);
+    }
+
+    /**
+     * @param target account, region and credentials the connectors are in
+     * @param desired desired connectors, each with its ARN or name
+     * @param logger logger of the run; each drifted connector is logged
+     * @return completes once every connector has been compared, or couldn't be
+     */
+    public CompletableFuture<DriftReport> detect(
+        final Target target,
+        final Collection<ResourceModel> desired,
+        final Logger logger) {
+
+        final long start = System.nanoTime();
+        final CompletableFuture<Map<String, String>> arnsByName =
+            desired.stream().allMatch(model -> model.getConnectorArn() != null)
+                ? CompletableFuture.completedFuture(Collections.emptyMap())
+                : EnvironmentTeardown.listAll(nextToken -> connectors.list(target, nextToken, logger), null,
+                        new ArrayList<>())
+                    .thenApply(DriftDetector::arnsByName);
+
+        return arnsByName.thenCompose(arns -> {
+            final List<CompletableFuture<DriftReport.ResourceDrift>> drifts = desired.stream()
+                .map(model -> detect(target, model, model.getConnectorArn() != null ? model.getConnectorArn()
+                    : arns.get(model.getConnectorName()), logger))
+                .collect(Collectors.toList());
+            return CompletableFuture.allOf(drifts.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+                final DriftReport report = DriftReport.builder()
+                    .elapsed(Duration.ofNanos(System.nanoTime() - start))
+                    .resources(drifts.stream().map(CompletableFuture::join).collect(Collectors.toList()))
+                    .build();
+                logger.log(String.format("Checked %d connectors in %d ms, %.1f per minute: %d in sync, %d modified, "
+                        + "%d deleted, %d not checked", report.getResources().size(), report.getElapsed().toMillis(),
+                    report.getResourcesPerMinute(), report.count(DriftReport.Status.IN_SYNC),
+                    report.count(DriftReport.Status.MODIFIED), report.count(DriftReport.Status.DELETED),
+                    report.count(DriftReport.Status.NOT_CHECKED)));
+                return report;
+            });
+        });
+    }
+
+    private CompletableFuture<DriftReport.ResourceDrift> detect(
+        final Target target,
+        final ResourceModel desired,
+        final String arn,
+        final Logger logger) {
+
+        final DriftReport.ResourceDrift.ResourceDriftBuilder drift = DriftReport.ResourceDrift.builder()
+            .connectorName(desired.getConnectorName())
+            .connectorArn(arn)
+            .differences(Collections.emptyList());
+        if (arn == null) {
+            return CompletableFuture.completedFuture(drift.status(DriftReport.Status.DELETED).build());
+        }
+
+        final String name = desired.getConnectorName() != null ? desired.getConnectorName() : arn;
+        return connectors.read(target, name, ResourceModel.builder().connectorArn(arn).build(),
+                EnvironmentOrchestrator.prefixed(logger, name))
+            .handle((outcome, failure) -> {
+                if (failure != null) {
+                    final Throwable cause = EnvironmentOrchestrator.unwrap(failure);
+                    return drift
+                        .status(isNotFound(cause) ? DriftReport.Status.DELETED : DriftReport.Status.NOT_CHECKED)
+                        .error(cause.getMessage())
+                        .build();
+                }
+                final List<DriftReport.PropertyDifference> differences = schemaDiff.diff(desired, outcome.getModel());
+                if (!differences.isEmpty()) {
+                    logger.log(String.format("%s drifted: %s", name, differences.stream()
+                        .map(difference -> difference.getDifferenceType() + " " + difference.getPropertyPath())
+                        .collect(Collectors.joining(", "))));
+                }
+                return drift
+                    .connectorName(outcome.getModel().getConnectorName())
+                    .status(differences.isEmpty() ? DriftReport.Status.IN_SYNC : DriftReport.Status.MODIFIED)
+                    .differences(differences)
+                    .build();
+            });
+    }
+
+    private static boolean isNotFound(final Throwable cause) {
+        return cause instanceof HandlerDriver.HandlerFailedException
+            && ((HandlerDriver.HandlerFailedException) cause).getErrorCode() == HandlerErrorCode.NotFound;
+    }
+
+    private static Map<String, String> arnsByName(final List<ResourceModel> listed) {
+        final Map<String, String> arns = new HashMap<>();
+        listed.forEach(model -> arns.put(model.getConnectorName(), model.getConnectorArn()));
+        return arns;
+    }
+
+    @Override
+    public void close() {
+        driver.close();
+    }
+}
@@ -0,0 +1,79 @@
+package software.amazon.kafkaconnect.orchestration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * How each desired connector compares to the live one, in the terms of CloudFormation drift detection.
+ */
+@lombok.Value
+@lombok.Builder
+public class DriftReport {
+    Duration elapsed;
+    List<ResourceDrift> resources;
+
+    /**
+     * @return resources with the status
+     */
+    public long count(final Status status) {
+        return resources.stream().filter(resource -> resource.getStatus() == status).count();
+    }
+
+    /**
+     * @return resources checked per minute of the run, whatever their status
+     */
+    public double getResourcesPerMinute() {
+        return elapsed.isZero() ? 0 : resources.size() * (double) Duration.ofMinutes(1L).toNanos() / elapsed.toNanos();
+    }
+
+    public enum Status {
+        IN_SYNC,
+        MODIFIED,
+
+        /**
+         * No live connector has the desired one's ARN or name.
+         */
+        DELETED,
+
+        /**
+         * The live connector couldn't be read.
+         */
+        NOT_CHECKED
+    }
+
+    public enum DifferenceType {
+        /**
+         * The live resource has a value the desired one doesn't.
+         */
+        ADD,
+
+        /**
+         * The live resource lacks a value the desired one has.
+         */
+        REMOVE,
+
+        NOT_EQUAL
+    }
+
+    @lombok.Value
+    @lombok.Builder
+    public static class ResourceDrift {
+        String connectorName;
+        String connectorArn;
+        Status status;
+        List<PropertyDifference> differences;
+        String error;
+    }
+
+    /**
+     * A property the desired and live connector disagree on. Values are JSON, except for strings, numbers and
+     * booleans, which are their text. An element of an unordered array is reported at the array's path.
+     */
+    @lombok.Value
+    public static class PropertyDifference {
+        String propertyPath;
+        String expectedValue;
+        String actualValue;
+        DifferenceType differenceType;
+    }
+}
@@ -0,0 +1,252 @@
+package software.amazon.kafkaconnect.orchestration;
+
+import software.amazon.cloudformation.proxy.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Provisions an {@link EnvironmentPlan} through the resource providers' handlers as a dependency graph, instead of one
+ * resource after another. Custom plugins and worker configurations are all created at once, so worker configurations
+ * are ready while the plugins are still stabilizing. Each connector is created as soon as the plugins it runs are
+ * ACTIVE and its worker configuration exists, without waiting for the rest of the plan. A resource whose dependency
+ * failed is not created. Handlers are driven as CloudFormation drives them, see {@link HandlerDriver}.
+ */
+public class EnvironmentOrchestrator implements AutoCloseable {
+    static final int DEFAULT_PARALLELISM = 16;
+    static final Duration DEFAULT_INVOCATION_TIME = Duration.ofSeconds(5L);
+    static final Duration DEFAULT_MAX_CALLBACK_DELAY = Duration.ofSeconds(15L);
+
+    private final HandlerDriver driver;
+    private final CustomPluginProvisioner customPlugins;
+    private final WorkerConfigurationProvisioner workerConfigurations;
+    private final ConnectorProvisioner connectors;
+
+    public EnvironmentOrchestrator() {
+        this(DEFAULT_PARALLELISM, DEFAULT_INVOCATION_TIME, DEFAULT_MAX_CALLBACK_DELAY);
+    }
+
+    /**
+     * @param parallelism handler invocations running at the same time
+     * @param invocationTime time each handler invocation has before it should hand back IN_PROGRESS
+     * @param maxCallbackDelay longest wait between invocations of a handler, whatever delay it asks for
+     */
+    public EnvironmentOrchestrator(
+        final int parallelism,
+        final Duration invocationTime,
+        final Duration maxCallbackDelay) {
+
+        this(new HandlerDriver(parallelism, invocationTime, maxCallbackDelay));
+    }
+
+    /**
+     * Constructor used for unit testing
+     *
+     * @param driver
+     */
+    EnvironmentOrchestrator(final HandlerDriver driver) {
+        this.driver = driver;
+        this.customPlugins = new CustomPluginProvisioner(driver);
+        this.workerConfigurations = new WorkerConfigurationProvisioner(driver);
+        this.connectors = new ConnectorProvisioner(driver);
+    }
+
+    /**
+     * @param target account, region and credentials to provision in
+     * @param plan resources to provision; their models are filled in as they are created
+     * @param logger logger of the run, each handler's lines are prefixed with its resource's logical name
+     * @return completes once every resource has been created, has failed, or was skipped because a dependency failed
+     * @throws IllegalArgumentException if a logical name is used twice, or a connector refers to a name the plan
+     *     doesn't have
+     */
+    public CompletableFuture<ProvisioningReport> provision(
+        final Target target,
+        final EnvironmentPlan plan,
+        final Logger logger) {
+
+        return provision(target, plan, logger, false);
+    }
+
+    /**
+     * @param sequential whether to provision one resource after another, as a baseline for benchmarks
+     */
+    CompletableFuture<ProvisioningReport> provision(
+        final Target target,
+        final EnvironmentPlan plan,
+        final Logger logger,
+        final boolean sequential) {
+
+        validate(plan);
+
+        final TaskGraph graph = new TaskGraph(sequential, System::nanoTime);
+        final Map<String, StepRecord> records = new LinkedHashMap<>();
+
+        final Map<String, TaskGraph.Task<software.amazon.kafkaconnect.customplugin.ResourceModel>> pluginTasks =
+            new HashMap<>();
+        plan.getCustomPlugins().forEach((name, model) -> pluginTasks.put(name, addStep(
+            graph, records, software.amazon.kafkaconnect.customplugin.ResourceModel.TYPE_NAME, name,
+            Collections.emptyList(),
+            () -> customPlugins.create(target, name, model, prefixed(logger, name)),
+            software.amazon.kafkaconnect.customplugin.ResourceModel::getCustomPluginArn)));
+
+        final Map<String, TaskGraph.Task<software.amazon.kafkaconnect.workerconfiguration.ResourceModel>>
+            workerConfigurationTasks = new HashMap<>();
+        plan.getWorkerConfigurations().forEach((name, model) -> workerConfigurationTasks.put(name, addStep(
+            graph, records, software.amazon.kafkaconnect.workerconfiguration.ResourceModel.TYPE_NAME, name,
+            Collections.emptyList(),
+            () -> workerConfigurations.create(target, name, model, prefixed(logger, name)),
+            software.amazon.kafkaconnect.workerconfiguration.ResourceModel::getWorkerConfigurationArn)));
+
+        plan.getConnectors().forEach((name, spec) -> {
+            final List<TaskGraph.Task<software.amazon.kafkaconnect.customplugin.ResourceModel>> plugins =
+                spec.getCustomPlugins().stream().map(pluginTasks::get).collect(Collectors.toList());
+            final TaskGraph.Task<software.amazon.kafkaconnect.workerconfiguration.ResourceModel> workerConfiguration =
+                spec.getWorkerConfiguration() == null
+                    ? null : workerConfigurationTasks.get(spec.getWorkerConfiguration());
+
+            final List<TaskGraph.Task<?>> dependencies = new ArrayList<>(plugins);
+            if (workerConfiguration != null) {
+                dependencies.add(workerConfiguration);
+            }
+            addStep(
+                graph, records, software.amazon.kafkaconnect.connector.ResourceModel.TYPE_NAME, name, dependencies,
+                () -> connectors.create(target, name,
+                    ConnectorProvisioner.withDependencies(spec.getModel(),
+                        plugins.stream().map(TaskGraph.Task::getValue).collect(Collectors.toList()),
+                        workerConfiguration == null ? null : workerConfiguration.getValue()),
+                    prefixed(logger, name)),
+                software.amazon.kafkaconnect.connector.ResourceModel::getConnectorArn);
+        });
+
+        final long start = System.nanoTime();
+        return graph.run().thenApply(timings -> {
+            final ProvisioningReport report = report(timings, records, Duration.ofNanos(System.nanoTime() - start));
+            logger.log(String.format("Provisioned %d of %d resources in %d ms, %d ms one after another",
+                report.getSteps().stream().filter(step -> step.getStatus() == ProvisioningReport.Status.SUCCEEDED)
+                    .count(),
+                report.getSteps().size(), report.getElapsed().toMillis(), report.getSequentialTime().toMillis()));
+            return report;
+        });
+    }
+
+    private static void validate(final EnvironmentPlan plan) {
+        final Set<String> names = new HashSet<>();
+        for (final String name : plan.getCustomPlugins().keySet()) {
+            checkUnique(names, name);
+        }
+        for (final String name : plan.getWorkerConfigurations().keySet()) {
+            checkUnique(names, name);
+        }
+        plan.getConnectors().forEach((name, spec) -> {
+            checkUnique(names, name);
+            for (final String plugin : spec.getCustomPlugins()) {
+                if (!plan.getCustomPlugins().containsKey(plugin)) {
+                    throw new IllegalArgumentException(
+                        String.format("Connector %s runs custom plugin %s, which the plan doesn't have", name, plugin));
+                }
+            }
+            if (spec.getWorkerConfiguration() != null
+                && !plan.getWorkerConfigurations().containsKey(spec.getWorkerConfiguration())) {
+                throw new IllegalArgumentException(String.format(
+                    "Connector %s runs with worker configuration %s, which the plan doesn't have", name,
+                    spec.getWorkerConfiguration()));
+            }
+        });
+    }
+
+    private static void checkUnique(final Set<String> names, final String name) {
+        if (!names.add(name)) {
+            throw new IllegalArgumentException("The plan names more than one resource " + name);
+        }
+    }
+
+    private static <ModelT> TaskGraph.Task<ModelT> addStep(
+        final TaskGraph graph,
+        final Map<String, StepRecord> records,
+        final String resourceType,
+        final String logicalName,
+        final List<? extends TaskGraph.Task<?>> dependencies,
+        final Supplier<CompletableFuture<HandlerDriver.Outcome<ModelT>>> provision,
+        final Function<ModelT, String> arn) {
+
+        final StepRecord record = new StepRecord(resourceType);
+        records.put(logicalName, record);
+        return graph.add(logicalName, dependencies, () -> provision.get()
+            .whenComplete((outcome, failure) -> {
+                if (outcome != null) {
+                    record.arn = arn.apply(outcome.getModel());
+                    record.invocations = outcome.getInvocations();
+                } else if (unwrap(failure) instanceof HandlerDriver.HandlerFailedException) {
+                    record.invocations = ((HandlerDriver.HandlerFailedException) unwrap(failure)).getInvocations();
+                }
+            })
+            .thenApply(HandlerDriver.Outcome::getModel));
+    }
+
+    private static ProvisioningReport report(
+        final List<TaskGraph.Timing> timings,
+        final Map<String, StepRecord> records,
+        final Duration elapsed) {
+
+        final List<ProvisioningReport.Step> steps = new ArrayList<>();
+        Duration sequentialTime = Duration.ZERO;
+        for (final TaskGraph.Timing timing : timings) {
+            final StepRecord record = records.get(timing.getName());
+            steps.add(ProvisioningReport.Step.builder()
+                .resourceType(record.resourceType)
+                .logicalName(timing.getName())
+                .status(ProvisioningReport.Status.valueOf(timing.getStatus().name()))
+                .arn(record.arn)
+                .start(timing.getStart())
+                .duration(timing.getDuration())
+                .invocations(record.invocations)
+                .error(timing.getError())
+                .build());
+            sequentialTime = sequentialTime.plus(timing.getDuration());
+        }
+        return ProvisioningReport.builder()
+            .elapsed(elapsed)
+            .sequentialTime(sequentialTime)
+            .steps(steps)
+            .criticalPath(TaskGraph.criticalPath(timings))
+            .build();
+    }
+
+    static Throwable unwrap(final Throwable failure) {
+        return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+    }
+
+    static Logger prefixed(final Logger logger, final String logicalName) {
+        return message -> logger.log(String.format("[%s] %s", logicalName, message));
+    }
+
+    @Override
+    public void close() {
+        driver.close();
+    }
+
+    /**
+     * What the handler of a step reported, filled in as it ends.
+     */
+    private static final class StepRecord {
+        private final String resourceType;
+        private volatile String arn;
+        private volatile int invocations;
+
+        private StepRecord(final String resourceType) {
+            this.resourceType = resourceType;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package software.amazon.kafkaconnect.orchestration;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Custom plugins, worker configurations and connectors to provision together, each under a logical name. Connectors
+ * refer to the plan's plugins and worker configuration by those names; the models are the resource providers' own,
+ * as in a template.
+ */
+@lombok.Value
+@lombok.Builder
+public class EnvironmentPlan {
+    @lombok.Singular
+    Map<String, software.amazon.kafkaconnect.customplugin.ResourceModel> customPlugins;
+
+    @lombok.Singular
+    Map<String, software.amazon.kafkaconnect.workerconfiguration.ResourceModel> workerConfigurations;
+
+    @lombok.Singular
+    Map<String, ConnectorSpec> connectors;
+
+    /**
+     * A connector and the plan resources it runs on. Their ARNs and revisions are filled into the model once they are
+     * usable; plugins and a worker configuration the model already names are kept.
+     */
+    @lombok.Value
+    @lombok.Builder
+    public static class ConnectorSpec {
+        software.amazon.kafkaconnect.connector.ResourceModel model;
+
+        /**
+         * Logical names of the plan's custom plugins the connector runs.
+         */
+        @lombok.Singular
+        List<String> customPlugins;
+
+        /**
+         * Logical name of the plan's worker configuration the connector runs with, or null.
+         */
+        String workerConfiguration;
+    }
+}
@@ -0,0 +1,389 @@
+package software.amazon.kafkaconnect.orchestration;
+
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.kafkaconnect.connector.RateLimiter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Deletes the connectors, custom plugins and worker configurations whose names start with a prefix, through the
+ * resource providers' handlers, instead of one resource after another.
+ *
+ * The resources are discovered first: every connector is listed, with the plugins and worker configuration it runs,
+ * and every custom plugin and worker configuration is listed and described for its name. Connectors are then deleted
+ * at most {@code concurrentConnectorDeletes} at a time. A custom plugin or worker configuration is deleted once the
+ * last connector using it is gone; one that no connector uses is deleted right away. If a connector fails to delete,
+ * or one outside the prefix uses a plugin or worker configuration, that plugin or worker configuration is kept. All
+ * handlers share one rate limit on their service calls.
+ */
+public class EnvironmentTeardown implements AutoCloseable {
+    static final int DEFAULT_PARALLELISM = 16;
+    static final int DEFAULT_CONCURRENT_CONNECTOR_DELETES = 25;
+    static final int DEFAULT_REQUESTS_PER_SECOND = 10;
+
+    private final HandlerDriver driver;
+    private final int concurrentConnectorDeletes;
+    private final CustomPluginProvisioner customPlugins;
+    private final WorkerConfigurationProvisioner workerConfigurations;
+    private final ConnectorProvisioner connectors;
+
+    public EnvironmentTeardown() {
+        this(DEFAULT_PARALLELISM, DEFAULT_CONCURRENT_CONNECTOR_DELETES, DEFAULT_REQUESTS_PER_SECOND,
+            EnvironmentOrchestrator.DEFAULT_INVOCATION_TIME, EnvironmentOrchestrator.DEFAULT_MAX_CALLBACK_DELAY);
+    }
+
+    /**
+     * @param parallelism handler invocations running at the same time
+     * @param concurrentConnectorDeletes connectors DELETING at the same time
+     * @param requestsPerSecond service calls per second, shared by all handlers
+     * @param invocationTime time each handler invocation has before it should hand back IN_PROGRESS
+     * @param maxCallbackDelay longest wait between invocations of a handler, whatever delay it asks for
+     */
+    public EnvironmentTeardown(
+        final int parallelism,
+        final int concurrentConnectorDeletes,
+        final int requestsPerSecond,
+        final Duration invocationTime,
+        final Duration maxCallbackDelay) {
+
+        this(new HandlerDriver(parallelism, invocationTime, maxCallbackDelay, new RateLimiter(requestsPerSecond)),
+            concurrentConnectorDeletes);
+    }
+
+    /**
+     * Constructor used for unit testing
+     *
+     * @param driver
+     * @param concurrentConnectorDeletes
+     */
+    EnvironmentTeardown(final HandlerDriver driver, final int concurrentConnectorDeletes) {
+        this.driver = driver;
+        this.concurrentConnectorDeletes = concurrentConnectorDeletes;
+        this.customPlugins = new CustomPluginProvisioner(driver);
+        this.workerConfigurations = new WorkerConfigurationProvisioner(driver);
+        this.connectors = new ConnectorProvisioner(driver);
+    }
+
+    /**
+     * @param target account, region and credentials to tear down in
+     * @param namePrefix prefix of the names of the resources to delete
+     * @param logger logger of the run; progress is logged as each resource ends, and each handler's lines are
+     *     prefixed with its resource's name
+     * @return completes once every resource has been deleted, has failed, or was kept because it is still in use
+     * @throws IllegalArgumentException if the prefix is empty
+     */
+    public CompletableFuture<TeardownReport> tearDown(
+        final Target target,
+        final String namePrefix,
+        final Logger logger) {
+
+        if (namePrefix == null || namePrefix.isEmpty()) {
+            throw new IllegalArgumentException("A name prefix is required, so that not every resource is deleted");
+        }
+
+        final long start = System.nanoTime();
+        final CompletableFuture<List<software.amazon.kafkaconnect.connector.ResourceModel>> connectorList =
+            listAll(nextToken -> connectors.list(target, nextToken, logger), null, new ArrayList<>());
+        final CompletableFuture<List<software.amazon.kafkaconnect.customplugin.ResourceModel>> pluginList =
+            listAll(nextToken -> customPlugins.list(target, nextToken, logger), null, new ArrayList<>())
+                .thenCompose(listed -> describeAll(listed, model -> customPlugins.read(target,
+                    model.getCustomPluginArn(), model, logger)));
+        final CompletableFuture<List<software.amazon.kafkaconnect.workerconfiguration.ResourceModel>>
+            workerConfigurationList =
+            listAll(nextToken -> workerConfigurations.list(target, nextToken, logger), null, new ArrayList<>())
+                .thenCompose(listed -> describeAll(listed, model -> workerConfigurations.read(target,
+                    model.getWorkerConfigurationArn(), model, logger)));
+
+        return CompletableFuture.allOf(connectorList, pluginList, workerConfigurationList).thenCompose(ignored -> {
+            final Duration discovery = Duration.ofNanos(System.nanoTime() - start);
+            logger.log(String.format("Found %d connectors, %d custom plugins and %d worker configurations in %d ms",
+                connectorList.join().size(), pluginList.join().size(), workerConfigurationList.join().size(),
+                discovery.toMillis()));
+            return delete(target, namePrefix, connectorList.join(), pluginList.join(), workerConfigurationList.join(),
+                discovery, logger);
+        });
+    }
+
+    private CompletableFuture<TeardownReport> delete(
+        final Target target,
+        final String namePrefix,
+        final List<software.amazon.kafkaconnect.connector.ResourceModel> allConnectors,
+        final List<software.amazon.kafkaconnect.customplugin.ResourceModel> allPlugins,
+        final List<software.amazon.kafkaconnect.workerconfiguration.ResourceModel> allWorkerConfigurations,
+        final Duration discovery,
+        final Logger logger) {
+
+        final TaskGraph graph = new TaskGraph();
+        final Map<String, StepRecord> records = new LinkedHashMap<>();
+        final List<TeardownReport.Step> kept = new ArrayList<>();
+        final ConcurrencyLimit connectorDeletes = new ConcurrencyLimit(concurrentConnectorDeletes);
+        final Progress progress = new Progress(logger);
+
+        // connector tasks by the ARNs of the plugins and worker configuration they use, so that those are
+        // deleted once the last connector using them is gone
+        final Map<String, List<TaskGraph.Task<?>>> users = new HashMap<>();
+        final Map<String, List<String>> usersOutsidePrefix = new HashMap<>();
+        for (final software.amazon.kafkaconnect.connector.ResourceModel connector : allConnectors) {
+            final String name = connector.getConnectorName();
+            final List<String> used = usedArns(connector);
+            if (!name.startsWith(namePrefix)) {
+                used.forEach(arn -> usersOutsidePrefix.computeIfAbsent(arn, ignored -> new ArrayList<>()).add(name));
+                continue;
+            }
+            final TaskGraph.Task<?> task = addStep(graph, records, progress,
+                software.amazon.kafkaconnect.connector.ResourceModel.TYPE_NAME, name, connector.getConnectorArn(),
+                Collections.emptyList(), () -> connectorDeletes.submit(() ->
+                    connectors.delete(target, name, connector, EnvironmentOrchestrator.prefixed(logger, name))));
+            used.forEach(arn -> users.computeIfAbsent(arn, ignored -> new ArrayList<>()).add(task));
+        }
+
+        for (final software.amazon.kafkaconnect.customplugin.ResourceModel plugin : allPlugins) {
+            final String name = plugin.getName();
+            final String arn = plugin.getCustomPluginArn();
+            if (name.startsWith(namePrefix) && !keep(kept, usersOutsidePrefix,
+                software.amazon.kafkaconnect.customplugin.ResourceModel.TYPE_NAME, name, arn)) {
+
+                addStep(graph, records, progress, software.amazon.kafkaconnect.customplugin.ResourceModel.TYPE_NAME,
+                    name, arn, users.getOrDefault(arn, Collections.emptyList()),
+                    () -> customPlugins.delete(target, name, plugin, EnvironmentOrchestrator.prefixed(logger, name)));
+            }
+        }
+
+        for (final software.amazon.kafkaconnect.workerconfiguration.ResourceModel workerConfiguration
+            : allWorkerConfigurations) {
+
+            final String name = workerConfiguration.getName();
+            final String arn = workerConfiguration.getWorkerConfigurationArn();
+            if (name.startsWith(namePrefix) && !keep(kept, usersOutsidePrefix,
+                software.amazon.kafkaconnect.workerconfiguration.ResourceModel.TYPE_NAME, name, arn)) {
+
+                addStep(graph, records, progress,
+                    software.amazon.kafkaconnect.workerconfiguration.ResourceModel.TYPE_NAME, name, arn,
+                    users.getOrDefault(arn, Collections.emptyList()), () -> workerConfigurations.delete(
+                        target, name, workerConfiguration, EnvironmentOrchestrator.prefixed(logger, name)));
+            }
+        }
+
+        progress.total = records.size() + kept.size();
+        final long start = System.nanoTime();
+        return graph.run().thenApply(timings -> {
+            final List<TeardownReport.Step> steps = new ArrayList<>();
+            for (final TaskGraph.Timing timing : timings) {
+                final StepRecord record = records.get(timing.getName());
+                steps.add(TeardownReport.Step.builder()
+                    .resourceType(record.resourceType)
+                    .name(record.name)
+                    .arn(timing.getName())
+                    .status(timing.getStatus() == TaskGraph.Status.SUCCEEDED
+                        ? TeardownReport.Status.DELETED : TeardownReport.Status.valueOf(timing.getStatus().name()))
+                    .start(timing.getStart())
+                    .duration(timing.getDuration())
+                    .invocations(record.invocations)
+                    .error(timing.getError())
+                    .build());
+            }
+            steps.addAll(kept);
+
+            final TeardownReport report = TeardownReport.builder()
+                .discovery(discovery)
+                .deletion(Duration.ofNanos(System.nanoTime() - start))
+                .steps(steps)
+                .peakConnectorDeletes(connectorDeletes.getPeak())
+                .build();
+            logger.log(String.format("Deleted %d of %d resources in %d ms, %.1f per minute, %d connectors at a time",
+                report.getDeleted(), steps.size(), report.getElapsed().toMillis(), report.getDeletesPerMinute(),
+                report.getPeakConnectorDeletes()));
+            return report;
+        });
+    }
+
+    /**
+     * Keeps a plugin or worker configuration that connectors outside the prefix still use.
+     *
+     * @return whether it is kept
+     */
+    private static boolean keep(
+        final List<TeardownReport.Step> kept,
+        final Map<String, List<String>> usersOutsidePrefix,
+        final String resourceType,
+        final String name,
+        final String arn) {
+
+        final List<String> users = usersOutsidePrefix.get(arn);
+        if (users == null) {
+            return false;
+        }
+        kept.add(TeardownReport.Step.builder()
+            .resourceType(resourceType)
+            .name(name)
+            .arn(arn)
+            .status(TeardownReport.Status.SKIPPED)
+            .duration(Duration.ZERO)
+            .error("Kept because connector " + String.join(", ", users) + " still uses it")
+            .build());
+        return true;
+    }
+
+    /**
+     * @return ARNs of the custom plugins and worker configuration the connector uses
+     */
+    private static List<String> usedArns(final software.amazon.kafkaconnect.connector.ResourceModel connector) {
+        final List<String> arns = new ArrayList<>();
+        if (connector.getPlugins() != null) {
+            connector.getPlugins().stream()
+                .filter(plugin -> plugin.getCustomPlugin() != null)
+                .map(plugin -> plugin.getCustomPlugin().getCustomPluginArn())
+                .forEach(arns::add);
+        }
+        if (connector.getWorkerConfiguration() != null) {
+            arns.add(connector.getWorkerConfiguration().getWorkerConfigurationArn());
+        }
+        return arns;
+    }
+
+    /**
+     * Adds the deletion of a resource to the graph. Tasks are named by ARN, as names are only unique per type.
+     */
+    private static <ModelT> TaskGraph.Task<ModelT> addStep(
+        final TaskGraph graph,
+        final Map<String, StepRecord> records,
+        final Progress progress,
+        final String resourceType,
+        final String name,
+        final String arn,
+        final Collection<? extends TaskGraph.Task<?>> dependencies,
+        final Supplier<CompletableFuture<HandlerDriver.Outcome<ModelT>>> deletion) {
+
+        final StepRecord record = new StepRecord(resourceType, name);
+        records.put(arn, record);
+        return graph.add(arn, dependencies, () -> goneIfNotFound(deletion.get())
+            .whenComplete((outcome, failure) -> {
+                if (outcome != null) {
+                    record.invocations = outcome.getInvocations();
+                } else if (EnvironmentOrchestrator.unwrap(failure) instanceof HandlerDriver.HandlerFailedException) {
+                    record.invocations = ((HandlerDriver.HandlerFailedException)
+                        EnvironmentOrchestrator.unwrap(failure)).getInvocations();
+                }
+                progress.ended(failure == null);
+            })
+            .thenApply(HandlerDriver.Outcome::getModel));
+    }
+
+    /**
+     * A resource that is already gone, e.g. deleted by an earlier run, counts as deleted.
+     */
+    private static <ModelT> CompletableFuture<HandlerDriver.Outcome<ModelT>> goneIfNotFound(
+        final CompletableFuture<HandlerDriver.Outcome<ModelT>> deletion) {
+
+        return deletion.exceptionally(failure -> {
+            final Throwable cause = EnvironmentOrchestrator.unwrap(failure);
+            if (cause instanceof HandlerDriver.HandlerFailedException
+                && ((HandlerDriver.HandlerFailedException) cause).getErrorCode() == HandlerErrorCode.NotFound) {
+                return new HandlerDriver.Outcome<>(
+                    null, null, null, ((HandlerDriver.HandlerFailedException) cause).getInvocations());
+            }
+            throw failure instanceof CompletionException ? (CompletionException) failure
+                : new CompletionException(failure);
+        });
+    }
+
+    /**
+     * Lists the pages one after another, each with the token of the last, into {@code models}.
+     */
+    static <ModelT> CompletableFuture<List<ModelT>> listAll(
+        final Function<String, CompletableFuture<HandlerDriver.Outcome<ModelT>>> page,
+        final String nextToken,
+        final List<ModelT> models) {
+
+        return page.apply(nextToken).thenCompose(outcome -> {
+            if (outcome.getModels() != null) {
+                models.addAll(outcome.getModels());
+            }
+            return outcome.getNextToken() == null
+                ? CompletableFuture.completedFuture(models)
+                : listAll(page, outcome.getNextToken(), models);
+        });
+    }
+
+    /**
+     * Describes the listed resources all at once. A resource that is gone by the time it is described is left out.
+     */
+    private static <ModelT> CompletableFuture<List<ModelT>> describeAll(
+        final List<ModelT> listed,
+        final Function<ModelT, CompletableFuture<HandlerDriver.Outcome<ModelT>>> describe) {
+
+        final List<CompletableFuture<ModelT>> descriptions = listed.stream()
+            .map(model -> describe.apply(model).thenApply(HandlerDriver.Outcome::getModel).exceptionally(failure -> {
+                final Throwable cause = EnvironmentOrchestrator.unwrap(failure);
+                if (cause instanceof HandlerDriver.HandlerFailedException
+                    && ((HandlerDriver.HandlerFailedException) cause).getErrorCode() == HandlerErrorCode.NotFound) {
+                    return null;
+                }
+                throw failure instanceof CompletionException ? (CompletionException) failure
+                    : new CompletionException(failure);
+            }))
+            .collect(Collectors.toList());
+        return CompletableFuture.allOf(descriptions.toArray(new CompletableFuture<?>[0]))
+            .thenApply(ignored -> descriptions.stream()
+                .map(CompletableFuture::join)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public void close() {
+        driver.close();
+    }
+
+    /**
+     * Logs how many resources have ended, and at what rate, as each one does.
+     */
+    private static final class Progress {
+        private final Logger logger;
+        private final long start = System.nanoTime();
+        private final AtomicInteger deleted = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private volatile int total;
+
+        private Progress(final Logger logger) {
+            this.logger = logger;
+        }
+
+        private void ended(final boolean succeeded) {
+            final int deletedSoFar = succeeded ? deleted.incrementAndGet() : deleted.get();
+            final int failedSoFar = succeeded ? failed.get() : failed.incrementAndGet();
+            final double minutes = (System.nanoTime() - start) / (double) Duration.ofMinutes(1L).toNanos();
+            logger.log(String.format("Deleted %d of %d resources, %d failed, %.1f per minute", deletedSoFar, total,
+                failedSoFar, minutes == 0 ? 0 : deletedSoFar / minutes));
+        }
+    }
+
+    /**
+     * What the handler of a step reported, filled in as it ends.
+     */
+    private static final class StepRecord {
+        private final String resourceType;
+        private final String name;
+        private volatile int invocations;
+
+        private StepRecord(final String resourceType, final String name) {
+            this.resourceType = resourceType;
+            this.name = name;
+        }
+    }
+}
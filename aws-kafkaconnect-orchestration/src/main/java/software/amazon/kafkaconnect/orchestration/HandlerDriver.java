@@ -0,0 +1,297 @@
+package software.amazon.kafkaconnect.orchestration;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.cloudformation.exceptions.BaseHandlerException;
+import software.amazon.cloudformation.exceptions.CfnInternalFailureException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.kafkaconnect.connector.RateLimiter;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs a resource handler to a final status the way CloudFormation does, without a thread waiting in between. Each
+ * invocation gets {@code invocationTime}, as a Lambda gets its timeout: a handler that would run past it returns
+ * IN_PROGRESS with its callback context and delay instead of sleeping. The handler is then invoked again with that
+ * context once the delay has passed, or {@code maxCallbackDelay} if that is shorter, so many resources stabilize
+ * on a few threads. Given a {@link RateLimiter}, every service call of every handler takes a permit from it first.
+ *
+ * A handler that fails with a retryable error code, or throws a throttling or 5xx service error, is invoked again
+ * with the callback context it failed with, after a backoff that doubles up to {@code maxCallbackDelay}, at most
+ * {@link #MAX_RETRIES} times in a row, as CloudFormation retries handlers.
+ */
+final class HandlerDriver implements AutoCloseable {
+    static final int MAX_RETRIES = 5;
+    static final Duration FIRST_RETRY_DELAY = Duration.ofSeconds(1L);
+    static final Set<HandlerErrorCode> RETRYABLE_ERROR_CODES = Collections.unmodifiableSet(EnumSet.of(
+        HandlerErrorCode.Throttling, HandlerErrorCode.ServiceInternalError, HandlerErrorCode.NetworkFailure));
+
+    /**
+     * The rpdk handler entrypoint, e.g. {@code new CreateHandler()::handleRequest} of any of the resource providers.
+     */
+    @FunctionalInterface
+    interface Handler<ModelT, ContextT> {
+        ProgressEvent<ModelT, ContextT> handleRequest(
+            AmazonWebServicesClientProxy proxy,
+            ResourceHandlerRequest<ModelT> request,
+            ContextT callbackContext,
+            Logger logger);
+    }
+
+    private final ExecutorService executor;
+    private final ScheduledExecutorService scheduler;
+    private final Duration invocationTime;
+    private final Duration maxCallbackDelay;
+    private final RateLimiter rateLimiter;
+
+    /**
+     * @param parallelism handler invocations running at the same time
+     * @param invocationTime time each invocation has before it should hand back IN_PROGRESS
+     * @param maxCallbackDelay longest wait between invocations, whatever delay the handler asks for
+     */
+    HandlerDriver(final int parallelism, final Duration invocationTime, final Duration maxCallbackDelay) {
+        this(parallelism, invocationTime, maxCallbackDelay, null);
+    }
+
+    /**
+     * @param parallelism handler invocations running at the same time
+     * @param invocationTime time each invocation has before it should hand back IN_PROGRESS
+     * @param maxCallbackDelay longest wait between invocations, whatever delay the handler asks for
+     * @param rateLimiter limiter shared by the service calls of all handlers, null for none
+     */
+    HandlerDriver(
+        final int parallelism,
+        final Duration invocationTime,
+        final Duration maxCallbackDelay,
+        final RateLimiter rateLimiter) {
+
+        this.executor = Executors.newFixedThreadPool(parallelism);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor();
+        this.invocationTime = invocationTime;
+        this.maxCallbackDelay = maxCallbackDelay;
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * @param handler handler to invoke
+     * @param request request to invoke it with, on every invocation
+     * @param credentials credentials the handler's calls are made with
+     * @param logger logger of the handler
+     * @return completes with the model, or page of models, of the SUCCESS event, or exceptionally with a
+     *     {@link HandlerFailedException}
+     */
+    <ModelT, ContextT> CompletableFuture<Outcome<ModelT>> drive(
+        final Handler<ModelT, ContextT> handler,
+        final ResourceHandlerRequest<ModelT> request,
+        final Credentials credentials,
+        final Logger logger) {
+
+        final CompletableFuture<Outcome<ModelT>> outcome = new CompletableFuture<>();
+        submit(() -> invoke(handler, request, null, credentials, logger, 1, 0, outcome), outcome);
+        return outcome;
+    }
+
+    private <ModelT, ContextT> void invoke(
+        final Handler<ModelT, ContextT> handler,
+        final ResourceHandlerRequest<ModelT> request,
+        final ContextT callbackContext,
+        final Credentials credentials,
+        final Logger logger,
+        final int invocation,
+        final int retries,
+        final CompletableFuture<Outcome<ModelT>> outcome) {
+
+        final long deadline = System.currentTimeMillis() + invocationTime.toMillis();
+        final AmazonWebServicesClientProxy proxy = newProxy(credentials, deadline);
+        final ProgressEvent<ModelT, ContextT> event;
+        try {
+            event = handler.handleRequest(proxy, request, callbackContext, logger);
+        } catch (final BaseHandlerException e) {
+            fail(handler, request, callbackContext, credentials, logger, invocation, retries, outcome,
+                e.getErrorCode(), e.getMessage());
+            return;
+        } catch (final AwsServiceException e) {
+            fail(handler, request, callbackContext, credentials, logger, invocation, retries, outcome,
+                errorCode(e), e.getMessage());
+            return;
+        } catch (final RuntimeException e) {
+            outcome.completeExceptionally(
+                new HandlerFailedException(HandlerErrorCode.InternalFailure, String.valueOf(e), invocation));
+            return;
+        }
+
+        if (event.getStatus() == OperationStatus.SUCCESS) {
+            outcome.complete(new Outcome<>(
+                event.getResourceModel(), event.getResourceModels(), event.getNextToken(), invocation));
+        } else if (event.getStatus() == OperationStatus.FAILED) {
+            fail(handler, request, callbackContext, credentials, logger, invocation, retries, outcome,
+                event.getErrorCode(), event.getMessage());
+        } else {
+            final long delayMillis = Math.min(
+                TimeUnit.SECONDS.toMillis(event.getCallbackDelaySeconds()), maxCallbackDelay.toMillis());
+            schedule(handler, request, event.getCallbackContext(), credentials, logger, invocation + 1, 0, outcome,
+                delayMillis);
+        }
+    }
+
+    /**
+     * Invokes the handler again with the context it failed with if the error is retryable and retries are left,
+     * otherwise completes the outcome with the failure.
+     */
+    private <ModelT, ContextT> void fail(
+        final Handler<ModelT, ContextT> handler,
+        final ResourceHandlerRequest<ModelT> request,
+        final ContextT callbackContext,
+        final Credentials credentials,
+        final Logger logger,
+        final int invocation,
+        final int retries,
+        final CompletableFuture<Outcome<ModelT>> outcome,
+        final HandlerErrorCode errorCode,
+        final String message) {
+
+        if (!RETRYABLE_ERROR_CODES.contains(errorCode) || retries >= MAX_RETRIES) {
+            outcome.completeExceptionally(new HandlerFailedException(errorCode, message, invocation));
+            return;
+        }
+
+        final long delayMillis = Math.min(FIRST_RETRY_DELAY.toMillis() << retries, maxCallbackDelay.toMillis());
+        logger.log(String.format("%s: %s, retrying in %d ms (%d of %d)", errorCode, message, delayMillis,
+            retries + 1, MAX_RETRIES));
+        schedule(handler, request, callbackContext, credentials, logger, invocation + 1, retries + 1, outcome,
+            delayMillis);
+    }
+
+    private <ModelT, ContextT> void schedule(
+        final Handler<ModelT, ContextT> handler,
+        final ResourceHandlerRequest<ModelT> request,
+        final ContextT callbackContext,
+        final Credentials credentials,
+        final Logger logger,
+        final int invocation,
+        final int retries,
+        final CompletableFuture<Outcome<ModelT>> outcome,
+        final long delayMillis) {
+
+        try {
+            scheduler.schedule(() -> submit(() -> invoke(
+                    handler, request, callbackContext, credentials, logger, invocation, retries, outcome), outcome),
+                delayMillis, TimeUnit.MILLISECONDS);
+        } catch (final RejectedExecutionException e) {
+            outcome.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * @return the error code CloudFormation would give a service error the handler didn't translate
+     */
+    private static HandlerErrorCode errorCode(final AwsServiceException e) {
+        if (e.isThrottlingException()) {
+            return HandlerErrorCode.Throttling;
+        }
+        return e.statusCode() >= 500 ? HandlerErrorCode.ServiceInternalError : HandlerErrorCode.GeneralServiceException;
+    }
+
+    private AmazonWebServicesClientProxy newProxy(final Credentials credentials, final long deadline) {
+        final Supplier<Long> remainingTime = () -> deadline - System.currentTimeMillis();
+        return rateLimiter == null
+            ? new AmazonWebServicesClientProxy(new LoggerProxy(), credentials, remainingTime)
+            : new RateLimitedProxy(credentials, remainingTime, rateLimiter);
+    }
+
+    private void submit(final Runnable invocation, final CompletableFuture<?> outcome) {
+        try {
+            executor.execute(invocation);
+        } catch (final RejectedExecutionException e) {
+            outcome.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Stops invoking handlers. Resources still IN_PROGRESS are left as they are.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    /**
+     * Proxy that takes a permit from the shared rate limiter before each service call.
+     */
+    private static final class RateLimitedProxy extends AmazonWebServicesClientProxy {
+        private final RateLimiter rateLimiter;
+
+        RateLimitedProxy(
+            final Credentials credentials,
+            final Supplier<Long> remainingTime,
+            final RateLimiter rateLimiter) {
+
+            super(new LoggerProxy(), credentials, remainingTime);
+            this.rateLimiter = rateLimiter;
+        }
+
+        @Override
+        public <RequestT extends AwsRequest, ResultT extends AwsResponse> ResultT injectCredentialsAndInvokeV2(
+            final RequestT request,
+            final Function<RequestT, ResultT> requestFunction) {
+
+            try {
+                rateLimiter.acquire();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CfnInternalFailureException(e);
+            }
+            return super.injectCredentialsAndInvokeV2(request, requestFunction);
+        }
+    }
+
+    /**
+     * The model a handler ended with, and how many invocations it took. List handlers end with a page of models and
+     * the token of the next page instead.
+     */
+    @lombok.Value
+    static class Outcome<ModelT> {
+        ModelT model;
+        List<ModelT> models;
+        String nextToken;
+        int invocations;
+    }
+
+    /**
+     * A handler ended FAILED, or threw.
+     */
+    @lombok.Getter
+    static class HandlerFailedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final HandlerErrorCode errorCode;
+        private final int invocations;
+
+        HandlerFailedException(final HandlerErrorCode errorCode, final String message, final int invocations) {
+            super(String.format("%s: %s", errorCode, message));
+            this.errorCode = errorCode;
+            this.invocations = invocations;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package software.amazon.kafkaconnect.orchestration;
+
+import software.amazon.cloudformation.proxy.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Lists every connector, custom plugin and worker configuration of a set of accounts and regions through the resource
+ * providers' List handlers, and writes each one to a {@link NdjsonSink} as it is listed.
+ *
+ * Every resource type of every region is one scan, and the scans run at the same time, so scanning takes about as
+ * long as the slowest region rather than the sum of them. A scan lists its pages one after another, since each needs
+ * the token of the last, and writes a page before listing the next: when the sink falls behind, the scans wait for it
+ * instead of holding the pages in memory. A scan that fails is reported; the others carry on.
+ */
+public class InventoryScanner implements AutoCloseable {
+    static final int DEFAULT_PARALLELISM = 24;
+
+    private final HandlerDriver driver;
+    private final CustomPluginProvisioner customPlugins;
+    private final WorkerConfigurationProvisioner workerConfigurations;
+    private final ConnectorProvisioner connectors;
+
+    public InventoryScanner() {
+        this(DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * @param parallelism pages listed and written at the same time; scans beyond it wait for a thread
+     */
+    public InventoryScanner(final int parallelism) {
+        this(new HandlerDriver(parallelism, EnvironmentOrchestrator.DEFAULT_INVOCATION_TIME,
+            EnvironmentOrchestrator.DEFAULT_MAX_CALLBACK_DELAY));
+    }
+
+    /**
+     * Constructor used for unit testing
+     *
+     * @param driver
+     */
+    InventoryScanner(final HandlerDriver driver) {
+        this.driver = driver;
+        this.customPlugins = new CustomPluginProvisioner(driver);
+        this.workerConfigurations = new WorkerConfigurationProvisioner(driver);
+        this.connectors = new ConnectorProvisioner(driver);
+    }
+
+    /**
+     * @param targets accounts and regions to scan, with the credentials to list them with
+     * @param sink sink each resource is written to, as a {@link ScannedResource}
+     * @param logger logger of the run; each scan is logged as it ends
+     * @return completes once every scan has listed its last page or failed
+     */
+    public CompletableFuture<ScanReport> scan(
+        final Collection<Target> targets,
+        final NdjsonSink sink,
+        final Logger logger) {
+
+        final long start = System.nanoTime();
+        final Duration waitedBefore = sink.getWaited();
+        final List<CompletableFuture<ScanReport.Scan>> scans = new ArrayList<>();
+        for (final Target target : targets) {
+            scans.add(scan(target, software.amazon.kafkaconnect.connector.ResourceModel.TYPE_NAME,
+                nextToken -> connectors.list(target, nextToken, logger), sink, logger));
+            scans.add(scan(target, software.amazon.kafkaconnect.customplugin.ResourceModel.TYPE_NAME,
+                nextToken -> customPlugins.list(target, nextToken, logger), sink, logger));
+            scans.add(scan(target, software.amazon.kafkaconnect.workerconfiguration.ResourceModel.TYPE_NAME,
+                nextToken -> workerConfigurations.list(target, nextToken, logger), sink, logger));
+        }
+
+        return CompletableFuture.allOf(scans.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+            final ScanReport report = ScanReport.builder()
+                .elapsed(Duration.ofNanos(System.nanoTime() - start))
+                .scans(scans.stream().map(CompletableFuture::join).collect(Collectors.toList()))
+                .sinkWait(sink.getWaited().minus(waitedBefore))
+                .build();
+            logger.log(String.format("Scanned %d resources in %d regions in %d ms, %.1f per second",
+                report.getResources(), targets.size(), report.getElapsed().toMillis(),
+                report.getResourcesPerSecond()));
+            return report;
+        });
+    }
+
+    private <ModelT> CompletableFuture<ScanReport.Scan> scan(
+        final Target target,
+        final String typeName,
+        final Function<String, CompletableFuture<HandlerDriver.Outcome<ModelT>>> page,
+        final NdjsonSink sink,
+        final Logger logger) {
+
+        final long start = System.nanoTime();
+        final Progress progress = new Progress();
+        return scanPages(page, null, model -> new ScannedResource(target.getAwsAccountId(), target.getRegion(),
+            typeName, model), sink, progress)
+            .handle((ignored, failure) -> {
+                final ScanReport.Scan scan = ScanReport.Scan.builder()
+                    .awsAccountId(target.getAwsAccountId())
+                    .region(target.getRegion())
+                    .typeName(typeName)
+                    .resources(progress.resources)
+                    .pages(progress.pages)
+                    .duration(Duration.ofNanos(System.nanoTime() - start))
+                    .error(failure == null ? null : EnvironmentOrchestrator.unwrap(failure).getMessage())
+                    .build();
+                logger.log(failure == null
+                    ? String.format("Scanned %d %s in %s in %d pages, %d ms", scan.getResources(), typeName,
+                        scan.getRegion(), scan.getPages(), scan.getDuration().toMillis())
+                    : String.format("Scanning %s in %s failed after %d resources: %s", typeName, scan.getRegion(),
+                        scan.getResources(), scan.getError()));
+                return scan;
+            });
+    }
+
+    /**
+     * Writes each page to the sink before listing the next, on the thread that listed it.
+     */
+    private static <ModelT> CompletableFuture<Void> scanPages(
+        final Function<String, CompletableFuture<HandlerDriver.Outcome<ModelT>>> page,
+        final String nextToken,
+        final Function<ModelT, ScannedResource> record,
+        final NdjsonSink sink,
+        final Progress progress) {
+
+        return page.apply(nextToken).thenCompose(outcome -> {
+            progress.pages++;
+            if (outcome.getModels() != null) {
+                for (final ModelT model : outcome.getModels()) {
+                    try {
+                        sink.write(record.apply(model));
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new CompletionException(e);
+                    }
+                    progress.resources++;
+                }
+            }
+            return outcome.getNextToken() == null
+                ? CompletableFuture.completedFuture(null)
+                : scanPages(page, outcome.getNextToken(), record, sink, progress);
+        });
+    }
+
+    @Override
+    public void close() {
+        driver.close();
+    }
+
+    /**
+     * A line of the scan's output: a resource as its List handler returned it, and where it was found.
+     */
+    @lombok.Value
+    public static class ScannedResource {
+        String awsAccountId;
+        String region;
+        String typeName;
+        Object resourceModel;
+    }
+
+    /**
+     * Pages and resources of one scan so far. Its pages are listed one after another, each after the last completed,
+     * so the counts are only written by one thread at a time.
+     */
+    private static final class Progress {
+        private volatile int pages;
+        private volatile long resources;
+    }
+}
@@ -0,0 +1,144 @@
+package software.amazon.kafkaconnect.orchestration;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import software.amazon.cloudformation.resource.Serializer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Writes records from many producers as newline-delimited JSON, one record per line, through a single writer thread.
+ * At most {@code capacity} serialized lines wait to be written. A producer that finds them all taken waits for room,
+ * so producers go no faster than the output takes lines, and memory stays bounded however much is written.
+ */
+public final class NdjsonSink implements AutoCloseable {
+    // an empty line, which no serialized record is
+    private static final String END = "";
+
+    private final Serializer serializer = new Serializer();
+    private final Writer writer;
+    private final BlockingQueue<String> lines;
+    private final Thread writerThread;
+    private final LongAdder written = new LongAdder();
+    private final LongAdder waitedNanos = new LongAdder();
+
+    private volatile IOException failure;
+    private boolean closed;
+
+    /**
+     * @param output stream to write to as UTF-8; it is flushed but not closed when the sink is
+     * @param capacity lines waiting to be written, at most
+     */
+    public NdjsonSink(final OutputStream output, final int capacity) {
+        this(new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8)), capacity);
+    }
+
+    /**
+     * Constructor used for unit testing
+     *
+     * @param writer
+     * @param capacity
+     */
+    NdjsonSink(final Writer writer, final int capacity) {
+        this.writer = writer;
+        this.lines = new ArrayBlockingQueue<>(capacity);
+        this.writerThread = new Thread(this::drain, "ndjson-sink");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Queues the record to be written, waiting while {@code capacity} lines are already queued.
+     *
+     * @throws UncheckedIOException if the record can't be serialized, or writing has failed
+     * @throws InterruptedException if interrupted while waiting for room
+     */
+    public void write(final Object record) throws InterruptedException {
+        checkFailure();
+        final String line;
+        try {
+            line = serializer.serialize(record);
+        } catch (final JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (!lines.offer(line)) {
+            final long start = System.nanoTime();
+            lines.put(line);
+            waitedNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * @return records written to the output so far
+     */
+    public long getWritten() {
+        return written.sum();
+    }
+
+    /**
+     * @return time producers spent waiting for room, summed over producers
+     */
+    public Duration getWaited() {
+        return Duration.ofNanos(waitedNanos.sum());
+    }
+
+    private void drain() {
+        try {
+            String line;
+            while (!END.equals(line = lines.take())) {
+                // after a failure, keep taking lines so that no producer waits forever
+                if (failure == null) {
+                    try {
+                        writer.write(line);
+                        writer.write('\n');
+                        written.increment();
+                    } catch (final IOException e) {
+                        failure = e;
+                    }
+                }
+            }
+            if (failure == null) {
+                writer.flush();
+            }
+        } catch (final IOException e) {
+            failure = e;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void checkFailure() {
+        if (failure != null) {
+            throw new UncheckedIOException("Writing the records failed", failure);
+        }
+    }
+
+    /**
+     * Writes the queued lines and flushes the output.
+     *
+     * @throws UncheckedIOException if writing failed
+     */
+    @Override
+    public synchronized void close() {
+        if (!closed) {
+            closed = true;
+            try {
+                lines.put(END);
+                writerThread.join();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                writerThread.interrupt();
+            }
+        }
+        checkFailure();
+    }
+}
@@ -0,0 +1,47 @@
+package software.amazon.kafkaconnect.orchestration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Outcome and timing of each resource of a provisioning run. {@code sequentialTime} adds up the resources' own times,
+ * which is about what provisioning them one after another would take; {@code elapsed} is what the run took.
+ */
+@lombok.Value
+@lombok.Builder
+public class ProvisioningReport {
+    Duration elapsed;
+    Duration sequentialTime;
+    List<Step> steps;
+
+    /**
+     * Resources that bounded the run's wall time, first to last.
+     */
+    List<String> criticalPath;
+
+    public boolean isSucceeded() {
+        return steps.stream().allMatch(step -> step.getStatus() == Status.SUCCEEDED);
+    }
+
+    public enum Status {
+        SUCCEEDED,
+        FAILED,
+        SKIPPED
+    }
+
+    /**
+     * A resource of the run. Start is relative to the start of the run; skipped resources have no start.
+     */
+    @lombok.Value
+    @lombok.Builder
+    public static class Step {
+        String resourceType;
+        String logicalName;
+        Status status;
+        String arn;
+        Duration start;
+        Duration duration;
+        int invocations;
+        String error;
+    }
+}
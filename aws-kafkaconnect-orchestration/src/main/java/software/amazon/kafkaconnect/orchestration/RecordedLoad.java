@@ -0,0 +1,171 @@
+package software.amazon.kafkaconnect.orchestration;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A metric recorded from a running connector, such as CPU utilization or records per second, loaded to replay in an
+ * {@link AutoScalingSimulator}. Its samples must be evenly spaced, and that spacing is the simulator's sample interval.
+ *
+ * <p>The file has a line per sample: {@code timestamp,value} or {@code timestamp,value,workerCount}, with an ISO-8601
+ * timestamp such as {@code 2024-05-01T10:15:00Z}. Samples may be in any order, as CloudWatch exports list the newest
+ * first. A header line, blank lines and lines starting with {@code #} are skipped. CPU utilization also needs the
+ * worker count each sample was recorded with.
+ */
+@lombok.Value
+public class RecordedLoad {
+    /**
+     * Time between two samples.
+     */
+    Duration sampleInterval;
+
+    /**
+     * The recorded values, oldest first.
+     */
+    double[] values;
+
+    /**
+     * The worker count while each value was recorded, or null if the file has none.
+     */
+    int[] workerCounts;
+
+    /**
+     * @param path CSV file of the samples, in UTF-8
+     * @throws IllegalArgumentException if a line is malformed or the samples are not evenly spaced
+     */
+    public static RecordedLoad read(final Path path) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return read(reader);
+        }
+    }
+
+    /**
+     * @param reader lines of the samples; it is not closed
+     * @throws IllegalArgumentException if a line is malformed or the samples are not evenly spaced
+     */
+    public static RecordedLoad read(final BufferedReader reader) throws IOException {
+        final List<Sample> samples = new ArrayList<>();
+        int lineNumber = 0;
+        boolean headerSkipped = false;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            final String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            final String[] fields = trimmed.split("\\s*,\\s*");
+            final Instant timestamp;
+            try {
+                timestamp = Instant.parse(fields[0]);
+            } catch (final DateTimeParseException e) {
+                if (samples.isEmpty() && !headerSkipped) {
+                    headerSkipped = true;
+                    continue;
+                }
+                throw new IllegalArgumentException(
+                    String.format("Line %d: %s is not an ISO-8601 timestamp", lineNumber, fields[0]), e);
+            }
+            samples.add(sample(fields, timestamp, lineNumber));
+        }
+        if (samples.isEmpty()) {
+            throw new IllegalArgumentException("The recording has no samples");
+        }
+        return fromSamples(samples);
+    }
+
+    /**
+     * @param mcuCount MCUs per worker while the load was recorded
+     * @return the MCUs of CPU needed per sample, reading the values as CPU utilization percentages
+     * @throws IllegalStateException if the recording has no worker counts
+     */
+    public double[] demandFromCpuUtilization(final int mcuCount) {
+        if (workerCounts == null) {
+            throw new IllegalStateException("CPU utilization needs the worker count of every sample");
+        }
+        return AutoScalingSimulator.demandFromCpuUtilization(values, workerCounts, mcuCount);
+    }
+
+    /**
+     * @param throughputPerMcu the throughput one MCU sustains at full CPU, measured for this connector
+     * @return the MCUs of CPU needed per sample, reading the values as throughput
+     */
+    public double[] demandFromThroughput(final double throughputPerMcu) {
+        return AutoScalingSimulator.demandFromThroughput(values, throughputPerMcu);
+    }
+
+    /**
+     * @return a simulator replaying at this recording's sample interval, with the default policy timings
+     */
+    public AutoScalingSimulator.AutoScalingSimulatorBuilder simulator() {
+        return AutoScalingSimulator.builder().sampleInterval(sampleInterval);
+    }
+
+    private static Sample sample(final String[] fields, final Instant timestamp, final int lineNumber) {
+        if (fields.length < 2 || fields.length > 3) {
+            throw new IllegalArgumentException(
+                String.format("Line %d: expected timestamp,value or timestamp,value,workerCount", lineNumber));
+        }
+        try {
+            final double value = Double.parseDouble(fields[1]);
+            final Integer workerCount = fields.length == 3 ? Integer.valueOf(fields[2]) : null;
+            return new Sample(lineNumber, timestamp, value, workerCount);
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException(String.format("Line %d: %s", lineNumber, e.getMessage()), e);
+        }
+    }
+
+    private static RecordedLoad fromSamples(final List<Sample> samples) {
+        samples.sort(Comparator.comparing(Sample::getTimestamp));
+        final boolean hasWorkerCounts = samples.get(0).getWorkerCount() != null;
+        final double[] values = new double[samples.size()];
+        final int[] workerCounts = hasWorkerCounts ? new int[samples.size()] : null;
+        Duration interval = null;
+        for (int i = 0; i < samples.size(); i++) {
+            final Sample sample = samples.get(i);
+            if ((sample.getWorkerCount() != null) != hasWorkerCounts) {
+                throw new IllegalArgumentException(String.format(
+                    "Line %d: either every sample has a worker count or none does", sample.getLineNumber()));
+            }
+            values[i] = sample.getValue();
+            if (hasWorkerCounts) {
+                workerCounts[i] = sample.getWorkerCount();
+            }
+            if (i == 0) {
+                continue;
+            }
+            final Duration gap = Duration.between(samples.get(i - 1).getTimestamp(), sample.getTimestamp());
+            if (gap.isZero()) {
+                throw new IllegalArgumentException(String.format(
+                    "Line %d: another sample is also at %s", sample.getLineNumber(), sample.getTimestamp()));
+            }
+            if (interval == null) {
+                interval = gap;
+            }
+            if (!gap.equals(interval)) {
+                throw new IllegalArgumentException(String.format(
+                    "Line %d: sample at %s is %s after the one before, but the samples are %s apart",
+                    sample.getLineNumber(), sample.getTimestamp(), gap, interval));
+            }
+        }
+        // a single sample has no spacing to go by; it replays at the simulator's default interval
+        return new RecordedLoad(interval == null ? Duration.ofMinutes(1L) : interval, values, workerCounts);
+    }
+
+    @lombok.Value
+    private static class Sample {
+        int lineNumber;
+        Instant timestamp;
+        double value;
+        Integer workerCount;
+    }
+}
@@ -0,0 +1,69 @@
+package software.amazon.kafkaconnect.orchestration;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Outcome and timing of each region and resource type of an inventory scan. The scans run in parallel, so
+ * {@code elapsed} is about that of the slowest one rather than their sum.
+ */
+@lombok.Value
+@lombok.Builder
+public class ScanReport {
+    Duration elapsed;
+    List<Scan> scans;
+
+    /**
+     * Time producers spent waiting for the sink to take their records, summed over scans.
+     */
+    Duration sinkWait;
+
+    public boolean isSucceeded() {
+        return scans.stream().allMatch(scan -> scan.getError() == null);
+    }
+
+    public long getResources() {
+        return scans.stream().mapToLong(Scan::getResources).sum();
+    }
+
+    /**
+     * @return resources scanned per second of the scan
+     */
+    public double getResourcesPerSecond() {
+        return elapsed.isZero() ? 0 : getResources() * (double) Duration.ofSeconds(1L).toNanos() / elapsed.toNanos();
+    }
+
+    /**
+     * @return the scan that took longest, which bounds the elapsed time
+     */
+    public Scan getSlowest() {
+        return scans.stream().max(Comparator.comparing(Scan::getDuration)).orElse(null);
+    }
+
+    /**
+     * @return the scans' durations added up, about what scanning one after another would take
+     */
+    public Duration getSequentialTime() {
+        return scans.stream().map(Scan::getDuration).reduce(Duration.ZERO, Duration::plus);
+    }
+
+    /**
+     * One resource type in one account and region.
+     */
+    @lombok.Value
+    @lombok.Builder
+    public static class Scan {
+        String awsAccountId;
+        String region;
+        String typeName;
+        long resources;
+        int pages;
+        Duration duration;
+
+        /**
+         * Why the scan stopped early; the resources before it were written.
+         */
+        String error;
+    }
+}
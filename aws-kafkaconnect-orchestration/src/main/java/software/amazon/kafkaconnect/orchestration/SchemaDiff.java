@@ -0,0 +1,188 @@
+package software.amazon.kafkaconnect.orchestration;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compares a desired resource model to a live one as the resource's schema describes them, as CloudFormation drift
+ * detection does: only properties the desired model sets are compared, read-only and write-only properties are not,
+ * and arrays with {@code "insertionOrder": false} are compared as sets, so their order doesn't count as drift.
+ */
+final class SchemaDiff {
+    private static final ObjectMapper MAPPER =
+        new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+    private final JsonNode schema;
+    private final Set<String> ignoredPaths = new HashSet<>();
+
+    /**
+     * @param schema the resource schema
+     */
+    SchemaDiff(final JsonNode schema) {
+        this.schema = schema;
+        for (final String field : new String[] {"readOnlyProperties", "writeOnlyProperties"}) {
+            schema.path(field).forEach(pointer -> ignoredPaths.add(propertyPath(pointer.asText())));
+        }
+    }
+
+    /**
+     * @param resourceName classpath resource of the schema, e.g. {@code aws-kafkaconnect-connector.json}, which the
+     *     handler artifacts carry
+     * @return a diff of the resource type
+     */
+    static SchemaDiff load(final String resourceName) {
+        try (InputStream schema = SchemaDiff.class.getClassLoader().getResourceAsStream(resourceName)) {
+            if (schema == null) {
+                throw new IllegalArgumentException("No resource schema " + resourceName + " on the classpath");
+            }
+            return new SchemaDiff(MAPPER.readTree(schema));
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param desired desired resource model
+     * @param live live resource model, e.g. as its Read handler returned it
+     * @return the properties that differ, none if the live resource is in sync
+     */
+    List<DriftReport.PropertyDifference> diff(final Object desired, final Object live) {
+        final List<DriftReport.PropertyDifference> differences = new ArrayList<>();
+        diff(schema, "", MAPPER.valueToTree(desired), MAPPER.valueToTree(live), differences);
+        return differences;
+    }
+
+    private void diff(
+        final JsonNode definition,
+        final String path,
+        final JsonNode desired,
+        final JsonNode live,
+        final List<DriftReport.PropertyDifference> differences) {
+
+        if (desired == null || desired.isNull() || ignoredPaths.contains(path)) {
+            return;
+        }
+        final JsonNode resolved = resolve(definition);
+        if (live == null || live.isNull()) {
+            differences.add(difference(path, desired, null, DriftReport.DifferenceType.REMOVE));
+        } else if (desired.isObject() && live.isObject()) {
+            final Iterator<Map.Entry<String, JsonNode>> fields = desired.fields();
+            while (fields.hasNext()) {
+                final Map.Entry<String, JsonNode> field = fields.next();
+                diff(resolved.path("properties").path(field.getKey()), path + "/" + field.getKey(), field.getValue(),
+                    live.get(field.getKey()), differences);
+            }
+        } else if (desired.isArray() && live.isArray()) {
+            if (resolved.path("insertionOrder").asBoolean(true)) {
+                diffList(resolved.path("items"), path, desired, live, differences);
+            } else {
+                diffSet(resolved.path("items"), path, desired, live, differences);
+            }
+        } else if (!equal(desired, live)) {
+            differences.add(difference(path, desired, live, DriftReport.DifferenceType.NOT_EQUAL));
+        }
+    }
+
+    private void diffList(
+        final JsonNode items,
+        final String path,
+        final JsonNode desired,
+        final JsonNode live,
+        final List<DriftReport.PropertyDifference> differences) {
+
+        for (int i = 0; i < Math.max(desired.size(), live.size()); i++) {
+            if (i >= desired.size()) {
+                differences.add(difference(path + "/" + i, null, live.get(i), DriftReport.DifferenceType.ADD));
+            } else {
+                diff(items, path + "/" + i, desired.get(i), live.get(i), differences);
+            }
+        }
+    }
+
+    /**
+     * Pairs each desired element with a live one it matches, in any order. A desired element without a match is
+     * missing from the live array, a live element left over was added to it.
+     */
+    private void diffSet(
+        final JsonNode items,
+        final String path,
+        final JsonNode desired,
+        final JsonNode live,
+        final List<DriftReport.PropertyDifference> differences) {
+
+        final List<JsonNode> unmatched = new ArrayList<>();
+        live.forEach(unmatched::add);
+        for (final JsonNode element : desired) {
+            if (!removeMatch(items, path, element, unmatched)) {
+                differences.add(difference(path, element, null, DriftReport.DifferenceType.REMOVE));
+            }
+        }
+        unmatched.forEach(element -> differences.add(difference(path, null, element, DriftReport.DifferenceType.ADD)));
+    }
+
+    private boolean removeMatch(
+        final JsonNode items,
+        final String path,
+        final JsonNode element,
+        final List<JsonNode> candidates) {
+
+        final Iterator<JsonNode> iterator = candidates.iterator();
+        while (iterator.hasNext()) {
+            final List<DriftReport.PropertyDifference> elementDifferences = new ArrayList<>();
+            diff(items, path, element, iterator.next(), elementDifferences);
+            if (elementDifferences.isEmpty()) {
+                iterator.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Numbers are equal whatever their type, e.g. an Integer revision and a Long one.
+     */
+    private static boolean equal(final JsonNode desired, final JsonNode live) {
+        return desired.isNumber() && live.isNumber()
+            ? desired.decimalValue().compareTo(live.decimalValue()) == 0
+            : desired.equals(live);
+    }
+
+    /**
+     * @return the definition a {@code $ref} points to, or the definition itself
+     */
+    private JsonNode resolve(final JsonNode definition) {
+        final JsonNode ref = definition.get("$ref");
+        return ref == null ? definition : schema.at(ref.asText().substring(1));
+    }
+
+    /**
+     * @return the property path of a schema pointer, e.g. {@code /ConnectorArn} of {@code /properties/ConnectorArn}
+     */
+    private static String propertyPath(final String pointer) {
+        return pointer.replace("/properties/", "/");
+    }
+
+    private static DriftReport.PropertyDifference difference(
+        final String path,
+        final JsonNode expected,
+        final JsonNode actual,
+        final DriftReport.DifferenceType type) {
+
+        return new DriftReport.PropertyDifference(path, text(expected), text(actual), type);
+    }
+
+    private static String text(final JsonNode value) {
+        return value == null ? null : value.isValueNode() ? value.asText() : value.toString();
+    }
+}
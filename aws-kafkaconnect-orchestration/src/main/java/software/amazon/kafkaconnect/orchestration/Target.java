@@ -0,0 +1,56 @@
+package software.amazon.kafkaconnect.orchestration;
+
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Account, partition and region resources are provisioned in, and the credentials the handlers call the service with.
+ */
+@lombok.Value
+@lombok.Builder
+public class Target {
+    String awsAccountId;
+
+    @lombok.Builder.Default
+    String awsPartition = "aws";
+
+    String region;
+
+    Credentials credentials;
+
+    /**
+     * Tags added to every resource, as CloudFormation adds a stack's tags.
+     */
+    Map<String, String> tags;
+
+    /**
+     * @param logicalName name of the resource in the plan, passed as its logical resource ID
+     * @param model desired state of the resource
+     * @return a handler request for the resource in this target
+     */
+    <ModelT> ResourceHandlerRequest<ModelT> request(final String logicalName, final ModelT model) {
+        return ResourceHandlerRequest.<ModelT>builder()
+            .clientRequestToken(UUID.randomUUID().toString())
+            .awsAccountId(awsAccountId)
+            .awsPartition(awsPartition)
+            .region(region)
+            .logicalResourceIdentifier(logicalName)
+            .desiredResourceState(model)
+            .desiredResourceTags(tags)
+            .build();
+    }
+
+    /**
+     * @param model empty model of the resource type to list
+     * @param nextToken token of the page to list, null for the first
+     * @return a List handler request in this target
+     */
+    <ModelT> ResourceHandlerRequest<ModelT> listRequest(final ModelT model, final String nextToken) {
+        final ResourceHandlerRequest<ModelT> request = request(null, model);
+        request.setNextToken(nextToken);
+        return request;
+    }
+}
@@ -0,0 +1,264 @@
+package software.amazon.kafkaconnect.orchestration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Dependency graph of asynchronous tasks. A task starts as soon as every task it depends on has succeeded, so
+ * independent chains overlap; a task whose dependency didn't succeed is skipped instead. Tasks can only depend on
+ * tasks added before them, which keeps the graph acyclic. Start and end times are recorded per task.
+ */
+final class TaskGraph {
+    enum Status {
+        SUCCEEDED,
+        FAILED,
+        SKIPPED
+    }
+
+    private final List<Task<?>> tasks = new ArrayList<>();
+    private final Set<String> names = new HashSet<>();
+    private final boolean sequential;
+    private final LongSupplier nanoClock;
+    private boolean started;
+
+    TaskGraph() {
+        this(false, System::nanoTime);
+    }
+
+    /**
+     * Constructor used for unit testing and benchmarks
+     *
+     * @param sequential every task also waits for the task added before it, as a baseline for the pipelined run
+     * @param nanoClock
+     */
+    TaskGraph(final boolean sequential, final LongSupplier nanoClock) {
+        this.sequential = sequential;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * @param name unique name of the task
+     * @param dependencies tasks that must succeed before this one starts, all added to this graph before
+     * @param action starts the task once its dependencies have succeeded; it may read their values through
+     *     {@link Task#getValue()}, and must not block
+     * @return the task, for later tasks to depend on
+     */
+    synchronized <T> Task<T> add(
+        final String name,
+        final Collection<? extends Task<?>> dependencies,
+        final Supplier<CompletableFuture<T>> action) {
+
+        if (started) {
+            throw new IllegalStateException("Tasks can't be added to a graph that has been run");
+        }
+        if (!names.add(name)) {
+            throw new IllegalArgumentException("The graph already has a task named " + name);
+        }
+        for (final Task<?> dependency : dependencies) {
+            if (!tasks.contains(dependency)) {
+                names.remove(name);
+                throw new IllegalArgumentException(
+                    String.format("%s depends on %s, which isn't in this graph", name, dependency.name));
+            }
+        }
+
+        final List<Task<?>> waitsFor = new ArrayList<>(dependencies);
+        if (sequential && !tasks.isEmpty() && !waitsFor.contains(tasks.get(tasks.size() - 1))) {
+            waitsFor.add(tasks.get(tasks.size() - 1));
+        }
+        final Task<T> task = new Task<>(name, new ArrayList<>(dependencies), waitsFor, action);
+        tasks.add(task);
+        return task;
+    }
+
+    /**
+     * Starts every task without dependencies, and each other task once its dependencies have succeeded.
+     *
+     * @return completes once every task has succeeded, failed or been skipped, with their timings in the order the
+     *     tasks were added
+     */
+    synchronized CompletableFuture<List<Timing>> run() {
+        if (started) {
+            throw new IllegalStateException("The graph has been run already");
+        }
+        started = true;
+
+        final long origin = nanoClock.getAsLong();
+        final CompletableFuture<?>[] ended = new CompletableFuture<?>[tasks.size()];
+        for (int i = 0; i < tasks.size(); i++) {
+            ended[i] = tasks.get(i).schedule(origin, nanoClock);
+        }
+        return CompletableFuture.allOf(ended)
+            .thenApply(ignored -> tasks.stream().map(Task::timing).collect(Collectors.toList()));
+    }
+
+    /**
+     * @param timings timings of a completed run
+     * @return names of the tasks that bounded the run's wall time, first to last: from the task that ended last, each
+     *     step back is to the dependency that ended last
+     */
+    static List<String> criticalPath(final List<Timing> timings) {
+        final LinkedList<String> path = new LinkedList<>();
+        Timing current = latest(timings);
+        while (current != null) {
+            path.addFirst(current.getName());
+            final List<String> dependencies = current.getDependencies();
+            current = latest(timings.stream()
+                .filter(timing -> dependencies.contains(timing.getName()))
+                .collect(Collectors.toList()));
+        }
+        return path;
+    }
+
+    private static Timing latest(final List<Timing> timings) {
+        Timing latest = null;
+        for (final Timing timing : timings) {
+            // on a tie the later task wins: a dependent is added after its dependencies, and one that ends in the
+            // same instant as the dependency it waited for is still the end of the path
+            if (timing.getStart() != null && (latest == null || timing.getEnd().compareTo(latest.getEnd()) >= 0)) {
+                latest = timing;
+            }
+        }
+        return latest;
+    }
+
+    /**
+     * A task in the graph, and once it has ended, its value.
+     */
+    static final class Task<T> {
+        private final String name;
+        private final List<Task<?>> dependencies;
+        private final List<Task<?>> waitsFor;
+        private final Supplier<CompletableFuture<T>> action;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        private volatile Status status;
+        private volatile long startedAt;
+        private volatile long endedAt;
+        private volatile String error;
+        private long origin;
+
+        private Task(
+            final String name,
+            final List<Task<?>> dependencies,
+            final List<Task<?>> waitsFor,
+            final Supplier<CompletableFuture<T>> action) {
+
+            this.name = name;
+            this.dependencies = dependencies;
+            this.waitsFor = waitsFor;
+            this.action = action;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        /**
+         * @return the value the task succeeded with; only to be called once it has, e.g. by a task depending on it
+         */
+        T getValue() {
+            if (status != Status.SUCCEEDED) {
+                throw new IllegalStateException(name + " hasn't succeeded");
+            }
+            return result.join();
+        }
+
+        /**
+         * @return completes with the task's value, or exceptionally once it has failed or been skipped
+         */
+        CompletableFuture<T> getResult() {
+            return result;
+        }
+
+        private CompletableFuture<T> schedule(final long origin, final LongSupplier nanoClock) {
+            this.origin = origin;
+            final CompletableFuture<?>[] waits = waitsFor.stream()
+                .map(task -> task.result)
+                .toArray(CompletableFuture<?>[]::new);
+            CompletableFuture.allOf(waits).whenComplete((ignored, failure) -> {
+                if (failure == null) {
+                    start(nanoClock);
+                } else {
+                    skip();
+                }
+            });
+            return result.handle((value, failure) -> value);
+        }
+
+        private void start(final LongSupplier nanoClock) {
+            startedAt = nanoClock.getAsLong();
+            CompletableFuture<T> started;
+            try {
+                started = action.get();
+            } catch (final RuntimeException e) {
+                started = CompletableFuture.failedFuture(e);
+            }
+            started.whenComplete((value, failure) -> {
+                endedAt = nanoClock.getAsLong();
+                if (failure == null) {
+                    status = Status.SUCCEEDED;
+                    result.complete(value);
+                } else {
+                    final Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                        ? failure.getCause() : failure;
+                    error = String.valueOf(cause.getMessage());
+                    status = Status.FAILED;
+                    result.completeExceptionally(cause);
+                }
+            });
+        }
+
+        private void skip() {
+            final String blocking = waitsFor.stream()
+                .filter(task -> task.status != Status.SUCCEEDED)
+                .map(task -> task.name)
+                .findFirst()
+                .orElse("a dependency");
+            error = String.format("Skipped because %s didn't succeed", blocking);
+            status = Status.SKIPPED;
+            result.completeExceptionally(new CancellationException(error));
+        }
+
+        private Timing timing() {
+            final boolean ran = status != Status.SKIPPED;
+            return new Timing(
+                name,
+                status,
+                ran ? Duration.ofNanos(startedAt - origin) : null,
+                ran ? Duration.ofNanos(endedAt - origin) : null,
+                error,
+                Collections.unmodifiableList(dependencies.stream().map(task -> task.name)
+                    .collect(Collectors.toList())));
+        }
+    }
+
+    /**
+     * When a task ran, relative to the start of the run. Skipped tasks have neither start nor end.
+     */
+    @lombok.Value
+    static class Timing {
+        String name;
+        Status status;
+        Duration start;
+        Duration end;
+        String error;
+        List<String> dependencies;
+
+        Duration getDuration() {
+            return start == null ? Duration.ZERO : end.minus(start);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package software.amazon.kafkaconnect.orchestration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Outcome and timing of each resource of a teardown run. {@code discovery} is the time spent listing and describing
+ * the resources, {@code deletion} the time spent deleting them after that.
+ */
+@lombok.Value
+@lombok.Builder
+public class TeardownReport {
+    Duration discovery;
+    Duration deletion;
+    List<Step> steps;
+
+    /**
+     * Connectors that were DELETING at the same time, at most.
+     */
+    int peakConnectorDeletes;
+
+    public Duration getElapsed() {
+        return discovery.plus(deletion);
+    }
+
+    public boolean isSucceeded() {
+        return steps.stream().allMatch(step -> step.getStatus() == Status.DELETED);
+    }
+
+    public long getDeleted() {
+        return steps.stream().filter(step -> step.getStatus() == Status.DELETED).count();
+    }
+
+    /**
+     * @return resources deleted per minute of deletion
+     */
+    public double getDeletesPerMinute() {
+        return deletion.isZero() ? 0 : getDeleted() * (double) Duration.ofMinutes(1L).toNanos() / deletion.toNanos();
+    }
+
+    public enum Status {
+        DELETED,
+        FAILED,
+        SKIPPED
+    }
+
+    /**
+     * A resource of the run. Start is relative to the start of the deletion; skipped resources have no start.
+     */
+    @lombok.Value
+    @lombok.Builder
+    public static class Step {
+        String resourceType;
+        String name;
+        String arn;
+        Status status;
+        Duration start;
+        Duration duration;
+        int invocations;
+        String error;
+    }
+}
@@ -0,0 +1,93 @@
+package software.amazon.kafkaconnect.orchestration;
+
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.kafkaconnect.workerconfiguration.CallbackContext;
+import software.amazon.kafkaconnect.workerconfiguration.CreateHandler;
+import software.amazon.kafkaconnect.workerconfiguration.DeleteHandler;
+import software.amazon.kafkaconnect.workerconfiguration.ListHandler;
+import software.amazon.kafkaconnect.workerconfiguration.ReadHandler;
+import software.amazon.kafkaconnect.workerconfiguration.ResourceModel;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Worker configurations through the AWS::KafkaConnect::WorkerConfiguration handlers. A worker configuration is
+ * usable as soon as its create has returned.
+ */
+final class WorkerConfigurationProvisioner {
+    private final HandlerDriver driver;
+    private final CreateHandler createHandler = new CreateHandler();
+    private final DeleteHandler deleteHandler = new DeleteHandler();
+    private final ListHandler listHandler = new ListHandler();
+    private final ReadHandler readHandler = new ReadHandler();
+
+    WorkerConfigurationProvisioner(final HandlerDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * @param target where to create the worker configuration
+     * @param logicalName name of the worker configuration in the plan
+     * @param model desired worker configuration
+     * @param logger logger of the worker configuration's handler
+     * @return completes with the worker configuration, including its ARN and revision
+     */
+    CompletableFuture<HandlerDriver.Outcome<ResourceModel>> create(
+        final Target target,
+        final String logicalName,
+        final ResourceModel model,
+        final Logger logger) {
+
+        return driver.<ResourceModel, CallbackContext>drive(
+            createHandler::handleRequest, target.request(logicalName, model), target.getCredentials(), logger);
+    }
+
+    /**
+     * @param target where the worker configuration is
+     * @param logicalName name of the worker configuration in the run
+     * @param model worker configuration to delete, with its ARN
+     * @param logger logger of the worker configuration's handler
+     * @return completes once the worker configuration is gone
+     */
+    CompletableFuture<HandlerDriver.Outcome<ResourceModel>> delete(
+        final Target target,
+        final String logicalName,
+        final ResourceModel model,
+        final Logger logger) {
+
+        return driver.<ResourceModel, CallbackContext>drive(
+            deleteHandler::handleRequest, target.request(logicalName, model), target.getCredentials(), logger);
+    }
+
+    /**
+     * @param target where the worker configuration is
+     * @param logicalName name of the worker configuration in the run
+     * @param model worker configuration to read, with its ARN
+     * @param logger logger of the worker configuration's handler
+     * @return completes with the worker configuration's description
+     */
+    CompletableFuture<HandlerDriver.Outcome<ResourceModel>> read(
+        final Target target,
+        final String logicalName,
+        final ResourceModel model,
+        final Logger logger) {
+
+        return driver.<ResourceModel, CallbackContext>drive(
+            readHandler::handleRequest, target.request(logicalName, model), target.getCredentials(), logger);
+    }
+
+    /**
+     * @param target where to list worker configurations
+     * @param nextToken token of the page to list, null for the first
+     * @param logger logger of the handler
+     * @return completes with the page and the token of the next one
+     */
+    CompletableFuture<HandlerDriver.Outcome<ResourceModel>> list(
+        final Target target,
+        final String nextToken,
+        final Logger logger) {
+
+        return driver.<ResourceModel, CallbackContext>drive(listHandler::handleRequest,
+            target.listRequest(ResourceModel.builder().build(), nextToken), target.getCredentials(), logger);
+    }
+}
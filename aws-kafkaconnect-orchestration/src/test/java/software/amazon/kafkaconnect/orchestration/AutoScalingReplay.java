@@ -0,0 +1,81 @@
+package software.amazon.kafkaconnect.orchestration;
+
+import software.amazon.kafkaconnect.connector.AutoScaling;
+import software.amazon.kafkaconnect.connector.Capacity;
+import software.amazon.kafkaconnect.connector.ProvisionedCapacity;
+import software.amazon.kafkaconnect.connector.ScaleInPolicy;
+import software.amazon.kafkaconnect.connector.ScaleOutPolicy;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+
+/**
+ * Replays a {@link RecordedLoad} from {@code autoscaling.load} against an auto scaling policy, and against
+ * {@code autoscaling.provisionedWorkers} provisioned workers when set, printing MCU-hours, saturated time and scaling
+ * of each. With {@code autoscaling.metric=cpu} the recording is CPU utilization of workers with
+ * {@code autoscaling.recordedMcuCount} MCUs, and must have worker counts; with {@code throughput} it is divided by
+ * {@code autoscaling.throughputPerMcu}. Run with
+ * {@code mvn -Pautoscaling-replay integration-test -Dautoscaling.load=cpu.csv}.
+ */
+public final class AutoScalingReplay {
+    private AutoScalingReplay() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final String path = System.getProperty("autoscaling.load", "");
+        if (path.isEmpty()) {
+            throw new IllegalArgumentException("Set autoscaling.load to the recorded CSV file");
+        }
+        final String metric = System.getProperty("autoscaling.metric", "cpu");
+        final int mcuCount = Integer.getInteger("autoscaling.mcuCount", 1);
+        final int provisionedWorkers = Integer.getInteger("autoscaling.provisionedWorkers", 0);
+
+        final RecordedLoad load = RecordedLoad.read(Paths.get(path));
+        final double[] demand;
+        if ("cpu".equals(metric)) {
+            demand = load.demandFromCpuUtilization(Integer.getInteger("autoscaling.recordedMcuCount", 1));
+        } else if ("throughput".equals(metric)) {
+            final String throughputPerMcu = System.getProperty("autoscaling.throughputPerMcu", "");
+            if (throughputPerMcu.isEmpty()) {
+                throw new IllegalArgumentException("Set autoscaling.throughputPerMcu to replay throughput");
+            }
+            demand = load.demandFromThroughput(Double.parseDouble(throughputPerMcu));
+        } else {
+            throw new IllegalArgumentException("autoscaling.metric must be cpu or throughput, not " + metric);
+        }
+        final AutoScalingSimulator simulator = load.simulator()
+            .evaluationPeriods(Integer.getInteger("autoscaling.evaluationPeriods", 5))
+            .scaleOutCooldown(Duration.ofMinutes(Long.getLong("autoscaling.scaleOutCooldownMinutes", 5L)))
+            .scaleInCooldown(Duration.ofMinutes(Long.getLong("autoscaling.scaleInCooldownMinutes", 15L)))
+            .build();
+
+        System.out.printf("%n%s: %d samples %s apart%n", path, demand.length, load.getSampleInterval());
+        print("auto scaling", simulator.simulate(Capacity.builder()
+            .autoScaling(AutoScaling.builder()
+                .minWorkerCount(Integer.getInteger("autoscaling.minWorkers", 1))
+                .maxWorkerCount(Integer.getInteger("autoscaling.maxWorkers", 4))
+                .mcuCount(mcuCount)
+                .scaleInPolicy(ScaleInPolicy.builder()
+                    .cpuUtilizationPercentage(Integer.getInteger("autoscaling.scaleInPercentage", 20))
+                    .build())
+                .scaleOutPolicy(ScaleOutPolicy.builder()
+                    .cpuUtilizationPercentage(Integer.getInteger("autoscaling.scaleOutPercentage", 80))
+                    .build())
+                .build())
+            .build(), demand));
+        if (provisionedWorkers > 0) {
+            print("provisioned", simulator.simulate(Capacity.builder()
+                .provisionedCapacity(ProvisionedCapacity.builder()
+                    .workerCount(provisionedWorkers)
+                    .mcuCount(mcuCount)
+                    .build())
+                .build(), demand));
+        }
+    }
+
+    private static void print(final String capacity, final AutoScalingSimulator.Result result) {
+        System.out.printf("%s: %.1f MCU-hours, saturated %d min, %d scale outs, %d scale ins, peak %d workers%n",
+            capacity, result.getMcuHours(), result.getSaturatedTime().toMinutes(), result.getScaleOutCount(),
+            result.getScaleInCount(), result.getPeakWorkerCount());
+    }
+}
@@ -0,0 +1,121 @@
+package software.amazon.kafkaconnect.orchestration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.kafkaconnect.connector.AutoScaling;
+import software.amazon.kafkaconnect.connector.Capacity;
+import software.amazon.kafkaconnect.connector.ProvisionedCapacity;
+import software.amazon.kafkaconnect.connector.ScaleInPolicy;
+import software.amazon.kafkaconnect.connector.ScaleOutPolicy;
+
+public class AutoScalingSimulatorTest {
+    private final AutoScalingSimulator simulator = AutoScalingSimulator.builder().build();
+
+    @Test
+    public void simulate_provisionedCapacity_costsFixedMcuHours() {
+        final Capacity capacity = Capacity.builder()
+            .provisionedCapacity(ProvisionedCapacity.builder().workerCount(2).mcuCount(1).build())
+            .build();
+
+        final AutoScalingSimulator.Result result = simulator.simulate(capacity, load(60, 1.0));
+
+        assertThat(result.getMcuHours()).isCloseTo(2.0, within(1e-9));
+        assertThat(result.getSaturatedTime()).isEqualTo(Duration.ZERO);
+        assertThat(result.getScaleOutCount()).isZero();
+        assertThat(result.getPeakWorkerCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void simulate_sustainedSpike_scalesOutAfterEvaluationPeriods() {
+        final double[] demand = concat(load(10, 0.5), load(20, 3.0));
+
+        final AutoScalingSimulator.Result result = simulator.simulate(autoScaling(1, 4), demand);
+
+        // 1 worker of 2 MCUs is saturated for the 5 samples the policy needs, then 3 workers hold 3 MCUs at 50%
+        assertThat(result.getScaleOutCount()).isEqualTo(1);
+        assertThat(result.getSaturatedTime()).isEqualTo(Duration.ofMinutes(5L));
+        assertThat(result.getWorkerCounts().get(14)).isEqualTo(1);
+        assertThat(result.getWorkerCounts().get(15)).isEqualTo(3);
+        assertThat(result.getPeakWorkerCount()).isEqualTo(3);
+        assertThat(result.getMcuHours()).isCloseTo((15 * 2 + 15 * 6) / 60.0, within(1e-9));
+    }
+
+    @Test
+    public void simulate_idleAfterScaleOut_scalesInToMinimumAfterCooldown() {
+        final double[] demand = concat(load(5, 3.0), load(30, 0.2));
+
+        final AutoScalingSimulator.Result result = simulator.simulate(autoScaling(1, 4), demand);
+
+        assertThat(result.getScaleOutCount()).isEqualTo(1);
+        assertThat(result.getScaleInCount()).isEqualTo(1);
+        assertThat(result.getWorkerCounts().get(19)).isEqualTo(3);
+        assertThat(result.getWorkerCounts().get(20)).isEqualTo(1);
+        assertThat(result.getWorkerCounts().get(demand.length - 1)).isEqualTo(1);
+    }
+
+    @Test
+    public void simulate_demandAboveMaxWorkers_staysSaturated() {
+        final AutoScalingSimulator.Result result = simulator.simulate(autoScaling(1, 2), load(30, 10.0));
+
+        assertThat(result.getPeakWorkerCount()).isEqualTo(2);
+        assertThat(result.getSaturatedTime()).isEqualTo(Duration.ofMinutes(30L));
+    }
+
+    @Test
+    public void simulate_invalidPolicy_throws() {
+        final IllegalArgumentException minAboveMax = assertThrows(IllegalArgumentException.class,
+            () -> simulator.simulate(autoScaling(4, 2), load(1, 1.0)));
+        assertThat(minAboveMax.getMessage()).isEqualTo("MinWorkerCount 4 is greater than MaxWorkerCount 2");
+
+        final IllegalArgumentException crossed = assertThrows(IllegalArgumentException.class,
+            () -> simulator.simulate(autoScaling(1, 2, 80, 80), load(1, 1.0)));
+        assertThat(crossed.getMessage()).isEqualTo("Scale in threshold 80% must be below scale out threshold 80%");
+    }
+
+    @Test
+    public void demandConversions() {
+        assertThat(AutoScalingSimulator.demandFromCpuUtilization(new double[] {50, 100}, new int[] {2, 4}, 2))
+            .containsExactly(2.0, 8.0);
+        assertThat(AutoScalingSimulator.demandFromThroughput(new double[] {0, 500, 1500}, 1000))
+            .containsExactly(0.0, 0.5, 1.5);
+    }
+
+    private static Capacity autoScaling(final int minWorkers, final int maxWorkers) {
+        return autoScaling(minWorkers, maxWorkers, 20, 80);
+    }
+
+    private static Capacity autoScaling(
+        final int minWorkers,
+        final int maxWorkers,
+        final int scaleInPercentage,
+        final int scaleOutPercentage) {
+
+        return Capacity.builder()
+            .autoScaling(AutoScaling.builder()
+                .minWorkerCount(minWorkers)
+                .maxWorkerCount(maxWorkers)
+                .mcuCount(2)
+                .scaleInPolicy(ScaleInPolicy.builder().cpuUtilizationPercentage(scaleInPercentage).build())
+                .scaleOutPolicy(ScaleOutPolicy.builder().cpuUtilizationPercentage(scaleOutPercentage).build())
+                .build())
+            .build();
+    }
+
+    private static double[] load(final int samples, final double mcus) {
+        final double[] demand = new double[samples];
+        Arrays.fill(demand, mcus);
+        return demand;
+    }
+
+    private static double[] concat(final double[] first, final double[] second) {
+        final double[] demand = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, demand, first.length, second.length);
+        return demand;
+    }
+}
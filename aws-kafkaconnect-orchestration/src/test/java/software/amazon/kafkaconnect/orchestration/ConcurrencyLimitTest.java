@@ -0,0 +1,58 @@
+package software.amazon.kafkaconnect.orchestration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class ConcurrencyLimitTest {
+    @Test
+    public void submit_beyondTheLimit_startsOnceAnEarlierOperationEnds() {
+        final ConcurrencyLimit limit = new ConcurrencyLimit(2);
+        final AtomicInteger started = new AtomicInteger();
+        final CompletableFuture<String> first = new CompletableFuture<>();
+        final CompletableFuture<String> second = new CompletableFuture<>();
+
+        final CompletableFuture<String> firstResult = limit.submit(() -> {
+            started.incrementAndGet();
+            return first;
+        });
+        limit.submit(() -> {
+            started.incrementAndGet();
+            return second;
+        });
+        final CompletableFuture<String> third = limit.submit(() -> {
+            started.incrementAndGet();
+            return CompletableFuture.completedFuture("third");
+        });
+        assertThat(started).hasValue(2);
+        assertThat(third).isNotDone();
+
+        first.completeExceptionally(new IllegalStateException("FAILED"));
+
+        assertThat(firstResult).isCompletedExceptionally();
+        assertThat(third.join()).isEqualTo("third");
+        assertThat(started).hasValue(3);
+        assertThat(limit.getPeak()).isEqualTo(2);
+    }
+
+    @Test
+    public void submit_operationThrowing_releasesItsSlot() {
+        final ConcurrencyLimit limit = new ConcurrencyLimit(1);
+
+        final CompletableFuture<String> failed = limit.submit(() -> {
+            throw new IllegalArgumentException("bad model");
+        });
+
+        assertThat(failed).isCompletedExceptionally();
+        assertThat(limit.submit(() -> CompletableFuture.completedFuture("next")).join()).isEqualTo("next");
+    }
+
+    @Test
+    public void constructor_rejectsANonPositiveLimit() {
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrencyLimit(0));
+    }
+}
@@ -0,0 +1,97 @@
+package software.amazon.kafkaconnect.orchestration;
+
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.kafkaconnect.connector.CustomPlugin;
+import software.amazon.kafkaconnect.connector.LocalKafkaConnectService;
+import software.amazon.kafkaconnect.connector.Plugin;
+import software.amazon.kafkaconnect.connector.ResourceModel;
+import software.amazon.kafkaconnect.connector.WorkerConfiguration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Drift benchmark: seeds a {@link LocalKafkaConnectService} with {@code drift.connectors} connectors on two custom
+ * plugins and a worker configuration, and compares as many desired connectors to them, once reading one connector at
+ * a time and once {@code drift.parallelism} at a time, printing connectors checked per minute and how many drifted.
+ *
+ * Every desired connector lists its plugins in the other order than the service, which is not drift. Every tenth has
+ * another Kafka Connect version, and every twenty-fifth has no live connector. The stand-in delays every call by
+ * {@code drift.latencyMillis}. Run with {@code mvn -Pdrift-benchmark integration-test}.
+ */
+public final class DriftBenchmark {
+    private static final Logger QUIET = message -> {
+    };
+
+    private DriftBenchmark() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final int connectors = Integer.getInteger("drift.connectors", 2000);
+        final int parallelism = Integer.getInteger("drift.parallelism", 32);
+        final Duration latency = Duration.ofMillis(Long.getLong("drift.latencyMillis", 10L));
+
+        System.out.printf("%nconnectors=%d parallelism=%d latencyMillis=%d%n", connectors, parallelism,
+            latency.toMillis());
+
+        try (LocalKafkaConnectService service = new LocalKafkaConnectService(Duration.ZERO, Duration.ZERO)) {
+            System.setProperty("kafkaconnect.endpointOverride", service.getEndpoint().toString());
+            System.setProperty("aws.region", TestEnvironments.TARGET.getRegion());
+
+            final String pluginA = service.putCustomPlugin("drift-plugin-a");
+            final String pluginB = service.putCustomPlugin("drift-plugin-b");
+            final String worker = service.putWorkerConfiguration("drift-worker");
+            final List<ResourceModel> desired = new ArrayList<>();
+            for (int i = 0; i < connectors; i++) {
+                final String name = "drift-connector-" + i;
+                if (i % 25 != 24) {
+                    service.putConnector(name, Arrays.asList(pluginA, pluginB), worker);
+                }
+                desired.add(desired(name, i % 10 == 9 ? "3.7.x" : "2.7.1", pluginB, pluginA, worker));
+            }
+            service.setLatency(TestEnvironments.TARGET.getRegion(), latency);
+
+            for (final int readers : new int[] {1, parallelism}) {
+                try (DriftDetector detector = new DriftDetector(readers)) {
+                    final DriftReport report = detector.detect(TestEnvironments.TARGET, desired, QUIET).join();
+                    System.out.printf("%d at a time: %d connectors in %d ms, %.1f per minute; %d in sync, "
+                            + "%d modified, %d deleted, %d not checked%n", readers, report.getResources().size(),
+                        report.getElapsed().toMillis(), report.getResourcesPerMinute(),
+                        report.count(DriftReport.Status.IN_SYNC), report.count(DriftReport.Status.MODIFIED),
+                        report.count(DriftReport.Status.DELETED), report.count(DriftReport.Status.NOT_CHECKED));
+                }
+            }
+        } finally {
+            System.clearProperty("kafkaconnect.endpointOverride");
+        }
+    }
+
+    private static ResourceModel desired(
+        final String name,
+        final String kafkaConnectVersion,
+        final String firstPlugin,
+        final String secondPlugin,
+        final String workerConfiguration) {
+
+        final Set<Plugin> plugins = new LinkedHashSet<>();
+        for (final String plugin : new String[] {firstPlugin, secondPlugin}) {
+            plugins.add(Plugin.builder()
+                .customPlugin(CustomPlugin.builder().customPluginArn(plugin).revision(1L).build())
+                .build());
+        }
+        return ResourceModel.builder()
+            .connectorName(name)
+            .kafkaConnectVersion(kafkaConnectVersion)
+            .serviceExecutionRoleArn("arn:aws:iam::123456789012:role/orchestration")
+            .plugins(plugins)
+            .workerConfiguration(WorkerConfiguration.builder()
+                .workerConfigurationArn(workerConfiguration)
+                .revision(1L)
+                .build())
+            .build();
+    }
+}
@@ -0,0 +1,99 @@
+package software.amazon.kafkaconnect.orchestration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.kafkaconnect.connector.LocalKafkaConnectService;
+import software.amazon.kafkaconnect.connector.ResourceModel;
+import software.amazon.kafkaconnect.connector.Tag;
+
+/**
+ * Compares desired connectors to the ones a {@link LocalKafkaConnectService} has, through the Read handler.
+ */
+public class DriftDetectorTest {
+    private static final Logger LOGGER = System.out::println;
+
+    private LocalKafkaConnectService service;
+    private DriftDetector detector;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        service = new LocalKafkaConnectService(Duration.ZERO, Duration.ZERO);
+        System.setProperty("kafkaconnect.endpointOverride", service.getEndpoint().toString());
+        System.setProperty("aws.region", "us-east-1");
+        detector = new DriftDetector(new HandlerDriver(4, Duration.ofSeconds(5), Duration.ofMillis(50)));
+
+        try (EnvironmentOrchestrator orchestrator =
+                 new EnvironmentOrchestrator(4, Duration.ofMillis(200), Duration.ofMillis(20))) {
+            assertThat(orchestrator.provision(TestEnvironments.TARGET, TestEnvironments.plan("drift", 1, 1, 3),
+                LOGGER).join().isSucceeded()).isTrue();
+        }
+    }
+
+    @AfterEach
+    public void tear_down() {
+        detector.close();
+        service.close();
+        System.clearProperty("kafkaconnect.endpointOverride");
+    }
+
+    @Test
+    public void detect_comparesEachDesiredConnectorToTheLiveOneOfItsName() {
+        final ResourceModel inSync = TestEnvironments.connector("drift-connector-0");
+        final ResourceModel modified = TestEnvironments.connector("drift-connector-1");
+        modified.setKafkaConnectVersion("3.7.x");
+        modified.setTags(Collections.singleton(Tag.builder().key("environment").value("prod").build()));
+        final ResourceModel tagged = TestEnvironments.connector("drift-connector-2");
+        tagged.setTags(Collections.singleton(Tag.builder().key("environment").value("test").build()));
+        final ResourceModel deleted = TestEnvironments.connector("drift-connector-3");
+
+        final DriftReport report = detector.detect(TestEnvironments.TARGET,
+            Arrays.asList(inSync, modified, tagged, deleted), LOGGER).join();
+
+        final Map<String, DriftReport.ResourceDrift> drifts = report.getResources().stream()
+            .collect(Collectors.toMap(DriftReport.ResourceDrift::getConnectorName, Function.identity()));
+        assertThat(drifts.get("drift-connector-0").getStatus()).isEqualTo(DriftReport.Status.IN_SYNC);
+        assertThat(drifts.get("drift-connector-0").getConnectorArn()).isNotNull();
+        assertThat(drifts.get("drift-connector-2").getStatus()).isEqualTo(DriftReport.Status.IN_SYNC);
+        assertThat(drifts.get("drift-connector-3").getStatus()).isEqualTo(DriftReport.Status.DELETED);
+
+        assertThat(drifts.get("drift-connector-1").getStatus()).isEqualTo(DriftReport.Status.MODIFIED);
+        assertThat(drifts.get("drift-connector-1").getDifferences())
+            .extracting(DriftReport.PropertyDifference::getPropertyPath,
+                DriftReport.PropertyDifference::getDifferenceType)
+            .containsExactlyInAnyOrder(
+                tuple("/KafkaConnectVersion", DriftReport.DifferenceType.NOT_EQUAL),
+                tuple("/Tags", DriftReport.DifferenceType.REMOVE),
+                tuple("/Tags", DriftReport.DifferenceType.ADD));
+
+        assertThat(report.count(DriftReport.Status.MODIFIED)).isEqualTo(1);
+        assertThat(report.getResourcesPerMinute()).isPositive();
+    }
+
+    @Test
+    public void detect_arnOfAConnectorThatIsGone_isDeleted() {
+        final ResourceModel desired = TestEnvironments.connector("drift-connector-0");
+        desired.setConnectorArn("arn:aws:kafkaconnect:us-east-1:123456789012:connector/drift-connector-0/gone");
+        final Long listsBefore = service.getCalls().get("ListConnectors");
+
+        final DriftReport report =
+            detector.detect(TestEnvironments.TARGET, Collections.singletonList(desired), LOGGER).join();
+
+        assertThat(report.getResources()).hasSize(1);
+        assertThat(report.getResources().get(0).getStatus()).isEqualTo(DriftReport.Status.DELETED);
+        assertThat(report.getResources().get(0).getError()).isNotNull();
+        // the ARN was given, so nothing was listed
+        assertThat(service.getCalls().get("ListConnectors")).isEqualTo(listsBefore);
+    }
+}
@@ -0,0 +1,118 @@
+package software.amazon.kafkaconnect.orchestration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.kafkaconnect.connector.CustomPlugin;
+import software.amazon.kafkaconnect.connector.LocalKafkaConnectService;
+import software.amazon.kafkaconnect.connector.Plugin;
+
+/**
+ * Provisions plans through the resource providers' handlers against a {@link LocalKafkaConnectService}.
+ */
+public class EnvironmentOrchestratorTest {
+    private static final Duration CUSTOM_PLUGIN_DELAY = Duration.ofMillis(1500);
+    private static final Duration CONNECTOR_DELAY = Duration.ofMillis(300);
+    private static final Logger LOGGER = System.out::println;
+
+    private LocalKafkaConnectService service;
+    private EnvironmentOrchestrator orchestrator;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        service = new LocalKafkaConnectService(CUSTOM_PLUGIN_DELAY, CONNECTOR_DELAY);
+        System.setProperty("kafkaconnect.endpointOverride", service.getEndpoint().toString());
+        System.setProperty("aws.region", "us-east-1");
+        orchestrator = new EnvironmentOrchestrator(4, Duration.ofMillis(200), Duration.ofMillis(50));
+    }
+
+    @AfterEach
+    public void tear_down() {
+        orchestrator.close();
+        service.close();
+        System.clearProperty("kafkaconnect.endpointOverride");
+    }
+
+    @Test
+    public void provision_createsWorkerConfigurationsWhilePluginsStabilize_andConnectorsOnceTheirPluginsAreActive() {
+        final EnvironmentPlan plan = TestEnvironments.plan("pipelined", 2, 1, 2);
+
+        final ProvisioningReport report = orchestrator.provision(TestEnvironments.TARGET, plan, LOGGER).join();
+
+        assertThat(report.isSucceeded()).isTrue();
+        final Map<String, ProvisioningReport.Step> steps = steps(report);
+        final ProvisioningReport.Step plugin = steps.get("pipelined-plugin-0");
+        final ProvisioningReport.Step workerConfiguration = steps.get("pipelined-worker-0");
+        final ProvisioningReport.Step connector = steps.get("pipelined-connector-0");
+
+        // the worker configuration didn't wait for the plugins, the connector waited for its plugin only
+        assertThat(workerConfiguration.getStart()).isLessThan(plugin.getStart().plus(CUSTOM_PLUGIN_DELAY));
+        assertThat(end(workerConfiguration)).isLessThan(end(plugin));
+        assertThat(plugin.getDuration()).isGreaterThanOrEqualTo(CUSTOM_PLUGIN_DELAY);
+        assertThat(plugin.getInvocations()).isGreaterThan(1);
+        assertThat(connector.getStart()).isGreaterThanOrEqualTo(end(plugin));
+        assertThat(report.getElapsed()).isLessThan(report.getSequentialTime());
+        assertThat(report.getCriticalPath()).hasSize(2);
+        assertThat(report.getCriticalPath().get(1)).startsWith("pipelined-connector-");
+
+        assertThat(connector.getArn()).contains(":connector/pipelined-connector-0/");
+        assertThat(plan.getConnectors().get("pipelined-connector-0").getModel().getPlugins())
+            .extracting(Plugin::getCustomPlugin)
+            .extracting(CustomPlugin::getCustomPluginArn)
+            .containsExactly(plugin.getArn());
+        assertThat(plan.getConnectors().get("pipelined-connector-0").getModel().getWorkerConfiguration()
+            .getWorkerConfigurationArn()).isEqualTo(workerConfiguration.getArn());
+        assertThat(service.getStates()).containsEntry("pipelined-connector-0", "RUNNING")
+            .containsEntry("pipelined-connector-1", "RUNNING");
+    }
+
+    @Test
+    public void provision_failedPlugin_skipsOnlyTheConnectorsRunningIt() {
+        service.failCreate("failing-plugin-1");
+        final EnvironmentPlan plan = TestEnvironments.plan("failing", 2, 1, 2);
+
+        final ProvisioningReport report = orchestrator.provision(TestEnvironments.TARGET, plan, LOGGER).join();
+
+        assertThat(report.isSucceeded()).isFalse();
+        final Map<String, ProvisioningReport.Step> steps = steps(report);
+        assertThat(steps.get("failing-plugin-1").getStatus()).isEqualTo(ProvisioningReport.Status.FAILED);
+        assertThat(steps.get("failing-plugin-1").getError()).startsWith("GeneralServiceException");
+        assertThat(steps.get("failing-connector-1").getStatus()).isEqualTo(ProvisioningReport.Status.SKIPPED);
+        assertThat(steps.get("failing-connector-1").getError())
+            .isEqualTo("Skipped because failing-plugin-1 didn't succeed");
+        assertThat(steps.get("failing-connector-0").getStatus()).isEqualTo(ProvisioningReport.Status.SUCCEEDED);
+        assertThat(service.getStates()).doesNotContainKey("failing-connector-1");
+    }
+
+    @Test
+    public void provision_unknownReference_isRejectedBeforeAnythingIsCreated() {
+        final EnvironmentPlan plan = EnvironmentPlan.builder()
+            .connector("orphan", EnvironmentPlan.ConnectorSpec.builder()
+                .model(TestEnvironments.connector("orphan"))
+                .customPlugin("missing")
+                .build())
+            .build();
+
+        assertThrows(IllegalArgumentException.class,
+            () -> orchestrator.provision(TestEnvironments.TARGET, plan, LOGGER));
+        assertThat(service.getCalls()).isEmpty();
+    }
+
+    private static Map<String, ProvisioningReport.Step> steps(final ProvisioningReport report) {
+        return report.getSteps().stream()
+            .collect(Collectors.toMap(ProvisioningReport.Step::getLogicalName, Function.identity()));
+    }
+
+    private static Duration end(final ProvisioningReport.Step step) {
+        return step.getStart().plus(step.getDuration());
+    }
+}
@@ -0,0 +1,118 @@
+package software.amazon.kafkaconnect.orchestration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.kafkaconnect.connector.LocalKafkaConnectService;
+import software.amazon.kafkaconnect.connector.RateLimiter;
+
+/**
+ * Tears environments down through the resource providers' handlers against a {@link LocalKafkaConnectService}.
+ */
+public class EnvironmentTeardownTest {
+    private static final Duration CONNECTOR_DELAY = Duration.ofMillis(300);
+    private static final Logger LOGGER = System.out::println;
+
+    private LocalKafkaConnectService service;
+    private EnvironmentTeardown teardown;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        service = new LocalKafkaConnectService(Duration.ZERO, CONNECTOR_DELAY, 50);
+        System.setProperty("kafkaconnect.endpointOverride", service.getEndpoint().toString());
+        System.setProperty("aws.region", "us-east-1");
+        teardown = new EnvironmentTeardown(
+            new HandlerDriver(8, Duration.ofMillis(200), Duration.ofMillis(50), new RateLimiter(40)), 2);
+    }
+
+    @AfterEach
+    public void tear_down() {
+        teardown.close();
+        service.close();
+        System.clearProperty("kafkaconnect.endpointOverride");
+    }
+
+    @Test
+    public void tearDown_deletesConnectorsTwoAtATime_andPluginsAndWorkerConfigurationsOnceUnused() {
+        final String plugin0 = service.putCustomPlugin("env-plugin-0");
+        final String plugin1 = service.putCustomPlugin("env-plugin-1");
+        service.putCustomPlugin("env-unused");
+        final String worker = service.putWorkerConfiguration("env-worker-0");
+        for (int i = 0; i < 4; i++) {
+            service.putConnector("env-connector-" + i,
+                Collections.singletonList(i % 2 == 0 ? plugin0 : plugin1), worker);
+        }
+        service.putConnector("other-connector", Collections.singletonList(plugin1), null);
+
+        final TeardownReport report = teardown.tearDown(TestEnvironments.TARGET, "env-", LOGGER).join();
+
+        final Map<String, TeardownReport.Step> steps = steps(report);
+        assertThat(steps).containsOnlyKeys("env-connector-0", "env-connector-1", "env-connector-2",
+            "env-connector-3", "env-plugin-0", "env-plugin-1", "env-unused", "env-worker-0");
+        assertThat(report.getDeleted()).isEqualTo(7);
+        assertThat(report.getPeakConnectorDeletes()).isEqualTo(2);
+        assertThat(report.getDeletesPerMinute()).isPositive();
+
+        // the plugin waited for its own connectors only, the unused one for nothing
+        assertThat(steps.get("env-plugin-0").getStart())
+            .isGreaterThanOrEqualTo(end(steps.get("env-connector-0")))
+            .isGreaterThanOrEqualTo(end(steps.get("env-connector-2")));
+        assertThat(steps.get("env-unused").getStart()).isLessThan(CONNECTOR_DELAY);
+        assertThat(steps.get("env-worker-0").getStart()).isGreaterThanOrEqualTo(Arrays.asList(0, 1, 2, 3).stream()
+            .map(i -> end(steps.get("env-connector-" + i)))
+            .max(Duration::compareTo)
+            .get());
+
+        assertThat(steps.get("env-plugin-1").getStatus()).isEqualTo(TeardownReport.Status.SKIPPED);
+        assertThat(steps.get("env-plugin-1").getError())
+            .isEqualTo("Kept because connector other-connector still uses it");
+        assertThat(service.getStates()).containsOnlyKeys("env-plugin-1", "other-connector");
+        assertThat(service.getThrottles()).isZero();
+    }
+
+    @Test
+    public void tearDown_failedConnectorDelete_keepsWhatItUses() {
+        final String plugin = service.putCustomPlugin("failing-plugin");
+        final String worker = service.putWorkerConfiguration("failing-worker");
+        service.putConnector("failing-connector-0", Collections.singletonList(plugin), worker);
+        final String stuck = service.putConnector("failing-connector-1", Collections.singletonList(plugin), null);
+        service.failDelete("failing-connector-1");
+
+        final TeardownReport report = teardown.tearDown(TestEnvironments.TARGET, "failing-", LOGGER).join();
+
+        assertThat(report.isSucceeded()).isFalse();
+        final Map<String, TeardownReport.Step> steps = steps(report);
+        assertThat(steps.get("failing-connector-0").getStatus()).isEqualTo(TeardownReport.Status.DELETED);
+        assertThat(steps.get("failing-connector-1").getStatus()).isEqualTo(TeardownReport.Status.FAILED);
+        assertThat(steps.get("failing-worker").getStatus()).isEqualTo(TeardownReport.Status.DELETED);
+        assertThat(steps.get("failing-plugin").getStatus()).isEqualTo(TeardownReport.Status.SKIPPED);
+        assertThat(steps.get("failing-plugin").getError()).isEqualTo("Skipped because " + stuck + " didn't succeed");
+        assertThat(service.getStates()).containsOnlyKeys("failing-connector-1", "failing-plugin");
+    }
+
+    @Test
+    public void tearDown_emptyPrefix_isRejectedBeforeAnythingIsListed() {
+        assertThrows(IllegalArgumentException.class, () -> teardown.tearDown(TestEnvironments.TARGET, "", LOGGER));
+        assertThat(service.getCalls()).isEmpty();
+    }
+
+    private static Map<String, TeardownReport.Step> steps(final TeardownReport report) {
+        return report.getSteps().stream()
+            .collect(Collectors.toMap(TeardownReport.Step::getName, Function.identity()));
+    }
+
+    private static Duration end(final TeardownReport.Step step) {
+        return step.getStart().plus(step.getDuration());
+    }
+}
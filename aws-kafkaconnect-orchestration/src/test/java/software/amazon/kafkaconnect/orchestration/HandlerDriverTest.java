@@ -0,0 +1,127 @@
+package software.amazon.kafkaconnect.orchestration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.cloudformation.exceptions.CfnAlreadyExistsException;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+public class HandlerDriverTest {
+    private static final Logger LOGGER = message -> { };
+
+    private final HandlerDriver driver = new HandlerDriver(2, Duration.ofSeconds(1), Duration.ofMillis(10));
+
+    @AfterEach
+    public void tear_down() {
+        driver.close();
+    }
+
+    @Test
+    public void drive_inProgress_reinvokesWithTheCallbackContextUntilSuccess() {
+        final List<Integer> contexts = new ArrayList<>();
+        final HandlerDriver.Handler<String, Integer> handler = (proxy, request, callbackContext, logger) -> {
+            contexts.add(callbackContext);
+            final int attempt = callbackContext == null ? 1 : callbackContext + 1;
+            return attempt < 3
+                // a callback delay the driver caps at 10 ms
+                ? ProgressEvent.defaultInProgressHandler(attempt, 60, request.getDesiredResourceState())
+                : ProgressEvent.defaultSuccessHandler(request.getDesiredResourceState() + "-created");
+        };
+
+        final HandlerDriver.Outcome<String> outcome =
+            driver.drive(handler, request("connector"), TestEnvironments.CREDENTIALS, LOGGER).join();
+
+        assertThat(outcome.getModel()).isEqualTo("connector-created");
+        assertThat(outcome.getInvocations()).isEqualTo(3);
+        assertThat(contexts).containsExactly(null, 1, 2);
+    }
+
+    @Test
+    public void drive_failedEvent_completesExceptionallyWithItsErrorCode() {
+        final HandlerDriver.Handler<String, Integer> handler = (proxy, request, callbackContext, logger) ->
+            ProgressEvent.failed(null, null, HandlerErrorCode.InvalidRequest, "bad plugin");
+
+        final CompletionException thrown = assertThrows(CompletionException.class, () ->
+            driver.drive(handler, request("connector"), TestEnvironments.CREDENTIALS, LOGGER).join());
+
+        final HandlerDriver.HandlerFailedException failure = (HandlerDriver.HandlerFailedException) thrown.getCause();
+        assertThat(failure.getErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
+        assertThat(failure.getMessage()).isEqualTo("InvalidRequest: bad plugin");
+        assertThat(failure.getInvocations()).isEqualTo(1);
+    }
+
+    @Test
+    public void drive_handlerThrowing_completesExceptionallyWithItsErrorCode() {
+        final HandlerDriver.Handler<String, Integer> handler = (proxy, request, callbackContext, logger) -> {
+            throw new CfnAlreadyExistsException("AWS::KafkaConnect::Connector", "connector");
+        };
+
+        final CompletionException thrown = assertThrows(CompletionException.class, () ->
+            driver.drive(handler, request("connector"), TestEnvironments.CREDENTIALS, LOGGER).join());
+
+        assertThat(((HandlerDriver.HandlerFailedException) thrown.getCause()).getErrorCode())
+            .isEqualTo(HandlerErrorCode.AlreadyExists);
+    }
+
+    @Test
+    public void drive_retryableFailure_reinvokesWithTheSameCallbackContext() {
+        final List<Integer> contexts = new ArrayList<>();
+        final HandlerDriver.Handler<String, Integer> handler = (proxy, request, callbackContext, logger) -> {
+            contexts.add(callbackContext);
+            switch (contexts.size()) {
+                case 1:
+                    return ProgressEvent.defaultInProgressHandler(1, 0, request.getDesiredResourceState());
+                case 2:
+                    return ProgressEvent.failed(null, callbackContext, HandlerErrorCode.Throttling, "slow down");
+                case 3:
+                    throw AwsServiceException.builder()
+                        .statusCode(503)
+                        .awsErrorDetails(AwsErrorDetails.builder().errorCode("ServiceUnavailable").build())
+                        .build();
+                default:
+                    return ProgressEvent.defaultSuccessHandler(request.getDesiredResourceState() + "-created");
+            }
+        };
+
+        final HandlerDriver.Outcome<String> outcome =
+            driver.drive(handler, request("connector"), TestEnvironments.CREDENTIALS, LOGGER).join();
+
+        assertThat(outcome.getModel()).isEqualTo("connector-created");
+        assertThat(outcome.getInvocations()).isEqualTo(4);
+        assertThat(contexts).containsExactly(null, 1, 1, 1);
+    }
+
+    @Test
+    public void drive_retryableFailureThatPersists_failsAfterTheLastRetry() {
+        final AtomicInteger invocations = new AtomicInteger();
+        final HandlerDriver.Handler<String, Integer> handler = (proxy, request, callbackContext, logger) -> {
+            invocations.incrementAndGet();
+            return ProgressEvent.failed(null, null, HandlerErrorCode.ServiceInternalError, "unavailable");
+        };
+
+        final CompletionException thrown = assertThrows(CompletionException.class, () ->
+            driver.drive(handler, request("connector"), TestEnvironments.CREDENTIALS, LOGGER).join());
+
+        final HandlerDriver.HandlerFailedException failure = (HandlerDriver.HandlerFailedException) thrown.getCause();
+        assertThat(failure.getErrorCode()).isEqualTo(HandlerErrorCode.ServiceInternalError);
+        assertThat(failure.getInvocations()).isEqualTo(HandlerDriver.MAX_RETRIES + 1);
+        assertThat(invocations.get()).isEqualTo(HandlerDriver.MAX_RETRIES + 1);
+    }
+
+    private static ResourceHandlerRequest<String> request(final String model) {
+        return ResourceHandlerRequest.<String>builder().desiredResourceState(model).build();
+    }
+}
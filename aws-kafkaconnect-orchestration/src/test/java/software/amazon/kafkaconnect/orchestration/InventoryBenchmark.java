@@ -0,0 +1,106 @@
+package software.amazon.kafkaconnect.orchestration;
+
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.kafkaconnect.connector.LocalKafkaConnectService;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Inventory benchmark: seeds a {@link LocalKafkaConnectService} with {@code inventory.connectors} connectors, and a
+ * custom plugin and worker configuration, in each of {@code inventory.regions} regions, and scans them into an NDJSON
+ * file once a page at a time and once with every region and resource type at the same time, printing the resources
+ * per second, the slowest scan and the time spent waiting for the file.
+ *
+ * The stand-in delays the calls of the n-th region by n times {@code inventory.latencyMillis}, so the regions are
+ * uneven. Run with {@code mvn -Pinventory-benchmark integration-test}.
+ */
+public final class InventoryBenchmark {
+    private static final Logger QUIET = message -> {
+    };
+    private static final List<String> REGIONS = Arrays.asList("us-east-1", "us-east-2", "us-west-2", "eu-west-1",
+        "eu-central-1", "ap-southeast-1", "ap-southeast-2", "ap-northeast-1", "ca-central-1", "sa-east-1");
+
+    private InventoryBenchmark() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final int regions = Math.min(Integer.getInteger("inventory.regions", 6), REGIONS.size());
+        final int connectors = Integer.getInteger("inventory.connectors", 200);
+        final Duration latency = Duration.ofMillis(Long.getLong("inventory.latencyMillis", 20L));
+        final int sinkCapacity = Integer.getInteger("inventory.sinkCapacity", 1024);
+
+        System.out.printf("%nregions=%d connectors=%d latencyMillis=%d sinkCapacity=%d%n", regions, connectors,
+            latency.toMillis(), sinkCapacity);
+
+        final Path output = Files.createTempFile("inventory", ".ndjson");
+        try (LocalKafkaConnectService service = new LocalKafkaConnectService(Duration.ZERO, Duration.ZERO)) {
+            System.setProperty("kafkaconnect.endpointOverride", service.getEndpoint().toString());
+            System.setProperty("aws.region", TestEnvironments.TARGET.getRegion());
+
+            final List<Target> targets = new ArrayList<>();
+            for (int r = 0; r < regions; r++) {
+                final String region = REGIONS.get(r);
+                final String plugin = service.putCustomPlugin(region, region + "-plugin");
+                final String worker = service.putWorkerConfiguration(region, region + "-worker");
+                for (int i = 0; i < connectors; i++) {
+                    service.putConnector(region, region + "-connector-" + i, Collections.singletonList(plugin),
+                        worker);
+                }
+                service.setLatency(region, latency.multipliedBy(r + 1L));
+                targets.add(Target.builder()
+                    .awsAccountId(TestEnvironments.TARGET.getAwsAccountId())
+                    .region(region)
+                    .credentials(TestEnvironments.CREDENTIALS)
+                    .build());
+            }
+
+            final ScanReport sequential = scan(1, targets, output, sinkCapacity);
+            print("one page at a time", sequential, output);
+            final ScanReport parallel = scan(regions * 3, targets, output, sinkCapacity);
+            print("all regions at once", parallel, output);
+
+            System.out.printf("%nparallel %d ms, one at a time %d ms, %.2fx%n", parallel.getElapsed().toMillis(),
+                sequential.getElapsed().toMillis(),
+                (double) sequential.getElapsed().toNanos() / parallel.getElapsed().toNanos());
+        } finally {
+            System.clearProperty("kafkaconnect.endpointOverride");
+            Files.deleteIfExists(output);
+        }
+    }
+
+    private static ScanReport scan(
+        final int parallelism,
+        final List<Target> targets,
+        final Path output,
+        final int sinkCapacity) throws Exception {
+
+        try (InventoryScanner scanner = new InventoryScanner(parallelism);
+             OutputStream file = new BufferedOutputStream(Files.newOutputStream(output));
+             NdjsonSink sink = new NdjsonSink(file, sinkCapacity)) {
+            return scanner.scan(targets, sink, QUIET).join();
+        }
+    }
+
+    private static void print(final String run, final ScanReport report, final Path output) throws Exception {
+        final ScanReport.Scan slowest = report.getSlowest();
+        System.out.printf("%n%s: %d resources in %d ms, %.1f per second, %d bytes%n", run, report.getResources(),
+            report.getElapsed().toMillis(), report.getResourcesPerSecond(), Files.size(output));
+        System.out.printf("slowest scan %s in %s, %d pages in %d ms; scans summed %d ms; waited on the sink %d ms%n",
+            slowest.getTypeName(), slowest.getRegion(), slowest.getPages(), slowest.getDuration().toMillis(),
+            report.getSequentialTime().toMillis(), report.getSinkWait().toMillis());
+        if (!report.isSucceeded()) {
+            report.getScans().stream()
+                .filter(scan -> scan.getError() != null)
+                .forEach(scan -> System.out.printf("  %s in %s failed: %s%n", scan.getTypeName(), scan.getRegion(),
+                    scan.getError()));
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package software.amazon.kafkaconnect.orchestration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.kafkaconnect.connector.LocalKafkaConnectService;
+
+/**
+ * Scans regions through the resource providers' List handlers against a {@link LocalKafkaConnectService}.
+ */
+public class InventoryScannerTest {
+    private static final Duration LATENCY = Duration.ofMillis(100);
+    private static final Logger LOGGER = System.out::println;
+
+    private LocalKafkaConnectService service;
+    private InventoryScanner scanner;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        service = new LocalKafkaConnectService(Duration.ZERO, Duration.ZERO);
+        System.setProperty("kafkaconnect.endpointOverride", service.getEndpoint().toString());
+        System.setProperty("aws.region", "us-east-1");
+        scanner = new InventoryScanner(new HandlerDriver(9, Duration.ofSeconds(5), Duration.ofMillis(50)));
+    }
+
+    @AfterEach
+    public void tear_down() {
+        scanner.close();
+        service.close();
+        System.clearProperty("kafkaconnect.endpointOverride");
+    }
+
+    @Test
+    public void scan_listsEveryRegionAtOnce_andWritesEachResourceOnce() {
+        final List<String> regions = Arrays.asList("us-east-1", "eu-west-1", "ap-southeast-2");
+        for (int r = 0; r < regions.size(); r++) {
+            final String region = regions.get(r);
+            final String plugin = service.putCustomPlugin(region, region + "-plugin");
+            final String worker = service.putWorkerConfiguration(region, region + "-worker");
+            // a page is 10 resources, so the regions take 2, 3 and 4 pages of connectors
+            for (int i = 0; i < 15 + 10 * r; i++) {
+                service.putConnector(region, region + "-connector-" + i, Collections.singletonList(plugin), worker);
+            }
+            service.setLatency(region, LATENCY);
+        }
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        final ScanReport report;
+        try (NdjsonSink sink = new NdjsonSink(output, 8)) {
+            report = scanner.scan(regions.stream().map(InventoryScannerTest::target).collect(Collectors.toList()),
+                sink, LOGGER).join();
+        }
+
+        assertThat(report.isSucceeded()).isTrue();
+        assertThat(report.getScans()).hasSize(9);
+        final Map<String, ScanReport.Scan> connectorScans = report.getScans().stream()
+            .filter(scan -> scan.getTypeName().equals(software.amazon.kafkaconnect.connector.ResourceModel.TYPE_NAME))
+            .collect(Collectors.toMap(ScanReport.Scan::getRegion, Function.identity()));
+        assertThat(connectorScans.get("us-east-1").getResources()).isEqualTo(15);
+        assertThat(connectorScans.get("eu-west-1").getPages()).isEqualTo(3);
+        assertThat(connectorScans.get("ap-southeast-2").getResources()).isEqualTo(35);
+        assertThat(report.getResources()).isEqualTo(15 + 25 + 35 + 6);
+
+        // the regions were scanned at the same time, so the scan took about as long as the slowest of them
+        assertThat(report.getSlowest()).isEqualTo(connectorScans.get("ap-southeast-2"));
+        assertThat(report.getElapsed()).isLessThan(report.getSequentialTime().dividedBy(2));
+        assertThat(report.getResourcesPerSecond()).isPositive();
+
+        final String[] lines = new String(output.toByteArray(), StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(81);
+        assertThat(lines).filteredOn(line -> line.contains("\"region\":\"eu-west-1\"")
+            && line.contains("eu-west-1-connector-24")).hasSize(1);
+    }
+
+    @Test
+    public void scan_regionDenied_isReportedWhileTheOthersComplete() {
+        service.putCustomPlugin("us-east-1", "plugin");
+        service.denyAccess("eu-west-1");
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        final ScanReport report;
+        try (NdjsonSink sink = new NdjsonSink(output, 8)) {
+            report = scanner.scan(Arrays.asList(target("us-east-1"), target("eu-west-1")), sink, LOGGER).join();
+        }
+
+        assertThat(report.isSucceeded()).isFalse();
+        assertThat(report.getScans()).filteredOn(scan -> scan.getRegion().equals("eu-west-1"))
+            .hasSize(3)
+            .allMatch(scan -> scan.getError() != null && scan.getResources() == 0);
+        assertThat(report.getScans()).filteredOn(scan -> scan.getRegion().equals("us-east-1"))
+            .allMatch(scan -> scan.getError() == null);
+        assertThat(report.getResources()).isEqualTo(1);
+    }
+
+    private static Target target(final String region) {
+        return Target.builder()
+            .awsAccountId(TestEnvironments.TARGET.getAwsAccountId())
+            .region(region)
+            .credentials(TestEnvironments.CREDENTIALS)
+            .build();
+    }
+}
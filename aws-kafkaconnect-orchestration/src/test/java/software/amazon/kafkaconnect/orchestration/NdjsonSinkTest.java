@@ -0,0 +1,123 @@
+package software.amazon.kafkaconnect.orchestration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class NdjsonSinkTest {
+    @Test
+    public void write_fromManyThreads_writesEveryRecordOnItsOwnLine() throws Exception {
+        final StringWriter output = new StringWriter();
+        final ExecutorService producers = Executors.newFixedThreadPool(4);
+        try (NdjsonSink sink = new NdjsonSink(output, 2)) {
+            final List<Future<?>> writes = new ArrayList<>();
+            for (int producer = 0; producer < 4; producer++) {
+                final int p = producer;
+                writes.add(producers.submit(() -> {
+                    for (int i = 0; i < 50; i++) {
+                        sink.write(new InventoryScanner.ScannedResource("123456789012", "us-east-1", "Test",
+                            p + "-" + i));
+                    }
+                    return null;
+                }));
+            }
+            for (final Future<?> write : writes) {
+                write.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            producers.shutdownNow();
+        }
+
+        final List<String> lines = Arrays.asList(output.toString().split("\n"));
+        assertThat(lines).hasSize(200).allMatch(line -> line.startsWith("{") && line.endsWith("}"));
+        assertThat(lines).filteredOn(line -> line.contains("\"resourceModel\":\"3-49\"")).hasSize(1);
+    }
+
+    @Test
+    public void write_outputFallingBehind_waitsForRoom() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final StringWriter output = new StringWriter();
+        final Writer slow = new Writer() {
+            @Override
+            public void write(final char[] buffer, final int offset, final int length) throws IOException {
+                try {
+                    release.await();
+                } catch (final InterruptedException e) {
+                    throw new IOException(e);
+                }
+                output.write(buffer, offset, length);
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        final NdjsonSink sink = new NdjsonSink(slow, 1);
+        final Thread producer = new Thread(() -> {
+            try {
+                for (int i = 0; i < 4; i++) {
+                    sink.write(i);
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+
+        // one line is being written and one queued, so the producer waits with the rest
+        producer.join(300L);
+        assertThat(producer.isAlive()).isTrue();
+        assertThat(sink.getWritten()).isZero();
+
+        release.countDown();
+        producer.join(5000L);
+        sink.close();
+        assertThat(output.toString()).isEqualTo("0\n1\n2\n3\n");
+        assertThat(sink.getWritten()).isEqualTo(4);
+        assertThat(sink.getWaited()).isGreaterThan(Duration.ZERO);
+    }
+
+    @Test
+    public void write_afterTheOutputFailed_throws() throws Exception {
+        final Writer failing = new Writer() {
+            @Override
+            public void write(final char[] buffer, final int offset, final int length) throws IOException {
+                throw new IOException("disk full");
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        final NdjsonSink sink = new NdjsonSink(failing, 1);
+        sink.write("first");
+
+        assertThrows(UncheckedIOException.class, sink::close);
+        assertThrows(UncheckedIOException.class, () -> sink.write("second"));
+        assertThat(sink.getWritten()).isZero();
+    }
+}
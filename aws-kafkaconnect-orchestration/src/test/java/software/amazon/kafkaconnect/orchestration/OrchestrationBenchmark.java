@@ -0,0 +1,69 @@
+package software.amazon.kafkaconnect.orchestration;
+
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.kafkaconnect.connector.LocalKafkaConnectService;
+
+import java.time.Duration;
+
+/**
+ * Orchestration benchmark: provisions the same plan against a {@link LocalKafkaConnectService} twice, once as a
+ * dependency graph and once one resource after another, and prints when each resource started and how long it took,
+ * the wall time of both runs and the critical path of the pipelined one.
+ *
+ * The stand-in keeps custom plugins CREATING for {@code orchestration.customPluginMillis} and connectors for
+ * {@code orchestration.connectorMillis}, so the pipelined run should take about the sum of the two, while the
+ * sequential one takes the sum over every resource. Run with {@code mvn -Porchestration-benchmark integration-test}.
+ */
+public final class OrchestrationBenchmark {
+    private static final Logger QUIET = message -> { };
+
+    private OrchestrationBenchmark() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final int customPlugins = Integer.getInteger("orchestration.customPlugins", 2);
+        final int workerConfigurations = Integer.getInteger("orchestration.workerConfigurations", 1);
+        final int connectors = Integer.getInteger("orchestration.connectors", 4);
+        final Duration customPluginDelay = Duration.ofMillis(Long.getLong("orchestration.customPluginMillis", 4000L));
+        final Duration connectorDelay = Duration.ofMillis(Long.getLong("orchestration.connectorMillis", 3000L));
+        final Duration callbackDelay = Duration.ofMillis(Long.getLong("orchestration.callbackDelayMillis", 100L));
+
+        try (LocalKafkaConnectService service = new LocalKafkaConnectService(customPluginDelay, connectorDelay);
+             EnvironmentOrchestrator orchestrator = new EnvironmentOrchestrator(
+                 customPlugins + workerConfigurations + connectors, Duration.ofMillis(200L), callbackDelay)) {
+
+            System.setProperty("kafkaconnect.endpointOverride", service.getEndpoint().toString());
+            System.setProperty("aws.region", TestEnvironments.TARGET.getRegion());
+
+            System.out.printf("%ncustomPlugins=%d workerConfigurations=%d connectors=%d customPluginMillis=%d "
+                    + "connectorMillis=%d callbackDelayMillis=%d%n", customPlugins, workerConfigurations, connectors,
+                customPluginDelay.toMillis(), connectorDelay.toMillis(), callbackDelay.toMillis());
+
+            final ProvisioningReport pipelined = orchestrator.provision(TestEnvironments.TARGET,
+                TestEnvironments.plan("pipelined", customPlugins, workerConfigurations, connectors), QUIET).join();
+            print("pipelined", pipelined);
+            final ProvisioningReport sequential = orchestrator.provision(TestEnvironments.TARGET,
+                TestEnvironments.plan("sequential", customPlugins, workerConfigurations, connectors), QUIET, true)
+                .join();
+            print("sequential", sequential);
+
+            System.out.printf("%npipelined %d ms, sequential %d ms, %.2fx%n", pipelined.getElapsed().toMillis(),
+                sequential.getElapsed().toMillis(),
+                (double) sequential.getElapsed().toNanos() / pipelined.getElapsed().toNanos());
+            System.out.printf("critical path: %s%n", String.join(" -> ", pipelined.getCriticalPath()));
+        } finally {
+            System.clearProperty("kafkaconnect.endpointOverride");
+        }
+    }
+
+    private static void print(final String run, final ProvisioningReport report) {
+        System.out.printf("%n%s: %d ms%n", run, report.getElapsed().toMillis());
+        System.out.printf("%-36s %-10s %10s %10s %12s%n", "resource", "status", "start ms", "took ms", "invocations");
+        report.getSteps().forEach(step -> System.out.printf("%-36s %-10s %10s %10s %12d%n",
+            step.getLogicalName(),
+            step.getStatus(),
+            step.getStart() == null ? "-" : String.valueOf(step.getStart().toMillis()),
+            step.getDuration() == null ? "-" : String.valueOf(step.getDuration().toMillis()),
+            step.getInvocations()));
+    }
+}
@@ -0,0 +1,99 @@
+package software.amazon.kafkaconnect.orchestration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.kafkaconnect.connector.AutoScaling;
+import software.amazon.kafkaconnect.connector.Capacity;
+import software.amazon.kafkaconnect.connector.ScaleInPolicy;
+import software.amazon.kafkaconnect.connector.ScaleOutPolicy;
+
+public class RecordedLoadTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    public void read_cloudWatchExport_sortsSamplesAndTakesTheirInterval() throws IOException {
+        final Path file = directory.resolve("cpu.csv");
+        Files.write(file, String.join("\n",
+            "# CpuUtilization of connector-1",
+            "Timestamp,CpuUtilization,WorkerCount",
+            "2024-05-01T10:10:00Z,90,1",
+            "2024-05-01T10:05:00Z, 50 ,2",
+            "",
+            "2024-05-01T10:00:00Z,25,2").getBytes(StandardCharsets.UTF_8));
+
+        final RecordedLoad load = RecordedLoad.read(file);
+
+        assertThat(load.getSampleInterval()).isEqualTo(Duration.ofMinutes(5L));
+        assertThat(load.getValues()).containsExactly(25.0, 50.0, 90.0);
+        assertThat(load.getWorkerCounts()).containsExactly(2, 2, 1);
+        assertThat(load.demandFromCpuUtilization(2)).containsExactly(1.0, 2.0, 1.8);
+        assertThat(load.simulator().build().getSampleInterval()).isEqualTo(Duration.ofMinutes(5L));
+    }
+
+    @Test
+    public void read_throughput_replaysAgainstAutoScaling() throws IOException {
+        final StringBuilder csv = new StringBuilder();
+        for (int minute = 0; minute < 30; minute++) {
+            csv.append(String.format("2024-05-01T10:%02d:00Z,%d%n", minute, minute < 10 ? 500 : 3000));
+        }
+        final RecordedLoad load = read(csv.toString());
+        final Capacity capacity = Capacity.builder()
+            .autoScaling(AutoScaling.builder()
+                .minWorkerCount(1)
+                .maxWorkerCount(4)
+                .mcuCount(2)
+                .scaleInPolicy(ScaleInPolicy.builder().cpuUtilizationPercentage(20).build())
+                .scaleOutPolicy(ScaleOutPolicy.builder().cpuUtilizationPercentage(80).build())
+                .build())
+            .build();
+
+        final AutoScalingSimulator.Result result =
+            load.simulator().build().simulate(capacity, load.demandFromThroughput(1000));
+
+        assertThat(load.getWorkerCounts()).isNull();
+        assertThat(result.getScaleOutCount()).isEqualTo(1);
+        assertThat(result.getPeakWorkerCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void read_invalidRecordings_throw() {
+        assertThat(assertThrows(IllegalArgumentException.class, () -> read("Timestamp,Value\n")).getMessage())
+            .isEqualTo("The recording has no samples");
+        assertThat(assertThrows(IllegalArgumentException.class,
+            () -> read("2024-05-01T10:00:00Z,1\nyesterday,2\n")).getMessage())
+            .isEqualTo("Line 2: yesterday is not an ISO-8601 timestamp");
+        assertThat(assertThrows(IllegalArgumentException.class,
+            () -> read("2024-05-01T10:00:00Z\n")).getMessage())
+            .isEqualTo("Line 1: expected timestamp,value or timestamp,value,workerCount");
+        assertThat(assertThrows(IllegalArgumentException.class,
+            () -> read("2024-05-01T10:00:00Z,high\n")).getMessage())
+            .startsWith("Line 1: ");
+        assertThat(assertThrows(IllegalArgumentException.class,
+            () -> read("2024-05-01T10:00:00Z,1,2\n2024-05-01T10:01:00Z,1\n")).getMessage())
+            .isEqualTo("Line 2: either every sample has a worker count or none does");
+        assertThat(assertThrows(IllegalArgumentException.class,
+            () -> read("2024-05-01T10:00:00Z,1\n2024-05-01T10:00:00Z,2\n")).getMessage())
+            .isEqualTo("Line 2: another sample is also at 2024-05-01T10:00:00Z");
+        assertThat(assertThrows(IllegalArgumentException.class,
+            () -> read("2024-05-01T10:00:00Z,1\n2024-05-01T10:01:00Z,1\n2024-05-01T10:03:00Z,1\n")).getMessage())
+            .isEqualTo("Line 3: sample at 2024-05-01T10:03:00Z is PT2M after the one before, "
+                + "but the samples are PT1M apart");
+        assertThrows(IllegalStateException.class, () -> read("2024-05-01T10:00:00Z,1\n").demandFromCpuUtilization(1));
+    }
+
+    private static RecordedLoad read(final String csv) throws IOException {
+        return RecordedLoad.read(new BufferedReader(new StringReader(csv)));
+    }
+}
@@ -0,0 +1,115 @@
+package software.amazon.kafkaconnect.orchestration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.kafkaconnect.connector.CustomPlugin;
+import software.amazon.kafkaconnect.connector.Plugin;
+import software.amazon.kafkaconnect.connector.ResourceModel;
+import software.amazon.kafkaconnect.connector.Tag;
+
+public class SchemaDiffTest {
+    private static final SchemaDiff SCHEMA_DIFF = SchemaDiff.load(DriftDetector.SCHEMA);
+
+    @Test
+    public void diff_setsInAnotherOrder_areInSync() {
+        final ResourceModel desired = connector("subnet-a", "subnet-b");
+        desired.setPlugins(plugins("plugin-a", "plugin-b"));
+        desired.setTags(tags("team", "data", "environment", "prod"));
+        final ResourceModel live = connector("subnet-b", "subnet-a");
+        live.setPlugins(plugins("plugin-b", "plugin-a"));
+        live.setTags(tags("environment", "prod", "team", "data"));
+
+        assertThat(SCHEMA_DIFF.diff(desired, live)).isEmpty();
+    }
+
+    @Test
+    public void diff_setElementsMissingOrAdded_areReportedAtTheSetsPath() {
+        final ResourceModel desired = connector("subnet-a", "subnet-b");
+        desired.setPlugins(plugins("plugin-a"));
+        desired.setTags(tags("environment", "prod"));
+        final ResourceModel live = connector("subnet-a", "subnet-c");
+        live.setPlugins(plugins("plugin-a"));
+        live.setTags(tags("environment", "test"));
+
+        assertThat(SCHEMA_DIFF.diff(desired, live)).containsExactlyInAnyOrder(
+            new DriftReport.PropertyDifference("/KafkaCluster/ApacheKafkaCluster/Vpc/Subnets", "subnet-b", null,
+                DriftReport.DifferenceType.REMOVE),
+            new DriftReport.PropertyDifference("/KafkaCluster/ApacheKafkaCluster/Vpc/Subnets", null, "subnet-c",
+                DriftReport.DifferenceType.ADD),
+            new DriftReport.PropertyDifference("/Tags", "{\"Key\":\"environment\",\"Value\":\"prod\"}", null,
+                DriftReport.DifferenceType.REMOVE),
+            new DriftReport.PropertyDifference("/Tags", null, "{\"Key\":\"environment\",\"Value\":\"test\"}",
+                DriftReport.DifferenceType.ADD));
+    }
+
+    @Test
+    public void diff_comparesOnlyWhatTheDesiredModelSets_andNotReadOnlyProperties() {
+        final ResourceModel desired = ResourceModel.builder()
+            .connectorArn("arn:aws:kafkaconnect:us-east-1:123456789012:connector/desired/1")
+            .connectorName("connector")
+            .kafkaConnectVersion("2.7.1")
+            .build();
+        final ResourceModel live = connector("subnet-a");
+        live.setConnectorArn("arn:aws:kafkaconnect:us-east-1:123456789012:connector/connector/2");
+        live.getCapacity().getProvisionedCapacity().setWorkerCount(4);
+
+        assertThat(SCHEMA_DIFF.diff(desired, live)).isEmpty();
+
+        desired.setCapacity(connector("subnet-a").getCapacity());
+        desired.setKafkaConnectVersion("3.7.x");
+        assertThat(SCHEMA_DIFF.diff(desired, live)).containsExactlyInAnyOrder(
+            new DriftReport.PropertyDifference("/Capacity/ProvisionedCapacity/WorkerCount", "1", "4",
+                DriftReport.DifferenceType.NOT_EQUAL),
+            new DriftReport.PropertyDifference("/KafkaConnectVersion", "3.7.x", "2.7.1",
+                DriftReport.DifferenceType.NOT_EQUAL));
+    }
+
+    @Test
+    public void diff_propertyMissingFromTheLiveModel_isRemoved() {
+        final ResourceModel desired = connector("subnet-a");
+        desired.setConnectorDescription("described");
+
+        assertThat(SCHEMA_DIFF.diff(desired, connector("subnet-a"))).containsExactly(
+            new DriftReport.PropertyDifference("/ConnectorDescription", "described", null,
+                DriftReport.DifferenceType.REMOVE));
+    }
+
+    @Test
+    public void load_missingSchema_throws() {
+        assertThrows(IllegalArgumentException.class, () -> SchemaDiff.load("aws-kafkaconnect-missing.json"));
+    }
+
+    private static ResourceModel connector(final String... subnets) {
+        final ResourceModel connector = TestEnvironments.connector("connector");
+        connector.getKafkaCluster().getApacheKafkaCluster().getVpc()
+            .setSubnets(new LinkedHashSet<>(Arrays.asList(subnets)));
+        return connector;
+    }
+
+    private static Set<Plugin> plugins(final String... names) {
+        final Set<Plugin> plugins = new LinkedHashSet<>();
+        for (final String name : names) {
+            plugins.add(Plugin.builder()
+                .customPlugin(CustomPlugin.builder()
+                    .customPluginArn("arn:aws:kafkaconnect:us-east-1:123456789012:custom-plugin/" + name + "/1")
+                    .revision(1L)
+                    .build())
+                .build());
+        }
+        return plugins;
+    }
+
+    private static Set<Tag> tags(final String... keysAndValues) {
+        final Set<Tag> tags = new LinkedHashSet<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            tags.add(Tag.builder().key(keysAndValues[i]).value(keysAndValues[i + 1]).build());
+        }
+        return tags;
+    }
+}
@@ -0,0 +1,118 @@
+package software.amazon.kafkaconnect.orchestration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+public class TaskGraphTest {
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    public void run_startsIndependentTasksTogether_andDependentsOnceTheirDependenciesSucceed() {
+        final TaskGraph graph = new TaskGraph(false, now::get);
+        final CompletableFuture<String> plugin = new CompletableFuture<>();
+        final CompletableFuture<String> workerConfiguration = new CompletableFuture<>();
+
+        final TaskGraph.Task<String> pluginTask = graph.add("plugin", Collections.emptyList(), () -> plugin);
+        final TaskGraph.Task<String> workerConfigurationTask =
+            graph.add("worker", Collections.emptyList(), () -> workerConfiguration);
+        final TaskGraph.Task<String> connectorTask = graph.add("connector",
+            Arrays.asList(pluginTask, workerConfigurationTask),
+            () -> CompletableFuture.completedFuture(pluginTask.getValue() + "+" + workerConfigurationTask.getValue()));
+
+        final CompletableFuture<List<TaskGraph.Timing>> run = graph.run();
+        advance(1);
+        workerConfiguration.complete("worker-arn");
+        assertThat(connectorTask.getResult()).isNotDone();
+
+        advance(4);
+        plugin.complete("plugin-arn");
+
+        final List<TaskGraph.Timing> timings = run.join();
+        assertThat(connectorTask.getValue()).isEqualTo("plugin-arn+worker-arn");
+        assertThat(timings).extracting(TaskGraph.Timing::getStatus).containsOnly(TaskGraph.Status.SUCCEEDED);
+        assertThat(timings.get(0).getStart()).isEqualTo(Duration.ZERO);
+        assertThat(timings.get(1).getStart()).isEqualTo(Duration.ZERO);
+        assertThat(timings.get(1).getEnd()).isEqualTo(Duration.ofSeconds(1));
+        assertThat(timings.get(2).getStart()).isEqualTo(Duration.ofSeconds(5));
+        assertThat(TaskGraph.criticalPath(timings)).containsExactly("plugin", "connector");
+    }
+
+    @Test
+    public void run_failedTask_skipsItsDependentsOnly() {
+        final TaskGraph graph = new TaskGraph(false, now::get);
+        final TaskGraph.Task<String> plugin = graph.add("plugin", Collections.emptyList(),
+            () -> CompletableFuture.failedFuture(new IllegalStateException("CREATE_FAILED")));
+        final TaskGraph.Task<String> worker =
+            graph.add("worker", Collections.emptyList(), () -> CompletableFuture.completedFuture("worker-arn"));
+        graph.add("connector", Arrays.asList(plugin, worker), () -> CompletableFuture.completedFuture("connector"));
+        graph.add("other", Collections.singletonList(worker), () -> CompletableFuture.completedFuture("other"));
+
+        final List<TaskGraph.Timing> timings = graph.run().join();
+
+        assertThat(timings).extracting(TaskGraph.Timing::getStatus).containsExactly(
+            TaskGraph.Status.FAILED, TaskGraph.Status.SUCCEEDED, TaskGraph.Status.SKIPPED, TaskGraph.Status.SUCCEEDED);
+        assertThat(timings.get(0).getError()).isEqualTo("CREATE_FAILED");
+        assertThat(timings.get(2).getError()).isEqualTo("Skipped because plugin didn't succeed");
+        assertThat(timings.get(2).getStart()).isNull();
+    }
+
+    @Test
+    public void run_actionThrowing_failsTheTask() {
+        final TaskGraph graph = new TaskGraph(false, now::get);
+        graph.add("plugin", Collections.emptyList(), () -> {
+            throw new IllegalArgumentException("bad model");
+        });
+
+        final List<TaskGraph.Timing> timings = graph.run().join();
+
+        assertThat(timings.get(0).getStatus()).isEqualTo(TaskGraph.Status.FAILED);
+        assertThat(timings.get(0).getError()).isEqualTo("bad model");
+    }
+
+    @Test
+    public void run_sequential_waitsForThePreviousTask() {
+        final TaskGraph graph = new TaskGraph(true, now::get);
+        final CompletableFuture<String> plugin = new CompletableFuture<>();
+        graph.add("plugin", Collections.emptyList(), () -> plugin);
+        final TaskGraph.Task<String> worker =
+            graph.add("worker", Collections.emptyList(), () -> CompletableFuture.completedFuture("worker-arn"));
+
+        final CompletableFuture<List<TaskGraph.Timing>> run = graph.run();
+        assertThat(worker.getResult()).isNotDone();
+        advance(2);
+        plugin.complete("plugin-arn");
+
+        assertThat(run.join().get(1).getStart()).isEqualTo(Duration.ofSeconds(2));
+    }
+
+    @Test
+    public void add_rejectsDuplicateNamesAndForeignDependencies() {
+        final TaskGraph graph = new TaskGraph();
+        final TaskGraph other = new TaskGraph();
+        final TaskGraph.Task<String> foreign =
+            other.add("plugin", Collections.emptyList(), () -> CompletableFuture.completedFuture("plugin"));
+        graph.add("plugin", Collections.emptyList(), () -> CompletableFuture.completedFuture("plugin"));
+
+        assertThrows(IllegalArgumentException.class, () ->
+            graph.add("plugin", Collections.emptyList(), () -> CompletableFuture.completedFuture("again")));
+        assertThrows(IllegalArgumentException.class, () ->
+            graph.add("connector", Collections.singletonList(foreign), () -> CompletableFuture.completedFuture("c")));
+
+        graph.run().join();
+        assertThrows(IllegalStateException.class, graph::run);
+    }
+
+    private void advance(final long seconds) {
+        now.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+}
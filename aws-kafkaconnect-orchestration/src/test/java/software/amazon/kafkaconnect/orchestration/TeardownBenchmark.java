@@ -0,0 +1,87 @@
+package software.amazon.kafkaconnect.orchestration;
+
+import software.amazon.kafkaconnect.connector.LocalKafkaConnectService;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Teardown benchmark: seeds a {@link LocalKafkaConnectService} with the same environment twice and tears it down once
+ * deleting one connector at a time and once {@code teardown.concurrentConnectorDeletes} at a time, printing progress,
+ * throughput and the calls the service throttled.
+ *
+ * The stand-in keeps connectors DELETING for {@code teardown.connectorMillis} and throttles calls beyond
+ * {@code teardown.serviceRequestsPerSecond}; the teardown spaces its calls at {@code teardown.requestsPerSecond}. Run
+ * with {@code mvn -Pteardown-benchmark integration-test}.
+ */
+public final class TeardownBenchmark {
+    private TeardownBenchmark() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final int connectors = Integer.getInteger("teardown.connectors", 40);
+        final int customPlugins = Integer.getInteger("teardown.customPlugins", 4);
+        final int workerConfigurations = Integer.getInteger("teardown.workerConfigurations", 2);
+        final Duration connectorDelay = Duration.ofMillis(Long.getLong("teardown.connectorMillis", 1000L));
+        final int serviceRequestsPerSecond = Integer.getInteger("teardown.serviceRequestsPerSecond", 25);
+        final int requestsPerSecond = Integer.getInteger("teardown.requestsPerSecond", 20);
+        final int concurrentConnectorDeletes = Integer.getInteger("teardown.concurrentConnectorDeletes", 20);
+
+        System.out.printf("%nconnectors=%d customPlugins=%d workerConfigurations=%d connectorMillis=%d "
+                + "serviceRequestsPerSecond=%d requestsPerSecond=%d%n", connectors, customPlugins,
+            workerConfigurations, connectorDelay.toMillis(), serviceRequestsPerSecond, requestsPerSecond);
+
+        for (final int concurrency : new int[] {1, concurrentConnectorDeletes}) {
+            try (LocalKafkaConnectService service =
+                     new LocalKafkaConnectService(Duration.ZERO, connectorDelay, serviceRequestsPerSecond);
+                 EnvironmentTeardown teardown = new EnvironmentTeardown(EnvironmentTeardown.DEFAULT_PARALLELISM,
+                     concurrency, requestsPerSecond, Duration.ofMillis(200L), Duration.ofMillis(100L))) {
+
+                System.setProperty("kafkaconnect.endpointOverride", service.getEndpoint().toString());
+                System.setProperty("aws.region", TestEnvironments.TARGET.getRegion());
+                seed(service, "benchmark", connectors, customPlugins, workerConfigurations);
+
+                // log progress at most once a second
+                final AtomicLong lastProgress = new AtomicLong();
+                final TeardownReport report = teardown.tearDown(TestEnvironments.TARGET, "benchmark-", message -> {
+                    final long now = System.nanoTime();
+                    final long last = lastProgress.get();
+                    if (message.startsWith("Deleted") && now - last >= Duration.ofSeconds(1L).toNanos()
+                        && lastProgress.compareAndSet(last, now)) {
+                        System.out.println("  " + message);
+                    }
+                }).join();
+
+                System.out.printf("%d connectors at a time: %d of %d deleted, discovery %d ms, deletion %d ms, "
+                        + "%.1f per minute, %d throttled%n", concurrency, report.getDeleted(),
+                    report.getSteps().size(), report.getDiscovery().toMillis(), report.getDeletion().toMillis(),
+                    report.getDeletesPerMinute(), service.getThrottles());
+            } finally {
+                System.clearProperty("kafkaconnect.endpointOverride");
+            }
+        }
+    }
+
+    private static void seed(
+        final LocalKafkaConnectService service,
+        final String prefix,
+        final int connectors,
+        final int customPlugins,
+        final int workerConfigurations) {
+
+        final String[] pluginArns = new String[customPlugins];
+        for (int i = 0; i < customPlugins; i++) {
+            pluginArns[i] = service.putCustomPlugin(prefix + "-plugin-" + i);
+        }
+        final String[] workerConfigurationArns = new String[workerConfigurations];
+        for (int i = 0; i < workerConfigurations; i++) {
+            workerConfigurationArns[i] = service.putWorkerConfiguration(prefix + "-worker-" + i);
+        }
+        for (int i = 0; i < connectors; i++) {
+            service.putConnector(prefix + "-connector-" + i,
+                customPlugins == 0 ? Collections.emptyList() : Collections.singletonList(pluginArns[i % customPlugins]),
+                workerConfigurations == 0 ? null : workerConfigurationArns[i % workerConfigurations]);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package software.amazon.kafkaconnect.orchestration;
+
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.kafkaconnect.connector.ApacheKafkaCluster;
+import software.amazon.kafkaconnect.connector.Capacity;
+import software.amazon.kafkaconnect.connector.KafkaCluster;
+import software.amazon.kafkaconnect.connector.KafkaClusterClientAuthentication;
+import software.amazon.kafkaconnect.connector.KafkaClusterEncryptionInTransit;
+import software.amazon.kafkaconnect.connector.ProvisionedCapacity;
+import software.amazon.kafkaconnect.connector.Vpc;
+import software.amazon.kafkaconnect.customplugin.CustomPluginLocation;
+import software.amazon.kafkaconnect.customplugin.S3Location;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collections;
+
+/**
+ * Plans of custom plugins, worker configurations and connectors for tests and benchmarks.
+ */
+final class TestEnvironments {
+    static final Credentials CREDENTIALS = new Credentials("accessKey", "secretKey", "token");
+    static final Target TARGET = Target.builder()
+        .awsAccountId("123456789012")
+        .region("us-east-1")
+        .credentials(CREDENTIALS)
+        .tags(Collections.singletonMap("environment", "test"))
+        .build();
+
+    private TestEnvironments() {
+    }
+
+    /**
+     * @param prefix prefix of every resource name
+     * @param customPlugins custom plugins to create
+     * @param workerConfigurations worker configurations to create
+     * @param connectors connectors to create, each on one of the custom plugins and worker configurations in turn
+     * @return the plan
+     */
+    static EnvironmentPlan plan(
+        final String prefix,
+        final int customPlugins,
+        final int workerConfigurations,
+        final int connectors) {
+
+        final EnvironmentPlan.EnvironmentPlanBuilder plan = EnvironmentPlan.builder();
+        for (int i = 0; i < customPlugins; i++) {
+            plan.customPlugin(prefix + "-plugin-" + i, customPlugin(prefix + "-plugin-" + i));
+        }
+        for (int i = 0; i < workerConfigurations; i++) {
+            plan.workerConfiguration(prefix + "-worker-" + i, workerConfiguration(prefix + "-worker-" + i));
+        }
+        for (int i = 0; i < connectors; i++) {
+            final EnvironmentPlan.ConnectorSpec.ConnectorSpecBuilder spec = EnvironmentPlan.ConnectorSpec.builder()
+                .model(connector(prefix + "-connector-" + i));
+            if (customPlugins > 0) {
+                spec.customPlugin(prefix + "-plugin-" + (i % customPlugins));
+            }
+            if (workerConfigurations > 0) {
+                spec.workerConfiguration(prefix + "-worker-" + (i % workerConfigurations));
+            }
+            plan.connector(prefix + "-connector-" + i, spec.build());
+        }
+        return plan.build();
+    }
+
+    static software.amazon.kafkaconnect.customplugin.ResourceModel customPlugin(final String name) {
+        return software.amazon.kafkaconnect.customplugin.ResourceModel.builder()
+            .name(name)
+            .contentType("ZIP")
+            .location(CustomPluginLocation.builder()
+                .s3Location(S3Location.builder()
+                    .bucketArn("arn:aws:s3:::plugins")
+                    .fileKey(name + ".zip")
+                    .build())
+                .build())
+            .build();
+    }
+
+    static software.amazon.kafkaconnect.workerconfiguration.ResourceModel workerConfiguration(final String name) {
+        return software.amazon.kafkaconnect.workerconfiguration.ResourceModel.builder()
+            .name(name)
+            .propertiesFileContent(Base64.getEncoder().encodeToString(
+                "key.converter=org.apache.kafka.connect.storage.StringConverter\n".getBytes(StandardCharsets.UTF_8)))
+            .build();
+    }
+
+    static software.amazon.kafkaconnect.connector.ResourceModel connector(final String name) {
+        return software.amazon.kafkaconnect.connector.ResourceModel.builder()
+            .connectorName(name)
+            .capacity(Capacity.builder()
+                .provisionedCapacity(ProvisionedCapacity.builder()
+                    .mcuCount(1)
+                    .workerCount(1)
+                    .build())
+                .build())
+            .connectorConfiguration(Collections.singletonMap("connector.class",
+                "io.confluent.connect.s3.S3SinkConnector"))
+            .kafkaCluster(KafkaCluster.builder()
+                .apacheKafkaCluster(ApacheKafkaCluster.builder()
+                    .bootstrapServers("b-1.orchestration.kafka.us-east-1.amazonaws.com:9098")
+                    .vpc(Vpc.builder()
+                        .securityGroups(Collections.singleton("sg-0123456789"))
+                        .subnets(Collections.singleton("subnet-0123456789"))
+                        .build())
+                    .build())
+                .build())
+            .kafkaClusterClientAuthentication(KafkaClusterClientAuthentication.builder()
+                .authenticationType("NONE")
+                .build())
+            .kafkaClusterEncryptionInTransit(KafkaClusterEncryptionInTransit.builder()
+                .encryptionType("PLAINTEXT")
+                .build())
+            .kafkaConnectVersion("2.7.1")
+            .serviceExecutionRoleArn("arn:aws:iam::123456789012:role/orchestration")
+            .build();
+    }
+}
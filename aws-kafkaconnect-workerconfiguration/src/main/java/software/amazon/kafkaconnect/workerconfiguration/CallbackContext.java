@@ -7,4 +7,13 @@ import software.amazon.cloudformation.proxy.StdCallbackContext;
 @lombok.ToString
 @lombok.EqualsAndHashCode(callSuper = true)
 public class CallbackContext extends StdCallbackContext {
+    /**
+     * ARN of the worker configuration the create made or adopted, set before the read.
+     */
+    private String workerConfigurationArn;
+
+    /**
+     * Invocations in a row the open circuit breaker turned away, reset once one is let through.
+     */
+    private int circuitOpenCallbacks;
 }
@@ -1,7 +1,9 @@
 package software.amazon.kafkaconnect.workerconfiguration;
 
+import java.util.Optional;
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
 
+import software.amazon.awssdk.services.kafkaconnect.model.ConflictException;
 import software.amazon.awssdk.services.kafkaconnect.model.CreateWorkerConfigurationRequest;
 import software.amazon.awssdk.services.kafkaconnect.model.CreateWorkerConfigurationResponse;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
@@ -12,13 +14,17 @@ import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 import software.amazon.awssdk.services.kafkaconnect.KafkaConnectClient;
 
 public class CreateHandler extends BaseHandlerStd {
-    private Logger logger;
     private final ExceptionTranslator exceptionTranslator;
     private final Translator translator;
     private final ReadHandler readHandler;
+    private final WorkerPropertiesPreflight workerPropertiesPreflight;
+    private final WorkerConfigurationReuse workerConfigurationReuse;
+    private final CreateRecovery createRecovery;
 
     public CreateHandler() {
-        this(new ExceptionTranslator(), new Translator(), new ReadHandler());
+        this(HandlerRegistry.EXCEPTION_TRANSLATOR, HandlerRegistry.TRANSLATOR, HandlerRegistry.READ_HANDLER,
+            HandlerRegistry.WORKER_PROPERTIES_PREFLIGHT, HandlerRegistry.WORKER_CONFIGURATION_REUSE,
+            HandlerRegistry.CREATE_RECOVERY);
     }
 
     /**
@@ -33,9 +39,37 @@ public class CreateHandler extends BaseHandlerStd {
         final Translator translator,
         final ReadHandler readHandler) {
 
+        this(exceptionTranslator, translator, readHandler,
+            new WorkerPropertiesPreflight(ProviderSettings.DEFAULTS, new WorkerPropertiesValidator()),
+            new WorkerConfigurationReuse(ProviderSettings.DEFAULTS, new WorkerPropertiesValidator(),
+                new WorkerConfigurationIndex(translator, new WorkerPropertiesValidator()), exceptionTranslator),
+            new CreateRecovery(new WorkerPropertiesValidator()));
+    }
+
+    /**
+     * Constructor used for unit testing
+     *
+     * @param exceptionTranslator
+     * @param translator
+     * @param readHandler
+     * @param workerPropertiesPreflight
+     * @param workerConfigurationReuse
+     * @param createRecovery
+     */
+    CreateHandler(
+        final ExceptionTranslator exceptionTranslator,
+        final Translator translator,
+        final ReadHandler readHandler,
+        final WorkerPropertiesPreflight workerPropertiesPreflight,
+        final WorkerConfigurationReuse workerConfigurationReuse,
+        final CreateRecovery createRecovery) {
+
         this.exceptionTranslator = exceptionTranslator;
         this.translator = translator;
         this.readHandler = readHandler;
+        this.workerPropertiesPreflight = workerPropertiesPreflight;
+        this.workerConfigurationReuse = workerConfigurationReuse;
+        this.createRecovery = createRecovery;
     }
 
     @Override
@@ -46,13 +80,20 @@ public class CreateHandler extends BaseHandlerStd {
         final ProxyClient<KafkaConnectClient> proxyClient,
         final Logger logger) {
 
-        this.logger = logger;
-
         final ResourceModel model = request.getDesiredResourceState();
+        // an earlier invocation created or adopted the configuration, only the read is left; the reuse check would
+        // otherwise find that configuration
+        final boolean resumed = callbackContext.getWorkerConfigurationArn() != null;
+        if (resumed) {
+            model.setWorkerConfigurationArn(callbackContext.getWorkerConfigurationArn());
+        } else {
+            final Optional<WorkerPropertiesReport> report = workerPropertiesPreflight.check(model, logger);
+            workerConfigurationReuse.check(proxyClient, request, report.orElse(null), logger);
+        }
 
         return ProgressEvent.progress(model, callbackContext)
-            .then(progress -> initiateCreateWorkerConfiguration(proxy, proxyClient, progress,
-                "AWS-KafkaConnect-WorkerConfiguration::Create", request))
+            .then(progress -> resumed ? progress : initiateCreateWorkerConfiguration(proxy, proxyClient, progress,
+                "AWS-KafkaConnect-WorkerConfiguration::Create", request, logger))
             .then(progress -> readHandler.handleRequest(proxy, request, callbackContext, proxyClient, logger));
     }
 
@@ -61,13 +102,15 @@ public class CreateHandler extends BaseHandlerStd {
         final ProxyClient<KafkaConnectClient> proxyClient,
         final ProgressEvent<ResourceModel, CallbackContext> progress,
         final String callGraph,
-        final ResourceHandlerRequest<ResourceModel> request) {
+        final ResourceHandlerRequest<ResourceModel> request,
+        final Logger logger) {
 
         return proxy
             .initiate(callGraph, proxyClient, progress.getResourceModel(), progress.getCallbackContext())
             .translateToServiceRequest(_resourceModel -> translator.translateToCreateRequest(_resourceModel,
                 TagHelper.generateTagsForCreate(request)))
-            .makeServiceCall(this::runCreateWorkerConfiguration)
+            .makeServiceCall((createWorkerConfigurationRequest, client) ->
+                runCreateWorkerConfiguration(createWorkerConfigurationRequest, client, logger))
             .done(this::setWorkerConfigurationArn);
     }
 
@@ -79,12 +122,14 @@ public class CreateHandler extends BaseHandlerStd {
         final CallbackContext callbackContext) {
 
         resourceModel.setWorkerConfigurationArn(createWorkerConfigurationResponse.workerConfigurationArn());
+        callbackContext.setWorkerConfigurationArn(createWorkerConfigurationResponse.workerConfigurationArn());
         return ProgressEvent.progress(resourceModel, callbackContext);
     }
 
     private CreateWorkerConfigurationResponse runCreateWorkerConfiguration(
         final CreateWorkerConfigurationRequest createWorkerConfigurationRequest,
-        final ProxyClient<KafkaConnectClient> proxyClient) {
+        final ProxyClient<KafkaConnectClient> proxyClient,
+        final Logger logger) {
 
         final KafkaConnectClient kafkaConnectClient = proxyClient.client();
         final String identifier = createWorkerConfigurationRequest.name();
@@ -94,6 +139,15 @@ public class CreateHandler extends BaseHandlerStd {
             createWorkerConfigurationResponse = proxyClient.injectCredentialsAndInvokeV2(
                 createWorkerConfigurationRequest,
                 kafkaConnectClient::createWorkerConfiguration);
+        } catch (final ConflictException e) {
+            // an earlier attempt of this create, or an SDK retry of this one, may have made the configuration and
+            // lost the response; it is adopted if it carries this request's stack and logical ID
+            final Optional<String> workerConfigurationArn =
+                createRecovery.findCreated(proxyClient, createWorkerConfigurationRequest, logger);
+            if (!workerConfigurationArn.isPresent()) {
+                throw exceptionTranslator.translateToCfnException(e, identifier);
+            }
+            return adopted(createWorkerConfigurationRequest, workerConfigurationArn.get());
         } catch (final AwsServiceException e) {
             throw exceptionTranslator.translateToCfnException(e, identifier);
         }
@@ -101,4 +155,14 @@ public class CreateHandler extends BaseHandlerStd {
         logger.log(String.format("%s [%s] created successfully.", ResourceModel.TYPE_NAME, identifier));
         return createWorkerConfigurationResponse;
     }
+
+    private static CreateWorkerConfigurationResponse adopted(
+        final CreateWorkerConfigurationRequest createWorkerConfigurationRequest,
+        final String workerConfigurationArn) {
+
+        return CreateWorkerConfigurationResponse.builder()
+            .workerConfigurationArn(workerConfigurationArn)
+            .name(createWorkerConfigurationRequest.name())
+            .build();
+    }
 }
@@ -0,0 +1,146 @@
+package software.amazon.kafkaconnect.workerconfiguration;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.services.kafkaconnect.KafkaConnectClient;
+import software.amazon.awssdk.services.kafkaconnect.model.CreateWorkerConfigurationRequest;
+import software.amazon.awssdk.services.kafkaconnect.model.DescribeWorkerConfigurationRequest;
+import software.amazon.awssdk.services.kafkaconnect.model.DescribeWorkerConfigurationResponse;
+import software.amazon.awssdk.services.kafkaconnect.model.ForbiddenException;
+import software.amazon.awssdk.services.kafkaconnect.model.ListWorkerConfigurationsRequest;
+import software.amazon.awssdk.services.kafkaconnect.model.ListWorkerConfigurationsResponse;
+import software.amazon.awssdk.services.kafkaconnect.model.UnauthorizedException;
+import software.amazon.awssdk.services.kafkaconnect.model.WorkerConfigurationState;
+import software.amazon.awssdk.services.kafkaconnect.model.WorkerConfigurationSummary;
+import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+/**
+ * Finds the worker configuration an earlier attempt of the same create made, so that a create retried after the
+ * CreateWorkerConfiguration response was lost completes instead of failing on the name conflict. The configuration is
+ * looked up with ListWorkerConfigurations filtered by the name as a prefix, and adopted only when it is ACTIVE, its
+ * latest revision loads to the same properties as the request's, and it carries the request's description and tags.
+ * The tags must include the CloudFormation stack and logical ID, so a configuration of the same name that another
+ * stack, or a caller outside CloudFormation, made is left alone.
+ */
+class CreateRecovery {
+    private static final int UNAUTHORIZED_STATUS = 401;
+    private static final int FORBIDDEN_STATUS = 403;
+
+    private final WorkerPropertiesValidator validator;
+
+    CreateRecovery(final WorkerPropertiesValidator validator) {
+        this.validator = validator;
+    }
+
+    /**
+     * @param proxyClient client for the request's account and region
+     * @param createWorkerConfigurationRequest the create that failed on the name conflict
+     * @param logger logger of the current request
+     * @return the ARN of the worker configuration to adopt; empty if the create isn't tagged with its stack and
+     *     logical ID, there is none, it doesn't match, or the lookup failed for a reason other than access being
+     *     denied
+     * @throws CfnAccessDeniedException if the caller may not look the worker configuration up
+     */
+    Optional<String> findCreated(
+        final ProxyClient<KafkaConnectClient> proxyClient,
+        final CreateWorkerConfigurationRequest createWorkerConfigurationRequest,
+        final Logger logger) {
+
+        final String name = createWorkerConfigurationRequest.name();
+        if (!isTaggedWithStack(createWorkerConfigurationRequest.tags())) {
+            return Optional.empty();
+        }
+
+        try {
+            final Optional<WorkerConfigurationSummary> existing = findByName(proxyClient, name);
+            if (!existing.isPresent()) {
+                return Optional.empty();
+            }
+
+            final WorkerConfigurationSummary configuration = existing.get();
+            final String arn = configuration.workerConfigurationArn();
+            if (configuration.workerConfigurationState() != WorkerConfigurationState.ACTIVE
+                // the service may leave an empty description out
+                || !Objects.toString(createWorkerConfigurationRequest.description(), "")
+                    .equals(Objects.toString(configuration.description(), ""))
+                || !matches(proxyClient, createWorkerConfigurationRequest, arn)) {
+                logger.log(String.format("%s [%s] exists as %s, %s, but doesn't match this create.",
+                    ResourceModel.TYPE_NAME, name, arn, configuration.workerConfigurationState()));
+                return Optional.empty();
+            }
+
+            logger.log(String.format("%s [%s] adopting %s, created by an earlier attempt.",
+                ResourceModel.TYPE_NAME, name, arn));
+            return Optional.of(arn);
+        } catch (final AwsServiceException e) {
+            if (isAccessDenied(e)) {
+                // a create that can't look for its earlier attempt must not pass a missing permission off as a
+                // name conflict
+                throw new CfnAccessDeniedException(ResourceModel.TYPE_NAME, e);
+            }
+            logger.log(String.format(
+                "%s [%s] couldn't look for a worker configuration created by an earlier attempt: %s",
+                ResourceModel.TYPE_NAME, name, e.getMessage()));
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<WorkerConfigurationSummary> findByName(
+        final ProxyClient<KafkaConnectClient> proxyClient,
+        final String name) {
+
+        String nextToken = null;
+        do {
+            final ListWorkerConfigurationsResponse response = proxyClient.injectCredentialsAndInvokeV2(
+                ListWorkerConfigurationsRequest.builder()
+                    .namePrefix(name)
+                    .nextToken(nextToken)
+                    .build(),
+                proxyClient.client()::listWorkerConfigurations);
+            final Optional<WorkerConfigurationSummary> configuration =
+                Translator.streamOfOrEmpty(response.workerConfigurations())
+                    .filter(summary -> name.equals(summary.name()))
+                    .findFirst();
+            if (configuration.isPresent()) {
+                return configuration;
+            }
+            nextToken = response.nextToken();
+        } while (nextToken != null);
+        return Optional.empty();
+    }
+
+    private boolean matches(
+        final ProxyClient<KafkaConnectClient> proxyClient,
+        final CreateWorkerConfigurationRequest createWorkerConfigurationRequest,
+        final String arn) {
+
+        // the listing carries no content
+        final DescribeWorkerConfigurationResponse described = proxyClient.injectCredentialsAndInvokeV2(
+            DescribeWorkerConfigurationRequest.builder()
+                .workerConfigurationArn(arn)
+                .build(),
+            proxyClient.client()::describeWorkerConfiguration);
+        if (described.latestRevision() == null || !validator.equivalent(
+            createWorkerConfigurationRequest.propertiesFileContent(),
+            described.latestRevision().propertiesFileContent())) {
+            return false;
+        }
+
+        final Map<String, String> tags = TagHelper.listTags(arn, proxyClient.client(), proxyClient).tags();
+        return tags.entrySet().containsAll(createWorkerConfigurationRequest.tags().entrySet());
+    }
+
+    private static boolean isTaggedWithStack(final Map<String, String> tags) {
+        return tags.get(WorkerConfigurationReuse.STACK_ID_TAG) != null
+            && tags.get(WorkerConfigurationReuse.LOGICAL_ID_TAG) != null;
+    }
+
+    private static boolean isAccessDenied(final AwsServiceException e) {
+        return e instanceof UnauthorizedException || e instanceof ForbiddenException
+            || e.statusCode() == UNAUTHORIZED_STATUS || e.statusCode() == FORBIDDEN_STATUS;
+    }
+}
@@ -17,13 +17,12 @@ import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 import software.amazon.awssdk.services.kafkaconnect.KafkaConnectClient;
 
 public class DeleteHandler extends BaseHandlerStd {
-    private Logger logger;
     private final Translator translator;
 
     private final ExceptionTranslator exceptionTranslator;
 
     public DeleteHandler() {
-        this(new ExceptionTranslator(), new Translator());
+        this(HandlerRegistry.EXCEPTION_TRANSLATOR, HandlerRegistry.TRANSLATOR);
     }
 
     /**
@@ -44,7 +43,6 @@ public class DeleteHandler extends BaseHandlerStd {
         final ProxyClient<KafkaConnectClient> proxyClient,
         final Logger logger) {
 
-        this.logger = logger;
         final ResourceModel model = request.getDesiredResourceState();
 
         return ProgressEvent.progress(model, callbackContext)
@@ -52,21 +50,25 @@ public class DeleteHandler extends BaseHandlerStd {
                 .initiate("AWS-KafkaConnect-WorkerConfiguration::ValidateResourceExists", proxyClient, model,
                     callbackContext)
                 .translateToServiceRequest(translator::translateToReadRequest)
-                .makeServiceCall(this::validateResourceExists)
+                .makeServiceCall((describeWorkerConfigurationRequest, client) ->
+                    validateResourceExists(describeWorkerConfigurationRequest, client, logger))
                 .progress())
             .then(progress -> proxy
                 .initiate("AWS-KafkaConnect-WorkerConfiguration::Delete", proxyClient, model, callbackContext)
                 .translateToServiceRequest(translator::translateToDeleteRequest)
-                .makeServiceCall(this::deleteWorkerConfiguration)
+                .makeServiceCall((deleteWorkerConfigurationRequest, client) ->
+                    deleteWorkerConfiguration(deleteWorkerConfigurationRequest, client, logger))
                 .stabilize(
-                    (awsRequest, awsResponse, client, awsModel, context) -> isStabilized(awsRequest, client, awsModel))
+                    (awsRequest, awsResponse, client, awsModel, context) ->
+                        isStabilized(awsRequest, client, awsModel, logger))
                 .done(
                     (awsRequest, awsResponse, client, awsModel, context) -> ProgressEvent.defaultSuccessHandler(null)));
     }
 
     private DescribeWorkerConfigurationResponse validateResourceExists(
         DescribeWorkerConfigurationRequest describeWorkerConfigurationRequest,
-        ProxyClient<KafkaConnectClient> proxyClient) {
+        ProxyClient<KafkaConnectClient> proxyClient,
+        Logger logger) {
         DescribeWorkerConfigurationResponse describeWorkerConfigurationResponse;
         if (describeWorkerConfigurationRequest.workerConfigurationArn() == null) {
             throw new CfnNotFoundException(ResourceModel.TYPE_NAME, null);
@@ -89,7 +91,8 @@ public class DeleteHandler extends BaseHandlerStd {
 
     private DeleteWorkerConfigurationResponse deleteWorkerConfiguration(
         final DeleteWorkerConfigurationRequest deleteWorkerConfigurationRequest,
-        final ProxyClient<KafkaConnectClient> proxyClient) {
+        final ProxyClient<KafkaConnectClient> proxyClient,
+        final Logger logger) {
         DeleteWorkerConfigurationResponse deleteWorkerConfigurationResponse;
         final String identifier = deleteWorkerConfigurationRequest.workerConfigurationArn();
 
@@ -111,12 +114,14 @@ public class DeleteHandler extends BaseHandlerStd {
      * @param deleteWorkerConfigurationRequest the aws service request to delete a resource
      * @param proxyClient the aws service client to make the call
      * @param model resource model
+     * @param logger the logger of the current invocation
      * @return boolean state of stabilized or not
      */
     private boolean isStabilized(
         final DeleteWorkerConfigurationRequest deleteWorkerConfigurationRequest,
         final ProxyClient<KafkaConnectClient> proxyClient,
-        final ResourceModel model) {
+        final ResourceModel model,
+        final Logger logger) {
 
         final String identifier = deleteWorkerConfigurationRequest.workerConfigurationArn();
 
@@ -0,0 +1,93 @@
+package software.amazon.kafkaconnect.workerconfiguration;
+
+import com.amazonaws.services.lambda.runtime.LambdaRuntime;
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+import software.amazon.awssdk.services.kafkaconnect.model.DescribeWorkerConfigurationResponse;
+import software.amazon.awssdk.services.kafkaconnect.model.WorkerConfigurationRevisionDescription;
+import software.amazon.awssdk.services.kafkaconnect.model.WorkerConfigurationState;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.cloudformation.resource.Serializer;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * CRaC resource priming the handler before a CRaC/SnapStart checkpoint. It runs a synthetic Create/Read translation
+ * round trip, a Jackson round trip of a {@link ResourceHandlerRequest} and builds the client for the function's
+ * region, without calling the service. Priming is best effort and never blocks the checkpoint.
+ */
+final class HandlerPriming implements Resource {
+    private static final String PRIMING_ARN =
+        "arn:aws:kafkaconnect:us-east-1:123456789012:worker-configuration/priming";
+    private static final String PRIMING_PROPERTIES =
+        "a2V5LmNvbnZlcnRlcj1vcmcuYXBhY2hlLmthZmthLmNvbm5lY3QuanNvbi5Kc29uQ29udmVydGVy";
+    private static final TypeReference<ResourceHandlerRequest<ResourceModel>> REQUEST_TYPE =
+        new TypeReference<ResourceHandlerRequest<ResourceModel>>() {
+        };
+
+    // CRaC holds registered resources weakly
+    private static final HandlerPriming INSTANCE = new HandlerPriming();
+
+    static void register() {
+        Core.getGlobalContext().register(INSTANCE);
+    }
+
+    @Override
+    public void beforeCheckpoint(final Context<? extends Resource> context) {
+        try {
+            prime();
+        } catch (final Exception e) {
+            LambdaRuntime.getLogger().log(String.format("%s handler priming skipped: %s", ResourceModel.TYPE_NAME, e));
+        }
+    }
+
+    @Override
+    public void afterRestore(final Context<? extends Resource> context) {
+        ClientBuilder.invalidateClients();
+    }
+
+    static void prime() throws Exception {
+        final Translator translator = new Translator();
+        final ResourceModel model = ResourceModel.builder()
+            .workerConfigurationArn(PRIMING_ARN)
+            .name("priming")
+            .propertiesFileContent(PRIMING_PROPERTIES)
+            .build();
+        final Map<String, String> tags = Collections.singletonMap("priming", "true");
+
+        translator.translateToCreateRequest(model, tags);
+        translator.translateToReadRequest(model);
+        translator.translateToDeleteRequest(model);
+        final ResourceModel readModel = translator.translateFromReadResponse(
+            DescribeWorkerConfigurationResponse.builder()
+                .workerConfigurationArn(PRIMING_ARN)
+                .name("priming")
+                .workerConfigurationState(WorkerConfigurationState.ACTIVE)
+                .latestRevision(WorkerConfigurationRevisionDescription.builder()
+                    .propertiesFileContent(PRIMING_PROPERTIES)
+                    .revision(1L)
+                    .build())
+                .build());
+
+        final Serializer serializer = new Serializer();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .awsAccountId("123456789012")
+            .awsPartition("aws")
+            .region("us-east-1")
+            .desiredResourceState(model)
+            .previousResourceState(readModel)
+            .desiredResourceTags(tags)
+            .build();
+        serializer.deserialize(serializer.serialize(request), REQUEST_TYPE);
+        serializer.serialize(ProgressEvent.defaultSuccessHandler(readModel));
+
+        final String region = System.getenv("AWS_REGION");
+        if (region != null) {
+            ClientBuilder.getClient(region.startsWith("cn-") ? "aws-cn" : "aws", region);
+        }
+    }
+}
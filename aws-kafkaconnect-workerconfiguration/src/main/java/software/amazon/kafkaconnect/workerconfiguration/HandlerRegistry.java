@@ -0,0 +1,27 @@
+package software.amazon.kafkaconnect.workerconfiguration;
+
+import software.amazon.kafkaconnect.common.SingleFlight;
+
+/**
+ * Handler dependencies, wired once per container. Translators and handlers keep no per-invocation state (the logger
+ * is passed along with each request), so the same instances are shared by all handlers and concurrent invocations.
+ */
+final class HandlerRegistry {
+    static final ExceptionTranslator EXCEPTION_TRANSLATOR = new ExceptionTranslator();
+    static final Translator TRANSLATOR = new Translator();
+    static final WorkerPropertiesValidator WORKER_PROPERTIES_VALIDATOR = new WorkerPropertiesValidator();
+    // the read that ends a create or update has its own flights, so it never joins a read started before its change
+    static final ReadHandler READ_HANDLER =
+        new ReadHandler(EXCEPTION_TRANSLATOR, TRANSLATOR, WORKER_PROPERTIES_VALIDATOR);
+    static final SingleFlight<ReadHandler.ReadResult> READ_FLIGHTS = new SingleFlight<>();
+    static final ProviderSettings SETTINGS = ProviderSettings.fromEnvironment();
+    static final WorkerPropertiesPreflight WORKER_PROPERTIES_PREFLIGHT =
+        new WorkerPropertiesPreflight(SETTINGS, WORKER_PROPERTIES_VALIDATOR);
+    static final WorkerConfigurationReuse WORKER_CONFIGURATION_REUSE = new WorkerConfigurationReuse(SETTINGS,
+        WORKER_PROPERTIES_VALIDATOR, new WorkerConfigurationIndex(TRANSLATOR, WORKER_PROPERTIES_VALIDATOR),
+        EXCEPTION_TRANSLATOR);
+    static final CreateRecovery CREATE_RECOVERY = new CreateRecovery(WORKER_PROPERTIES_VALIDATOR);
+
+    private HandlerRegistry() {
+    }
+}
@@ -0,0 +1,83 @@
+package software.amazon.kafkaconnect.workerconfiguration;
+
+import com.amazonaws.services.lambda.runtime.LambdaRuntime;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.kafkaconnect.common.ClientSettings;
+import software.amazon.kafkaconnect.common.EnvironmentSettings;
+
+import java.util.Map;
+
+/**
+ * Opt-in provider behaviour, read from the function environment once per container. Every setting is off unless its
+ * variable is set, so an unconfigured deployment behaves as before.
+ */
+@lombok.Value
+@lombok.Builder
+public class ProviderSettings {
+    static final String PROPERTIES_VALIDATION_VARIABLE = "KAFKACONNECT_WORKER_PROPERTIES_VALIDATION";
+    static final String CONFIGURATION_REUSE_VARIABLE = "KAFKACONNECT_WORKER_CONFIGURATION_REUSE";
+    static final String VARIABLE_PREFIX = "KAFKACONNECT_WORKER_";
+    static final ProviderSettings DEFAULTS = ProviderSettings.builder().build();
+
+    /**
+     * What to do when PropertiesFileContent fails {@link WorkerPropertiesValidator} before CreateWorkerConfiguration.
+     */
+    @lombok.Builder.Default
+    PropertiesValidation propertiesValidation = PropertiesValidation.DISABLED;
+
+    /**
+     * What to do when an ACTIVE worker configuration already loads to the same properties as PropertiesFileContent.
+     */
+    @lombok.Builder.Default
+    ConfigurationReuse configurationReuse = ConfigurationReuse.DISABLED;
+
+    /**
+     * Settings of the kafkaconnect clients, read from the variables prefixed with {@link #VARIABLE_PREFIX}.
+     */
+    @lombok.Builder.Default
+    ClientSettings clientSettings = ClientSettings.DEFAULTS;
+
+    static ProviderSettings fromEnvironment() {
+        return fromEnvironment(System.getenv(), LambdaRuntime.getLogger()::log);
+    }
+
+    /**
+     * A value that can't be read is logged and replaced by the setting's default, so that a mistyped variable turns
+     * the setting off instead of failing every invocation of the container.
+     *
+     * @param environment function environment
+     * @param logger logger of the values ignored
+     * @return the settings
+     */
+    static ProviderSettings fromEnvironment(final Map<String, String> environment, final Logger logger) {
+        final EnvironmentSettings settings = new EnvironmentSettings(environment, logger, ResourceModel.TYPE_NAME);
+        return ProviderSettings.builder()
+            .propertiesValidation(settings.mode(PROPERTIES_VALIDATION_VARIABLE, PropertiesValidation.class,
+                PropertiesValidation.DISABLED))
+            .configurationReuse(settings.mode(CONFIGURATION_REUSE_VARIABLE, ConfigurationReuse.class,
+                ConfigurationReuse.DISABLED))
+            .clientSettings(ClientSettings.fromEnvironment(VARIABLE_PREFIX, settings))
+            .build();
+    }
+
+    public enum PropertiesValidation {
+        /** Pass PropertiesFileContent to the service unchecked. */
+        DISABLED,
+        /** Log the problems found, then create the worker configuration anyway. */
+        WARN,
+        /** Fail the create with InvalidRequest listing the problems found. */
+        FAIL
+    }
+
+    public enum ConfigurationReuse {
+        /** Always create a new worker configuration. */
+        DISABLED,
+        /** Log the equivalent worker configurations, then create a new one anyway. */
+        WARN,
+        /**
+         * Fail the create with AlreadyExists, naming the equivalent worker configuration to reference instead. A create
+         * whose worker configurations couldn't be indexed fails too.
+         */
+        FAIL
+    }
+}
@@ -6,20 +6,26 @@ import software.amazon.awssdk.services.kafkaconnect.model.DescribeWorkerConfigur
 import software.amazon.awssdk.services.kafkaconnect.model.DescribeWorkerConfigurationResponse;
 import software.amazon.awssdk.services.kafkaconnect.model.ListTagsForResourceResponse;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.kafkaconnect.common.SingleFlight;
 
 import java.util.Map;
 
 public class ReadHandler extends BaseHandlerStd {
-    private Logger logger;
+    private static final String READ_OPERATION = "DescribeWorkerConfigurationWithTags";
+
     private final ExceptionTranslator exceptionTranslator;
     private final Translator translator;
+    private final WorkerPropertiesValidator workerPropertiesValidator;
+    private final SingleFlight<ReadResult> readFlights;
 
     public ReadHandler() {
-        this(new ExceptionTranslator(), new Translator());
+        this(HandlerRegistry.EXCEPTION_TRANSLATOR, HandlerRegistry.TRANSLATOR,
+            HandlerRegistry.WORKER_PROPERTIES_VALIDATOR, HandlerRegistry.READ_FLIGHTS);
     }
 
     /**
@@ -29,8 +35,42 @@ public class ReadHandler extends BaseHandlerStd {
      * @param translator
      */
     ReadHandler(final ExceptionTranslator exceptionTranslator, final Translator translator) {
+        this(exceptionTranslator, translator, new WorkerPropertiesValidator());
+    }
+
+    /**
+     * Constructor used for unit testing
+     *
+     * @param exceptionTranslator
+     * @param translator
+     * @param workerPropertiesValidator
+     */
+    ReadHandler(
+        final ExceptionTranslator exceptionTranslator,
+        final Translator translator,
+        final WorkerPropertiesValidator workerPropertiesValidator) {
+
+        this(exceptionTranslator, translator, workerPropertiesValidator, new SingleFlight<>());
+    }
+
+    /**
+     * Constructor used for unit testing
+     *
+     * @param exceptionTranslator
+     * @param translator
+     * @param workerPropertiesValidator
+     * @param readFlights
+     */
+    ReadHandler(
+        final ExceptionTranslator exceptionTranslator,
+        final Translator translator,
+        final WorkerPropertiesValidator workerPropertiesValidator,
+        final SingleFlight<ReadResult> readFlights) {
+
         this.exceptionTranslator = exceptionTranslator;
         this.translator = translator;
+        this.workerPropertiesValidator = workerPropertiesValidator;
+        this.readFlights = readFlights;
     }
 
     @Override
@@ -41,19 +81,60 @@ public class ReadHandler extends BaseHandlerStd {
         final ProxyClient<KafkaConnectClient> proxyClient,
         final Logger logger) {
 
-        this.logger = logger;
-
         return proxy.initiate(
             "AWS-KafkaConnect-WorkerConfiguration::Read",
             proxyClient,
             request.getDesiredResourceState(),
             callbackContext)
             .translateToServiceRequest(translator::translateToReadRequest)
-            .makeServiceCall(this::describeWorkerConfigurationWithTags)
+            .makeServiceCall((describeWorkerConfigurationRequest, client) ->
+                describeWorkerConfigurationWithTags(describeWorkerConfigurationRequest, client,
+                    SingleFlight.caller(request), request.getDesiredResourceState(), logger))
             .done(responseModel -> ProgressEvent.defaultSuccessHandler(responseModel));
     }
 
+    /**
+     * Read can't return IN_PROGRESS, so it fails with Throttling, which CloudFormation retries.
+     */
+    @Override
+    protected ProgressEvent<ResourceModel, CallbackContext> handleCircuitOpen(
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        final int retryAfterSeconds) {
+
+        return ProgressEvent.failed(request.getDesiredResourceState(), callbackContext, HandlerErrorCode.Throttling,
+            String.format(CIRCUIT_OPEN_MESSAGE_PATTERN, request.getAwsPartition(), request.getRegion(),
+                retryAfterSeconds));
+    }
+
     private ResourceModel describeWorkerConfigurationWithTags(
+        final DescribeWorkerConfigurationRequest describeWorkerConfigurationRequest,
+        final ProxyClient<KafkaConnectClient> proxyClient,
+        final String caller,
+        final ResourceModel desiredModel,
+        final Logger logger) {
+
+        final String identifier = describeWorkerConfigurationRequest.workerConfigurationArn();
+        // concurrent reads of the same worker configuration in this container share one Describe and ListTags, as
+        // long as they are for the same account and stack, and so signed with the same credentials
+        final ReadResult readResult = readFlights.execute(READ_OPERATION, identifier,
+            caller,
+            () -> describeWorkerConfigurationAndTags(describeWorkerConfigurationRequest, proxyClient), logger);
+
+        logger.log(
+            String.format(
+                "%s [%s] has successfully been read.",
+                ResourceModel.TYPE_NAME,
+                identifier));
+        ResourceModel readResponse =
+            translator.translateFromReadResponse(readResult.getDescribeWorkerConfigurationResponse());
+        readResponse.setTags(TagHelper.convertToSet(readResult.getTags()));
+        keepEquivalentPropertiesFileContent(desiredModel, readResponse, logger);
+
+        return readResponse;
+    }
+
+    private ReadResult describeWorkerConfigurationAndTags(
         final DescribeWorkerConfigurationRequest describeWorkerConfigurationRequest,
         final ProxyClient<KafkaConnectClient> proxyClient) {
 
@@ -80,14 +161,36 @@ public class ReadHandler extends BaseHandlerStd {
 
         }
 
-        logger.log(
-            String.format(
-                "%s [%s] has successfully been read.",
-                ResourceModel.TYPE_NAME,
-                identifier));
-        ResourceModel readResponse = translator.translateFromReadResponse(describeWorkerConfigurationResponse);
-        readResponse.setTags(TagHelper.convertToSet(workerConfigurationTags));
+        return new ReadResult(describeWorkerConfigurationResponse, workerConfigurationTags);
+    }
 
-        return readResponse;
+    /**
+     * Reports the desired PropertiesFileContent when the service's loads to the same properties, so that content
+     * reformatted in the template (reordered lines, whitespace, comments) is not reported as drift.
+     */
+    private void keepEquivalentPropertiesFileContent(
+        final ResourceModel desiredModel,
+        final ResourceModel readResponse,
+        final Logger logger) {
+
+        final String desiredContent = desiredModel == null ? null : desiredModel.getPropertiesFileContent();
+        final String actualContent = readResponse.getPropertiesFileContent();
+        if (desiredContent == null || actualContent == null || desiredContent.equals(actualContent)) {
+            return;
+        }
+        if (workerPropertiesValidator.equivalent(desiredContent, actualContent)) {
+            logger.log(String.format("%s [%s] PropertiesFileContent differs only in formatting.",
+                ResourceModel.TYPE_NAME, readResponse.getWorkerConfigurationArn()));
+            readResponse.setPropertiesFileContent(desiredContent);
+        }
+    }
+
+    /**
+     * What a read fetched from the service, shared by coalesced reads. Each read translates it into its own model.
+     */
+    @lombok.Value
+    static class ReadResult {
+        DescribeWorkerConfigurationResponse describeWorkerConfigurationResponse;
+        Map<String, String> tags;
     }
 }
@@ -114,7 +114,7 @@ public class Translator {
             .collect(Collectors.toList());
     }
 
-    private static <T> Stream<T> streamOfOrEmpty(final Collection<T> collection) {
+    static <T> Stream<T> streamOfOrEmpty(final Collection<T> collection) {
         return Optional.ofNullable(collection)
             .map(Collection::stream)
             .orElseGet(Stream::empty);
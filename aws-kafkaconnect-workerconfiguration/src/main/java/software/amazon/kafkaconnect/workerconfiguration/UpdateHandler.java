@@ -19,15 +19,17 @@ import java.util.Optional;
 import java.util.Set;
 
 public class UpdateHandler extends BaseHandlerStd {
-    private Logger logger;
     private final Translator translator;
 
     private final ExceptionTranslator exceptionTranslator;
 
     private final ReadHandler readHandler;
 
+    private final WorkerPropertiesValidator workerPropertiesValidator;
+
     public UpdateHandler() {
-        this(new ExceptionTranslator(), new Translator(), new ReadHandler());
+        this(HandlerRegistry.EXCEPTION_TRANSLATOR, HandlerRegistry.TRANSLATOR, HandlerRegistry.READ_HANDLER,
+            HandlerRegistry.WORKER_PROPERTIES_VALIDATOR);
     }
 
     /**
@@ -39,9 +41,24 @@ public class UpdateHandler extends BaseHandlerStd {
     UpdateHandler(final ExceptionTranslator exceptionTranslator, final Translator translator,
         final ReadHandler readHandler) {
 
+        this(exceptionTranslator, translator, readHandler, new WorkerPropertiesValidator());
+    }
+
+    /**
+     * Constructor used for unit testing
+     *
+     * @param exceptionTranslator
+     * @param translator
+     * @param readHandler
+     * @param workerPropertiesValidator
+     */
+    UpdateHandler(final ExceptionTranslator exceptionTranslator, final Translator translator,
+        final ReadHandler readHandler, final WorkerPropertiesValidator workerPropertiesValidator) {
+
         this.translator = translator;
         this.exceptionTranslator = exceptionTranslator;
         this.readHandler = readHandler;
+        this.workerPropertiesValidator = workerPropertiesValidator;
     }
 
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -51,8 +68,6 @@ public class UpdateHandler extends BaseHandlerStd {
         final ProxyClient<KafkaConnectClient> proxyClient,
         final Logger logger) {
 
-        this.logger = logger;
-
         final ResourceModel model = request.getDesiredResourceState();
 
         return ProgressEvent.progress(model, callbackContext)
@@ -60,16 +75,18 @@ public class UpdateHandler extends BaseHandlerStd {
                 .initiate("AWS-KafkaConnect-WorkerConfiguration::ValidateResourceExists", proxyClient, model,
                     callbackContext)
                 .translateToServiceRequest(translator::translateToReadRequest)
-                .makeServiceCall(this::validateResourceExists)
+                .makeServiceCall((describeWorkerConfigurationRequest, client) ->
+                    validateResourceExists(describeWorkerConfigurationRequest, client, logger))
                 .progress())
-            .then(progress -> verifyNonUpdatableFields(model, request.getPreviousResourceState(), progress))
-            .then(progress -> updateTags(proxyClient, progress, request))
+            .then(progress -> verifyNonUpdatableFields(model, request.getPreviousResourceState(), progress, logger))
+            .then(progress -> updateTags(proxyClient, progress, request, logger))
             .then(progress -> readHandler.handleRequest(proxy, request, callbackContext, proxyClient, logger));
     }
 
     private DescribeWorkerConfigurationResponse validateResourceExists(
         DescribeWorkerConfigurationRequest describeWorkerConfigurationRequest,
-        ProxyClient<KafkaConnectClient> proxyClient) {
+        ProxyClient<KafkaConnectClient> proxyClient,
+        Logger logger) {
         DescribeWorkerConfigurationResponse describeWorkerConfigurationResponse;
         if (describeWorkerConfigurationRequest.workerConfigurationArn() == null) {
             throw new CfnNotFoundException(ResourceModel.TYPE_NAME, null);
@@ -88,7 +105,8 @@ public class UpdateHandler extends BaseHandlerStd {
     }
 
     private ProgressEvent<ResourceModel, CallbackContext> updateTags(final ProxyClient<KafkaConnectClient> proxyClient,
-        final ProgressEvent<ResourceModel, CallbackContext> progress, ResourceHandlerRequest<ResourceModel> request) {
+        final ProgressEvent<ResourceModel, CallbackContext> progress, ResourceHandlerRequest<ResourceModel> request,
+        final Logger logger) {
 
         final ResourceModel desiredModel = request.getDesiredResourceState();
         final String identifier = desiredModel.getName();
@@ -131,10 +149,12 @@ public class UpdateHandler extends BaseHandlerStd {
      * Checks the if the create only fields have been updated and throws an exception if it is the case
      * @param currModel the current resource model
      * @param prevModel the previous resource model
+     * @param logger the logger of the current invocation
      */
     private ProgressEvent<ResourceModel, CallbackContext> verifyNonUpdatableFields(ResourceModel currModel,
         ResourceModel prevModel,
-        ProgressEvent<ResourceModel, CallbackContext> progress) {
+        ProgressEvent<ResourceModel, CallbackContext> progress,
+        Logger logger) {
 
         if (prevModel != null) {
             final String identifier = prevModel.getWorkerConfigurationArn();
@@ -148,8 +168,9 @@ public class UpdateHandler extends BaseHandlerStd {
                     prevModel.getDescription(), currModel.getDescription()));
                 throw new CfnNotUpdatableException(ResourceModel.TYPE_NAME, identifier);
             }
-            if (!Optional.ofNullable(currModel.getPropertiesFileContent())
-                .equals(Optional.ofNullable(prevModel.getPropertiesFileContent()))) {
+            // Compared by the properties the content loads to, so reformatting it is not a change.
+            if (!workerPropertiesValidator.equivalent(currModel.getPropertiesFileContent(),
+                prevModel.getPropertiesFileContent())) {
                 logger.log(String.format("PropertiesFileContent change not allowed; Previous: %s; Current: %s",
                     prevModel.getPropertiesFileContent(), currModel.getPropertiesFileContent()));
                 throw new CfnNotUpdatableException(ResourceModel.TYPE_NAME, identifier);
@@ -0,0 +1,202 @@
+package software.amazon.kafkaconnect.workerconfiguration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+import software.amazon.awssdk.services.kafkaconnect.KafkaConnectClient;
+import software.amazon.awssdk.services.kafkaconnect.model.DescribeWorkerConfigurationResponse;
+import software.amazon.awssdk.services.kafkaconnect.model.ListWorkerConfigurationsResponse;
+import software.amazon.awssdk.services.kafkaconnect.model.NotFoundException;
+import software.amazon.awssdk.services.kafkaconnect.model.WorkerConfigurationState;
+import software.amazon.awssdk.services.kafkaconnect.model.WorkerConfigurationSummary;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+/**
+ * ACTIVE worker configurations of an account and region by the {@link WorkerPropertiesReport#canonicalDigest()} of
+ * their latest revision, kept per container for {@link #TTL}, so that a burst of creates lists them once.
+ * ListWorkerConfigurations carries no content, so each configuration is described, at most
+ * {@link #DESCRIBE_PARALLELISM} at a time. A revision's content never changes, so a refresh describes only the
+ * configurations that are new or have a new latest revision since the previous listing.
+ */
+class WorkerConfigurationIndex {
+    static final Duration TTL = Duration.ofMinutes(5);
+    static final int DESCRIBE_PARALLELISM = 8;
+
+    private final Translator translator;
+    private final WorkerPropertiesValidator validator;
+    private final Executor describeExecutor;
+    private final LongSupplier currentTimeMillis;
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    WorkerConfigurationIndex(final Translator translator, final WorkerPropertiesValidator validator) {
+        this(translator, validator, describeExecutor(), System::currentTimeMillis);
+    }
+
+    /**
+     * Constructor used for unit testing
+     *
+     * @param translator
+     * @param validator
+     * @param describeExecutor
+     * @param currentTimeMillis
+     */
+    WorkerConfigurationIndex(
+        final Translator translator,
+        final WorkerPropertiesValidator validator,
+        final Executor describeExecutor,
+        final LongSupplier currentTimeMillis) {
+
+        this.translator = translator;
+        this.validator = validator;
+        this.describeExecutor = describeExecutor;
+        this.currentTimeMillis = currentTimeMillis;
+    }
+
+    /**
+     * @param proxyClient client for the request's account and region
+     * @param scope account and region the index is kept for
+     * @param canonicalDigest digest of the desired PropertiesFileContent
+     * @return the ACTIVE worker configurations whose latest revision loads to the same properties, in ARN order
+     */
+    List<WorkerConfigurationSummary> findActive(
+        final ProxyClient<KafkaConnectClient> proxyClient,
+        final String scope,
+        final String canonicalDigest) {
+
+        return snapshot(proxyClient, scope).byDigest.getOrDefault(canonicalDigest, Collections.emptyList());
+    }
+
+    private Snapshot snapshot(final ProxyClient<KafkaConnectClient> proxyClient, final String scope) {
+        final long now = currentTimeMillis.getAsLong();
+        final Snapshot cached = snapshots.get(scope);
+        if (cached != null && now - cached.listedAt < TTL.toMillis()) {
+            return cached;
+        }
+
+        final Map<String, Indexed> indexed = new HashMap<>();
+        final List<CompletableFuture<Indexed>> described = new ArrayList<>();
+        String nextToken = null;
+        do {
+            final ListWorkerConfigurationsResponse response = proxyClient.injectCredentialsAndInvokeV2(
+                translator.translateToListRequest(nextToken), proxyClient.client()::listWorkerConfigurations);
+            Translator.streamOfOrEmpty(response.workerConfigurations())
+                .filter(configuration -> configuration.workerConfigurationState() == WorkerConfigurationState.ACTIVE)
+                .forEach(configuration -> {
+                    final Indexed previous = cached == null
+                        ? null : cached.byArn.get(configuration.workerConfigurationArn());
+                    if (previous != null && Objects.equals(revision(previous.summary), revision(configuration))) {
+                        indexed.put(configuration.workerConfigurationArn(),
+                            new Indexed(configuration, previous.canonicalDigest));
+                    } else {
+                        described.add(CompletableFuture.supplyAsync(
+                            () -> describe(proxyClient, configuration), describeExecutor));
+                    }
+                });
+            nextToken = response.nextToken();
+        } while (nextToken != null);
+
+        for (final CompletableFuture<Indexed> future : described) {
+            final Indexed configuration;
+            try {
+                configuration = future.join();
+            } catch (final CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+            if (configuration != null) {
+                indexed.put(configuration.summary.workerConfigurationArn(), configuration);
+            }
+        }
+
+        final Snapshot snapshot = new Snapshot(now, indexed);
+        snapshots.put(scope, snapshot);
+        return snapshot;
+    }
+
+    /**
+     * @return the configuration with the digest of its latest revision, whose digest is null if the content does
+     *     not parse completely. Null if it was deleted or revised after the listing; it is then described again on
+     *     the next refresh. Any other describe failure fails the refresh, as a failed listing does, rather than
+     *     leave the index silently incomplete.
+     */
+    private Indexed describe(
+        final ProxyClient<KafkaConnectClient> proxyClient,
+        final WorkerConfigurationSummary configuration) {
+
+        final DescribeWorkerConfigurationResponse response;
+        try {
+            response = proxyClient.injectCredentialsAndInvokeV2(
+                translator.translateToReadRequest(ResourceModel.builder()
+                    .workerConfigurationArn(configuration.workerConfigurationArn())
+                    .build()),
+                proxyClient.client()::describeWorkerConfiguration);
+        } catch (final NotFoundException e) {
+            return null;
+        }
+
+        if (response.latestRevision() == null || response.latestRevision().propertiesFileContent() == null
+            || !Objects.equals(response.latestRevision().revision(), revision(configuration))) {
+            // Revised after the listing: leave it to the next refresh rather than index content the summary
+            // does not describe.
+            return null;
+        }
+
+        final WorkerPropertiesReport report = validator.validate(response.latestRevision().propertiesFileContent());
+        return new Indexed(configuration, report.isComplete() ? report.canonicalDigest() : null);
+    }
+
+    private static Long revision(final WorkerConfigurationSummary configuration) {
+        return configuration.latestRevision() == null ? null : configuration.latestRevision().revision();
+    }
+
+    private static Executor describeExecutor() {
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(DESCRIBE_PARALLELISM, DESCRIBE_PARALLELISM,
+            1, TimeUnit.MINUTES, new LinkedBlockingQueue<>(), runnable -> {
+                final Thread thread = new Thread(runnable, "worker-configuration-index");
+                thread.setDaemon(true);
+                return thread;
+            });
+        // Idle between bursts of creates, so the threads don't outlive them.
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static final class Indexed {
+        private final WorkerConfigurationSummary summary;
+        private final String canonicalDigest;
+
+        private Indexed(final WorkerConfigurationSummary summary, final String canonicalDigest) {
+            this.summary = summary;
+            this.canonicalDigest = canonicalDigest;
+        }
+    }
+
+    private static final class Snapshot {
+        private final long listedAt;
+        private final Map<String, Indexed> byArn;
+        private final Map<String, List<WorkerConfigurationSummary>> byDigest;
+
+        private Snapshot(final long listedAt, final Map<String, Indexed> byArn) {
+            this.listedAt = listedAt;
+            this.byArn = byArn;
+            this.byDigest = byArn.values().stream()
+                .filter(configuration -> configuration.canonicalDigest != null)
+                .sorted(Comparator.comparing(configuration -> configuration.summary.workerConfigurationArn()))
+                .collect(Collectors.groupingBy(configuration -> configuration.canonicalDigest,
+                    Collectors.mapping(configuration -> configuration.summary, Collectors.toList())));
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package software.amazon.kafkaconnect.workerconfiguration;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.services.kafkaconnect.KafkaConnectClient;
+import software.amazon.awssdk.services.kafkaconnect.model.DescribeWorkerConfigurationRequest;
+import software.amazon.awssdk.services.kafkaconnect.model.DescribeWorkerConfigurationResponse;
+import software.amazon.awssdk.services.kafkaconnect.model.NotFoundException;
+import software.amazon.awssdk.services.kafkaconnect.model.WorkerConfigurationState;
+import software.amazon.awssdk.services.kafkaconnect.model.WorkerConfigurationSummary;
+import software.amazon.cloudformation.exceptions.BaseHandlerException;
+import software.amazon.cloudformation.exceptions.CfnAlreadyExistsException;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+/**
+ * Looks for ACTIVE worker configurations whose content loads to the same properties before
+ * CreateWorkerConfiguration, as configured by {@link ProviderSettings#getConfigurationReuse()}. An existing
+ * configuration is never adopted as this resource: it belongs to another stack, which would delete it along with
+ * itself.
+ *
+ * A configuration tagged with the request's stack and logical ID is the one this resource replaces, so it is not a
+ * copy. In {@code FAIL} mode the configuration found is described again before the create fails, since the listing it
+ * was found in may be minutes old. An index that couldn't be built fails the create too, since the check the mode asks
+ * for couldn't be done; in {@code WARN} mode it only skips the check.
+ */
+class WorkerConfigurationReuse {
+    static final String STACK_ID_TAG = "aws:cloudformation:stack-id";
+    static final String LOGICAL_ID_TAG = "aws:cloudformation:logical-id";
+
+    private static final String INDEX_FAILURE_MESSAGE_PATTERN =
+        "%s [%s] couldn't list worker configurations to check for equivalent ones: %s";
+
+    private final ProviderSettings.ConfigurationReuse mode;
+    private final WorkerPropertiesValidator validator;
+    private final WorkerConfigurationIndex index;
+    private final ExceptionTranslator exceptionTranslator;
+
+    WorkerConfigurationReuse(
+        final ProviderSettings settings,
+        final WorkerPropertiesValidator validator,
+        final WorkerConfigurationIndex index,
+        final ExceptionTranslator exceptionTranslator) {
+
+        this.mode = settings.getConfigurationReuse();
+        this.validator = validator;
+        this.index = index;
+        this.exceptionTranslator = exceptionTranslator;
+    }
+
+    /**
+     * @param proxyClient client for the request's account and region
+     * @param request the create request
+     * @param report report of the desired content if the preflight validated it, otherwise null
+     * @param logger logger of the current request
+     * @throws CfnAlreadyExistsException in {@code FAIL} mode, naming the first equivalent configuration
+     * @throws BaseHandlerException in {@code FAIL} mode, if the configurations couldn't be listed or described
+     */
+    void check(
+        final ProxyClient<KafkaConnectClient> proxyClient,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final WorkerPropertiesReport report,
+        final Logger logger) {
+
+        final ResourceModel model = request.getDesiredResourceState();
+        if (mode == ProviderSettings.ConfigurationReuse.DISABLED
+            || model.getWorkerConfigurationArn() != null
+            || model.getPropertiesFileContent() == null) {
+            return;
+        }
+
+        final WorkerPropertiesReport desired =
+            report != null ? report : validator.validate(model.getPropertiesFileContent());
+        if (!desired.isComplete()) {
+            return;
+        }
+
+        final List<WorkerConfigurationSummary> existing;
+        try {
+            final List<WorkerConfigurationSummary> candidates = index.findActive(
+                proxyClient, request.getAwsAccountId() + "/" + request.getRegion(), desired.canonicalDigest());
+            existing = candidates.stream()
+                .filter(candidate -> !isReplacedByRequest(proxyClient, candidate, request.getSystemTags()))
+                .filter(candidate -> mode != ProviderSettings.ConfigurationReuse.FAIL
+                    || isStillActive(proxyClient, candidate))
+                .collect(Collectors.toList());
+        } catch (final AwsServiceException e) {
+            if (mode == ProviderSettings.ConfigurationReuse.FAIL) {
+                throw exceptionTranslator.translateToCfnException(
+                    e, model.getName(), INDEX_FAILURE_MESSAGE_PATTERN, model.getName());
+            }
+            logger.log(String.format("%s [%s] couldn't list worker configurations, skipping reuse check: %s",
+                ResourceModel.TYPE_NAME, model.getName(), e.getMessage()));
+            return;
+        }
+
+        if (existing.isEmpty()) {
+            return;
+        }
+
+        logger.log(String.format("%s [%s] PropertiesFileContent loads to the same properties as ACTIVE worker "
+                + "configurations %s. Reference one of them instead of creating a copy.",
+            ResourceModel.TYPE_NAME, model.getName(), existing.stream()
+                .map(configuration -> String.format("%s (%s, revision %s)", configuration.workerConfigurationArn(),
+                    configuration.name(), configuration.latestRevision() == null
+                        ? "unknown" : configuration.latestRevision().revision()))
+                .collect(Collectors.joining(", "))));
+        if (mode == ProviderSettings.ConfigurationReuse.FAIL) {
+            throw new CfnAlreadyExistsException(ResourceModel.TYPE_NAME, existing.get(0).workerConfigurationArn());
+        }
+    }
+
+    /**
+     * @return whether the candidate was created by the same stack and logical ID, i.e. this create replaces it
+     */
+    private static boolean isReplacedByRequest(
+        final ProxyClient<KafkaConnectClient> proxyClient,
+        final WorkerConfigurationSummary candidate,
+        final Map<String, String> systemTags) {
+
+        if (systemTags == null || systemTags.get(STACK_ID_TAG) == null || systemTags.get(LOGICAL_ID_TAG) == null) {
+            return false;
+        }
+
+        final Map<String, String> tags =
+            TagHelper.listTags(candidate.workerConfigurationArn(), proxyClient.client(), proxyClient).tags();
+        return systemTags.get(STACK_ID_TAG).equals(tags.get(STACK_ID_TAG))
+            && systemTags.get(LOGICAL_ID_TAG).equals(tags.get(LOGICAL_ID_TAG));
+    }
+
+    /**
+     * @return whether the candidate is still ACTIVE at the revision it was indexed at
+     */
+    private static boolean isStillActive(
+        final ProxyClient<KafkaConnectClient> proxyClient,
+        final WorkerConfigurationSummary candidate) {
+
+        final DescribeWorkerConfigurationResponse response;
+        try {
+            response = proxyClient.injectCredentialsAndInvokeV2(
+                DescribeWorkerConfigurationRequest.builder()
+                    .workerConfigurationArn(candidate.workerConfigurationArn())
+                    .build(),
+                proxyClient.client()::describeWorkerConfiguration);
+        } catch (final NotFoundException e) {
+            return false;
+        }
+        return response.workerConfigurationState() == WorkerConfigurationState.ACTIVE
+            && candidate.latestRevision() != null && response.latestRevision() != null
+            && Objects.equals(candidate.latestRevision().revision(), response.latestRevision().revision());
+    }
+}
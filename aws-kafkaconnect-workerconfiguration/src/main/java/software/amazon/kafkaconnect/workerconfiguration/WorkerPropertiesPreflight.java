@@ -0,0 +1,48 @@
+package software.amazon.kafkaconnect.workerconfiguration;
+
+import java.util.Optional;
+import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
+import software.amazon.cloudformation.proxy.Logger;
+
+/**
+ * Validates PropertiesFileContent before CreateWorkerConfiguration. Forbidden or malformed worker properties are
+ * otherwise accepted by the service and only fail the connector that uses them, long after this stack has finished.
+ * Runs only when {@link ProviderSettings#getPropertiesValidation()} is not DISABLED.
+ */
+class WorkerPropertiesPreflight {
+    private final ProviderSettings.PropertiesValidation mode;
+    private final WorkerPropertiesValidator validator;
+
+    WorkerPropertiesPreflight(final ProviderSettings settings, final WorkerPropertiesValidator validator) {
+        this.mode = settings.getPropertiesValidation();
+        this.validator = validator;
+    }
+
+    /**
+     * @param model the desired worker configuration
+     * @param logger logger of the current request
+     * @return the report of the validated content, empty if it was not validated
+     * @throws CfnInvalidRequestException if the content is invalid and the mode is FAIL
+     */
+    Optional<WorkerPropertiesReport> check(final ResourceModel model, final Logger logger) {
+        if (mode == ProviderSettings.PropertiesValidation.DISABLED
+            || model.getWorkerConfigurationArn() != null
+            || model.getPropertiesFileContent() == null) {
+            return Optional.empty();
+        }
+
+        final WorkerPropertiesReport report = validator.validate(model.getPropertiesFileContent());
+        if (report.isValid()) {
+            return Optional.of(report);
+        }
+
+        final String problems = String.join("; ", report.getProblems());
+        if (mode == ProviderSettings.PropertiesValidation.FAIL) {
+            throw new CfnInvalidRequestException(
+                String.format("PropertiesFileContent of %s is invalid: %s", model.getName(), problems), null);
+        }
+        logger.log(String.format("%s [%s] PropertiesFileContent has problems, creating anyway: %s",
+            ResourceModel.TYPE_NAME, model.getName(), problems));
+        return Optional.of(report);
+    }
+}
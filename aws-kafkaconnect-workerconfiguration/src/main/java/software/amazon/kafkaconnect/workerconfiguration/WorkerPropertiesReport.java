@@ -0,0 +1,102 @@
+package software.amazon.kafkaconnect.workerconfiguration;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * Result of {@link WorkerPropertiesValidator}. Properties hold the unescaped keys and values; for a key set more than
+ * once, the last value wins as it does for the Kafka Connect worker.
+ */
+@lombok.Value
+@lombok.Builder
+public class WorkerPropertiesReport {
+    long decodedSize;
+    /**
+     * Whether the whole content was decoded and every line parsed, so that the properties are all those it
+     * loads to. False when the content is not base64, is oversize or has a malformed escape.
+     */
+    boolean complete;
+    SortedMap<String, String> properties;
+    List<String> problems;
+
+    public boolean isValid() {
+        return problems.isEmpty();
+    }
+
+    /**
+     * @return the properties as {@code key=value} lines sorted by key, escaped so that they load back to the same
+     *     properties. Comments, blank lines, separators and line continuations of the original content are dropped.
+     */
+    public String toCanonicalString() {
+        final StringBuilder canonical = new StringBuilder();
+        for (final Map.Entry<String, String> property : properties.entrySet()) {
+            escape(property.getKey(), true, canonical);
+            canonical.append('=');
+            escape(property.getValue(), false, canonical);
+            canonical.append('\n');
+        }
+        return canonical.toString();
+    }
+
+    /**
+     * @return the SHA-256 of {@link #toCanonicalString()} in hex, the same for all content that loads to the same
+     *     properties
+     */
+    public String canonicalDigest() {
+        final MessageDigest sha256;
+        try {
+            sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        // The canonical form escapes everything outside printable ASCII.
+        final byte[] digest = sha256.digest(toCanonicalString().getBytes(StandardCharsets.US_ASCII));
+        return String.format("%064x", new BigInteger(1, digest));
+    }
+
+    private static void escape(final String text, final boolean key, final StringBuilder out) {
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            switch (c) {
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\f':
+                    out.append("\\f");
+                    break;
+                case '=':
+                case ':':
+                case '#':
+                case '!':
+                    out.append('\\').append(c);
+                    break;
+                case ' ':
+                    if (key || i == 0) {
+                        out.append('\\');
+                    }
+                    out.append(c);
+                    break;
+                default:
+                    if (c < 0x20 || c > 0x7e) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+            }
+        }
+    }
+}
@@ -0,0 +1,410 @@
+package software.amazon.kafkaconnect.workerconfiguration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Checks base64 encoded worker properties the way the Kafka Connect worker will load them, without decoding the
+ * whole content up front. The base64 text is decoded in fixed size chunks and parsed one logical line at a time
+ * with {@link java.util.Properties} rules: ISO 8859-1 bytes, {@code #} and {@code !} comments, {@code =}, {@code :}
+ * or whitespace separators, backslash line continuations and escapes. Reports content that is not base64 or is
+ * larger than {@link #MAX_DECODED_SIZE}, keys set more than once, keys MSK Connect does not accept in a worker
+ * configuration and malformed {@code \\uXXXX} escapes.
+ */
+public class WorkerPropertiesValidator {
+    public static final long MAX_DECODED_SIZE = 1L << 20;
+
+    static final int MAX_PROBLEMS = 20;
+
+    private static final Set<String> ALLOWED_KEYS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+        "key.converter",
+        "value.converter",
+        "header.converter",
+        "config.providers",
+        "connector.client.config.override.policy",
+        "offset.flush.interval.ms",
+        "offset.flush.timeout.ms",
+        "offset.storage.topic")));
+    private static final List<String> ALLOWED_PREFIXES = Collections.unmodifiableList(Arrays.asList(
+        "key.converter.",
+        "value.converter.",
+        "header.converter.",
+        "config.providers."));
+    private static final int DECODED_CHUNK_SIZE = 6144;
+    private static final int ENCODED_CHUNK_SIZE = DECODED_CHUNK_SIZE / 3 * 4;
+    private static final int LINE_SIZE = 1024;
+
+    private final long maxDecodedSize;
+
+    public WorkerPropertiesValidator() {
+        this(MAX_DECODED_SIZE);
+    }
+
+    /**
+     * @param maxDecodedSize largest accepted content in bytes after base64 decoding
+     */
+    public WorkerPropertiesValidator(final long maxDecodedSize) {
+        this.maxDecodedSize = maxDecodedSize;
+    }
+
+    /**
+     * @param base64Content PropertiesFileContent of the worker configuration
+     * @return the parsed properties and the problems found
+     */
+    public WorkerPropertiesReport validate(final CharSequence base64Content) {
+        final Parser parser = new Parser();
+        if ((long) base64Content.length() > (maxDecodedSize + 2) / 3 * 4) {
+            parser.incomplete(
+                String.format("Content is larger than %d bytes after base64 decoding", maxDecodedSize));
+        } else {
+            try {
+                parser.parse(new ChunkedDecoder(base64Content));
+            } catch (final IllegalArgumentException e) {
+                parser.incomplete("Content is not valid base64: " + e.getMessage());
+            }
+        }
+        return parser.report();
+    }
+
+    /**
+     * Compares two PropertiesFileContent values by the properties they load to, so that reordered lines, whitespace,
+     * comments and escaping are not differences. Content that cannot be parsed completely is compared as text.
+     *
+     * @param first base64 encoded worker properties, or null
+     * @param second base64 encoded worker properties, or null
+     * @return whether both load to the same properties
+     */
+    public boolean equivalent(final String first, final String second) {
+        if (Objects.equals(first, second)) {
+            return true;
+        }
+        if (first == null || second == null) {
+            return false;
+        }
+        final WorkerPropertiesReport firstReport = validate(first);
+        if (!firstReport.isComplete()) {
+            return false;
+        }
+        final WorkerPropertiesReport secondReport = validate(second);
+        return secondReport.isComplete() && firstReport.getProperties().equals(secondReport.getProperties());
+    }
+
+    static boolean isAllowed(final String key) {
+        if (ALLOWED_KEYS.contains(key)) {
+            return true;
+        }
+        for (final String prefix : ALLOWED_PREFIXES) {
+            if (key.startsWith(prefix) && key.length() > prefix.length()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private final class Parser {
+        private final SortedMap<String, String> properties = new TreeMap<>();
+        private final Map<String, Integer> keyLines = new HashMap<>();
+        private final List<String> problems = new ArrayList<>();
+        private final byte[] buffer = new byte[DECODED_CHUNK_SIZE];
+        private char[] line = new char[LINE_SIZE];
+        private char[] unescaped = new char[LINE_SIZE];
+        private int lineLength;
+        private ChunkedDecoder decoder;
+        private int position;
+        private int limit;
+        private int pushedBack = -1;
+        private long size;
+        private int lineNumber = 1;
+        private int problemCount;
+        private boolean complete = true;
+
+        void parse(final ChunkedDecoder chunkedDecoder) {
+            decoder = chunkedDecoder;
+            int startLine;
+            while ((startLine = readLine()) > 0) {
+                add(startLine);
+            }
+            if (size > maxDecodedSize) {
+                incomplete(String.format("Content is larger than %d bytes after base64 decoding", maxDecodedSize));
+            }
+        }
+
+        void problem(final String problem) {
+            if (problemCount++ < MAX_PROBLEMS) {
+                problems.add(problem);
+            }
+        }
+
+        void incomplete(final String problem) {
+            complete = false;
+            problem(problem);
+        }
+
+        WorkerPropertiesReport report() {
+            if (problemCount > MAX_PROBLEMS) {
+                problems.add(String.format("%d more problems", problemCount - MAX_PROBLEMS));
+            }
+            return WorkerPropertiesReport.builder()
+                .decodedSize(size)
+                .complete(complete)
+                .properties(Collections.unmodifiableSortedMap(properties))
+                .problems(Collections.unmodifiableList(problems))
+                .build();
+        }
+
+        private void add(final int startLine) {
+            final int length = lineLength;
+            int keyEnd = 0;
+            int valueStart = length;
+            boolean separator = false;
+            boolean backslash = false;
+            while (keyEnd < length) {
+                final char c = line[keyEnd];
+                if (!backslash && (c == '=' || c == ':')) {
+                    valueStart = keyEnd + 1;
+                    separator = true;
+                    break;
+                }
+                if (!backslash && isWhitespace(c)) {
+                    valueStart = keyEnd + 1;
+                    break;
+                }
+                backslash = c == '\\' && !backslash;
+                keyEnd++;
+            }
+            while (valueStart < length) {
+                final char c = line[valueStart];
+                if (isWhitespace(c)) {
+                    valueStart++;
+                } else if (!separator && (c == '=' || c == ':')) {
+                    separator = true;
+                    valueStart++;
+                } else {
+                    break;
+                }
+            }
+
+            final String key = unescape(0, keyEnd, startLine);
+            final String value = unescape(valueStart, length, startLine);
+            if (key == null || value == null) {
+                return;
+            }
+            final Integer firstLine = keyLines.putIfAbsent(key, startLine);
+            if (firstLine != null) {
+                problem(String.format("Line %d: %s is already set on line %d", startLine, key, firstLine));
+            } else if (!isAllowed(key)) {
+                problem(String.format("Line %d: %s is not a worker property MSK Connect accepts", startLine, key));
+            }
+            properties.put(key, value);
+        }
+
+        private String unescape(final int start, final int end, final int startLine) {
+            if (unescaped.length < end - start) {
+                unescaped = new char[line.length];
+            }
+            int length = 0;
+            int i = start;
+            while (i < end) {
+                char c = line[i++];
+                if (c == '\\' && i < end) {
+                    c = line[i++];
+                    if (c == 'u') {
+                        if (i + 4 > end) {
+                            incomplete(String.format("Line %d: malformed \\uXXXX escape", startLine));
+                            return null;
+                        }
+                        int code = 0;
+                        for (int digit = 0; digit < 4; digit++) {
+                            final int value = Character.digit(line[i++], 16);
+                            if (value < 0) {
+                                incomplete(String.format("Line %d: malformed \\uXXXX escape", startLine));
+                                return null;
+                            }
+                            code = (code << 4) | value;
+                        }
+                        c = (char) code;
+                    } else if (c == 't') {
+                        c = '\t';
+                    } else if (c == 'r') {
+                        c = '\r';
+                    } else if (c == 'n') {
+                        c = '\n';
+                    } else if (c == 'f') {
+                        c = '\f';
+                    }
+                }
+                unescaped[length++] = c;
+            }
+            return new String(unescaped, 0, length);
+        }
+
+        /**
+         * Reads the next logical line, without its leading whitespace and line continuations, into {@link #line}.
+         *
+         * @return the number of its first physical line, or 0 at the end of the content
+         */
+        private int readLine() {
+            lineLength = 0;
+            int c = firstContentCharacter();
+            if (c < 0) {
+                return 0;
+            }
+            int startLine = lineNumber;
+            boolean backslash = false;
+            while (true) {
+                if (c < 0 || c == '\n' || c == '\r') {
+                    final boolean crlf = c >= 0 && endOfLine(c);
+                    if (!backslash) {
+                        return startLine;
+                    }
+                    lineLength--;
+                    backslash = false;
+                    if (c < 0) {
+                        return startLine;
+                    }
+                    c = read();
+                    if (c < 0) {
+                        // Properties keeps an empty line ended by a continuation, unless its line break was CRLF.
+                        return crlf && lineLength == 0 ? 0 : startLine;
+                    }
+                    if (lineLength == 0) {
+                        // Only a continuation so far: the next line starts the logical line, comments included.
+                        pushedBack = c;
+                        c = firstContentCharacter();
+                        if (c < 0) {
+                            return 0;
+                        }
+                        startLine = lineNumber;
+                    } else {
+                        c = skipWhitespace(c);
+                    }
+                    continue;
+                }
+                if (lineLength == line.length) {
+                    line = Arrays.copyOf(line, line.length * 2);
+                }
+                line[lineLength++] = (char) c;
+                backslash = c == '\\' && !backslash;
+                c = read();
+            }
+        }
+
+        private int firstContentCharacter() {
+            while (true) {
+                int c = skipWhitespace(read());
+                if (c == '#' || c == '!') {
+                    do {
+                        c = read();
+                    } while (c >= 0 && c != '\n' && c != '\r');
+                }
+                if (c != '\n' && c != '\r') {
+                    return c;
+                }
+                endOfLine(c);
+            }
+        }
+
+        private int skipWhitespace(final int first) {
+            int c = first;
+            while (c == ' ' || c == '\t' || c == '\f') {
+                c = read();
+            }
+            return c;
+        }
+
+        /**
+         * @return whether the line break was CRLF
+         */
+        private boolean endOfLine(final int c) {
+            lineNumber++;
+            if (c == '\r') {
+                final int next = read();
+                if (next == '\n') {
+                    return true;
+                }
+                pushedBack = next;
+            }
+            return false;
+        }
+
+        private int read() {
+            if (pushedBack >= 0) {
+                final int c = pushedBack;
+                pushedBack = -1;
+                return c;
+            }
+            if (position == limit) {
+                if (size > maxDecodedSize) {
+                    return -1;
+                }
+                final int read = decoder.decode(buffer);
+                if (read < 0) {
+                    return -1;
+                }
+                size += read;
+                position = 0;
+                limit = read;
+                if (size > maxDecodedSize) {
+                    return -1;
+                }
+            }
+            return buffer[position++] & 0xff;
+        }
+
+        private boolean isWhitespace(final char c) {
+            return c == ' ' || c == '\t' || c == '\f';
+        }
+    }
+
+    /**
+     * Decodes the base64 text one chunk at a time into the parser's buffer. {@code Base64.getDecoder().wrap} would
+     * avoid the chunking, but decodes one character at a time and is more than ten times slower. Each chunk is a
+     * multiple of four characters, so only the last one can end in padding.
+     */
+    private static final class ChunkedDecoder {
+        private final Base64.Decoder decoder = Base64.getDecoder();
+        private final byte[] encoded = new byte[ENCODED_CHUNK_SIZE];
+        private final CharSequence text;
+        private int position;
+
+        private ChunkedDecoder(final CharSequence text) {
+            this.text = text;
+        }
+
+        /**
+         * @param decoded buffer of at least {@code DECODED_CHUNK_SIZE} bytes
+         * @return the number of bytes decoded, or -1 at the end of the text
+         * @throws IllegalArgumentException if the text is not base64
+         */
+        int decode(final byte[] decoded) {
+            while (position < text.length()) {
+                final int length = Math.min(ENCODED_CHUNK_SIZE, text.length() - position);
+                for (int i = 0; i < length; i++) {
+                    final char c = text.charAt(position++);
+                    if (c >= 0x80 || (c == '=' && position < text.length() - 1)) {
+                        throw new IllegalArgumentException(String.format(
+                            "Illegal base64 character at index %d", position - 1));
+                    }
+                    encoded[i] = (byte) c;
+                }
+                final int read = length == ENCODED_CHUNK_SIZE
+                    ? decoder.decode(encoded, decoded)
+                    : decoder.decode(Arrays.copyOf(encoded, length), decoded);
+                if (read > 0) {
+                    return read;
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -11,11 +11,15 @@ import software.amazon.awssdk.services.kafkaconnect.KafkaConnectClient;
 import software.amazon.awssdk.services.kafkaconnect.model.DescribeWorkerConfigurationRequest;
 import software.amazon.awssdk.services.kafkaconnect.model.DescribeWorkerConfigurationResponse;
 import software.amazon.awssdk.services.kafkaconnect.model.NotFoundException;
+import software.amazon.awssdk.services.kafkaconnect.model.TooManyRequestsException;
 import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
 import software.amazon.cloudformation.exceptions.CfnNotFoundException;
+import software.amazon.cloudformation.exceptions.CfnThrottlingException;
 import software.amazon.cloudformation.proxy.*;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -28,8 +32,9 @@ public class BaseHandlerStdTest extends AbstractTestBase {
     @Mock
     private KafkaConnectClient kafkaConnectClient;
 
-    @Mock
-    private ExceptionTranslator exceptionTranslator;
+    private final ExceptionTranslator exceptionTranslator = new ExceptionTranslator();
+
+    private AmazonWebServicesClientProxy proxy;
 
     private ProxyClient<KafkaConnectClient> proxyClient;
 
@@ -37,7 +42,7 @@ public class BaseHandlerStdTest extends AbstractTestBase {
 
     @BeforeEach
     public void setup() {
-        final AmazonWebServicesClientProxy proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS,
+        proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS,
             () -> Duration.ofSeconds(600).toMillis());
         proxyClient = proxyStub(proxy, kafkaConnectClient);
         stubHandler = new StubHandler();
@@ -56,67 +61,48 @@ public class BaseHandlerStdTest extends AbstractTestBase {
 
         final DescribeWorkerConfigurationResponse describeWorkerConfigurationResponse =
             stubHandler.runDescribeWorkerConfiguration(
-                TestData.DESCRIBE_WORKER_CONFIGURATION_REQUEST, proxyClient, TestData.FAILURE_MESSAGE_PATTERN);
+                TestData.DESCRIBE_WORKER_CONFIGURATION_REQUEST, proxyClient, TestData.FAILURE_MESSAGE_PATTERN,
+                exceptionTranslator);
 
         assertThat(describeWorkerConfigurationResponse).isEqualTo(TestData.DESCRIBE_WORKER_CONFIGURATION_RESPONSE);
     }
 
     @Test
-    public void runDescribeWorkerConfiguration_throwsCfnGeneralServiceException_whenDescribeFails() {
+    public void runDescribeWorkerConfiguration_throwsCfnNotFoundException_whenWorkerConfigurationDoesNotExist() {
         when(proxyClient.injectCredentialsAndInvokeV2(TestData.DESCRIBE_WORKER_CONFIGURATION_REQUEST,
-            kafkaConnectClient::describeWorkerConfiguration)).thenThrow(AwsServiceException.builder()
+            kafkaConnectClient::describeWorkerConfiguration)).thenThrow(NotFoundException.builder()
                 .message(TestData.EXCEPTION_MESSAGE).build());
 
-        final CfnGeneralServiceException serviceException = assertThrows(CfnGeneralServiceException.class,
-            () -> stubHandler.runDescribeWorkerConfiguration(TestData.DESCRIBE_WORKER_CONFIGURATION_REQUEST,
-                proxyClient,
-                TestData.FAILURE_MESSAGE_PATTERN));
-
-        assertThat(serviceException.getMessage()).isEqualTo(String.format("Error occurred during operation '" +
-            TestData.FAILURE_MESSAGE_PATTERN + "'.", ResourceModel.TYPE_NAME, TestData.EXCEPTION_MESSAGE));
-    }
-
-    @Test
-    public void runDescribeWorkerConfigurationWithNotFoundCatch_success() {
-        when(proxyClient.injectCredentialsAndInvokeV2(TestData.DESCRIBE_WORKER_CONFIGURATION_REQUEST,
-            kafkaConnectClient::describeWorkerConfiguration))
-                .thenReturn(TestData.DESCRIBE_WORKER_CONFIGURATION_RESPONSE);
-
-        final DescribeWorkerConfigurationResponse describeWorkerConfigurationResponse =
-            stubHandler.runDescribeWorkerConfigurationWithNotFoundCatch(
-                TestData.DESCRIBE_WORKER_CONFIGURATION_REQUEST, proxyClient, TestData.FAILURE_MESSAGE_PATTERN,
-                exceptionTranslator);
+        final CfnNotFoundException exception = assertThrows(CfnNotFoundException.class,
+            () -> stubHandler.runDescribeWorkerConfiguration(
+                TestData.DESCRIBE_WORKER_CONFIGURATION_REQUEST, proxyClient,
+                TestData.FAILURE_MESSAGE_PATTERN, exceptionTranslator));
 
-        assertThat(describeWorkerConfigurationResponse).isEqualTo(TestData.DESCRIBE_WORKER_CONFIGURATION_RESPONSE);
+        assertThat(exception.getMessage()).contains(TestData.WORKER_CONFIGURATION_ARN);
     }
 
     @Test
-    public void runDescribeWorkerConfigurationWithNotFoundCatch_throwsCfnNotFoundException_whenWorkerConfigurationDoesNotExist() {
-        final NotFoundException exception = NotFoundException.builder()
-            .message(TestData.EXCEPTION_MESSAGE).build();
-        final CfnNotFoundException cfnException = new CfnNotFoundException(ResourceModel.TYPE_NAME,
-            TestData.WORKER_CONFIGURATION_ARN, exception);
+    public void runDescribeWorkerConfiguration_throwsCfnThrottlingException_whenDescribeIsThrottled() {
         when(proxyClient.injectCredentialsAndInvokeV2(TestData.DESCRIBE_WORKER_CONFIGURATION_REQUEST,
-            kafkaConnectClient::describeWorkerConfiguration)).thenThrow(exception);
-        when(exceptionTranslator.translateToCfnException(exception, TestData.WORKER_CONFIGURATION_ARN))
-            .thenReturn(cfnException);
+            kafkaConnectClient::describeWorkerConfiguration)).thenThrow(TooManyRequestsException.builder()
+                .message(TestData.EXCEPTION_MESSAGE).build());
 
-        final CfnNotFoundException responseException = assertThrows(CfnNotFoundException.class,
-            () -> stubHandler.runDescribeWorkerConfigurationWithNotFoundCatch(
+        final CfnThrottlingException exception = assertThrows(CfnThrottlingException.class,
+            () -> stubHandler.runDescribeWorkerConfiguration(
                 TestData.DESCRIBE_WORKER_CONFIGURATION_REQUEST, proxyClient,
                 TestData.FAILURE_MESSAGE_PATTERN, exceptionTranslator));
 
-        assertThat(responseException).isEqualTo(cfnException);
+        assertThat(exception.getErrorCode()).isEqualTo(HandlerErrorCode.Throttling);
     }
 
     @Test
-    public void runDescribeWorkerConfigurationWithNotFoundCatch_throwsCfnGeneralServiceException_whenDescribeFails() {
+    public void runDescribeWorkerConfiguration_throwsCfnGeneralServiceException_whenDescribeFails() {
         when(proxyClient.injectCredentialsAndInvokeV2(TestData.DESCRIBE_WORKER_CONFIGURATION_REQUEST,
             kafkaConnectClient::describeWorkerConfiguration)).thenThrow(AwsServiceException.builder()
                 .message(TestData.EXCEPTION_MESSAGE).build());
 
         final CfnGeneralServiceException serviceException = assertThrows(CfnGeneralServiceException.class,
-            () -> stubHandler.runDescribeWorkerConfigurationWithNotFoundCatch(
+            () -> stubHandler.runDescribeWorkerConfiguration(
                 TestData.DESCRIBE_WORKER_CONFIGURATION_REQUEST, proxyClient,
                 TestData.FAILURE_MESSAGE_PATTERN, exceptionTranslator));
 
@@ -124,6 +110,48 @@ public class BaseHandlerStdTest extends AbstractTestBase {
             TestData.FAILURE_MESSAGE_PATTERN + "'.", ResourceModel.TYPE_NAME, TestData.EXCEPTION_MESSAGE));
     }
 
+    @Test
+    public void handleCircuitOpen_inProgressUpToTheCap_thenFailsWithThrottling() {
+        final CallbackContext callbackContext = new CallbackContext();
+        for (int callback = 0; callback < BaseHandlerStd.MAX_CIRCUIT_OPEN_CALLBACKS; callback++) {
+            final ProgressEvent<ResourceModel, CallbackContext> response = stubHandler.handleCircuitOpen(
+                TestData.RESOURCE_HANDLER_REQUEST, callbackContext, TestData.RETRY_AFTER_SECONDS);
+
+            assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+            assertThat(response.getCallbackDelaySeconds()).isEqualTo(TestData.RETRY_AFTER_SECONDS);
+        }
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = stubHandler.handleCircuitOpen(
+            TestData.RESOURCE_HANDLER_REQUEST, callbackContext, TestData.RETRY_AFTER_SECONDS);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.Throttling);
+        assertThat(response.getMessage())
+            .isEqualTo("The kafkaconnect API in aws/us-east-1 is failing; retry in 30 seconds.");
+    }
+
+    @Test
+    public void handleRequest_admitted_resetsCircuitOpenCallbacks() {
+        final CallbackContext callbackContext = new CallbackContext();
+        callbackContext.setCircuitOpenCallbacks(BaseHandlerStd.MAX_CIRCUIT_OPEN_CALLBACKS);
+
+        stubHandler.handleRequest(proxy, TestData.RESOURCE_HANDLER_REQUEST, callbackContext, logger);
+
+        assertThat(callbackContext.getCircuitOpenCallbacks()).isZero();
+    }
+
+    @Test
+    public void handleRequest_translatedFailure_logsTranslatedCounts() {
+        final List<String> messages = new ArrayList<>();
+
+        assertThrows(CfnThrottlingException.class, () -> new FailingHandler().handleRequest(
+            proxy, TestData.RESOURCE_HANDLER_REQUEST, new CallbackContext(), messages::add));
+
+        assertThat(messages).anySatisfy(message -> assertThat(message)
+            .startsWith("Failed with Throttling; kafkaconnect errors translated in this container so far: {")
+            .contains("Throttling="));
+    }
+
     private class StubHandler extends BaseHandlerStd {
         @Override
         protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -133,11 +161,32 @@ public class BaseHandlerStdTest extends AbstractTestBase {
             final ProxyClient<KafkaConnectClient> proxyClient,
             final Logger logger) {
 
-            return super.handleRequest(proxy, request, callbackContext, logger);
+            return ProgressEvent.progress(request.getDesiredResourceState(), callbackContext);
+        }
+    }
+
+    private static class FailingHandler extends BaseHandlerStd {
+        @Override
+        protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final ProxyClient<KafkaConnectClient> proxyClient,
+            final Logger logger) {
+
+            throw HandlerRegistry.EXCEPTION_TRANSLATOR.translateToCfnException(
+                TooManyRequestsException.builder().build(), "unit-test");
         }
     }
 
     private static class TestData {
+        private static final int RETRY_AFTER_SECONDS = 30;
+        private static final ResourceHandlerRequest<ResourceModel> RESOURCE_HANDLER_REQUEST =
+            ResourceHandlerRequest.<ResourceModel>builder()
+                .awsPartition("aws")
+                .region("us-east-1")
+                .desiredResourceState(ResourceModel.builder().build())
+                .build();
 
         private static final String WORKER_CONFIGURATION_ARN =
             "arn:aws:kafkaconnect:us-east-1:1111111111:worker-configuration/unit-test-worker-configuration";
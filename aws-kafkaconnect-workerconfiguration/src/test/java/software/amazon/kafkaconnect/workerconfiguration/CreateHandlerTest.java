@@ -3,16 +3,26 @@ package software.amazon.kafkaconnect.workerconfiguration;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.Map;
 
 import software.amazon.awssdk.services.kafkaconnect.KafkaConnectClient;
+import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
 import software.amazon.cloudformation.exceptions.CfnAlreadyExistsException;
+import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
 import software.amazon.awssdk.services.kafkaconnect.model.CreateWorkerConfigurationRequest;
 import software.amazon.awssdk.services.kafkaconnect.model.DescribeWorkerConfigurationRequest;
 import software.amazon.awssdk.services.kafkaconnect.model.DescribeWorkerConfigurationResponse;
 import software.amazon.awssdk.services.kafkaconnect.model.ListTagsForResourceRequest;
 import software.amazon.awssdk.services.kafkaconnect.model.CreateWorkerConfigurationResponse;
 import software.amazon.awssdk.services.kafkaconnect.model.ConflictException;
+import software.amazon.awssdk.services.kafkaconnect.model.ForbiddenException;
+import software.amazon.awssdk.services.kafkaconnect.model.InternalServerErrorException;
 import software.amazon.awssdk.services.kafkaconnect.model.ListTagsForResourceResponse;
+import software.amazon.awssdk.services.kafkaconnect.model.ListWorkerConfigurationsRequest;
+import software.amazon.awssdk.services.kafkaconnect.model.ListWorkerConfigurationsResponse;
+import software.amazon.awssdk.services.kafkaconnect.model.WorkerConfigurationState;
+import software.amazon.awssdk.services.kafkaconnect.model.WorkerConfigurationSummary;
 import software.amazon.awssdk.services.kafkaconnect.model.WorkerConfigurationRevisionSummary;
 import software.amazon.awssdk.services.kafkaconnect.model.WorkerConfigurationRevisionDescription;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
@@ -119,6 +129,138 @@ public class CreateHandlerTest extends AbstractTestBase {
         assertThat(exception).isEqualTo(cfnException);
     }
 
+    @Test
+    public void handleRequest_throwsAlreadyExistsException_whenConflictingWorkerConfigurationHasOtherDescription() {
+        final ResourceModel resourceModel = TestData.getResourceModel();
+        final ConflictException cException = ConflictException.builder().build();
+        final CfnAlreadyExistsException cfnException = new CfnAlreadyExistsException(cException);
+        when(translator.translateToCreateRequest(resourceModel, TestData.STACK_TAGS))
+            .thenReturn(TestData.STACK_CREATE_WORKER_CONFIGURATION_REQUEST);
+        when(proxyClient.injectCredentialsAndInvokeV2(
+            TestData.STACK_CREATE_WORKER_CONFIGURATION_REQUEST,
+            kafkaConnectClient::createWorkerConfiguration)).thenThrow(cException);
+        when(proxyClient.injectCredentialsAndInvokeV2(
+            TestData.LIST_WORKER_CONFIGURATIONS_REQUEST, kafkaConnectClient::listWorkerConfigurations))
+                .thenReturn(TestData.listWorkerConfigurationsResponse("other description"));
+        when(exceptionTranslator.translateToCfnException(cException, TestData.WORKER_CONFIGURATION_NAME))
+            .thenReturn(cfnException);
+
+        final CfnAlreadyExistsException exception = assertThrows(CfnAlreadyExistsException.class,
+            () -> handler.handleRequest(proxy, TestData.getStackResourceHandlerRequest(resourceModel),
+                new CallbackContext(), proxyClient, logger));
+
+        assertThat(exception).isEqualTo(cfnException);
+    }
+
+    @Test
+    public void handleRequest_throwsAccessDeniedException_whenWorkerConfigurationsCannotBeListed() {
+        final ResourceModel resourceModel = TestData.getResourceModel();
+        when(translator.translateToCreateRequest(resourceModel, TestData.STACK_TAGS))
+            .thenReturn(TestData.STACK_CREATE_WORKER_CONFIGURATION_REQUEST);
+        when(proxyClient.injectCredentialsAndInvokeV2(
+            TestData.STACK_CREATE_WORKER_CONFIGURATION_REQUEST,
+            kafkaConnectClient::createWorkerConfiguration)).thenThrow(ConflictException.builder().build());
+        when(proxyClient.injectCredentialsAndInvokeV2(
+            TestData.LIST_WORKER_CONFIGURATIONS_REQUEST, kafkaConnectClient::listWorkerConfigurations))
+                .thenThrow(ForbiddenException.builder().statusCode(403).build());
+
+        assertThrows(CfnAccessDeniedException.class,
+            () -> handler.handleRequest(proxy, TestData.getStackResourceHandlerRequest(resourceModel),
+                new CallbackContext(), proxyClient, logger));
+    }
+
+    @Test
+    public void handleRequest_adoptsWorkerConfiguration_whenCreateConflictsWithEarlierAttempt() {
+        final ResourceModel resourceModel = TestData.getResourceModel();
+        when(translator.translateToCreateRequest(resourceModel, TestData.STACK_TAGS))
+            .thenReturn(TestData.STACK_CREATE_WORKER_CONFIGURATION_REQUEST);
+        when(proxyClient.injectCredentialsAndInvokeV2(
+            TestData.STACK_CREATE_WORKER_CONFIGURATION_REQUEST,
+            kafkaConnectClient::createWorkerConfiguration)).thenThrow(ConflictException.builder().build());
+        setupMocksToAdoptAndRead();
+
+        final CallbackContext callbackContext = new CallbackContext();
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(
+            proxy, TestData.getStackResourceHandlerRequest(resourceModel), callbackContext, proxyClient, logger);
+
+        assertThat(response).isEqualTo(TestData.DESCRIBE_RESPONSE);
+        assertThat(callbackContext.getWorkerConfigurationArn()).isEqualTo(TestData.WORKER_CONFIGURATION_ARN);
+    }
+
+    @Test
+    public void handleRequest_adoptsWorkerConfiguration_whenRetriedAfterCreateResponseWasLost() {
+        final ResourceModel resourceModel = TestData.getResourceModel();
+        final ResourceHandlerRequest<ResourceModel> request = TestData.getStackResourceHandlerRequest(resourceModel);
+        final InternalServerErrorException lostResponse =
+            InternalServerErrorException.builder().statusCode(500).build();
+        final CfnServiceInternalErrorException cfnException =
+            new CfnServiceInternalErrorException(TestData.WORKER_CONFIGURATION_NAME, lostResponse);
+        when(translator.translateToCreateRequest(resourceModel, TestData.STACK_TAGS))
+            .thenReturn(TestData.STACK_CREATE_WORKER_CONFIGURATION_REQUEST);
+        // the first attempt's create goes through, but its response is lost; the retry finds the name taken
+        when(proxyClient.injectCredentialsAndInvokeV2(
+            TestData.STACK_CREATE_WORKER_CONFIGURATION_REQUEST, kafkaConnectClient::createWorkerConfiguration))
+                .thenThrow(lostResponse)
+                .thenThrow(ConflictException.builder().build());
+        when(exceptionTranslator.translateToCfnException(lostResponse, TestData.WORKER_CONFIGURATION_NAME))
+            .thenReturn(cfnException);
+        setupMocksToAdoptAndRead();
+
+        assertThrows(CfnServiceInternalErrorException.class,
+            () -> handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger));
+        // a failed invocation returns no callback context, so the retry starts from a new one
+        final CallbackContext retryContext = new CallbackContext();
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, retryContext, proxyClient, logger);
+
+        assertThat(response).isEqualTo(TestData.DESCRIBE_RESPONSE);
+        assertThat(retryContext.getWorkerConfigurationArn()).isEqualTo(TestData.WORKER_CONFIGURATION_ARN);
+    }
+
+    @Test
+    public void handleRequest_resumesRead_whenCallbackContextHasWorkerConfigurationArn() {
+        final CallbackContext callbackContext = new CallbackContext();
+        callbackContext.setWorkerConfigurationArn(TestData.WORKER_CONFIGURATION_ARN);
+        when(translator.translateToReadRequest(TestData.RESOURCE_MODEL_WITH_ARN))
+            .thenReturn(TestData.DESCRIBE_WORKER_CONFIGURATION_REQUEST);
+        final DescribeWorkerConfigurationResponse describeWorkerConfigurationResponse =
+            TestData.describeResponse();
+        when(proxyClient.injectCredentialsAndInvokeV2(
+            TestData.DESCRIBE_WORKER_CONFIGURATION_REQUEST, kafkaConnectClient::describeWorkerConfiguration))
+                .thenReturn(describeWorkerConfigurationResponse);
+        when(translator.translateFromReadResponse(describeWorkerConfigurationResponse))
+            .thenReturn(TestData.RESOURCE_MODEL_WITH_ARN);
+        when(proxyClient.injectCredentialsAndInvokeV2(TestData.LIST_TAGS_FOR_RESOURCE_REQUEST,
+            kafkaConnectClient::listTagsForResource)).thenReturn(TestData.LIST_TAGS_FOR_RESOURCE_RESPONSE);
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(
+            proxy, TestData.getResourceHandlerRequest(TestData.getResourceModel()), callbackContext, proxyClient,
+            logger);
+
+        assertThat(response).isEqualTo(TestData.DESCRIBE_RESPONSE);
+    }
+
+    private void setupMocksToAdoptAndRead() {
+        when(proxyClient.injectCredentialsAndInvokeV2(
+            TestData.LIST_WORKER_CONFIGURATIONS_REQUEST, kafkaConnectClient::listWorkerConfigurations))
+                .thenReturn(TestData.listWorkerConfigurationsResponse(TestData.WORKER_CONFIGURATION_DESCRIPTION));
+        // the recovery describes the configuration for its content and the read describes it again
+        final DescribeWorkerConfigurationResponse describeWorkerConfigurationResponse =
+            TestData.describeResponse();
+        when(proxyClient.injectCredentialsAndInvokeV2(
+            TestData.DESCRIBE_WORKER_CONFIGURATION_REQUEST, kafkaConnectClient::describeWorkerConfiguration))
+                .thenReturn(describeWorkerConfigurationResponse);
+        // the first listing is the recovery's, which needs the stack tags, the second the read's
+        when(proxyClient.injectCredentialsAndInvokeV2(TestData.LIST_TAGS_FOR_RESOURCE_REQUEST,
+            kafkaConnectClient::listTagsForResource))
+                .thenReturn(TestData.STACK_LIST_TAGS_FOR_RESOURCE_RESPONSE)
+                .thenReturn(TestData.LIST_TAGS_FOR_RESOURCE_RESPONSE);
+        when(translator.translateToReadRequest(TestData.RESOURCE_MODEL_WITH_ARN))
+            .thenReturn(TestData.DESCRIBE_WORKER_CONFIGURATION_REQUEST);
+        when(translator.translateFromReadResponse(describeWorkerConfigurationResponse))
+            .thenReturn(TestData.RESOURCE_MODEL_WITH_ARN);
+    }
+
     private static class TestData {
         private static final String WORKER_CONFIGURATION_NAME = "unit-test-worker-configuration";
         private static final String WORKER_CONFIGURATION_DESCRIPTION = "Unit testing worker configuration description";
@@ -141,6 +283,24 @@ public class CreateHandlerTest extends AbstractTestBase {
                 .tags(TAGS)
                 .build();
 
+        private static final Map<String, String> SYSTEM_TAGS = new HashMap<String, String>() {
+            {
+                put(WorkerConfigurationReuse.STACK_ID_TAG, "arn:aws:cloudformation:us-east-1:1111111111:stack/"
+                    + "unit-test-stack/8a2b0f70-1111-2222-3333-444455556666");
+                put(WorkerConfigurationReuse.LOGICAL_ID_TAG, "UnitTestWorkerConfiguration");
+            }
+        };
+
+        private static final Map<String, String> STACK_TAGS = new HashMap<String, String>() {
+            {
+                putAll(SYSTEM_TAGS);
+                putAll(TAGS);
+            }
+        };
+
+        private static final CreateWorkerConfigurationRequest STACK_CREATE_WORKER_CONFIGURATION_REQUEST =
+            CREATE_WORKER_CONFIGURATION_REQUEST.toBuilder().tags(STACK_TAGS).build();
+
         private static final CreateWorkerConfigurationResponse CREATE_WORKER_CONFIGURATION_RESPONSE =
             CreateWorkerConfigurationResponse
                 .builder()
@@ -176,6 +336,16 @@ public class CreateHandlerTest extends AbstractTestBase {
                 .build();
         }
 
+        private static ResourceHandlerRequest<ResourceModel> getStackResourceHandlerRequest(
+            final ResourceModel resourceModel) {
+
+            return ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(resourceModel)
+                .desiredResourceTags(TAGS)
+                .systemTags(SYSTEM_TAGS)
+                .build();
+        }
+
         private static ResourceModel getResourceModel() {
             return ResourceModel
                 .builder()
@@ -211,6 +381,23 @@ public class CreateHandlerTest extends AbstractTestBase {
                 .build();
         }
 
+        private static final ListWorkerConfigurationsRequest LIST_WORKER_CONFIGURATIONS_REQUEST =
+            ListWorkerConfigurationsRequest.builder()
+                .namePrefix(WORKER_CONFIGURATION_NAME)
+                .build();
+
+        private static ListWorkerConfigurationsResponse listWorkerConfigurationsResponse(final String description) {
+            return ListWorkerConfigurationsResponse.builder()
+                .workerConfigurations(WorkerConfigurationSummary.builder()
+                    .workerConfigurationArn(WORKER_CONFIGURATION_ARN)
+                    .name(WORKER_CONFIGURATION_NAME)
+                    .description(description)
+                    .workerConfigurationState(WorkerConfigurationState.ACTIVE)
+                    .latestRevision(workerConfigurationRevisionSummary())
+                    .build())
+                .build();
+        }
+
         private static final ListTagsForResourceRequest LIST_TAGS_FOR_RESOURCE_REQUEST =
             ListTagsForResourceRequest.builder()
                 .resourceArn(WORKER_CONFIGURATION_ARN)
@@ -221,5 +408,8 @@ public class CreateHandlerTest extends AbstractTestBase {
                 .builder()
                 .tags(TAGS)
                 .build();
+
+        private static final ListTagsForResourceResponse STACK_LIST_TAGS_FOR_RESOURCE_RESPONSE =
+            ListTagsForResourceResponse.builder().tags(STACK_TAGS).build();
     }
 }
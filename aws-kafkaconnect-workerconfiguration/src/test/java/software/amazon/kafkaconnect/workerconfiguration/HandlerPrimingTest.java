@@ -0,0 +1,58 @@
+package software.amazon.kafkaconnect.workerconfiguration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.kafkaconnect.KafkaConnectClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+public class HandlerPrimingTest {
+    private static final String AWS_REGION_PROPERTY = "aws.region";
+
+    private String previousRegion;
+
+    @BeforeEach
+    public void setup() {
+        previousRegion = System.getProperty(AWS_REGION_PROPERTY);
+        System.setProperty(AWS_REGION_PROPERTY, "us-east-1");
+    }
+
+    @AfterEach
+    public void tear_down() {
+        ClientBuilder.invalidateClients();
+        if (previousRegion == null) {
+            System.clearProperty(AWS_REGION_PROPERTY);
+        } else {
+            System.setProperty(AWS_REGION_PROPERTY, previousRegion);
+        }
+    }
+
+    @Test
+    public void prime_doesNotCallService() {
+        assertThatCode(HandlerPriming::prime).doesNotThrowAnyException();
+    }
+
+    @Test
+    public void beforeCheckpoint_primes() {
+        assertThatCode(() -> new HandlerPriming().beforeCheckpoint(null)).doesNotThrowAnyException();
+    }
+
+    @Test
+    public void getClient_isCachedPerEndpoint() {
+        final KafkaConnectClient client = ClientBuilder.getClient("aws", "us-east-1");
+
+        assertThat(ClientBuilder.getClient("aws", "us-east-1")).isSameAs(client);
+        assertThat(ClientBuilder.getClient("aws", "us-west-2")).isNotSameAs(client);
+    }
+
+    @Test
+    public void afterRestore_replacesCachedClients() {
+        final KafkaConnectClient client = ClientBuilder.getClient("aws", "us-east-1");
+
+        new HandlerPriming().afterRestore(null);
+
+        assertThat(ClientBuilder.getClient("aws", "us-east-1")).isNotSameAs(client);
+    }
+}
@@ -0,0 +1,159 @@
+package software.amazon.kafkaconnect.workerconfiguration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process stand-in for the kafkaconnect worker configuration and tagging read APIs, speaking the restJson1
+ * wire protocol. Resources are registered directly through {@link #putWorkerConfiguration(String, ObjectNode)} and served
+ * by Describe, List and ListTagsForResource; every call is counted per API.
+ */
+public class LocalKafkaConnectService implements AutoCloseable {
+    private static final String ARN_PREFIX = "arn:aws:kafkaconnect:us-east-1:123456789012:worker-configuration/";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private final ConcurrentMap<String, ObjectNode> resources = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ObjectNode> tags = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongAdder> calls = new ConcurrentHashMap<>();
+
+    public LocalKafkaConnectService() throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.executor = Executors.newCachedThreadPool();
+        this.server.setExecutor(executor);
+        this.server.createContext("/", this::handle);
+        this.server.start();
+    }
+
+    public URI getEndpoint() {
+        return URI.create("http://localhost:" + server.getAddress().getPort());
+    }
+
+    /**
+     * Registers a worker configuration with the given describe payload and returns its ARN.
+     */
+    public String putWorkerConfiguration(final String name, final ObjectNode description) {
+        final String arn = ARN_PREFIX + name + "/" + UUID.randomUUID();
+        final ObjectNode stored = description.deepCopy();
+        stored.put("workerConfigurationArn", arn);
+        stored.put("name", name);
+        resources.put(arn, stored);
+        tags.put(arn, objectMapper.createObjectNode());
+        return arn;
+    }
+
+    /**
+     * @return service calls per API name
+     */
+    public Map<String, Long> getCalls() {
+        final Map<String, Long> snapshot = new TreeMap<>();
+        calls.forEach((api, count) -> snapshot.put(api, count.sum()));
+        return snapshot;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            body.readAllBytes();
+            final List<String> segments = pathSegments(exchange.getRequestURI().getRawPath());
+
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                sendError(exchange, 400, "BadRequestException", "Only read APIs are supported.");
+            } else if (segments.size() == 2 && "worker-configurations".equals(segments.get(1))) {
+                count("ListWorkerConfigurations");
+                final ObjectNode response = objectMapper.createObjectNode();
+                final ArrayNode summaries = response.putArray("workerConfigurations");
+                new TreeMap<>(resources).values().forEach(summaries::add);
+                sendJson(exchange, response);
+            } else if (segments.size() == 3 && "worker-configurations".equals(segments.get(1))) {
+                count("DescribeWorkerConfiguration");
+                final ObjectNode resource = resources.get(segments.get(2));
+                if (resource == null) {
+                    sendError(exchange, 404, "NotFoundException", segments.get(2) + " does not exist.");
+                } else {
+                    sendJson(exchange, resource);
+                }
+            } else if (segments.size() == 3 && "tags".equals(segments.get(1))) {
+                count("ListTagsForResource");
+                final ObjectNode resourceTags = tags.get(segments.get(2));
+                if (resourceTags == null) {
+                    sendError(exchange, 404, "NotFoundException", segments.get(2) + " does not exist.");
+                } else {
+                    final ObjectNode response = objectMapper.createObjectNode();
+                    response.set("tags", resourceTags);
+                    sendJson(exchange, response);
+                }
+            } else {
+                sendError(exchange, 404, "NotFoundException", "Unknown path " + exchange.getRequestURI());
+            }
+        } catch (final RuntimeException e) {
+            sendError(exchange, 500, "InternalServerErrorException", String.valueOf(e.getMessage()));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void count(final String api) {
+        calls.computeIfAbsent(api, ignored -> new LongAdder()).increment();
+    }
+
+    private void sendJson(final HttpExchange exchange, final JsonNode body) throws IOException {
+        send(exchange, 200, objectMapper.writeValueAsBytes(body));
+    }
+
+    private void sendError(final HttpExchange exchange, final int status, final String errorType, final String message)
+        throws IOException {
+
+        exchange.getResponseHeaders().add("x-amzn-ErrorType", errorType);
+        final ObjectNode body = objectMapper.createObjectNode();
+        body.put("message", message);
+        send(exchange, status, objectMapper.writeValueAsBytes(body));
+    }
+
+    private static void send(final HttpExchange exchange, final int status, final byte[] body) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+    }
+
+    private static List<String> pathSegments(final String rawPath) {
+        final List<String> segments = new ArrayList<>();
+        for (final String segment : rawPath.split("/")) {
+            if (!segment.isEmpty()) {
+                segments.add(URLDecoder.decode(segment, StandardCharsets.UTF_8));
+            }
+        }
+        return segments;
+    }
+}
@@ -0,0 +1,59 @@
+package software.amazon.kafkaconnect.workerconfiguration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.kafkaconnect.common.ClientSettings;
+import software.amazon.kafkaconnect.common.HttpTransport;
+
+public class ProviderSettingsTest {
+    private final List<String> logged = new ArrayList<>();
+    private final Logger logger = logged::add;
+
+    @Test
+    public void fromEnvironment_unset_defaultsToOff() {
+        final ProviderSettings settings = ProviderSettings.fromEnvironment(Collections.emptyMap(), logger);
+
+        assertThat(settings).isEqualTo(ProviderSettings.DEFAULTS);
+        assertThat(settings.getPropertiesValidation()).isEqualTo(ProviderSettings.PropertiesValidation.DISABLED);
+        assertThat(settings.getConfigurationReuse()).isEqualTo(ProviderSettings.ConfigurationReuse.DISABLED);
+        assertThat(settings.getClientSettings()).isEqualTo(ClientSettings.DEFAULTS);
+        assertThat(logged).isEmpty();
+    }
+
+    @Test
+    public void fromEnvironment_set_readsSettings() {
+        final Map<String, String> environment = new HashMap<>();
+        environment.put(ProviderSettings.PROPERTIES_VALIDATION_VARIABLE, " warn ");
+        environment.put(ProviderSettings.CONFIGURATION_REUSE_VARIABLE, "fail");
+        environment.put(ProviderSettings.VARIABLE_PREFIX + ClientSettings.HTTP_TRANSPORT_VARIABLE, "url_connection");
+        final ProviderSettings settings = ProviderSettings.fromEnvironment(environment, logger);
+
+        assertThat(settings.getPropertiesValidation()).isEqualTo(ProviderSettings.PropertiesValidation.WARN);
+        assertThat(settings.getConfigurationReuse()).isEqualTo(ProviderSettings.ConfigurationReuse.FAIL);
+        assertThat(settings.getClientSettings().getHttpTransport()).isEqualTo(HttpTransport.URL_CONNECTION);
+        assertThat(logged).isEmpty();
+    }
+
+    @Test
+    public void fromEnvironment_unknownModes_areLoggedAndDisabled() {
+        final Map<String, String> environment = new HashMap<>();
+        environment.put(ProviderSettings.PROPERTIES_VALIDATION_VARIABLE, "STRICT");
+        environment.put(ProviderSettings.CONFIGURATION_REUSE_VARIABLE, "ADOPT");
+        environment.put(ProviderSettings.VARIABLE_PREFIX + ClientSettings.HTTP_TRANSPORT_VARIABLE, "netty");
+        final ProviderSettings settings = ProviderSettings.fromEnvironment(environment, logger);
+
+        assertThat(settings).isEqualTo(ProviderSettings.DEFAULTS);
+        assertThat(logged).hasSize(3);
+        assertThat(logged).anySatisfy(message -> assertThat(message)
+            .contains(ProviderSettings.CONFIGURATION_REUSE_VARIABLE + "=ADOPT")
+            .contains("[DISABLED, WARN, FAIL]")
+            .endsWith("using DISABLED"));
+    }
+}
@@ -1,6 +1,8 @@
 package software.amazon.kafkaconnect.workerconfiguration;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.Base64;
 import java.util.HashMap;
 
 import org.junit.jupiter.api.AfterEach;
@@ -101,6 +103,38 @@ public class ReadHandlerTest extends AbstractTestBase {
         assertThat(response).isEqualTo(TestData.EXPECTED_RESPONSE_EMPTY_TAGS);
     }
 
+    @Test
+    public void handleRequest_keepsDesiredPropertiesFileContent_whenEquivalent() {
+        final String desiredContent = encode("key.converter=org.apache.kafka.connect.storage.StringConverter\n"
+            + "value.converter=org.apache.kafka.connect.storage.StringConverter\n");
+        final String reformattedContent = encode("value.converter org.apache.kafka.connect.storage.StringConverter\n"
+            + "# comment\n"
+            + "key.converter = org.apache.kafka.connect.storage.StringConverter\n");
+        final ResourceModel desiredModel = TestData.RESOURCE_MODEL.toBuilder()
+            .propertiesFileContent(desiredContent)
+            .build();
+        when(translator.translateToReadRequest(desiredModel))
+            .thenReturn(TestData.DESCRIBE_WORKER_CONFIGURATION_REQUEST);
+        when(proxyClient.injectCredentialsAndInvokeV2(TestData.DESCRIBE_WORKER_CONFIGURATION_REQUEST,
+            kafkaConnectClient::describeWorkerConfiguration))
+                .thenReturn(TestData.DESCRIBE_WORKER_CONFIGURATION_RESPONSE);
+        when(translator.translateFromReadResponse(TestData.DESCRIBE_WORKER_CONFIGURATION_RESPONSE))
+            .thenReturn(TestData.RESPONSE_RESOURCE_MODEL.toBuilder().propertiesFileContent(reformattedContent).build())
+            .thenReturn(TestData.RESPONSE_RESOURCE_MODEL.toBuilder()
+                .propertiesFileContent(encode("key.converter=org.apache.kafka.connect.json.JsonConverter\n"))
+                .build());
+        when(proxyClient.injectCredentialsAndInvokeV2(TestData.LIST_TAGS_FOR_RESOURCE_REQUEST,
+            kafkaConnectClient::listTagsForResource)).thenReturn(TestData.LIST_TAGS_FOR_RESOURCE_RESPONSE);
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(desiredModel)
+            .build();
+
+        assertThat(handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger)
+            .getResourceModel().getPropertiesFileContent()).isEqualTo(desiredContent);
+        assertThat(handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger)
+            .getResourceModel().getPropertiesFileContent()).isNotEqualTo(desiredContent);
+    }
+
     @Test
     public void handleRequest_throwsCfnNotFoundException_whenDescribeWorkerConfigurationFails() {
         final NotFoundException serviceException = NotFoundException.builder().build();
@@ -139,6 +173,10 @@ public class ReadHandlerTest extends AbstractTestBase {
         assertThat(exception).isEqualTo(cfnException);
     }
 
+    private static String encode(final String properties) {
+        return Base64.getEncoder().encodeToString(properties.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
     private static class TestData {
         private static final String WORKER_CONFIGURATION_NAME = "unit-test-worker-configuration";
         private static final String WORKER_CONFIGURATION_ARN =
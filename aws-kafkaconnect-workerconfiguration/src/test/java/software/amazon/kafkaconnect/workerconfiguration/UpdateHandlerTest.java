@@ -1,5 +1,6 @@
 package software.amazon.kafkaconnect.workerconfiguration;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.OffsetDateTime;
@@ -207,6 +208,39 @@ public class UpdateHandlerTest extends AbstractTestBase {
         });
     }
 
+    @Test
+    public void handleRequest_ReformattedPropertiesFileContent_Success() {
+        final ResourceModel desiredModel = TestData.RESOURCE_MODEL.toBuilder()
+            .propertiesFileContent(TestData.PROPERTIES_FILE_CONTENT)
+            .build();
+        final ResourceModel previousModel = desiredModel.toBuilder()
+            .propertiesFileContent(TestData.REFORMATTED_PROPERTIES_FILE_CONTENT)
+            .build();
+
+        final ResourceHandlerRequest<ResourceModel> request =
+            TestData.createResourceHandlerRequestWithoutSystemTags(desiredModel, previousModel);
+
+        final DescribeWorkerConfigurationResponse describeWorkerConfigurationResponse =
+            TestData.describeResponse();
+
+        when(translator.translateToReadRequest(desiredModel))
+            .thenReturn(TestData.DESCRIBE_WORKER_CONFIGURATION_REQUEST);
+        when(proxyClient.injectCredentialsAndInvokeV2(
+            TestData.DESCRIBE_WORKER_CONFIGURATION_REQUEST, kafkaConnectClient::describeWorkerConfiguration))
+                .thenReturn(describeWorkerConfigurationResponse);
+        when(translator.translateFromReadResponse(describeWorkerConfigurationResponse))
+            .thenReturn(previousModel.toBuilder().build());
+        when(proxyClient.injectCredentialsAndInvokeV2(TestData.LIST_TAGS_FOR_RESOURCE_REQUEST,
+            kafkaConnectClient::listTagsForResource)).thenReturn(TestData.LIST_TAGS_FOR_RESOURCE_RESPONSE);
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel().getPropertiesFileContent())
+            .isEqualTo(TestData.PROPERTIES_FILE_CONTENT);
+    }
+
     @Test
     public void handleRequest_FailsWith_CfnNotUpdatableException_RevisionChange() {
         final ResourceModel model = ResourceModel.builder()
@@ -543,6 +577,18 @@ public class UpdateHandlerTest extends AbstractTestBase {
 
         private static final String WORKER_CONFIGURATION_PROPERTIES_FILE_CONTENT_1 = "propertiesFileContent1";
 
+        private static final String PROPERTIES_FILE_CONTENT = Base64.getEncoder().encodeToString((
+            "key.converter=org.apache.kafka.connect.storage.StringConverter\n"
+                + "value.converter=org.apache.kafka.connect.storage.StringConverter\n")
+            .getBytes(StandardCharsets.ISO_8859_1));
+
+        private static final String REFORMATTED_PROPERTIES_FILE_CONTENT = Base64.getEncoder().encodeToString((
+            "# converters\n"
+                + "value.converter = org.apache.kafka.connect.storage.StringConverter\n"
+                + "key.converter:org.apache.kafka.connect.storage.\\\n"
+                + "    StringConverter")
+            .getBytes(StandardCharsets.ISO_8859_1));
+
         private static final String WORKER_CONFIGURATION_ARN =
             "arn:aws:kafkaconnect:us-east-1:1111111111:worker-configuration/unit-test-worker-configuration";
 
@@ -0,0 +1,355 @@
+package software.amazon.kafkaconnect.workerconfiguration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.kafkaconnect.KafkaConnectClient;
+import software.amazon.awssdk.services.kafkaconnect.model.DescribeWorkerConfigurationRequest;
+import software.amazon.awssdk.services.kafkaconnect.model.DescribeWorkerConfigurationResponse;
+import software.amazon.awssdk.services.kafkaconnect.model.ForbiddenException;
+import software.amazon.awssdk.services.kafkaconnect.model.InternalServerErrorException;
+import software.amazon.awssdk.services.kafkaconnect.model.ListWorkerConfigurationsRequest;
+import software.amazon.awssdk.services.kafkaconnect.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.kafkaconnect.model.ListTagsForResourceResponse;
+import software.amazon.awssdk.services.kafkaconnect.model.ListWorkerConfigurationsResponse;
+import software.amazon.awssdk.services.kafkaconnect.model.NotFoundException;
+import software.amazon.awssdk.services.kafkaconnect.model.TooManyRequestsException;
+import software.amazon.awssdk.services.kafkaconnect.model.WorkerConfigurationRevisionDescription;
+import software.amazon.awssdk.services.kafkaconnect.model.WorkerConfigurationRevisionSummary;
+import software.amazon.awssdk.services.kafkaconnect.model.WorkerConfigurationState;
+import software.amazon.awssdk.services.kafkaconnect.model.WorkerConfigurationSummary;
+import software.amazon.cloudformation.exceptions.CfnAlreadyExistsException;
+import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
+import software.amazon.cloudformation.exceptions.CfnThrottlingException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+@ExtendWith(MockitoExtension.class)
+public class WorkerConfigurationReuseTest extends AbstractTestBase {
+    private static final String EXISTING_ARN =
+        "arn:aws:kafkaconnect:us-east-1:1111111111:worker-configuration/existing-worker-configuration";
+    private static final String OTHER_ARN =
+        "arn:aws:kafkaconnect:us-east-1:1111111111:worker-configuration/other-worker-configuration";
+    private static final String STACK_ID =
+        "arn:aws:cloudformation:us-east-1:1111111111:stack/unit-test-stack/8a2b0f70-1111-2222-3333-444455556666";
+    private static final String DESIRED_CONTENT = encode(
+        "key.converter=org.apache.kafka.connect.storage.StringConverter\n"
+            + "value.converter=org.apache.kafka.connect.json.JsonConverter\n");
+    private static final String EQUIVALENT_CONTENT = encode(
+        "# same properties, other order\r\n"
+            + "value.converter = org.apache.kafka.connect.json.JsonConverter\r\n"
+            + "key.converter : org.apache.kafka.connect.storage.StringConverter\r\n");
+    private static final String OTHER_CONTENT = encode(
+        "key.converter=org.apache.kafka.connect.storage.StringConverter\n");
+
+    @Mock
+    private KafkaConnectClient kafkaConnectClient;
+
+    private ProxyClient<KafkaConnectClient> proxyClient;
+
+    private final AtomicLong currentTimeMillis = new AtomicLong();
+
+    @BeforeEach
+    public void setup() {
+        final AmazonWebServicesClientProxy proxy =
+            new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+        proxyClient = proxyStub(proxy, kafkaConnectClient);
+    }
+
+    @Test
+    public void check_disabled_doesNotList() {
+        reuse(ProviderSettings.ConfigurationReuse.DISABLED).check(proxyClient, request(DESIRED_CONTENT), null, logger);
+
+        verifyNoInteractions(kafkaConnectClient);
+    }
+
+    @Test
+    public void check_failMode_equivalentContent_throwsAlreadyExists() {
+        when(kafkaConnectClient.listWorkerConfigurations(any(ListWorkerConfigurationsRequest.class)))
+            .thenReturn(page(null, configuration(EXISTING_ARN, WorkerConfigurationState.ACTIVE, 1L)));
+        describe(EXISTING_ARN, 1L, EQUIVALENT_CONTENT);
+
+        final CfnAlreadyExistsException exception = assertThrows(CfnAlreadyExistsException.class,
+            () -> reuse(ProviderSettings.ConfigurationReuse.FAIL)
+                .check(proxyClient, request(DESIRED_CONTENT), null, logger));
+
+        assertThat(exception.getMessage()).contains(EXISTING_ARN);
+    }
+
+    @Test
+    public void check_failMode_usesPreflightReport() {
+        when(kafkaConnectClient.listWorkerConfigurations(any(ListWorkerConfigurationsRequest.class)))
+            .thenReturn(page(null, configuration(EXISTING_ARN, WorkerConfigurationState.ACTIVE, 1L)));
+        describe(EXISTING_ARN, 1L, EQUIVALENT_CONTENT);
+        final WorkerPropertiesReport report = new WorkerPropertiesValidator().validate(DESIRED_CONTENT);
+
+        // Content the reuse check would not parse itself, so only the report can match.
+        assertThrows(CfnAlreadyExistsException.class, () -> reuse(ProviderSettings.ConfigurationReuse.FAIL)
+            .check(proxyClient, request("not base64"), report, logger));
+    }
+
+    @Test
+    public void check_warnMode_listsOncePerTtlAndDescribesOnlyNewRevisions() {
+        when(kafkaConnectClient.listWorkerConfigurations(any(ListWorkerConfigurationsRequest.class)))
+            .thenReturn(page(null, configuration(EXISTING_ARN, WorkerConfigurationState.ACTIVE, 1L)))
+            .thenReturn(page(null, configuration(EXISTING_ARN, WorkerConfigurationState.ACTIVE, 1L)))
+            .thenReturn(page(null, configuration(EXISTING_ARN, WorkerConfigurationState.ACTIVE, 2L)));
+        when(kafkaConnectClient.describeWorkerConfiguration(any(DescribeWorkerConfigurationRequest.class)))
+            .thenReturn(described(EXISTING_ARN, 1L, EQUIVALENT_CONTENT))
+            .thenReturn(described(EXISTING_ARN, 2L, OTHER_CONTENT));
+        final WorkerConfigurationReuse reuse = reuse(ProviderSettings.ConfigurationReuse.WARN);
+
+        reuse.check(proxyClient, request(DESIRED_CONTENT), null, logger);
+        currentTimeMillis.addAndGet(WorkerConfigurationIndex.TTL.toMillis() - 1);
+        reuse.check(proxyClient, request(DESIRED_CONTENT), null, logger);
+        verify(kafkaConnectClient, times(1)).listWorkerConfigurations(any(ListWorkerConfigurationsRequest.class));
+
+        currentTimeMillis.addAndGet(1);
+        reuse.check(proxyClient, request(DESIRED_CONTENT), null, logger);
+        verify(kafkaConnectClient, times(2)).listWorkerConfigurations(any(ListWorkerConfigurationsRequest.class));
+        verify(kafkaConnectClient, times(1))
+            .describeWorkerConfiguration(any(DescribeWorkerConfigurationRequest.class));
+
+        currentTimeMillis.addAndGet(WorkerConfigurationIndex.TTL.toMillis());
+        reuse.check(proxyClient, request(DESIRED_CONTENT), null, logger);
+        verify(kafkaConnectClient, times(2))
+            .describeWorkerConfiguration(any(DescribeWorkerConfigurationRequest.class));
+    }
+
+    @Test
+    public void check_failMode_followsPagesAndSkipsInactiveConfigurations() {
+        when(kafkaConnectClient.listWorkerConfigurations(any(ListWorkerConfigurationsRequest.class)))
+            .thenReturn(page("page-2", configuration(OTHER_ARN, WorkerConfigurationState.DELETING, 1L)))
+            .thenReturn(page(null, configuration(EXISTING_ARN, WorkerConfigurationState.ACTIVE, 3L)));
+        describe(EXISTING_ARN, 3L, EQUIVALENT_CONTENT);
+
+        final CfnAlreadyExistsException exception = assertThrows(CfnAlreadyExistsException.class,
+            () -> reuse(ProviderSettings.ConfigurationReuse.FAIL)
+                .check(proxyClient, request(DESIRED_CONTENT), null, logger));
+
+        assertThat(exception.getMessage()).contains(EXISTING_ARN);
+    }
+
+    @Test
+    public void check_failMode_otherProperties_creates() {
+        when(kafkaConnectClient.listWorkerConfigurations(any(ListWorkerConfigurationsRequest.class)))
+            .thenReturn(page(null, configuration(EXISTING_ARN, WorkerConfigurationState.ACTIVE, 1L)));
+        describe(EXISTING_ARN, 1L, OTHER_CONTENT);
+
+        assertThatCode(() -> reuse(ProviderSettings.ConfigurationReuse.FAIL)
+            .check(proxyClient, request(DESIRED_CONTENT), null, logger)).doesNotThrowAnyException();
+    }
+
+    @Test
+    public void check_failMode_describeFails_skipsThatConfiguration() {
+        when(kafkaConnectClient.listWorkerConfigurations(any(ListWorkerConfigurationsRequest.class)))
+            .thenReturn(ListWorkerConfigurationsResponse.builder()
+                .workerConfigurations(
+                    configuration(OTHER_ARN, WorkerConfigurationState.ACTIVE, 1L),
+                    configuration(EXISTING_ARN, WorkerConfigurationState.ACTIVE, 1L))
+                .build());
+        when(kafkaConnectClient.describeWorkerConfiguration(any(DescribeWorkerConfigurationRequest.class)))
+            .thenAnswer(invocation -> {
+                final DescribeWorkerConfigurationRequest request = invocation.getArgument(0);
+                if (OTHER_ARN.equals(request.workerConfigurationArn())) {
+                    throw NotFoundException.builder().message("deleted").build();
+                }
+                return described(EXISTING_ARN, 1L, EQUIVALENT_CONTENT);
+            });
+
+        final CfnAlreadyExistsException exception = assertThrows(CfnAlreadyExistsException.class,
+            () -> reuse(ProviderSettings.ConfigurationReuse.FAIL)
+                .check(proxyClient, request(DESIRED_CONTENT), null, logger));
+
+        assertThat(exception.getMessage()).contains(EXISTING_ARN);
+    }
+
+    @Test
+    public void check_failMode_configurationThisCreateReplaces_creates() {
+        when(kafkaConnectClient.listWorkerConfigurations(any(ListWorkerConfigurationsRequest.class)))
+            .thenReturn(page(null, configuration(EXISTING_ARN, WorkerConfigurationState.ACTIVE, 1L)));
+        describe(EXISTING_ARN, 1L, EQUIVALENT_CONTENT);
+        taggedWith(STACK_ID, "UnitTestWorkerConfiguration");
+        final ResourceHandlerRequest<ResourceModel> request = request(DESIRED_CONTENT);
+        request.setSystemTags(systemTags(STACK_ID, "UnitTestWorkerConfiguration"));
+
+        assertThatCode(() -> reuse(ProviderSettings.ConfigurationReuse.FAIL).check(proxyClient, request, null, logger))
+            .doesNotThrowAnyException();
+        // only the index described it
+        verify(kafkaConnectClient, times(1))
+            .describeWorkerConfiguration(any(DescribeWorkerConfigurationRequest.class));
+    }
+
+    @Test
+    public void check_failMode_configurationOfAnotherResourceOfTheStack_throwsAlreadyExists() {
+        when(kafkaConnectClient.listWorkerConfigurations(any(ListWorkerConfigurationsRequest.class)))
+            .thenReturn(page(null, configuration(EXISTING_ARN, WorkerConfigurationState.ACTIVE, 1L)));
+        describe(EXISTING_ARN, 1L, EQUIVALENT_CONTENT);
+        taggedWith(STACK_ID, "OtherWorkerConfiguration");
+        final ResourceHandlerRequest<ResourceModel> request = request(DESIRED_CONTENT);
+        request.setSystemTags(systemTags(STACK_ID, "UnitTestWorkerConfiguration"));
+
+        assertThrows(CfnAlreadyExistsException.class,
+            () -> reuse(ProviderSettings.ConfigurationReuse.FAIL).check(proxyClient, request, null, logger));
+    }
+
+    @Test
+    public void check_failMode_configurationGoneOrRevisedSinceListing_creates() {
+        when(kafkaConnectClient.listWorkerConfigurations(any(ListWorkerConfigurationsRequest.class)))
+            .thenReturn(page(null, configuration(EXISTING_ARN, WorkerConfigurationState.ACTIVE, 1L)));
+        when(kafkaConnectClient.describeWorkerConfiguration(any(DescribeWorkerConfigurationRequest.class)))
+            .thenReturn(described(EXISTING_ARN, 1L, EQUIVALENT_CONTENT))
+            .thenThrow(NotFoundException.builder().message("deleted").build())
+            .thenReturn(described(EXISTING_ARN, 2L, OTHER_CONTENT));
+        final WorkerConfigurationReuse reuse = reuse(ProviderSettings.ConfigurationReuse.FAIL);
+
+        assertThatCode(() -> reuse.check(proxyClient, request(DESIRED_CONTENT), null, logger))
+            .doesNotThrowAnyException();
+        assertThatCode(() -> reuse.check(proxyClient, request(DESIRED_CONTENT), null, logger))
+            .doesNotThrowAnyException();
+    }
+
+    @Test
+    public void check_warnMode_listFails_skipsCheck() {
+        when(kafkaConnectClient.listWorkerConfigurations(any(ListWorkerConfigurationsRequest.class)))
+            .thenThrow(InternalServerErrorException.builder().message("list failed").build());
+
+        assertThatCode(() -> reuse(ProviderSettings.ConfigurationReuse.WARN)
+            .check(proxyClient, request(DESIRED_CONTENT), null, logger)).doesNotThrowAnyException();
+    }
+
+    @Test
+    public void check_failMode_listDenied_fails() {
+        when(kafkaConnectClient.listWorkerConfigurations(any(ListWorkerConfigurationsRequest.class)))
+            .thenThrow(ForbiddenException.builder().message("not authorized").build());
+
+        final CfnGeneralServiceException exception = assertThrows(CfnGeneralServiceException.class,
+            () -> reuse(ProviderSettings.ConfigurationReuse.FAIL)
+                .check(proxyClient, request(DESIRED_CONTENT), null, logger));
+
+        assertThat(exception.getMessage()).contains("AWS::KafkaConnect::WorkerConfiguration "
+            + "[unit-test-worker-configuration] couldn't list worker configurations to check for equivalent ones: "
+            + "not authorized");
+    }
+
+    @Test
+    public void check_failMode_describeThrottled_failsRetryably() {
+        when(kafkaConnectClient.listWorkerConfigurations(any(ListWorkerConfigurationsRequest.class)))
+            .thenReturn(page(null, configuration(EXISTING_ARN, WorkerConfigurationState.ACTIVE, 1L)));
+        when(kafkaConnectClient.describeWorkerConfiguration(any(DescribeWorkerConfigurationRequest.class)))
+            .thenThrow(TooManyRequestsException.builder().message("throttled").build());
+
+        assertThrows(CfnThrottlingException.class,
+            () -> reuse(ProviderSettings.ConfigurationReuse.FAIL)
+                .check(proxyClient, request(DESIRED_CONTENT), null, logger));
+    }
+
+    @Test
+    public void check_incompleteContentOrAlreadyCreated_doesNotList() {
+        final ResourceHandlerRequest<ResourceModel> created = request(DESIRED_CONTENT);
+        created.getDesiredResourceState().setWorkerConfigurationArn(EXISTING_ARN);
+        final WorkerConfigurationReuse reuse = reuse(ProviderSettings.ConfigurationReuse.FAIL);
+
+        reuse.check(proxyClient, request("not base64"), null, logger);
+        reuse.check(proxyClient, request(null), null, logger);
+        reuse.check(proxyClient, created, null, logger);
+
+        verifyNoInteractions(kafkaConnectClient);
+    }
+
+    private WorkerConfigurationReuse reuse(final ProviderSettings.ConfigurationReuse mode) {
+        final WorkerPropertiesValidator validator = new WorkerPropertiesValidator();
+        return new WorkerConfigurationReuse(ProviderSettings.builder().configurationReuse(mode).build(), validator,
+            new WorkerConfigurationIndex(new Translator(), validator, Runnable::run, currentTimeMillis::get),
+            new ExceptionTranslator());
+    }
+
+    private void taggedWith(final String stackId, final String logicalId) {
+        when(kafkaConnectClient.listTagsForResource(any(ListTagsForResourceRequest.class)))
+            .thenReturn(ListTagsForResourceResponse.builder().tags(systemTags(stackId, logicalId)).build());
+    }
+
+    private static Map<String, String> systemTags(final String stackId, final String logicalId) {
+        final Map<String, String> tags = new HashMap<>();
+        tags.put(WorkerConfigurationReuse.STACK_ID_TAG, stackId);
+        tags.put(WorkerConfigurationReuse.LOGICAL_ID_TAG, logicalId);
+        return tags;
+    }
+
+    private void describe(final String arn, final long revision, final String propertiesFileContent) {
+        when(kafkaConnectClient.describeWorkerConfiguration(
+            argThat((DescribeWorkerConfigurationRequest request) -> arn.equals(request.workerConfigurationArn()))))
+            .thenReturn(described(arn, revision, propertiesFileContent));
+    }
+
+    private static ResourceHandlerRequest<ResourceModel> request(final String propertiesFileContent) {
+        return ResourceHandlerRequest.<ResourceModel>builder()
+            .awsAccountId("1111111111")
+            .region("us-east-1")
+            .desiredResourceState(ResourceModel.builder()
+                .name("unit-test-worker-configuration")
+                .propertiesFileContent(propertiesFileContent)
+                .build())
+            .build();
+    }
+
+    private static ListWorkerConfigurationsResponse page(
+        final String nextToken, final WorkerConfigurationSummary configuration) {
+
+        return ListWorkerConfigurationsResponse.builder()
+            .workerConfigurations(configuration)
+            .nextToken(nextToken)
+            .build();
+    }
+
+    private static WorkerConfigurationSummary configuration(
+        final String arn, final WorkerConfigurationState state, final long revision) {
+
+        return WorkerConfigurationSummary.builder()
+            .workerConfigurationArn(arn)
+            .name("existing-worker-configuration")
+            .workerConfigurationState(state)
+            .latestRevision(WorkerConfigurationRevisionSummary.builder()
+                .revision(revision)
+                .build())
+            .build();
+    }
+
+    private static DescribeWorkerConfigurationResponse described(
+        final String arn, final long revision, final String propertiesFileContent) {
+
+        return DescribeWorkerConfigurationResponse.builder()
+            .workerConfigurationArn(arn)
+            .name("existing-worker-configuration")
+            .workerConfigurationState(WorkerConfigurationState.ACTIVE)
+            .latestRevision(WorkerConfigurationRevisionDescription.builder()
+                .revision(revision)
+                .propertiesFileContent(propertiesFileContent)
+                .build())
+            .build();
+    }
+
+    private static String encode(final String properties) {
+        return Base64.getEncoder().encodeToString(properties.getBytes(StandardCharsets.ISO_8859_1));
+    }
+}
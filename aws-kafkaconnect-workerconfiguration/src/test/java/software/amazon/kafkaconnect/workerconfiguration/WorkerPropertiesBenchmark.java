@@ -0,0 +1,128 @@
+package software.amazon.kafkaconnect.workerconfiguration;
+
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Time and allocation of {@link WorkerPropertiesValidator} on generated PropertiesFileContent of several megabytes,
+ * against decoding the whole base64 text and loading it with {@link Properties}. The content mixes short converter
+ * settings with long escaped values split by line continuations, and every key is unique.
+ *
+ * Run with {@code mvn -Pworker-properties-benchmark integration-test}; {@code properties.sizesMb} and
+ * {@code properties.iterations} change the content sizes and the iteration count.
+ */
+public final class WorkerPropertiesBenchmark {
+    private static final int VALUE_SIZE = 200;
+    private static final int WARMUP_ITERATIONS = 3;
+
+    private WorkerPropertiesBenchmark() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final int iterations = Integer.getInteger("properties.iterations", 10);
+        final String[] sizes = System.getProperty("properties.sizesMb", "4,16").split(",");
+        final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        for (final String size : sizes) {
+            final long bytes = Long.parseLong(size.trim()) << 20;
+            final String content = Base64.getEncoder().encodeToString(properties(bytes));
+            final WorkerPropertiesValidator validator = new WorkerPropertiesValidator(bytes * 2);
+
+            final Map<String, long[]> millis = new LinkedHashMap<>();
+            final Map<String, long[]> allocated = new LinkedHashMap<>();
+            for (int i = -WARMUP_ITERATIONS; i < iterations; i++) {
+                final boolean measured = i >= 0;
+                time(millis, allocated, threads, measured, "decode + load", () -> {
+                    final Properties properties = new Properties();
+                    properties.load(new ByteArrayInputStream(Base64.getDecoder().decode(content)));
+                    return properties.size();
+                });
+                time(millis, allocated, threads, measured, "validate", () -> {
+                    final WorkerPropertiesReport report = validator.validate(content);
+                    if (!report.isValid()) {
+                        throw new IllegalStateException("Generated content is invalid: " + report.getProblems());
+                    }
+                    return report.getProperties().size();
+                });
+            }
+
+            System.out.printf("%ncontent=%s MiB decoded, %.1f MiB base64, iterations=%d%n",
+                size.trim(), content.length() / (double) (1 << 20), iterations);
+            System.out.printf("%-14s %10s %10s %10s %14s%n", "pass", "p50(ms)", "max(ms)", "MiB/s", "alloc(MiB)");
+            for (final Map.Entry<String, long[]> timing : millis.entrySet()) {
+                final long[] passMillis = timing.getValue();
+                final long[] passAllocated = allocated.get(timing.getKey());
+                Arrays.sort(passMillis);
+                Arrays.sort(passAllocated);
+                final long median = passMillis[(passMillis.length - 1) / 2];
+                System.out.printf("%-14s %10d %10d %10.0f %14.1f%n", timing.getKey(), median,
+                    passMillis[passMillis.length - 1], (bytes >> 20) * 1000.0 / Math.max(1, median),
+                    passAllocated[(passAllocated.length - 1) / 2] / (double) (1 << 20));
+            }
+        }
+    }
+
+    private static void time(
+        final Map<String, long[]> millis,
+        final Map<String, long[]> allocated,
+        final com.sun.management.ThreadMXBean threads,
+        final boolean measured,
+        final String pass,
+        final Pass body) throws Exception {
+
+        final long threadId = Thread.currentThread().getId();
+        final long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        final long start = System.nanoTime();
+        if (body.run() == 0) {
+            throw new IllegalStateException(pass + " found no properties");
+        }
+        final long elapsed = (System.nanoTime() - start) / 1_000_000;
+        final long allocatedBytes = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        if (measured) {
+            append(millis, pass, elapsed);
+            append(allocated, pass, allocatedBytes);
+        }
+    }
+
+    private static void append(final Map<String, long[]> samples, final String pass, final long sample) {
+        final long[] previous = samples.getOrDefault(pass, new long[0]);
+        final long[] next = Arrays.copyOf(previous, previous.length + 1);
+        next[previous.length] = sample;
+        samples.put(pass, next);
+    }
+
+    /**
+     * Generates about {@code size} bytes of worker properties: converter settings and config provider parameters
+     * whose values carry escapes and are continued over several lines.
+     */
+    private static byte[] properties(final long size) {
+        final StringBuilder properties = new StringBuilder((int) size + VALUE_SIZE * 2);
+        properties.append("# generated worker properties\n")
+            .append("key.converter=org.apache.kafka.connect.storage.StringConverter\n")
+            .append("value.converter=org.apache.kafka.connect.json.JsonConverter\n");
+        for (int i = 0; properties.length() < size; i++) {
+            if (i % 4 == 0) {
+                properties.append("value.converter.setting").append(i).append(" = ").append(i).append('\n');
+                continue;
+            }
+            properties.append("config.providers.provider").append(i / 100).append(".param.key").append(i).append('=');
+            for (int j = 0; j < VALUE_SIZE; j += 50) {
+                properties.append("segment\\t").append(j).append("\\u00e9\\:value-").append(i).append("\\\n    ");
+            }
+            properties.append("end\n");
+        }
+        return properties.toString().getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    @FunctionalInterface
+    private interface Pass {
+        int run() throws Exception;
+    }
+}
@@ -0,0 +1,68 @@
+package software.amazon.kafkaconnect.workerconfiguration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
+
+public class WorkerPropertiesPreflightTest extends AbstractTestBase {
+    private static final String WORKER_CONFIGURATION_ARN =
+        "arn:aws:kafkaconnect:us-east-1:1111111111:worker-configuration/unit-test-worker-configuration";
+    private static final String VALID_CONTENT = encode(
+        "key.converter=org.apache.kafka.connect.storage.StringConverter\n"
+            + "value.converter=org.apache.kafka.connect.storage.StringConverter\n");
+    private static final String INVALID_CONTENT = encode(
+        "key.converter=org.apache.kafka.connect.storage.StringConverter\n"
+            + "plugin.path=/opt/plugins\n");
+
+    @Test
+    public void check_failMode_validContent_returnsReport() {
+        assertThat(preflight(ProviderSettings.PropertiesValidation.FAIL).check(model(VALID_CONTENT), logger))
+            .hasValueSatisfying(report -> assertThat(report.getProperties()).hasSize(2));
+    }
+
+    @Test
+    public void check_failMode_invalidContent_throwsInvalidRequest() {
+        final CfnInvalidRequestException exception = assertThrows(CfnInvalidRequestException.class,
+            () -> preflight(ProviderSettings.PropertiesValidation.FAIL).check(model(INVALID_CONTENT), logger));
+
+        assertThat(exception.getMessage()).contains("Line 2: plugin.path is not a worker property");
+    }
+
+    @Test
+    public void check_warnMode_invalidContent_returnsReport() {
+        assertThat(preflight(ProviderSettings.PropertiesValidation.WARN).check(model(INVALID_CONTENT), logger))
+            .hasValueSatisfying(report -> assertThat(report.isValid()).isFalse());
+    }
+
+    @Test
+    public void check_disabledOrAlreadyCreated_skipsValidation() {
+        final ResourceModel created = model(INVALID_CONTENT);
+        created.setWorkerConfigurationArn(WORKER_CONFIGURATION_ARN);
+
+        assertThat(new WorkerPropertiesPreflight(ProviderSettings.DEFAULTS, new WorkerPropertiesValidator())
+            .check(model(INVALID_CONTENT), logger)).isEmpty();
+        assertThat(preflight(ProviderSettings.PropertiesValidation.FAIL).check(created, logger)).isEmpty();
+        assertThat(preflight(ProviderSettings.PropertiesValidation.FAIL).check(model(null), logger)).isEmpty();
+    }
+
+    private static WorkerPropertiesPreflight preflight(final ProviderSettings.PropertiesValidation mode) {
+        return new WorkerPropertiesPreflight(ProviderSettings.builder().propertiesValidation(mode).build(),
+            new WorkerPropertiesValidator());
+    }
+
+    private static ResourceModel model(final String propertiesFileContent) {
+        return ResourceModel.builder()
+            .name("unit-test-worker-configuration")
+            .propertiesFileContent(propertiesFileContent)
+            .build();
+    }
+
+    private static String encode(final String properties) {
+        return Base64.getEncoder().encodeToString(properties.getBytes(StandardCharsets.ISO_8859_1));
+    }
+}
@@ -0,0 +1,154 @@
+package software.amazon.kafkaconnect.workerconfiguration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Properties;
+
+import org.junit.jupiter.api.Test;
+
+public class WorkerPropertiesValidatorTest {
+    private final WorkerPropertiesValidator validator = new WorkerPropertiesValidator();
+
+    @Test
+    public void validate_allowedProperties_parsesLikeProperties() {
+        final WorkerPropertiesReport report = validator.validate(encode(
+            "# converters\n"
+                + "key.converter=org.apache.kafka.connect.storage.StringConverter\r\n"
+                + "   value.converter   org.apache.kafka.connect.json.JsonConverter\n"
+                + "value.converter.schemas.enable : false\r"
+                + "! providers\n"
+                + "config.providers=secretManager\n"
+                + "config.providers.secretManager.param.region=\\\n"
+                + "    us-east-1\n"
+                + "offset.storage.topic=caf\\u00e9-offsets"));
+
+        assertThat(report.getProblems()).isEmpty();
+        assertThat(report.isValid()).isTrue();
+        assertThat(report.getProperties()).containsExactly(
+            entry("config.providers", "secretManager"),
+            entry("config.providers.secretManager.param.region", "us-east-1"),
+            entry("key.converter", "org.apache.kafka.connect.storage.StringConverter"),
+            entry("offset.storage.topic", "caf\u00e9-offsets"),
+            entry("value.converter", "org.apache.kafka.connect.json.JsonConverter"),
+            entry("value.converter.schemas.enable", "false"));
+    }
+
+    @Test
+    public void validate_duplicateAndUnknownKeys_reportsLines() {
+        final WorkerPropertiesReport report = validator.validate(encode(
+            "key.converter=first\n"
+                + "\n"
+                + "key.converter=second\n"
+                + "plugin.path=/opt/plugins\n"
+                + "key.converter.=prefix only\n"));
+
+        assertThat(report.getProblems()).containsExactly(
+            "Line 3: key.converter is already set on line 1",
+            "Line 4: plugin.path is not a worker property MSK Connect accepts",
+            "Line 5: key.converter. is not a worker property MSK Connect accepts");
+        assertThat(report.getProperties()).containsEntry("key.converter", "second");
+    }
+
+    @Test
+    public void validate_malformedEscape_reportsProblem() {
+        final WorkerPropertiesReport report = validator.validate(encode(
+            "key.converter=\\u00zz\nvalue.converter=\\u00"));
+
+        assertThat(report.getProblems()).containsExactly(
+            "Line 1: malformed \\uXXXX escape",
+            "Line 2: malformed \\uXXXX escape");
+        assertThat(report.getProperties()).isEmpty();
+    }
+
+    @Test
+    public void validate_notBase64_reportsProblem() {
+        assertThat(validator.validate("a2V5LmNvbnZlcnRlcj1Y\u00e9").getProblems())
+            .hasSize(1)
+            .allMatch(problem -> problem.startsWith("Content is not valid base64"));
+    }
+
+    @Test
+    public void validate_oversizeContent_stopsReading() {
+        final String content = encode("key.converter=org.apache.kafka.connect.storage.StringConverter\n");
+
+        assertThat(new WorkerPropertiesValidator(16).validate(content).getProblems())
+            .containsExactly("Content is larger than 16 bytes after base64 decoding");
+        assertThat(new WorkerPropertiesValidator(62).validate(content).getProblems())
+            .containsExactly("Content is larger than 62 bytes after base64 decoding");
+    }
+
+    @Test
+    public void validate_manyProblems_truncatesList() {
+        final StringBuilder content = new StringBuilder();
+        for (int i = 0; i < WorkerPropertiesValidator.MAX_PROBLEMS + 5; i++) {
+            content.append("unknown.").append(i).append("=x\n");
+        }
+
+        final WorkerPropertiesReport report = validator.validate(encode(content.toString()));
+
+        assertThat(report.getProblems()).hasSize(WorkerPropertiesValidator.MAX_PROBLEMS + 1);
+        assertThat(report.getProblems().get(WorkerPropertiesValidator.MAX_PROBLEMS)).isEqualTo("5 more problems");
+    }
+
+    @Test
+    public void equivalent_comparesLoadedProperties() {
+        final String content = encode("key.converter=a\nvalue.converter=b\n");
+
+        assertThat(validator.equivalent(content, encode("# reordered\r\nvalue.converter : b\r\n  key.converter a")))
+            .isTrue();
+        assertThat(validator.equivalent(content, encode("key.converter=a\nvalue.converter=b\\\n  \n"))).isTrue();
+        assertThat(validator.equivalent(content, encode("key.converter=a\nvalue.converter=c\n"))).isFalse();
+        assertThat(validator.equivalent(content, encode("key.converter=a\n"))).isFalse();
+        assertThat(validator.equivalent(null, null)).isTrue();
+        assertThat(validator.equivalent(content, null)).isFalse();
+    }
+
+    @Test
+    public void equivalent_incompleteContent_comparesText() {
+        final String malformed = encode("key.converter=\\u00zz\n");
+
+        assertThat(validator.validate(malformed).isComplete()).isFalse();
+        assertThat(validator.equivalent(malformed, malformed)).isTrue();
+        assertThat(validator.equivalent(malformed, encode("key.converter=\\u00zz\r\n"))).isFalse();
+        assertThat(validator.equivalent(encode("key.converter=a"), "not base64")).isFalse();
+    }
+
+    @Test
+    public void toCanonicalString_sortsAndEscapes_loadsBackToSameProperties() throws IOException {
+        final WorkerPropertiesReport report = validator.validate(encode(
+            "value.converter=\\  leading = : # ! \\\\ \\t\\n\\r\\f \\u0001\\u00e9\\u20ac\n"
+                + "key\\ converter\\:x=y\n"
+                + "key.converter=b\n"));
+
+        final String canonical = report.toCanonicalString();
+        final Properties loaded = new Properties();
+        loaded.load(new StringReader(canonical));
+
+        assertThat(canonical).startsWith("key\\ converter\\:x=y\nkey.converter=b\nvalue.converter=\\  leading");
+        assertThat(loaded).containsOnlyKeys(report.getProperties().keySet().toArray());
+        report.getProperties().forEach((key, value) -> assertThat(loaded.getProperty(key)).isEqualTo(value));
+    }
+
+    @Test
+    public void canonicalDigest_equalForEquivalentContent() {
+        final String digest = validator.validate(encode("key.converter=a\nvalue.converter=b\n")).canonicalDigest();
+
+        assertThat(digest).hasSize(64).matches("[0-9a-f]+");
+        assertThat(validator.validate(encode("value.converter b\r\n# comment\nkey.converter=a")).canonicalDigest())
+            .isEqualTo(digest);
+        assertThat(validator.validate(encode("key.converter=a\nvalue.converter=c\n")).canonicalDigest())
+            .isNotEqualTo(digest);
+    }
+
+    private static String encode(final String properties) {
+        return Base64.getEncoder().encodeToString(properties.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private static org.assertj.core.data.MapEntry<String, String> entry(final String key, final String value) {
+        return org.assertj.core.data.MapEntry.entry(key, value);
+    }
+}